@@ -16,6 +16,7 @@ import org.folio.dao.order.OrderDAO;
 import org.folio.dao.order.OrderPostgresDAO;
 import org.folio.event.service.AuditEventProducer;
 import org.folio.event.service.AuditOutboxService;
+import org.folio.event.service.AuditProducerRegistry;
 import org.folio.kafka.KafkaConfig;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.jaxrs.model.CreateInventoryType;
@@ -23,10 +24,14 @@ import org.folio.rest.jaxrs.model.OrderLinePatchOperationType;
 import org.folio.service.UserService;
 import org.folio.services.batch.BatchTrackingService;
 import org.folio.services.consortium.ConsortiumConfigurationService;
+import org.folio.services.inventory.HoldingUpdateCheckpointService;
 import org.folio.services.inventory.HoldingsService;
 import org.folio.services.inventory.InstancesService;
+import org.folio.services.inventory.InventoryEventCoalescingService;
+import org.folio.services.inventory.InventoryEventFilterService;
 import org.folio.services.inventory.InventoryUpdateService;
 import org.folio.services.inventory.OrderLineLocationUpdateService;
+import org.folio.services.lines.PoLineLocationSummaryService;
 import org.folio.services.lines.PoLineNumbersService;
 import org.folio.services.lines.PoLinesBatchService;
 import org.folio.services.lines.PoLinesService;
@@ -40,6 +45,7 @@ import org.folio.orders.lines.update.PatchOperationHandler;
 import org.folio.orders.lines.update.instance.WithHoldingOrderLineUpdateInstanceStrategy;
 import org.folio.orders.lines.update.instance.WithoutHoldingOrderLineUpdateInstanceStrategy;
 import org.folio.services.order.OrderTemplateCategoryService;
+import org.folio.services.order.PoNumberService;
 import org.folio.services.piece.PieceClaimingService;
 import org.folio.services.piece.PieceService;
 import org.folio.services.setting.CommonSettingsService;
@@ -82,8 +88,8 @@ public class ApplicationConfig {
   }
 
   @Bean
-  PieceService pieceService() {
-    return new PieceService();
+  PieceService pieceService(TitleService titleService) {
+    return new PieceService(titleService);
   }
 
   @Bean
@@ -130,8 +136,13 @@ public class ApplicationConfig {
     return new OrderLinePatchOperationService(operationHandlerResolver, poLinesService, instancesService);
   }
 
-  @Bean PoLineNumbersService poLineNumbersService(OrderDAO orderDAO, PoLinesService poLinesService) {
-    return new PoLineNumbersService(orderDAO, poLinesService);
+  @Bean
+  PoNumberService poNumberService(OrderDAO orderDAO, PostgresClientFactory pgClientFactory) {
+    return new PoNumberService(orderDAO, pgClientFactory);
+  }
+
+  @Bean PoLineNumbersService poLineNumbersService(OrderDAO orderDAO) {
+    return new PoLineNumbersService(orderDAO);
   }
 
   @Bean
@@ -145,8 +156,13 @@ public class ApplicationConfig {
   }
 
   @Bean
-  AuditEventProducer auditEventProducerService(KafkaConfig kafkaConfig) {
-    return new AuditEventProducer(kafkaConfig);
+  AuditProducerRegistry auditProducerRegistry(Vertx vertx, KafkaConfig kafkaConfig) {
+    return new AuditProducerRegistry(vertx, kafkaConfig);
+  }
+
+  @Bean
+  AuditEventProducer auditEventProducerService(KafkaConfig kafkaConfig, AuditProducerRegistry auditProducerRegistry) {
+    return new AuditEventProducer(kafkaConfig, auditProducerRegistry);
   }
 
   @Bean
@@ -204,6 +220,21 @@ public class ApplicationConfig {
     return new InstancesService(restClient);
   }
 
+  @Bean
+  HoldingUpdateCheckpointService holdingUpdateCheckpointService() {
+    return new HoldingUpdateCheckpointService();
+  }
+
+  @Bean
+  InventoryEventFilterService inventoryEventFilterService(PostgresClientFactory pgClientFactory) {
+    return new InventoryEventFilterService(pgClientFactory);
+  }
+
+  @Bean
+  InventoryEventCoalescingService inventoryEventCoalescingService() {
+    return new InventoryEventCoalescingService();
+  }
+
   @Bean
   SettingService settingService() {
     return new SettingService();
@@ -224,6 +255,11 @@ public class ApplicationConfig {
     return new OrderTemplateCategoryService();
   }
 
+  @Bean
+  PoLineLocationSummaryService poLineLocationSummaryService() {
+    return new PoLineLocationSummaryService();
+  }
+
   @Bean
   BatchTrackingService batchTrackingService() {
     return new BatchTrackingService();
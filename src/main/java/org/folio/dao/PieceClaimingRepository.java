@@ -5,6 +5,7 @@ import io.vertx.sqlclient.SqlResult;
 import io.vertx.sqlclient.Tuple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.event.dto.OutboxLane;
 import org.folio.rest.persist.Conn;
 
 import java.time.LocalDate;
@@ -38,13 +39,14 @@ public class PieceClaimingRepository {
         )
         RETURNING pieces.*
     )
-    INSERT INTO %1$s.%4$s (event_id, entity_type, action, payload)
-    SELECT public.uuid_generate_v4(), 'Piece', 'Edit', to_jsonb(updated.jsonb::text)
+    INSERT INTO %1$s.%4$s (event_id, entity_type, action, payload, lane)
+    SELECT public.uuid_generate_v4(), 'Piece', 'Edit', to_jsonb(updated.jsonb::text), %5$d
     FROM updated;
     """;
 
   public Future<Integer> updatePieceStatusBasedOnIntervals(Conn conn, String tenantId, ZoneId tenantTimeZone) {
-    String query = String.format(UPDATE_STATEMENT, convertToPsqlStandard(tenantId), PIECES_TABLE, TITLES_TABLE, OUTBOX_TABLE_NAME);
+    String query = String.format(UPDATE_STATEMENT, convertToPsqlStandard(tenantId), PIECES_TABLE, TITLES_TABLE, OUTBOX_TABLE_NAME,
+      OutboxLane.BULK.getValue());
     Tuple queryParams = Tuple.of(SYNTHETIC_USER_ID, LocalDate.now(tenantTimeZone), tenantTimeZone.getId());
     return conn.execute(query, queryParams).map(SqlResult::rowCount)
       .onFailure(t -> log.warn("updatePieceStatusBasedOnIntervals failed, tenantId={}, zoneId={}", tenantId, tenantTimeZone, t));
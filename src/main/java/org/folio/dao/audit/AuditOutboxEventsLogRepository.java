@@ -4,11 +4,15 @@ import static java.lang.String.format;
 import static org.folio.rest.persist.PostgresClient.convertToPsqlStandard;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.event.dto.OutboxEventLogEntry;
+import org.folio.event.dto.OutboxLane;
 import org.folio.rest.jaxrs.model.OutboxEventLog;
 import org.folio.rest.persist.Conn;
 
@@ -26,22 +30,49 @@ public class AuditOutboxEventsLogRepository {
   private static final String ENTITY_TYPE_FIELD = "entity_type";
   private static final String ACTION_FIELD = "action";
   private static final String PAYLOAD_FIELD = "payload";
-  private static final String INSERT_SQL = "INSERT INTO %s.%s (event_id, entity_type, action, payload) VALUES ($1, $2, $3, $4)";
-  private static final String SELECT_EVENT_LOGS = "SELECT * FROM %s.%s FOR UPDATE SKIP LOCKED LIMIT 1000";
-  public static final String DELETE_SQL = "DELETE from %s.%s where event_id = ANY ($1)";
+  private static final String EVENT_KEY_FIELD = "event_key";
+  private static final String COMPACT_FIELD = "compact";
+  private static final String EXPANDED_PAYLOAD_FIELD = "expanded_payload";
+  private static final String INSERT_SQL = "INSERT INTO %s.%s (event_id, entity_type, action, payload, event_key, compact) VALUES ($1, $2, $3, $4, $5, $6)";
+  private static final String INSERT_BATCH_SQL = """
+    INSERT INTO %s.%s (event_id, entity_type, action, payload, event_key, compact)
+    SELECT e.event_id, e.entity_type, e.action, to_jsonb(e.payload), e.event_key, e.compact
+    FROM unnest($1::uuid[], $2::text[], $3::text[], $4::text[], $5::text[], $6::boolean[])
+      AS e(event_id, entity_type, action, payload, event_key, compact)
+    """;
+  // Compact payloads are expanded by the database, so that the relay sends every claimed payload as is
+  private static final String CLAIM_EVENT_LOGS_SQL = """
+    UPDATE %1$s.%2$s SET locked_until = now() + $2::int * interval '1 second'
+    WHERE (event_id, created_at) IN (
+      SELECT event_id, created_at FROM %1$s.%2$s
+      WHERE lane = $3 AND relayed_at IS NULL AND (locked_until IS NULL OR locked_until < now())
+      ORDER BY created_at
+      LIMIT $1
+      FOR UPDATE SKIP LOCKED)
+    RETURNING *, CASE WHEN compact THEN %1$s.outbox_expand_snapshots(payload #>> '{}') END AS expanded_payload
+    """;
+  // relayed_at is part of the pending index predicate, so the update is not HOT, the dead tuples go away with their partition
+  private static final String ACKNOWLEDGE_SQL = "UPDATE %s.%s SET relayed_at = now(), locked_until = NULL WHERE event_id = ANY ($1) AND relayed_at IS NULL";
+  private static final String COUNT_PENDING_BY_LANE_SQL = "SELECT lane, count(*) AS depth FROM %s.%s WHERE relayed_at IS NULL GROUP BY lane";
+  private static final String MAINTAIN_PARTITIONS_SQL = "SELECT %s.outbox_event_log_maintain_partitions($1) AS dropped";
 
   /**
-   * Fetches event logs from outbox table.
+   * Claims event logs of the lane from outbox table by leasing them for the given time.
+   * Event logs that are not acknowledged before the lease expires can be claimed again.
+   * Compact payloads are returned expanded, or null if they cannot be expanded.
    *
-   * @param conn     the sql connection from transaction
-   * @param tenantId the tenant id
-   * @return future with list of fetched event logs
+   * @param conn         the sql connection, no transaction is required
+   * @param tenantId     the tenant id
+   * @param lane         the lane to claim event logs from
+   * @param limit        max number of event logs to claim
+   * @param leaseSeconds lease duration in seconds
+   * @return future with list of claimed event logs
    */
-  public Future<List<OutboxEventLog>> fetchEventLogs(Conn conn, String tenantId) {
-    log.trace("Fetching event logs from outbox table, tenantId={}", tenantId);
-    String query = String.format(SELECT_EVENT_LOGS, convertToPsqlStandard(tenantId), OUTBOX_TABLE_NAME);
-    return conn.execute(query).map(this::mapResultSetToEventLogs)
-      .onFailure(t -> log.warn("fetchEventLogs failed, tenantId={}", tenantId, t));
+  public Future<List<OutboxEventLogEntry>> claimEventLogs(Conn conn, String tenantId, OutboxLane lane, int limit, int leaseSeconds) {
+    log.trace("Claiming event logs from outbox table, tenantId={}, lane={}, limit={}, leaseSeconds={}", tenantId, lane, limit, leaseSeconds);
+    String query = String.format(CLAIM_EVENT_LOGS_SQL, convertToPsqlStandard(tenantId), OUTBOX_TABLE_NAME);
+    return conn.execute(query, Tuple.of(limit, leaseSeconds, (short) lane.getValue())).map(this::mapResultSetToEventLogs)
+      .onFailure(t -> log.warn("claimEventLogs failed, tenantId={}", tenantId, t));
   }
 
   /**
@@ -49,44 +80,119 @@ public class AuditOutboxEventsLogRepository {
    * Accepts @{@link Conn} that is in trnsaction.
    *
    * @param conn     the sql connection that shares the same transaction
-   * @param eventLog the event log to save
+   * @param entry    the event log to save with its kafka key
    * @param tenantId the tenant id
    * @return future true if event log has been saved
    */
-  public Future<Boolean> saveEventLog(Conn conn, OutboxEventLog eventLog, String tenantId) {
+  public Future<Boolean> saveEventLog(Conn conn, OutboxEventLogEntry entry, String tenantId) {
+    OutboxEventLog eventLog = entry.eventLog();
     log.debug("Saving event log to outbox table, eventId={}", eventLog.getEventId());
     String query = String.format(INSERT_SQL, convertToPsqlStandard(tenantId), OUTBOX_TABLE_NAME);
-    Tuple queryParams = Tuple.of(eventLog.getEventId(), eventLog.getEntityType().value(), eventLog.getAction(), eventLog.getPayload());
+    Tuple queryParams = Tuple.of(eventLog.getEventId(), eventLog.getEntityType().value(), eventLog.getAction(), eventLog.getPayload(), entry.eventKey(), entry.compact());
     return conn.execute(query, queryParams).map(resultSet -> resultSet.size() == 1)
       .onFailure(t -> log.warn("saveEventLog failed, eventId={}", eventLog.getEventId(), t));
   }
 
   /**
-   * Deletes outbox logs by event ids in batch.
+   * Saves event logs to outbox table with a single statement.
+   * Accepts @{@link Conn} that is in transaction.
+   *
+   * @param conn      the sql connection that shares the same transaction
+   * @param eventLogs the event logs to save with their kafka keys
+   * @param tenantId  the tenant id
+   * @return future with count of saved event logs
+   */
+  public Future<Integer> saveEventLogs(Conn conn, List<OutboxEventLogEntry> eventLogs, String tenantId) {
+    log.debug("Saving {} event logs to outbox table in batch", eventLogs.size());
+    if (eventLogs.isEmpty()) {
+      return Future.succeededFuture(0);
+    }
+    int size = eventLogs.size();
+    UUID[] eventIds = new UUID[size];
+    String[] entityTypes = new String[size];
+    String[] actions = new String[size];
+    String[] payloads = new String[size];
+    String[] eventKeys = new String[size];
+    Boolean[] compacts = new Boolean[size];
+    for (int i = 0; i < size; i++) {
+      OutboxEventLog eventLog = eventLogs.get(i).eventLog();
+      eventKeys[i] = eventLogs.get(i).eventKey();
+      compacts[i] = eventLogs.get(i).compact();
+      eventIds[i] = UUID.fromString(eventLog.getEventId());
+      entityTypes[i] = eventLog.getEntityType().value();
+      actions[i] = eventLog.getAction();
+      payloads[i] = eventLog.getPayload();
+    }
+    String query = String.format(INSERT_BATCH_SQL, convertToPsqlStandard(tenantId), OUTBOX_TABLE_NAME);
+    Tuple queryParams = Tuple.of(eventIds, entityTypes, actions, payloads, eventKeys, compacts);
+    return conn.execute(query, queryParams).map(SqlResult::rowCount)
+      .onFailure(t -> log.warn("saveEventLogs failed, size={}", size, t));
+  }
+
+  /**
+   * Marks outbox logs as relayed by event ids in batch, relayed logs are removed with their partition.
    *
-   * @param conn     the sql connection from transaction
-   * @param eventIds the event ids to delete
+   * @param conn     the sql connection
+   * @param eventIds the event ids to acknowledge
    * @param tenantId the tenant id
-   * @return future row count how many records have been deleted
+   * @return future row count how many records have been acknowledged
    */
-  public Future<Integer> deleteBatch(Conn conn, List<String> eventIds, String tenantId) {
-    log.debug("Deleting outbox logs by event ids in batch, eventIds={}", eventIds);
+  public Future<Integer> acknowledgeBatch(Conn conn, List<String> eventIds, String tenantId) {
+    log.debug("Acknowledging outbox logs by event ids in batch, eventIds={}", eventIds);
     UUID[] uuids = eventIds.stream().map(UUID::fromString).toList().toArray(UUID[]::new);
-    String deleteQuery = format(DELETE_SQL, convertToPsqlStandard(tenantId), OUTBOX_TABLE_NAME);
+    String query = format(ACKNOWLEDGE_SQL, convertToPsqlStandard(tenantId), OUTBOX_TABLE_NAME);
     Tuple queryParams = Tuple.of(uuids);
-    return conn.execute(deleteQuery, queryParams).map(SqlResult::rowCount)
-      .onFailure(t -> log.warn("deleteBatch failed, eventIds={}", eventIds, t));
+    return conn.execute(query, queryParams).map(SqlResult::rowCount)
+      .onFailure(t -> log.warn("acknowledgeBatch failed, eventIds={}", eventIds, t));
+  }
+
+  /**
+   * Counts event logs waiting to be relayed per lane.
+   *
+   * @param conn     the sql connection
+   * @param tenantId the tenant id
+   * @return future with count of pending event logs per lane, lanes without pending event logs have zero count
+   */
+  public Future<Map<OutboxLane, Long>> countPendingByLane(Conn conn, String tenantId) {
+    String query = format(COUNT_PENDING_BY_LANE_SQL, convertToPsqlStandard(tenantId), OUTBOX_TABLE_NAME);
+    return conn.execute(query).map(rows -> {
+        Map<OutboxLane, Long> depths = new EnumMap<>(OutboxLane.class);
+        for (OutboxLane lane : OutboxLane.values()) {
+          depths.put(lane, 0L);
+        }
+        for (Row row : rows) {
+          depths.put(OutboxLane.fromValue(row.getShort("lane")), row.getLong("depth"));
+        }
+        return depths;
+      })
+      .onFailure(t -> log.warn("countPendingByLane failed, tenantId={}", tenantId, t));
+  }
+
+  /**
+   * Creates outbox partitions for the next days and drops past partitions whose logs are all relayed.
+   *
+   * @param conn      the sql connection
+   * @param tenantId  the tenant id
+   * @param daysAhead number of days to create partitions for in advance
+   * @return future with count of dropped partitions
+   */
+  public Future<Integer> maintainPartitions(Conn conn, String tenantId, int daysAhead) {
+    log.debug("Maintaining outbox partitions, tenantId={}, daysAhead={}", tenantId, daysAhead);
+    String query = format(MAINTAIN_PARTITIONS_SQL, convertToPsqlStandard(tenantId));
+    return conn.execute(query, Tuple.of(daysAhead)).map(rows -> rows.iterator().next().getInteger("dropped"))
+      .onFailure(t -> log.warn("maintainPartitions failed, tenantId={}", tenantId, t));
   }
 
-  private List<OutboxEventLog> mapResultSetToEventLogs(RowSet<Row> resultSet) {
-    List<OutboxEventLog> result = new ArrayList<>();
+  private List<OutboxEventLogEntry> mapResultSetToEventLogs(RowSet<Row> resultSet) {
+    List<OutboxEventLogEntry> result = new ArrayList<>();
     for (Row row : resultSet) {
+      boolean compact = Boolean.TRUE.equals(row.getBoolean(COMPACT_FIELD));
       OutboxEventLog eventLog = new OutboxEventLog()
         .withEventId(row.getValue(EVENT_ID_FIELD).toString())
         .withEntityType(OutboxEventLog.EntityType.fromValue(row.getString(ENTITY_TYPE_FIELD)))
         .withAction(row.getString(ACTION_FIELD))
-        .withPayload(row.getString(PAYLOAD_FIELD));
-      result.add(eventLog);
+        .withPayload(row.getString(compact ? EXPANDED_PAYLOAD_FIELD : PAYLOAD_FIELD));
+      result.add(new OutboxEventLogEntry(eventLog, row.getString(EVENT_KEY_FIELD), compact));
     }
     return result;
   }
@@ -12,7 +12,7 @@ import io.vertx.core.Future;
 public interface PoLinesDAO {
 
   Future<List<PoLine>> getPoLines(Criterion criterion, Conn conn);
+  Future<List<PoLine>> getPoLinesByIds(List<String> ids, Conn conn);
   Future<PoLine> getPoLineById(String id, DBClient client);
-  Future<Integer> updatePoLines(String sql, Conn conn);
 
 }
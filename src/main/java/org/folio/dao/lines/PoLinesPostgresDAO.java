@@ -14,11 +14,11 @@ import org.folio.rest.jaxrs.model.PoLine;
 import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.DBClient;
 import org.folio.rest.persist.Criteria.Criterion;
+import org.folio.util.DbUtils;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.json.JsonObject;
-import io.vertx.sqlclient.SqlResult;
 
 
 public class PoLinesPostgresDAO implements PoLinesDAO {
@@ -41,6 +41,12 @@ public class PoLinesPostgresDAO implements PoLinesDAO {
     return promise.future();
   }
 
+  @Override
+  public Future<List<PoLine>> getPoLinesByIds(List<String> ids, Conn conn) {
+    log.trace("getPoLinesByIds, ids={}", ids);
+    return DbUtils.getEntitiesByIds(conn, PO_LINE_TABLE, ids, PoLine.class);
+  }
+
   @Override
   public Future<PoLine> getPoLineById(String id, DBClient client) {
     log.trace("getPoLineById, id={}", id);
@@ -62,13 +68,4 @@ public class PoLinesPostgresDAO implements PoLinesDAO {
     return promise.future();
   }
 
-  @Override
-  public Future<Integer> updatePoLines(String sql, Conn conn) {
-    log.debug("updatePoLines:: sql={}", sql);
-    return conn.execute(sql)
-      .map(SqlResult::rowCount)
-      .onSuccess(result -> log.debug("updatePoLines:: success, sql={}", sql))
-      .onFailure(t -> log.error("updatePoLines:: failed, sql={}", sql, t));
-  }
-
 }
@@ -1,5 +1,8 @@
 package org.folio.dao.order;
 
+import java.util.List;
+import java.util.Map;
+
 import io.vertx.core.Future;
 import org.folio.rest.jaxrs.model.PurchaseOrder;
 import org.folio.rest.persist.Conn;
@@ -8,4 +11,8 @@ public interface OrderDAO {
   Future<PurchaseOrder> getOrderByIdForUpdate(String orderId, Conn conn);
   Future<Void> updateOrder(PurchaseOrder po, Conn conn);
   Future<Long> getNextPoNumber(Conn conn);
+  Future<Long> reservePoNumbers(int count, Conn conn);
+  Future<Integer> reservePoLineNumbers(String orderId, int count, Conn conn);
+  Future<Void> seedPoLineNumber(String orderId, Conn conn);
+  Future<Map<String, Integer>> getNextPoLineNumbers(List<String> orderIds, Conn conn);
 }
@@ -3,16 +3,28 @@ package org.folio.dao.order;
 import io.vertx.core.Future;
 import org.folio.rest.exceptions.HttpException;
 import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.rest.jaxrs.model.PurchaseOrder;
 import org.folio.rest.persist.Conn;
 
 import static org.folio.models.TableNames.ORDER_NUMBER_TABLE;
+import static org.folio.models.TableNames.PO_LINE_NUMBER_TABLE;
 import static org.folio.models.TableNames.PURCHASE_ORDER_TABLE;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 public class OrderPostgresDAO implements OrderDAO {
-  private static final String UPDATE_NUMBER_QUERY = "UPDATE %s SET last_number = last_number + 1 RETURNING last_number";
+  private static final String UPDATE_NUMBER_QUERY = "UPDATE %s SET last_number = last_number + %d RETURNING last_number";
+  private static final String RESERVE_PO_LINE_NUMBERS_QUERY = "UPDATE %s SET last_number = last_number + $2 WHERE purchase_order_id = $1 RETURNING last_number";
+  // The seeding logic is shared with the migration of existing orders, see create_po_line_number_table.sql
+  private static final String SEED_PO_LINE_NUMBER_QUERY = "SELECT seed_po_line_numbers(ARRAY[$1::uuid])";
+  private static final String SELECT_NEXT_PO_LINE_NUMBERS_QUERY =
+    "SELECT purchase_order_id, last_number + 1 AS next_number FROM %s WHERE purchase_order_id = ANY($1::uuid[])";
   private static final Logger log = LogManager.getLogger();
 
   @Override
@@ -30,7 +42,15 @@ public class OrderPostgresDAO implements OrderDAO {
 
   @Override
   public Future<Long> getNextPoNumber(Conn conn) {
-    String sql = String.format(UPDATE_NUMBER_QUERY, ORDER_NUMBER_TABLE);
+    return reservePoNumbers(1, conn);
+  }
+
+  /**
+   * Reserves the block of count po numbers with a single statement and returns the last number of the block.
+   */
+  @Override
+  public Future<Long> reservePoNumbers(int count, Conn conn) {
+    String sql = String.format(UPDATE_NUMBER_QUERY, ORDER_NUMBER_TABLE, count);
     return conn.execute(sql)
       .map(rowSet -> {
         if (rowSet.rowCount() == 0) {
@@ -41,4 +61,43 @@ public class OrderPostgresDAO implements OrderDAO {
         return row.get(Long.class, 0);
       });
   }
+
+  /**
+   * Allocates count po line numbers of the order with a single statement and returns the last of them,
+   * or null if the order has no counter yet.
+   */
+  @Override
+  public Future<Integer> reservePoLineNumbers(String orderId, int count, Conn conn) {
+    return conn.execute(String.format(RESERVE_PO_LINE_NUMBERS_QUERY, PO_LINE_NUMBER_TABLE), Tuple.of(orderId, count))
+      .map(rowSet -> rowSet.rowCount() == 0 ? null : rowSet.iterator().next().getInteger(0))
+      .onFailure(t -> log.error("reservePoLineNumbers failed for order with id {}", orderId, t));
+  }
+
+  /**
+   * Creates the po line number counter of the order after its nextPolNumber or the highest number of its lines,
+   * whichever is greater. An existing counter is left untouched.
+   */
+  @Override
+  public Future<Void> seedPoLineNumber(String orderId, Conn conn) {
+    return conn.execute(SEED_PO_LINE_NUMBER_QUERY, Tuple.of(orderId))
+      .onFailure(t -> log.error("seedPoLineNumber failed for order with id {}", orderId, t))
+      .mapEmpty();
+  }
+
+  /**
+   * Returns the next po line number of the orders that have a counter, by order id.
+   */
+  @Override
+  public Future<Map<String, Integer>> getNextPoLineNumbers(List<String> orderIds, Conn conn) {
+    UUID[] ids = orderIds.stream().map(UUID::fromString).toArray(UUID[]::new);
+    return conn.execute(String.format(SELECT_NEXT_PO_LINE_NUMBERS_QUERY, PO_LINE_NUMBER_TABLE), Tuple.of(ids))
+      .map(rowSet -> {
+        Map<String, Integer> nextNumbers = new HashMap<>();
+        for (Row row : rowSet) {
+          nextNumbers.put(row.getUUID("purchase_order_id").toString(), row.getInteger("next_number"));
+        }
+        return nextNumbers;
+      })
+      .onFailure(t -> log.error("getNextPoLineNumbers failed for {} order(s)", orderIds.size(), t));
+  }
 }
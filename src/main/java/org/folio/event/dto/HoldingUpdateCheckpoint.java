@@ -0,0 +1,6 @@
+package org.folio.event.dto;
+
+import java.util.List;
+
+public record HoldingUpdateCheckpoint(String lastPoLineId, List<String> adjacentHoldingIds) {
+}
@@ -0,0 +1,10 @@
+package org.folio.event.dto;
+
+/**
+ * Result of relaying a single batch of audit outbox event logs.
+ *
+ * @param relayedCount count of event logs relayed to Kafka
+ * @param hasMore      true if a claimed batch was full and more event logs are likely pending
+ */
+public record OutboxBatchResult(int relayedCount, boolean hasMore) {
+}
@@ -0,0 +1,12 @@
+package org.folio.event.dto;
+
+/**
+ * Result of draining the audit outbox table.
+ *
+ * @param relayedCount count of event logs relayed to Kafka
+ * @param batchCount   count of processed batches
+ * @param elapsedMs    time taken in milliseconds
+ * @param drained      true if the outbox table was drained, false if the time budget ran out first
+ */
+public record OutboxDrainResult(int relayedCount, int batchCount, long elapsedMs, boolean drained) {
+}
@@ -0,0 +1,24 @@
+package org.folio.event.dto;
+
+import org.folio.rest.jaxrs.model.OutboxEventLog;
+
+/**
+ * Outbox event log together with its Kafka key.
+ *
+ * @param eventLog the outbox event log
+ * @param eventKey the kafka key if the payload holds a pre-rendered audit event,
+ *                 null if the payload holds a serialized {@link AuditEntityWrapper}
+ * @param compact  true if the original snapshot of the rendered event is stored as a patch
+ *                 against the new snapshot, claimed event logs hold the payload restored by the database
+ */
+public record OutboxEventLogEntry(OutboxEventLog eventLog, String eventKey, boolean compact) {
+
+  public OutboxEventLogEntry(OutboxEventLog eventLog, String eventKey) {
+    this(eventLog, eventKey, false);
+  }
+
+  public boolean isRendered() {
+    return eventKey != null;
+  }
+
+}
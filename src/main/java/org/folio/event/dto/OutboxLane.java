@@ -0,0 +1,28 @@
+package org.folio.event.dto;
+
+import java.util.Arrays;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Priority lane of outbox event logs, lanes are relayed in the declaration order.
+ */
+@Getter
+@AllArgsConstructor
+public enum OutboxLane {
+
+  // Events of user facing operations
+  INTERACTIVE(0),
+  // Events enqueued in bulk by background jobs, e.g. piece claiming
+  BULK(1);
+
+  private final int value;
+
+  public static OutboxLane fromValue(int value) {
+    return Arrays.stream(values())
+      .filter(lane -> lane.value == value)
+      .findFirst()
+      .orElseThrow(() -> new IllegalArgumentException("Unknown outbox lane: " + value));
+  }
+}
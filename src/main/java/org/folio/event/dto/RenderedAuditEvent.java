@@ -0,0 +1,28 @@
+package org.folio.event.dto;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Audit event rendered to its final Kafka representation, it is serialized only when it is stored.
+ *
+ * @param key   the kafka key, id of the audited entity
+ * @param event the audit event
+ */
+public record RenderedAuditEvent(String key, Object event) {
+
+  /**
+   * @return the serialized audit event
+   */
+  public String payload() {
+    return Json.encode(event);
+  }
+
+  /**
+   * @return a copy of the audit event as JSON document, built from the event without serializing it
+   */
+  public JsonObject toJson() {
+    return event instanceof JsonObject json ? json.copy() : JsonObject.mapFrom(event);
+  }
+
+}
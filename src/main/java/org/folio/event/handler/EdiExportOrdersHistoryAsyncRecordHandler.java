@@ -52,7 +52,7 @@ public class EdiExportOrdersHistoryAsyncRecordHandler extends BaseAsyncRecordHan
   private Future<Void> exportHistory(ExportHistory exportHistory, DBClient client, Map<String, String> headers) {
     return exportHistoryService.createExportHistory(exportHistory, client)
       .compose(createdExportHistory -> client.getPgClient().withConn(conn ->
-        poLinesService.getPoLinesByLineIdsByChunks(exportHistory.getExportedPoLineIds(), conn)
+        poLinesService.getPoLinesByIds(exportHistory.getExportedPoLineIds(), conn)
           .map(poLines -> updatePoLinesWithExportHistoryData(exportHistory, poLines))
           .compose(poLines -> {
             if (CollectionUtils.isNotEmpty(poLines)) {
@@ -3,7 +3,6 @@ package org.folio.event.handler;
 import static org.folio.event.InventoryEventType.INVENTORY_HOLDING_CREATE;
 import static org.folio.event.dto.HoldingFields.ID;
 import static org.folio.event.dto.HoldingFields.PERMANENT_LOCATION_ID;
-import static org.folio.event.handler.HoldingUpdateAsyncRecordHandler.PO_LINE_LOCATIONS_HOLDING_ID_CQL;
 
 import java.util.List;
 import java.util.Map;
@@ -70,7 +69,7 @@ public class HoldingCreateAsyncRecordHandler extends InventoryCreateAsyncRecordH
   private Future<Void> processPoLinesUpdate(String holdingId, String permanentLocationId,
                                             String tenantIdFromEvent, String centralTenantId, Map<String, String> headers,
                                             Conn conn) {
-    return poLinesService.getPoLinesByCqlQuery(String.format(PO_LINE_LOCATIONS_HOLDING_ID_CQL, holdingId), conn)
+    return poLinesService.getPoLinesByHoldingId(holdingId, conn)
       .compose(poLines -> updatePoLines(poLines, holdingId, permanentLocationId, tenantIdFromEvent, centralTenantId, conn, headers))
       .compose(wrappedPoLines -> auditOutboxService.saveOrderLinesOutboxLogs(conn, wrappedPoLines, OrderLineAuditEvent.Action.EDIT, headers))
       .mapEmpty();
@@ -4,12 +4,14 @@ import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import lombok.extern.log4j.Log4j2;
+import one.util.streamex.StreamEx;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.folio.event.dto.AuditEntityWrapper;
 import org.folio.event.dto.HoldingEventHolder;
 import org.folio.event.dto.HoldingUpdate;
+import org.folio.event.dto.HoldingUpdateCheckpoint;
 import org.folio.event.dto.ResourceEvent;
 import org.folio.event.service.AuditOutboxService;
 import org.folio.rest.core.models.RequestContext;
@@ -17,17 +19,21 @@ import org.folio.rest.jaxrs.model.OrderLineAuditEvent;
 import org.folio.rest.jaxrs.model.PoLine;
 import org.folio.rest.jaxrs.model.acq.Location;
 import org.folio.rest.persist.Conn;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.services.inventory.HoldingUpdateCheckpointService;
 import org.folio.services.inventory.InventoryUpdateService;
 import org.folio.services.lines.PoLinesService;
 import org.folio.spring.SpringContextUtil;
 import org.folio.util.HeaderUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiFunction;
 
 import static org.folio.event.InventoryEventType.INVENTORY_HOLDING_UPDATE;
 import static org.folio.util.HeaderUtils.extractTenantFromHeaders;
@@ -36,8 +42,6 @@ import static org.folio.util.HelperUtils.mapTo;
 @Log4j2
 public class HoldingUpdateAsyncRecordHandler extends InventoryUpdateAsyncRecordHandler {
 
-  public static final String PO_LINE_LOCATIONS_HOLDING_ID_CQL = "locations = /@holdingId \"%s\"";
-
   @Autowired
   private PoLinesService poLinesService;
 
@@ -47,6 +51,12 @@ public class HoldingUpdateAsyncRecordHandler extends InventoryUpdateAsyncRecordH
   @Autowired
   private AuditOutboxService auditOutboxService;
 
+  @Autowired
+  private HoldingUpdateCheckpointService checkpointService;
+
+  @Value("${orders-storage.holding-update.chunk-size:500}")
+  private int chunkSize;
+
   public HoldingUpdateAsyncRecordHandler(Vertx vertx, Context context) {
     super(INVENTORY_HOLDING_UPDATE, vertx, context);
     SpringContextUtil.autowireDependencies(this, context);
@@ -60,7 +70,7 @@ public class HoldingUpdateAsyncRecordHandler extends InventoryUpdateAsyncRecordH
       log.info("processInventoryUpdateEvent:: No instance id or search location ids to update in holding '{}', ignoring update", holder.getHoldingId());
       return Future.succeededFuture();
     }
-    return consortiumConfigurationService.getCentralTenantId(getContext(), headers)
+    return getCentralTenantId(headers)
       .compose(centralTenantId -> {
         holder.setCentralTenantId(centralTenantId);
         return processHoldingUpdateEvent(holder)
@@ -75,21 +85,63 @@ public class HoldingUpdateAsyncRecordHandler extends InventoryUpdateAsyncRecordH
 
   private Future<HoldingUpdate> processHoldingUpdateEvent(HoldingEventHolder holder) {
     var requestContext = new RequestContext(getContext(), holder.getHeaders());
-    return createDBClient(holder.getTenantId()).getPgClient()
+    var pgClient = createDBClient(holder.getTenantId()).getPgClient();
+    return inventoryUpdateService.getAndSetHolderInstanceByIdIfRequired(holder, requestContext)
       // batchUpdateAdjacentHoldingsWithNewInstanceId must not run in the same transaction as processPoLinesUpdate
-      .withTrans(conn -> processPoLinesUpdate(holder, conn, requestContext))
-      .map(dto -> {
-        extractDistinctAdjacentHoldingsToUpdate(holder, dto);
-        return dto;
-      })
+      .compose(v -> processPoLinesInChunks(pgClient, holder.getTenantId(), holder, (poLines, conn) -> processPoLinesUpdate(holder, poLines, conn)))
       .compose(dto -> inventoryUpdateService.batchUpdateAdjacentHoldingsWithNewInstanceId(holder, dto.getAdjacentHoldingIds(), requestContext).map(dto))
       .onComplete(v -> auditOutboxService.processOutboxEventLogs(holder.getHeaders()));
   }
 
-  private Future<HoldingUpdate> processPoLinesUpdate(HoldingEventHolder holder, Conn conn, RequestContext requestContext) {
-    return inventoryUpdateService.getAndSetHolderInstanceByIdIfRequired(holder, requestContext)
-      .compose(v -> poLinesService.getPoLinesByCqlQuery(PO_LINE_LOCATIONS_HOLDING_ID_CQL.formatted(holder.getHoldingId()), conn))
-      .compose(poLines -> updatePoLines(holder, poLines, conn))
+  private Future<HoldingUpdate> processPoLinesInChunks(PostgresClient pgClient, String tenantId, HoldingEventHolder holder,
+                                                       BiFunction<List<PoLine>, Conn, Future<HoldingUpdate>> chunkProcessor) {
+    var eventKey = getCheckpointEventKey(holder);
+    return pgClient.withConn(conn -> checkpointService.getCheckpoint(conn, tenantId, holder.getHoldingId(), eventKey))
+      .compose(checkpoint -> {
+        var total = createNoUpdatedPoLinesDto();
+        if (Objects.isNull(checkpoint)) {
+          total.setAdjacentHoldingIds(List.of());
+          return processPoLinesChunk(pgClient, tenantId, holder, eventKey, chunkProcessor, null, false, total);
+        }
+        log.info("processPoLinesInChunks:: Resuming holding update after poLineId: {}, holdingId: {}", checkpoint.lastPoLineId(), holder.getHoldingId());
+        total.setAdjacentHoldingIds(checkpoint.adjacentHoldingIds());
+        return processPoLinesChunk(pgClient, tenantId, holder, eventKey, chunkProcessor, checkpoint.lastPoLineId(), true, total);
+      });
+  }
+
+  // Every chunk is committed together with the checkpoint, so a redelivered event resumes after the last committed chunk
+  private Future<HoldingUpdate> processPoLinesChunk(PostgresClient pgClient, String tenantId, HoldingEventHolder holder, String eventKey,
+                                                    BiFunction<List<PoLine>, Conn, Future<HoldingUpdate>> chunkProcessor,
+                                                    String afterPoLineId, boolean checkpointSaved, HoldingUpdate total) {
+    return pgClient.withTrans(conn -> poLinesService.getPoLinesChunkByHoldingId(holder.getHoldingId(), afterPoLineId, chunkSize, conn)
+        .compose(poLines -> chunkProcessor.apply(poLines, conn)
+          .compose(dto -> {
+            total.setAffectedRows(total.getAffectedRows() + dto.getAffectedRows());
+            extractDistinctAdjacentHoldingsToUpdate(holder, dto, total);
+            if (poLines.size() < chunkSize) {
+              return checkpointSaved
+                ? checkpointService.deleteCheckpoint(conn, tenantId, holder.getHoldingId()).<String>mapEmpty()
+                : Future.<String>succeededFuture();
+            }
+            var lastPoLineId = poLines.getLast().getId();
+            var checkpoint = new HoldingUpdateCheckpoint(lastPoLineId, total.getAdjacentHoldingIds());
+            return checkpointService.saveCheckpoint(conn, tenantId, holder.getHoldingId(), eventKey, checkpoint).map(lastPoLineId);
+          })))
+      .compose(lastPoLineId -> {
+        if (Objects.isNull(lastPoLineId)) {
+          return Future.succeededFuture(total);
+        }
+        log.info("processPoLinesChunk:: Committed chunk of POLs up to poLineId: {}, holdingId: {}", lastPoLineId, holder.getHoldingId());
+        return processPoLinesChunk(pgClient, tenantId, holder, eventKey, chunkProcessor, lastPoLineId, true, total);
+      });
+  }
+
+  private String getCheckpointEventKey(HoldingEventHolder holder) {
+    return "%s:%s".formatted(holder.getInstanceId(), holder.getSearchLocationIdPair().getRight());
+  }
+
+  private Future<HoldingUpdate> processPoLinesUpdate(HoldingEventHolder holder, List<PoLine> poLines, Conn conn) {
+    return updatePoLines(holder, poLines, conn)
       .compose(dto -> updateTitles(holder, mapTo(dto.getPoLinesWithUpdatedInstanceId(), AuditEntityWrapper::entity), conn).map(dto))
       .compose(dto -> saveOrderLinesOutboxLogsConditionally(holder, conn, dto));
   }
@@ -153,16 +205,17 @@ public class HoldingUpdateAsyncRecordHandler extends InventoryUpdateAsyncRecordH
     return poLinesService.updateTitles(conn, poLines, holder.getHeaders());
   }
 
-  // Create a list of distinct holding ids to update
+  // Add the holding ids of the chunk to the distinct holding ids to update
   // will exclude the current holdingId coming from the kafka event
-  private void extractDistinctAdjacentHoldingsToUpdate(HoldingEventHolder holder, HoldingUpdate dto) {
-    dto.setAdjacentHoldingIds(dto.getPoLinesWithUpdatedInstanceId().stream()
+  private void extractDistinctAdjacentHoldingsToUpdate(HoldingEventHolder holder, HoldingUpdate dto, HoldingUpdate total) {
+    total.setAdjacentHoldingIds(StreamEx.of(dto.getPoLinesWithUpdatedInstanceId())
       .map(AuditEntityWrapper::entity)
       .map(PoLine::getLocations)
       .flatMap(Collection::stream)
       .map(Location::getHoldingId)
       .filter(Objects::nonNull)
       .filter(holdingId -> !holdingId.equals(holder.getHoldingId()))
+      .prepend(total.getAdjacentHoldingIds())
       .distinct()
       .toList());
   }
@@ -216,17 +269,22 @@ public class HoldingUpdateAsyncRecordHandler extends InventoryUpdateAsyncRecordH
 
   private Future<Void> processHoldingUpdateEventInCentralTenant(HoldingEventHolder holder) {
     var updatedHeaders = HeaderUtils.prepareHeaderForTenant(holder.getCentralTenantId(), holder.getHeaders());
-    return createDBClient(holder.getCentralTenantId()).getPgClient()
-      .withTrans(conn -> processPoLinesUpdateInCentralTenant(holder, conn, updatedHeaders))
+    var pgClient = createDBClient(holder.getCentralTenantId()).getPgClient();
+    return processPoLinesInChunks(pgClient, holder.getCentralTenantId(), holder,
+        (poLines, conn) -> processPoLinesUpdateInCentralTenant(holder, poLines, conn, updatedHeaders))
       .onComplete(v -> auditOutboxService.processOutboxEventLogs(updatedHeaders))
       .mapEmpty();
   }
 
-  private Future<Void> processPoLinesUpdateInCentralTenant(HoldingEventHolder holder, Conn conn, Map<String, String> updatedHeaders) {
-    return poLinesService.getPoLinesByCqlQuery(String.format(PO_LINE_LOCATIONS_HOLDING_ID_CQL, holder.getHoldingId()), conn)
-      .compose(poLines -> updatePoLinesInCentralTenant(holder, poLines, conn))
-      .compose(wrappedPoLines -> auditOutboxService.saveOrderLinesOutboxLogs(conn, wrappedPoLines, OrderLineAuditEvent.Action.EDIT, updatedHeaders))
-      .mapEmpty();
+  private Future<HoldingUpdate> processPoLinesUpdateInCentralTenant(HoldingEventHolder holder, List<PoLine> poLines, Conn conn,
+                                                                    Map<String, String> updatedHeaders) {
+    return updatePoLinesInCentralTenant(holder, poLines, conn)
+      .compose(wrappedPoLines -> auditOutboxService.saveOrderLinesOutboxLogs(conn, wrappedPoLines, OrderLineAuditEvent.Action.EDIT, updatedHeaders)
+        .map(v -> {
+          var dto = createNoUpdatedPoLinesDto();
+          dto.setAffectedRows(wrappedPoLines.size());
+          return dto;
+        }));
   }
 
   private Future<List<AuditEntityWrapper<PoLine>>> updatePoLinesInCentralTenant(HoldingEventHolder holder, List<PoLine> poLines, Conn conn) {
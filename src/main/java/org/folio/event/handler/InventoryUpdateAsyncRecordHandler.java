@@ -1,12 +1,20 @@
 package org.folio.event.handler;
 
+import static org.folio.event.dto.ItemFields.PURCHASE_ORDER_LINE_IDENTIFIER;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.rest.persist.HelperUtils.ID_FIELD_NAME;
+import static org.folio.util.HeaderUtils.extractTenantFromHeaders;
 import static org.folio.util.HeaderUtils.getHeaderMap;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
@@ -15,6 +23,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.folio.event.InventoryEventType;
 import org.folio.event.dto.ResourceEvent;
 import org.folio.services.consortium.ConsortiumConfigurationService;
+import org.folio.services.inventory.InventoryEventCoalescingService;
+import org.folio.services.inventory.InventoryEventFilterService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 @Log4j2
@@ -26,8 +36,36 @@ public abstract class InventoryUpdateAsyncRecordHandler extends BaseAsyncRecordH
   @Autowired
   protected ConsortiumConfigurationService consortiumConfigurationService;
 
+  @Autowired
+  private InventoryEventFilterService inventoryEventFilterService;
+
+  @Autowired
+  private InventoryEventCoalescingService inventoryEventCoalescingService;
+
   private final InventoryEventType inventoryEventType;
 
+  // Events waiting for the end of their coalescing window by tenant and entity id, accessed on the handler context only
+  private final Map<String, CoalescedEvent> coalescedEvents = new HashMap<>();
+
+  private static class CoalescedEvent {
+    private final ResourceEvent resourceEvent;
+    private Map<String, String> headers;
+    private final List<Promise<Void>> promises = new ArrayList<>();
+
+    private CoalescedEvent(ResourceEvent resourceEvent, Map<String, String> headers, Promise<Void> promise) {
+      this.resourceEvent = resourceEvent;
+      this.headers = headers;
+      this.promises.add(promise);
+    }
+
+    // Keeps the old value of the first event, so that the changes of all coalesced events are detected
+    private void supersede(ResourceEvent latestEvent, Map<String, String> latestHeaders, Promise<Void> promise) {
+      resourceEvent.setNewValue(latestEvent.getNewValue());
+      headers = latestHeaders;
+      promises.add(promise);
+    }
+  }
+
   protected InventoryUpdateAsyncRecordHandler(InventoryEventType inventoryEventType, Vertx vertx, Context context) {
     super(vertx, context);
     this.inventoryEventType = inventoryEventType;
@@ -49,9 +87,14 @@ public abstract class InventoryUpdateAsyncRecordHandler extends BaseAsyncRecordH
         log.warn("handle:: Failed to find new or old value, ignoring record processing");
         return Future.succeededFuture();
       }
+      var newValue = JsonObject.mapFrom(resourceEvent.getNewValue());
+      if (isUnrelatedToOrders(newValue, headers, kafkaRecord.timestamp())) {
+        log.debug("handle:: Inventory record is not referenced by orders, ignoring record processing, key: {}", kafkaRecord.key());
+        return Future.succeededFuture(kafkaRecord.key());
+      }
       log.info("handle:: Processing new kafkaRecord, topic: {}, key: {}, eventType: {}",
         kafkaRecord.topic(), kafkaRecord.key(), resourceEvent.getType());
-      return processInventoryUpdateEvent(resourceEvent, headers)
+      return coalesceInventoryUpdateEvent(resourceEvent, newValue, headers)
         .onSuccess(v -> log.info("handle:: Processing successful, topic: {}, key: {}, eventType: {}",
           kafkaRecord.topic(), kafkaRecord.key(),resourceEvent.getType()))
         .onFailure(t -> log.error("Failed to process event, record key: {}", kafkaRecord.key(), t))
@@ -62,6 +105,70 @@ public abstract class InventoryUpdateAsyncRecordHandler extends BaseAsyncRecordH
     }
   }
 
+  private boolean isUnrelatedToOrders(JsonObject newValue, Map<String, String> headers, long eventTimestamp) {
+    if (!inventoryEventFilterService.isEnabled() || isPoLineBatchItem(newValue)) {
+      return false;
+    }
+    return inventoryEventFilterService.isUnrelated(headers.get(OKAPI_HEADER_TENANT), newValue.getString(ID_FIELD_NAME), eventTimestamp);
+  }
+
+  /**
+   * Processes the event after the coalescing window if it is enabled. Events of the same entity received within the window
+   * of the first one are merged into one with the old value of the first event and the new value of the latest one.
+   * The superseded records are acknowledged together with the merged event once it is applied.
+   * Item events of a PO line batch are never coalesced.
+   */
+  private Future<Void> coalesceInventoryUpdateEvent(ResourceEvent resourceEvent, JsonObject newValue, Map<String, String> headers) {
+    var entityId = newValue.getString(ID_FIELD_NAME);
+    if (!inventoryEventCoalescingService.isEnabled() || Objects.isNull(entityId) || isPoLineBatchItem(newValue)) {
+      return processInventoryUpdateEvent(resourceEvent, headers);
+    }
+    var key = headers.get(OKAPI_HEADER_TENANT) + ":" + entityId;
+    Promise<Void> promise = Promise.promise();
+    getContext().runOnContext(v -> {
+      var coalescedEvent = coalescedEvents.get(key);
+      if (Objects.nonNull(coalescedEvent)) {
+        coalescedEvent.supersede(resourceEvent, headers, promise);
+        return;
+      }
+      coalescedEvents.put(key, new CoalescedEvent(resourceEvent, headers, promise));
+      getVertx().setTimer(inventoryEventCoalescingService.getWindowMs(), id -> processCoalescedEvent(key));
+    });
+    return promise.future();
+  }
+
+  /**
+   * Items created for a PO line batch carry its id. Every event of such an item increases the progress of the batch,
+   * so it is neither filtered out nor superseded by a later event.
+   */
+  private static boolean isPoLineBatchItem(JsonObject newValue) {
+    return newValue.containsKey(PURCHASE_ORDER_LINE_IDENTIFIER.getValue());
+  }
+
+  private void processCoalescedEvent(String key) {
+    var coalescedEvent = coalescedEvents.remove(key);
+    inventoryEventCoalescingService.recordCoalesced(key, coalescedEvent.promises.size());
+    Future<Void> result;
+    try {
+      result = processInventoryUpdateEvent(coalescedEvent.resourceEvent, coalescedEvent.headers);
+    } catch (Exception e) {
+      result = Future.failedFuture(e);
+    }
+    result
+      .onSuccess(v -> coalescedEvent.promises.forEach(Promise::complete))
+      .onFailure(t -> coalescedEvent.promises.forEach(promise -> promise.fail(t)));
+  }
+
+  /**
+   * Resolves the central tenant of the event and lets the inventory event filter load the filters of both tenants.
+   *
+   * @return future with the central tenant id, null if central ordering is not enabled
+   */
+  protected Future<String> getCentralTenantId(Map<String, String> headers) {
+    return consortiumConfigurationService.getCentralTenantId(getContext(), headers)
+      .onSuccess(centralTenantId -> inventoryEventFilterService.refreshIfNeeded(extractTenantFromHeaders(headers), centralTenantId));
+  }
+
   /**
    * Method to process inventory update event. Should be implemented by the child classes.
    *
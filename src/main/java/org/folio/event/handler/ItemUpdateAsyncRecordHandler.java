@@ -3,24 +3,35 @@ package org.folio.event.handler;
 import static org.folio.event.InventoryEventType.INVENTORY_ITEM_UPDATE;
 import static org.folio.util.HeaderUtils.extractTenantFromHeaders;
 import static org.folio.util.HelperUtils.asFuture;
+import static org.folio.util.HelperUtils.chainCall;
 import static org.folio.util.HelperUtils.mapTo;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import lombok.extern.log4j.Log4j2;
+import one.util.streamex.StreamEx;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang.BooleanUtils;
 import org.apache.commons.lang.ObjectUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.folio.event.dto.AuditEntityWrapper;
 import org.folio.services.batch.BatchTrackingService;
 import org.folio.event.dto.ItemEventHolder;
 import org.folio.event.dto.ResourceEvent;
 import org.folio.event.service.AuditOutboxService;
+import org.folio.okapi.common.XOkapiHeaders;
 import org.folio.rest.jaxrs.model.OrderLineAuditEvent;
 import org.folio.rest.jaxrs.model.Piece;
 import org.folio.rest.jaxrs.model.PieceAuditEvent;
@@ -29,6 +40,7 @@ import org.folio.services.inventory.OrderLineLocationUpdateService;
 import org.folio.services.piece.PieceService;
 import org.folio.spring.SpringContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 @Log4j2
 public class ItemUpdateAsyncRecordHandler extends InventoryUpdateAsyncRecordHandler {
@@ -42,6 +54,18 @@ public class ItemUpdateAsyncRecordHandler extends InventoryUpdateAsyncRecordHand
   @Autowired
   private AuditOutboxService auditOutboxService;
 
+  @Value("${orders-storage.item-update.micro-batch.enabled:false}")
+  private boolean microBatchEnabled;
+  @Value("${orders-storage.item-update.micro-batch.max-size:100}")
+  private int microBatchMaxSize;
+  @Value("${orders-storage.item-update.micro-batch.linger.ms:50}")
+  private long microBatchLingerMs;
+
+  // Events waiting for a micro batch by tenant and active tenant, accessed on the handler context only
+  private final Map<String, List<PendingItemEvent>> pendingEvents = new HashMap<>();
+
+  private record PendingItemEvent(ItemEventHolder holder, Promise<Void> promise) {}
+
   public ItemUpdateAsyncRecordHandler(Vertx vertx, Context context) {
     super(INVENTORY_ITEM_UPDATE, vertx, context);
     SpringContextUtil.autowireDependencies(this, context);
@@ -54,9 +78,9 @@ public class ItemUpdateAsyncRecordHandler extends InventoryUpdateAsyncRecordHand
       log.info("processInventoryUpdateEvent:: Necessary item record fields were not updated: '{}', skipping processing event", holder.getItemId());
       return Future.succeededFuture();
     }
-    return consortiumConfigurationService.getCentralTenantId(getContext(), headers)
+    return getCentralTenantId(headers)
       .compose(centralTenantId -> asFuture(() -> holder.setCentralTenantId(centralTenantId)))
-      .compose(v -> processItemUpdateEvent(holder));
+      .compose(v -> microBatchEnabled ? enqueueItemUpdateEvent(holder) : processItemUpdateEvent(holder));
   }
 
   private Future<Void> processItemUpdateEvent(ItemEventHolder holder) {
@@ -123,8 +147,7 @@ public class ItemUpdateAsyncRecordHandler extends InventoryUpdateAsyncRecordHand
       holder.getBatchHolder().getBatchId(), holder.getBatchHolder().isBatchMode(), holder.getBatchHolder().isLastInBatch());
     return orderLineLocationUpdateService.updatePoLineLocationData(poLineIds, holder.getItem(), false, holder.getOrderTenantId(), holder.getHeaders(), conn)
       .compose(wrappedPoLines -> {
-        // Only save POL outbox logs if NOT in batch mode OR if this is the last item in batch
-        if (holder.getBatchHolder().isBatchMode() && !holder.getBatchHolder().isLastInBatch()) {
+        if (!isPoLinesOutboxLogged(holder)) {
           log.debug("processPoLinesUpdate:: Batch mode enabled and not last item, skipping POL outbox save");
           return Future.succeededFuture(false);
         } else {
@@ -135,6 +158,159 @@ public class ItemUpdateAsyncRecordHandler extends InventoryUpdateAsyncRecordHand
       .mapEmpty();
   }
 
+  // Only save POL outbox logs if NOT in batch mode OR if this is the last item in batch
+  private boolean isPoLinesOutboxLogged(ItemEventHolder holder) {
+    return !holder.getBatchHolder().isBatchMode() || holder.getBatchHolder().isLastInBatch();
+  }
+
+  /**
+   * Adds the event to the micro batch of its tenant and active tenant. The batch is processed when it reaches
+   * the max size or when the linger time of its first event has passed, whichever comes first.
+   */
+  private Future<Void> enqueueItemUpdateEvent(ItemEventHolder holder) {
+    Promise<Void> promise = Promise.promise();
+    getContext().runOnContext(v -> {
+      var key = holder.getTenantId() + ":" + holder.getActiveTenantId();
+      var events = pendingEvents.computeIfAbsent(key, k -> new ArrayList<>());
+      events.add(new PendingItemEvent(holder, promise));
+      if (events.size() >= microBatchMaxSize) {
+        flushPendingEvents(key, events);
+      } else if (events.size() == 1) {
+        getVertx().setTimer(microBatchLingerMs, id -> flushPendingEvents(key, events));
+      }
+    });
+    return promise.future();
+  }
+
+  private void flushPendingEvents(String key, List<PendingItemEvent> events) {
+    // The timer of a batch flushed by size must not flush the next batch of the key
+    if (pendingEvents.get(key) != events) {
+      return;
+    }
+    pendingEvents.remove(key);
+    processItemUpdateEvents(events);
+  }
+
+  /**
+   * Processes a micro batch of events with the same tenant and active tenant. The events are grouped by their order tenant
+   * and user and each group is applied in one transaction with the same result as processing its events one by one in their order.
+   * Events of a group that failed are processed one by one, so that only the failing events are retried.
+   */
+  private void processItemUpdateEvents(List<PendingItemEvent> events) {
+    log.info("processItemUpdateEvents:: Processing micro batch of '{}' item update event(s)", events.size());
+    determineOrderTenants(mapTo(events, PendingItemEvent::holder))
+      .onSuccess(v -> events.stream()
+        .collect(Collectors.groupingBy(event -> Pair.of(event.holder().getOrderTenantId(), event.holder().getHeaders().get(XOkapiHeaders.USER_ID)),
+          LinkedHashMap::new, Collectors.toList()))
+        .forEach((key, group) -> processItemUpdateEventsGroup(key.getLeft(), group)))
+      .onFailure(t -> {
+        log.warn("processItemUpdateEvents:: Failed to determine order tenants, processing '{}' event(s) one by one", events.size(), t);
+        processItemUpdateEventsOneByOne(events);
+      });
+  }
+
+  private Future<Void> determineOrderTenants(List<ItemEventHolder> holders) {
+    var activeTenantId = holders.getFirst().getActiveTenantId();
+    return createDBClient(activeTenantId).getPgClient()
+      .withConn(conn -> pieceService.getItemIdsWithPieces(mapTo(holders, ItemEventHolder::getItemId), activeTenantId, conn))
+      .compose(itemIds -> asFuture(() -> holders.forEach(holder ->
+        holder.setOrderTenantId(itemIds.contains(holder.getItemId()) ? activeTenantId : holder.getTenantId()))));
+  }
+
+  private void processItemUpdateEventsGroup(String orderTenantId, List<PendingItemEvent> events) {
+    var holders = mapTo(events, PendingItemEvent::holder);
+    // Pieces are audited with the headers of their own events, while the POL update and its outbox log are shared by the group.
+    // All events of the group have the same tenant, order tenant and user, so the headers of the first one attribute the POL
+    // changes to the right user, only request specific headers like the request id and token of the other events are not used
+    var headers = holders.getFirst().getHeaders();
+    createDBClient(orderTenantId).getPgClient()
+      .withTrans(conn -> chainCall(holders, holder -> batchTrackingService.increaseBatchTrackingProgress(conn, holder.getBatchHolder(), orderTenantId)
+          .compose(v -> batchTrackingService.deleteBatchTracking(conn, holder.getBatchHolder())))
+        .compose(v -> processPiecesUpdate(holders, orderTenantId, conn))
+        .compose(piecesUpdates -> processPoLinesUpdate(piecesUpdates, orderTenantId, headers, conn)))
+      .onComplete(ar -> auditOutboxService.processOutboxEventLogs(headers))
+      .onSuccess(v -> events.forEach(event -> event.promise().complete()))
+      .onFailure(t -> {
+        log.warn("processItemUpdateEventsGroup:: Failed to process '{}' event(s) in order tenant: '{}', processing them one by one",
+          events.size(), orderTenantId, t);
+        holders.forEach(holder -> holder.getBatchHolder().setBatchMode(true).setLastInBatch(false));
+        processItemUpdateEventsOneByOne(events);
+      });
+  }
+
+  private void processItemUpdateEventsOneByOne(List<PendingItemEvent> events) {
+    chainCall(events, event -> processItemUpdateEvent(event.holder())
+      .onSuccess(v -> event.promise().complete())
+      .onFailure(t -> event.promise().fail(t))
+      .otherwiseEmpty());
+  }
+
+  private Future<List<Pair<ItemEventHolder, List<AuditEntityWrapper<Piece>>>>> processPiecesUpdate(List<ItemEventHolder> holders, String orderTenantId,
+                                                                                                   Conn conn) {
+    return pieceService.getPiecesByItemIds(mapTo(holders, ItemEventHolder::getItemId), orderTenantId, conn)
+      .compose(pieces -> {
+        var piecesByItemId = StreamEx.of(pieces).filter(Objects::nonNull).groupingBy(Piece::getItemId);
+        // Pieces are changed in memory in the order of the events, each event is audited with its own before and after states
+        var piecesUpdates = mapTo(holders, holder -> Pair.of(holder, applyItemChanges(holder, piecesByItemId.getOrDefault(holder.getItemId(), List.of()))));
+        var updatedPieceIds = StreamEx.of(piecesUpdates).flatCollection(Pair::getRight).map(wrapper -> wrapper.entity().getId()).toSet();
+        var piecesToUpdate = StreamEx.of(pieces).filter(Objects::nonNull).filter(piece -> updatedPieceIds.contains(piece.getId())).toList();
+        var updateFuture = piecesToUpdate.isEmpty()
+          ? Future.<List<AuditEntityWrapper<Piece>>>succeededFuture(List.of())
+          : pieceService.updatePiecesInventoryData(piecesToUpdate, conn, orderTenantId);
+        return updateFuture
+          .compose(v -> chainCall(piecesUpdates, update -> auditOutboxService
+            .savePiecesOutboxLog(conn, update.getRight(), PieceAuditEvent.Action.EDIT, update.getLeft().getHeaders())))
+          .map(piecesUpdates);
+      });
+  }
+
+  private List<AuditEntityWrapper<Piece>> applyItemChanges(ItemEventHolder holder, List<Piece> pieces) {
+    var piecesToUpdate = filterPiecesToUpdate(holder, pieces);
+    if (CollectionUtils.isEmpty(piecesToUpdate)) {
+      log.info("applyItemChanges:: No pieces were found to update holding by itemId: '{}' and holdingId: '{}'", holder.getItemId(), holder.getHoldingId());
+      return List.of();
+    }
+    return piecesToUpdate.stream()
+      .map(piece -> {
+        var originalPiece = JsonObject.mapFrom(piece).mapTo(Piece.class);
+        piece
+          .withHoldingId(holder.getHoldingId())
+          .withBarcode(holder.getBarcode())
+          .withCallNumber(holder.getCallNumber())
+          .withAccessionNumber(holder.getAccessionNumber());
+        return AuditEntityWrapper.of(JsonObject.mapFrom(piece).mapTo(Piece.class), originalPiece);
+      })
+      .toList();
+  }
+
+  private Future<Void> processPoLinesUpdate(List<Pair<ItemEventHolder, List<AuditEntityWrapper<Piece>>>> piecesUpdates, String orderTenantId,
+                                            Map<String, String> headers, Conn conn) {
+    var itemsByPoLineId = new LinkedHashMap<String, List<JsonObject>>();
+    var loggedPoLineIds = new HashSet<String>();
+    piecesUpdates.forEach(update -> {
+      var holder = update.getLeft();
+      var poLineIds = update.getRight().stream().map(wrapper -> wrapper.entity().getPoLineId()).distinct().toList();
+      poLineIds.forEach(poLineId -> itemsByPoLineId.computeIfAbsent(poLineId, k -> new ArrayList<>()).add(holder.getItem()));
+      if (isPoLinesOutboxLogged(holder)) {
+        loggedPoLineIds.addAll(poLineIds);
+      }
+    });
+    if (itemsByPoLineId.isEmpty()) {
+      log.info("processPoLinesUpdate:: Skipping POL update as no pieces were updated by '{}' item event(s)", piecesUpdates.size());
+      return Future.succeededFuture();
+    }
+    return orderLineLocationUpdateService.updatePoLineLocationData(itemsByPoLineId, false, orderTenantId, headers, conn)
+      .compose(wrappedPoLines -> {
+        if (loggedPoLineIds.isEmpty()) {
+          log.debug("processPoLinesUpdate:: Batch mode enabled and no last items, skipping POL outbox save");
+          return Future.succeededFuture(false);
+        }
+        var poLinesToLog = wrappedPoLines.stream().filter(wrapper -> loggedPoLineIds.contains(wrapper.entity().getId())).toList();
+        return auditOutboxService.saveOrderLinesOutboxLogs(conn, poLinesToLog, OrderLineAuditEvent.Action.EDIT, headers);
+      })
+      .mapEmpty();
+  }
+
   private ItemEventHolder createItemEventHolder(ResourceEvent resourceEvent, Map<String, String> headers) {
     return ItemEventHolder.builder()
       .resourceEvent(resourceEvent)
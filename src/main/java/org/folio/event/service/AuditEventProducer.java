@@ -5,13 +5,14 @@ import static org.folio.util.AuditUtils.getMetadataOrThrow;
 import static org.folio.util.AuditUtils.convertToSnapshot;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import org.folio.event.AuditEventType;
 import org.folio.event.dto.AuditEntityWrapper;
+import org.folio.event.dto.RenderedAuditEvent;
 import org.folio.kafka.KafkaConfig;
-import org.folio.kafka.SimpleKafkaProducerManager;
 import org.folio.kafka.services.KafkaProducerRecordBuilder;
 import org.folio.rest.jaxrs.model.OrderAuditEvent;
 import org.folio.rest.jaxrs.model.OrderLineAuditEvent;
@@ -26,8 +27,7 @@ import org.folio.rest.jaxrs.model.PurchaseOrder;
 import org.folio.rest.tools.utils.TenantTool;
 
 import io.vertx.core.Future;
-import io.vertx.core.Vertx;
-import io.vertx.kafka.client.producer.KafkaProducer;
+import io.vertx.kafka.client.producer.KafkaHeader;
 import io.vertx.kafka.client.producer.KafkaProducerRecord;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
@@ -39,6 +39,7 @@ import lombok.extern.log4j.Log4j2;
 public class AuditEventProducer {
 
   private final KafkaConfig kafkaConfig;
+  private final AuditProducerRegistry producerRegistry;
 
   /**
    * Sends event for order change(Create, Edit, Delete) to kafka.
@@ -97,6 +98,76 @@ public class AuditEventProducer {
       .onFailure(t -> log.warn("sendPieceEvent failed, piece id={}", piece.getId(), t));
   }
 
+  /**
+   * Renders order change event, the rendered payload is published as is by {@link #sendRenderedEvent}.
+   *
+   * @param orderWrapper the audited order
+   * @param eventAction  the event action
+   * @return rendered event with order id as kafka key
+   */
+  public RenderedAuditEvent renderOrderEvent(AuditEntityWrapper<PurchaseOrder> orderWrapper, OrderAuditEvent.Action eventAction) {
+    var event = getOrderEvent(orderWrapper.entity(), orderWrapper.originalEntity(), eventAction);
+    return new RenderedAuditEvent(event.getOrderId(), event);
+  }
+
+  /**
+   * Renders order line change event, the rendered payload is published as is by {@link #sendRenderedEvent}.
+   *
+   * @param poLineWrapper the audited order line
+   * @param eventAction   the event action
+   * @return rendered event with order line id as kafka key
+   */
+  public RenderedAuditEvent renderOrderLineEvent(AuditEntityWrapper<PoLine> poLineWrapper, OrderLineAuditEvent.Action eventAction) {
+    var event = getOrderLineEvent(poLineWrapper.entity(), poLineWrapper.originalEntity(), eventAction);
+    return new RenderedAuditEvent(event.getOrderLineId(), event);
+  }
+
+  /**
+   * Renders piece change event, the rendered payload is published as is by {@link #sendRenderedEvent}.
+   *
+   * @param pieceWrapper the audited piece
+   * @param eventAction  the event action
+   * @return rendered event with piece id as kafka key
+   */
+  public RenderedAuditEvent renderPieceEvent(AuditEntityWrapper<Piece> pieceWrapper, PieceAuditEvent.Action eventAction) {
+    var event = getPieceEvent(pieceWrapper.entity(), pieceWrapper.originalEntity(), eventAction);
+    return new RenderedAuditEvent(event.getPieceId(), event);
+  }
+
+  /**
+   * Sends pre-rendered event payload to kafka without re-serializing it.
+   *
+   * @param entityType   the audited entity type
+   * @param key          the kafka key
+   * @param payload      the rendered event
+   * @param okapiHeaders the okapi headers
+   * @return future with true if sending was success or failed future otherwise
+   */
+  public Future<Boolean> sendRenderedEvent(EntityType entityType, String key, String payload, Map<String, String> okapiHeaders) {
+    var eventType = switch (entityType) {
+      case ORDER -> AuditEventType.ACQ_ORDER_CHANGED;
+      case ORDER_LINE -> AuditEventType.ACQ_ORDER_LINE_CHANGED;
+      case PIECE -> AuditEventType.ACQ_PIECE_CHANGED;
+    };
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    String topicName = buildTopicName(kafkaConfig.getEnvId(), tenantId, eventType.getTopicName());
+    KafkaProducerRecord<String, String> kafkaProducerRecord = KafkaProducerRecord.create(topicName, key, payload);
+    kafkaProducerRecord.addHeaders(getOkapiKafkaHeaders(tenantId, topicName, okapiHeaders));
+    return send(kafkaProducerRecord, eventType, key, entityType, topicName);
+  }
+
+  /**
+   * The record builder serializes its value, so it is used here for the okapi headers only
+   * to keep them the same as for the events sent by {@link #sendToKafka}.
+   */
+  private List<KafkaHeader> getOkapiKafkaHeaders(String tenantId, String topicName, Map<String, String> okapiHeaders) {
+    return new KafkaProducerRecordBuilder<String, Object>(tenantId)
+      .topic(topicName)
+      .propagateOkapiHeaders(okapiHeaders)
+      .build()
+      .headers();
+  }
+
   private OrderAuditEvent getOrderEvent(@Nonnull PurchaseOrder order, @Nullable PurchaseOrder originalOrder, OrderAuditEvent.Action eventAction) {
     var metadata = getMetadataOrThrow(order::getMetadata, order::getId);
     return new OrderAuditEvent()
@@ -106,8 +177,8 @@ public class AuditEventProducer {
       .withEventDate(new Date())
       .withActionDate(metadata.getUpdatedDate())
       .withUserId(metadata.getUpdatedByUserId())
-      .withOriginalOrderSnapshot(convertToSnapshot(originalOrder, PurchaseOrder::withMetadata, OrderSnapshot.class))
-      .withOrderSnapshot(convertToSnapshot(order, PurchaseOrder::withMetadata, OrderSnapshot.class)); // not populate metadata to not include it in snapshot's comparison in UI
+      .withOriginalOrderSnapshot(convertToSnapshot(originalOrder, OrderSnapshot.class))
+      .withOrderSnapshot(convertToSnapshot(order, OrderSnapshot.class)); // metadata is not populated to not include it in snapshot's comparison in UI
   }
 
   private OrderLineAuditEvent getOrderLineEvent(@Nonnull PoLine poLine, @Nullable PoLine originalPoLine, OrderLineAuditEvent.Action eventAction) {
@@ -120,8 +191,8 @@ public class AuditEventProducer {
       .withEventDate(new Date())
       .withActionDate(metadata.getUpdatedDate())
       .withUserId(metadata.getUpdatedByUserId())
-      .withOriginalOrderLineSnapshot(convertToSnapshot(originalPoLine, PoLine::withMetadata, OrderLineSnapshot.class))
-      .withOrderLineSnapshot(convertToSnapshot(poLine, PoLine::withMetadata, OrderLineSnapshot.class)); // not populate metadata to not include it in snapshot's comparison in UI
+      .withOriginalOrderLineSnapshot(convertToSnapshot(originalPoLine, OrderLineSnapshot.class))
+      .withOrderLineSnapshot(convertToSnapshot(poLine, OrderLineSnapshot.class)); // metadata is not populated to not include it in snapshot's comparison in UI
   }
 
   private PieceAuditEvent getPieceEvent(@Nonnull Piece piece, @Nullable Piece originalPiece, PieceAuditEvent.Action eventAction) {
@@ -133,8 +204,8 @@ public class AuditEventProducer {
       .withEventDate(new Date())
       .withActionDate(metadata.getUpdatedDate())
       .withUserId(metadata.getUpdatedByUserId())
-      .withOriginalPieceSnapshot(convertToSnapshot(originalPiece, Piece::withMetadata, PieceSnapshot.class))
-      .withPieceSnapshot(convertToSnapshot(piece, Piece::withMetadata, PieceSnapshot.class)); // not populate metadata to not include it in snapshot's comparison in UI
+      .withOriginalPieceSnapshot(convertToSnapshot(originalPiece, PieceSnapshot.class))
+      .withPieceSnapshot(convertToSnapshot(piece, PieceSnapshot.class)); // metadata is not populated to not include it in snapshot's comparison in UI
   }
 
   private Future<Boolean> sendToKafka(AuditEventType eventType,
@@ -151,12 +222,14 @@ public class AuditEventProducer {
       .propagateOkapiHeaders(okapiHeaders)
       .build();
 
-    SimpleKafkaProducerManager producerManager = new SimpleKafkaProducerManager(Vertx.currentContext().owner(), kafkaConfig);
-    KafkaProducer<String, String> producer = producerManager.createShared(topicName);
-    return producer.send(kafkaProducerRecord)
+    return send(kafkaProducerRecord, eventType, key, entityType, topicName);
+  }
+
+  private Future<Boolean> send(KafkaProducerRecord<String, String> kafkaProducerRecord, AuditEventType eventType,
+                               String key, EntityType entityType, String topicName) {
+    return producerRegistry.send(kafkaProducerRecord)
       .map(event -> true)
       .onComplete(reply -> {
-        producer.end().onComplete(ear -> producer.close());
         if (reply.succeeded()) {
           log.info("Event with type '{}' for {} id: '{}' was sent to kafka topic '{}'", eventType, entityType, key, topicName);
         } else {
@@ -1,16 +1,28 @@
 package org.folio.event.service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dao.PostgresClientFactory;
 import org.folio.dao.audit.AuditOutboxEventsLogRepository;
 import org.folio.event.dto.AuditEntityWrapper;
+import org.folio.event.dto.OutboxBatchResult;
+import org.folio.event.dto.OutboxDrainResult;
+import org.folio.event.dto.OutboxEventLogEntry;
+import org.folio.event.dto.OutboxLane;
+import org.folio.event.dto.RenderedAuditEvent;
 import org.folio.rest.jaxrs.model.OrderAuditEvent;
 import org.folio.rest.jaxrs.model.OrderLineAuditEvent;
 import org.folio.rest.jaxrs.model.OutboxEventLog;
@@ -22,18 +34,45 @@ import org.folio.rest.jaxrs.model.PurchaseOrder;
 import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.tools.utils.TenantTool;
+import org.folio.util.AuditUtils;
+import org.springframework.beans.factory.annotation.Value;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.json.jackson.DatabindCodec;
 
 public class AuditOutboxService {
 
   private static final Logger log = LogManager.getLogger();
+  // New and original snapshot fields of the rendered events that can be compacted
+  private static final Map<EntityType, Pair<String, String>> SNAPSHOT_FIELDS = Map.of(
+    EntityType.ORDER_LINE, Pair.of("orderLineSnapshot", "originalOrderLineSnapshot"),
+    EntityType.PIECE, Pair.of("pieceSnapshot", "originalPieceSnapshot"));
 
   private final AuditOutboxEventsLogRepository outboxRepository;
   private final AuditEventProducer producer;
   private final PostgresClientFactory pgClientFactory;
+  private final Map<String, TenantSingleFlight> tenantSingleFlights = new ConcurrentHashMap<>();
+  private final AtomicLong triggersReceived = new AtomicLong();
+  private final AtomicLong runsExecuted = new AtomicLong();
+  private final AtomicLong poisonEventsSkipped = new AtomicLong();
+  private volatile OutboxRelay relay;
+
+  @Value("${audit-outbox.batch.size:1000}")
+  private int batchSize;
+  @Value("${audit-outbox.bulk.batch.size:200}")
+  private int bulkBatchSize;
+  @Value("${audit-outbox.drain.time-budget.seconds:60}")
+  private long drainTimeBudgetSeconds;
+  @Value("${audit-outbox.lease.seconds:60}")
+  private int leaseSeconds;
+  @Value("${audit-outbox.partitions.days-ahead:3}")
+  private int partitionDaysAhead;
+  @Value("${audit-outbox.compact-snapshots.enabled:false}")
+  private boolean compactSnapshotsEnabled;
 
   public AuditOutboxService(AuditOutboxEventsLogRepository outboxRepository,
                             AuditEventProducer producer,
@@ -44,72 +83,252 @@ public class AuditOutboxService {
   }
 
   /**
-   * Reads outbox event logs from DB and send them to Kafka
-   * and delete from outbox table in the single transaction.
+   * Attaches the continuous relay, after that {@link #processOutboxEventLogs} only signals it.
+   *
+   * @param relay the relay or null to detach it
+   */
+  public void setRelay(OutboxRelay relay) {
+    this.relay = relay;
+  }
+
+  /**
+   * Triggers relaying of outbox event logs for the tenant. If the continuous relay is running
+   * it is signalled and the method returns immediately, otherwise one batch is relayed.
+   * At most one batch per tenant is relayed at a time, triggers arriving while it runs
+   * are collapsed into a single follow-up run.
    *
    * @param okapiHeaders the okapi headers
    * @return future with integer how many records have been processed
    */
   public Future<Integer> processOutboxEventLogs(Map<String, String> okapiHeaders) {
     String tenantId = TenantTool.tenantId(okapiHeaders);
-    log.trace("processOutboxEventLogs, tenantId={}", tenantId);
+    OutboxRelay currentRelay = relay;
+    if (currentRelay != null) {
+      log.trace("processOutboxEventLogs:: Signalling outbox relay, tenantId={}", tenantId);
+      currentRelay.signal(tenantId, okapiHeaders);
+      return Future.succeededFuture(0);
+    }
+    triggersReceived.incrementAndGet();
+    return tenantSingleFlights.computeIfAbsent(tenantId, id -> new TenantSingleFlight())
+      .trigger(okapiHeaders);
+  }
+
+  /**
+   * @return count of {@link #processOutboxEventLogs} triggers received while no relay was attached,
+   * for all tenants of this module instance since it started
+   */
+  public long getTriggersReceived() {
+    return triggersReceived.get();
+  }
+
+  /**
+   * @return count of relay runs executed for the received triggers, for all tenants of this module instance since it started
+   */
+  public long getRunsExecuted() {
+    return runsExecuted.get();
+  }
+
+  /**
+   * @return count of malformed event logs that could not be sent and were acknowledged without sending,
+   * for all tenants of this module instance since it started
+   */
+  public long getPoisonEventsSkipped() {
+    return poisonEventsSkipped.get();
+  }
+
+  /**
+   * Relays the next batch of outbox event logs, see {@link #relayNextBatch}.
+   *
+   * @param okapiHeaders the okapi headers
+   * @return future with integer how many records have been processed
+   */
+  public Future<Integer> relayOutboxEventLogs(Map<String, String> okapiHeaders) {
+    return relayNextBatch(okapiHeaders).map(OutboxBatchResult::relayedCount);
+  }
+
+  /**
+   * Relays the next batch of outbox event logs. Interactive events are served first, then bulk events are
+   * relayed with their own smaller batch size. Bulk jobs like piece claiming get a bounded share of every batch,
+   * so that they can neither delay order audit events nor be starved by a steady interactive load.
+   *
+   * @param okapiHeaders the okapi headers
+   * @return future with the batch result
+   */
+  public Future<OutboxBatchResult> relayNextBatch(Map<String, String> okapiHeaders) {
+    return relayLane(okapiHeaders, OutboxLane.INTERACTIVE, batchSize)
+      .compose(interactive -> relayLane(okapiHeaders, OutboxLane.BULK, bulkBatchSize)
+        .map(bulk -> new OutboxBatchResult(interactive.relayedCount() + bulk.relayedCount(),
+          interactive.hasMore() || bulk.hasMore())));
+  }
+
+  /**
+   * Claims a batch of the lane outbox event logs, oldest first, sends them to Kafka and acknowledges the sent ones.
+   * Event logs are leased by a short statement and published outside any transaction,
+   * event logs whose sending failed stay in the table and are claimed again once their lease expires.
+   */
+  private Future<OutboxBatchResult> relayLane(Map<String, String> okapiHeaders, OutboxLane lane, int limit) {
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    log.trace("relayLane:: tenantId={}, lane={}", tenantId, lane);
     PostgresClient pgClient = pgClientFactory.createInstance(tenantId);
-    return pgClient.withTrans(conn -> outboxRepository.fetchEventLogs(conn, tenantId)
+    return pgClient.withConn(conn -> outboxRepository.claimEventLogs(conn, tenantId, lane, limit, leaseSeconds))
       .compose(logs -> {
         if (CollectionUtils.isEmpty(logs)) {
-          log.debug("processOutboxEventLogs completed, no event log found in outbox table");
-          return Future.succeededFuture(0);
+          log.debug("relayLane:: No {} event log found in outbox table", lane);
+          return Future.succeededFuture(new OutboxBatchResult(0, false));
         }
 
-        log.info("Fetched {} event logs from outbox table, going to send them to kafka", logs.size());
+        log.info("Claimed {} {} event logs from outbox table, going to send them to kafka", logs.size(), lane);
+        boolean hasMore = logs.size() >= limit;
         List<Future<Boolean>> futures = getKafkaFutures(logs, okapiHeaders);
         return Future.join(futures)
-          .map(logs.stream().map(OutboxEventLog::getEventId).collect(Collectors.toList()))
+          .transform(ar -> Future.succeededFuture(getSentEventIds(logs, futures)))
           .compose(eventIds -> {
+            if (eventIds.size() < logs.size()) {
+              log.warn("relayLane:: {} of {} event logs were not sent, they will be retried after lease expiration",
+                logs.size() - eventIds.size(), logs.size());
+            }
             if (CollectionUtils.isNotEmpty(eventIds)) {
-              return outboxRepository.deleteBatch(conn, eventIds, tenantId)
-                .onSuccess(rowsCount -> log.info("{} logs have been deleted from outbox table", rowsCount))
-                .onFailure(ex -> log.error("Logs deletion failed", ex));
+              return pgClient.withConn(conn -> outboxRepository.acknowledgeBatch(conn, eventIds, tenantId))
+                .onSuccess(rowsCount -> log.info("{} logs have been acknowledged in outbox table", rowsCount))
+                .onFailure(ex -> log.error("Logs acknowledgement failed", ex));
             }
-            log.debug("processOutboxEventLogs completed, eventIds was empty");
+            log.debug("relayLane:: completed, eventIds was empty");
             return Future.succeededFuture(0);
-          });
-      })
-    );
+          })
+          .map(relayedCount -> new OutboxBatchResult(relayedCount, hasMore));
+      });
   }
 
-  private List<Future<Boolean>> getKafkaFutures(List<OutboxEventLog> eventLogs, Map<String, String> okapiHeaders) {
-    return eventLogs.stream().map(eventLog -> {
-      try {
-        if (eventLog.getEntityType() == null) {
-          throw new IllegalStateException("Entity type is null for event with id: " + eventLog.getEventId());
+  /**
+   * Returns ids of the event logs that do not need to be sent again, including the poison ones that can never be sent.
+   */
+  private List<String> getSentEventIds(List<OutboxEventLogEntry> logs, List<Future<Boolean>> futures) {
+    List<String> eventIds = new ArrayList<>();
+    for (int i = 0; i < logs.size(); i++) {
+      if (futures.get(i).succeeded()) {
+        eventIds.add(logs.get(i).eventLog().getEventId());
+      }
+    }
+    return eventIds;
+  }
+
+  /**
+   * Relays outbox event logs batch by batch until the outbox table is empty
+   * or the configured time budget runs out, then maintains the outbox partitions and logs lane depths.
+   *
+   * @param okapiHeaders the okapi headers
+   * @return future with the drain result
+   */
+  public Future<OutboxDrainResult> drainOutboxEventLogs(Map<String, String> okapiHeaders) {
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    long startTime = System.currentTimeMillis();
+    long deadline = startTime + TimeUnit.SECONDS.toMillis(drainTimeBudgetSeconds);
+    return drainOutboxEventLogs(okapiHeaders, deadline, 0, 0)
+      .compose(result -> maintainPartitions(tenantId).map(result))
+      .compose(result -> fetchLaneDepths(okapiHeaders).map(result).otherwise(result))
+      .map(result -> new OutboxDrainResult(result.relayedCount(), result.batchCount(),
+        System.currentTimeMillis() - startTime, result.drained()))
+      .onSuccess(result -> log.info("drainOutboxEventLogs:: Relayed {} event logs in {} batch(es) in {} ms, drained: {}, tenantId: {}",
+        result.relayedCount(), result.batchCount(), result.elapsedMs(), result.drained(), tenantId))
+      .onFailure(t -> log.error("drainOutboxEventLogs:: Failed to drain outbox table, tenantId: {}", tenantId, t));
+  }
+
+  private Future<OutboxDrainResult> drainOutboxEventLogs(Map<String, String> okapiHeaders, long deadline,
+                                                         int relayedCount, int batchCount) {
+    return relayNextBatch(okapiHeaders)
+      .compose(batch -> {
+        int totalRelayed = relayedCount + batch.relayedCount();
+        int totalBatches = batchCount + 1;
+        if (!batch.hasMore()) {
+          return Future.succeededFuture(new OutboxDrainResult(totalRelayed, totalBatches, 0, true));
         }
-        switch (eventLog.getEntityType()) {
-          case ORDER -> {
-            var entityWrapper = decodeOutboxPayload(eventLog.getPayload(), PurchaseOrder.class);
-            OrderAuditEvent.Action action = OrderAuditEvent.Action.fromValue(eventLog.getAction());
-            return producer.sendOrderEvent(entityWrapper, action, okapiHeaders);
-          }
-          case ORDER_LINE -> {
-            var entityWrapper = decodeOutboxPayload(eventLog.getPayload(), PoLine.class);
-            OrderLineAuditEvent.Action action = OrderLineAuditEvent.Action.fromValue(eventLog.getAction());
-            return producer.sendOrderLineEvent(entityWrapper, action, okapiHeaders);
-          }
-          case PIECE -> {
-            var entityWrapper = decodeOutboxPayload(eventLog.getPayload(), Piece.class);
-            PieceAuditEvent.Action action = PieceAuditEvent.Action.fromValue(eventLog.getAction());
-            return producer.sendPieceEvent(entityWrapper, action, okapiHeaders);
-          }
-          default -> throw new IllegalStateException("Missing handler for events with entityType: " + eventLog.getEntityType());
+        if (System.currentTimeMillis() >= deadline) {
+          return Future.succeededFuture(new OutboxDrainResult(totalRelayed, totalBatches, 0, false));
         }
-      } catch (IllegalArgumentException e) {
-        log.warn("getKafkaFutures:: Unable to process event '{}' with entity of type '{}' and action '{}', reason: {}",
-          eventLog.getEventId(), eventLog.getEntityType(), eventLog.getAction(), e.getMessage());
+        return drainOutboxEventLogs(okapiHeaders, deadline, totalRelayed, totalBatches);
+      });
+  }
+
+  /**
+   * Creates partitions for the upcoming days and drops the fully relayed ones.
+   * Failures are only logged, as they do not affect relaying.
+   *
+   * @param tenantId the tenant id
+   * @return future with count of dropped partitions, 0 if maintenance failed
+   */
+  public Future<Integer> maintainPartitions(String tenantId) {
+    return pgClientFactory.createInstance(tenantId)
+      .withConn(conn -> outboxRepository.maintainPartitions(conn, tenantId, partitionDaysAhead))
+      .onSuccess(dropped -> log.info("maintainPartitions:: {} fully relayed outbox partition(s) dropped, tenantId: {}", dropped, tenantId))
+      .onFailure(t -> log.warn("maintainPartitions:: Failed to maintain outbox partitions, tenantId: {}", tenantId, t))
+      .otherwise(0);
+  }
+
+  /**
+   * Counts pending event logs per lane of the tenant.
+   *
+   * @param okapiHeaders the okapi headers
+   * @return future with count of pending event logs per lane, lanes without pending event logs are absent
+   */
+  public Future<Map<OutboxLane, Long>> fetchLaneDepths(Map<String, String> okapiHeaders) {
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+    return pgClientFactory.createInstance(tenantId)
+      .withConn(conn -> outboxRepository.countPendingByLane(conn, tenantId))
+      .onSuccess(depths -> log.info("fetchLaneDepths:: Pending outbox event logs per lane: {}, tenantId: {}", depths, tenantId));
+  }
+
+  private List<Future<Boolean>> getKafkaFutures(List<OutboxEventLogEntry> entries, Map<String, String> okapiHeaders) {
+    return entries.stream().map(entry -> {
+      var eventLog = entry.eventLog();
+      try {
+        return sendEventLog(entry, okapiHeaders);
+      } catch (DecodeException | IllegalArgumentException e) {
+        // A malformed event can never be sent, it is acknowledged so that it does not block the lane forever
+        var poisonEvents = poisonEventsSkipped.incrementAndGet();
+        log.error("getKafkaFutures:: Skipping poison event '{}' with entity of type '{}' and action '{}', poison events skipped: {}, reason: {}",
+          eventLog.getEventId(), eventLog.getEntityType(), eventLog.getAction(), poisonEvents, e.getMessage());
         return Future.succeededFuture(false);
+      } catch (RuntimeException e) {
+        // Any other failure (e.g. a closed producer) is transient, the event stays claimed and is retried after lease expiration
+        log.warn("getKafkaFutures:: Failed to send event '{}' with entity of type '{}', it will be retried", eventLog.getEventId(), eventLog.getEntityType(), e);
+        return Future.<Boolean>failedFuture(e);
       }
     }).collect(Collectors.toList());
   }
 
+  private Future<Boolean> sendEventLog(OutboxEventLogEntry entry, Map<String, String> okapiHeaders) {
+    var eventLog = entry.eventLog();
+    if (eventLog.getEntityType() == null) {
+      throw new IllegalArgumentException("Entity type is null for event with id: " + eventLog.getEventId());
+    }
+    if (entry.isRendered()) {
+      // Compact payloads are expanded by the claim query, null means that the stored patch could not be applied
+      if (eventLog.getPayload() == null) {
+        throw new IllegalArgumentException("Compact payload could not be expanded for event with id: " + eventLog.getEventId());
+      }
+      return producer.sendRenderedEvent(eventLog.getEntityType(), entry.eventKey(), eventLog.getPayload(), okapiHeaders);
+    }
+    // Payloads written before events were pre-rendered or by SQL (e.g. claiming) hold the audited entity
+    switch (eventLog.getEntityType()) {
+      case ORDER -> {
+        var entityWrapper = decodeOutboxPayload(eventLog.getPayload(), PurchaseOrder.class);
+        OrderAuditEvent.Action action = OrderAuditEvent.Action.fromValue(eventLog.getAction());
+        return producer.sendOrderEvent(entityWrapper, action, okapiHeaders);
+      }
+      case ORDER_LINE -> {
+        var entityWrapper = decodeOutboxPayload(eventLog.getPayload(), PoLine.class);
+        OrderLineAuditEvent.Action action = OrderLineAuditEvent.Action.fromValue(eventLog.getAction());
+        return producer.sendOrderLineEvent(entityWrapper, action, okapiHeaders);
+      }
+      case PIECE -> {
+        var entityWrapper = decodeOutboxPayload(eventLog.getPayload(), Piece.class);
+        PieceAuditEvent.Action action = PieceAuditEvent.Action.fromValue(eventLog.getAction());
+        return producer.sendPieceEvent(entityWrapper, action, okapiHeaders);
+      }
+      default -> throw new IllegalArgumentException("Missing handler for events with entityType: " + eventLog.getEntityType());
+    }
+  }
+
   /**
    * Saves order outbox log.
    *
@@ -120,7 +339,7 @@ public class AuditOutboxService {
    * @return future with saved outbox log in the same transaction
    */
   public Future<Boolean> saveOrderOutboxLog(Conn conn, AuditEntityWrapper<PurchaseOrder> order, OrderAuditEvent.Action action, Map<String, String> okapiHeaders) {
-    return saveOutboxLog(conn, okapiHeaders, action.value(), EntityType.ORDER, order.entity().getId(), order);
+    return saveOutboxLog(conn, okapiHeaders, action.value(), EntityType.ORDER, order.entity().getId(), order, wrapper -> producer.renderOrderEvent(wrapper, action));
   }
 
   /**
@@ -133,7 +352,7 @@ public class AuditOutboxService {
    * @return future with saved outbox log in the same transaction
    */
   public Future<Boolean> saveOrderLineOutboxLog(Conn conn, AuditEntityWrapper<PoLine> pol, OrderLineAuditEvent.Action action, Map<String, String> okapiHeaders) {
-    return saveOutboxLog(conn, okapiHeaders, action.value(), EntityType.ORDER_LINE, pol.entity().getId(), pol);
+    return saveOutboxLog(conn, okapiHeaders, action.value(), EntityType.ORDER_LINE, pol.entity().getId(), pol, wrapper -> producer.renderOrderLineEvent(wrapper, action));
   }
 
   /**
@@ -146,12 +365,7 @@ public class AuditOutboxService {
    * @return future with saved outbox log in the same transaction
    */
   public Future<Boolean> saveOrderLinesOutboxLogs(Conn conn, List<AuditEntityWrapper<PoLine>> poLines, OrderLineAuditEvent.Action action, Map<String, String> okapiHeaders) {
-    var futures = poLines.stream()
-      .map(poLine -> saveOrderLineOutboxLog(conn, poLine, action, okapiHeaders))
-      .toList();
-
-    return Future.join(futures)
-      .map(res -> true)
+    return saveOutboxLogs(conn, okapiHeaders, action.value(), EntityType.ORDER_LINE, poLines, wrapper -> producer.renderOrderLineEvent(wrapper, action))
       .otherwise(t -> false);
   }
 
@@ -165,12 +379,7 @@ public class AuditOutboxService {
    * @return future with saved outbox log in the same transaction
    */
   public Future<Boolean> savePiecesOutboxLog(Conn conn, List<AuditEntityWrapper<Piece>> pieces, PieceAuditEvent.Action action, Map<String, String> okapiHeaders) {
-    var futures = pieces.stream()
-      .map(piece -> savePieceOutboxLog(conn, piece, action, okapiHeaders))
-      .toList();
-
-    return Future.join(futures)
-      .map(res -> true)
+    return saveOutboxLogs(conn, okapiHeaders, action.value(), EntityType.PIECE, pieces, wrapper -> producer.renderPieceEvent(wrapper, action))
       .otherwise(t -> false);
   }
 
@@ -187,7 +396,7 @@ public class AuditOutboxService {
                                             AuditEntityWrapper<Piece> piece,
                                             PieceAuditEvent.Action action,
                                             Map<String, String> okapiHeaders) {
-    return saveOutboxLog(conn, okapiHeaders, action.value(), EntityType.PIECE, piece.entity().getId(), piece);
+    return saveOutboxLog(conn, okapiHeaders, action.value(), EntityType.PIECE, piece.entity().getId(), piece, wrapper -> producer.renderPieceEvent(wrapper, action));
   }
 
   private <T> Future<Boolean> saveOutboxLog(Conn conn,
@@ -195,20 +404,123 @@ public class AuditOutboxService {
                                             String action,
                                             EntityType entityType,
                                             String entityId,
-                                            AuditEntityWrapper<T> auditEntityWrapper) {
+                                            AuditEntityWrapper<T> auditEntityWrapper,
+                                            Function<AuditEntityWrapper<T>, RenderedAuditEvent> renderer) {
     log.debug("saveOutboxLog:: for {} with id: {}", entityType, entityId);
 
     String tenantId = TenantTool.tenantId(okapiHeaders);
 
+    OutboxEventLogEntry entry = renderEventLog(action, entityType, auditEntityWrapper, renderer);
+    if (entry == null) {
+      return Future.succeededFuture(false);
+    }
+
+    return outboxRepository.saveEventLog(conn, entry, tenantId)
+      .onSuccess(reply -> log.info("Outbox log has been saved for {} with id: {}", entityType, entityId))
+      .onFailure(e -> log.warn("Could not save outbox audit log for {} with id: {}", entityType, entityId, e));
+  }
+
+  private <T> Future<Boolean> saveOutboxLogs(Conn conn,
+                                             Map<String, String> okapiHeaders,
+                                             String action,
+                                             EntityType entityType,
+                                             List<AuditEntityWrapper<T>> auditEntityWrappers,
+                                             Function<AuditEntityWrapper<T>, RenderedAuditEvent> renderer) {
+    log.debug("saveOutboxLogs:: for {} {} entities", auditEntityWrappers.size(), entityType);
+
+    String tenantId = TenantTool.tenantId(okapiHeaders);
+
+    List<OutboxEventLogEntry> eventLogs = auditEntityWrappers.stream()
+      .map(auditEntityWrapper -> renderEventLog(action, entityType, auditEntityWrapper, renderer))
+      .filter(Objects::nonNull)
+      .toList();
+
+    return outboxRepository.saveEventLogs(conn, eventLogs, tenantId)
+      .map(rowCount -> rowCount == eventLogs.size())
+      .onSuccess(reply -> log.info("{} outbox logs have been saved for {}", eventLogs.size(), entityType))
+      .onFailure(e -> log.warn("Could not save {} outbox audit logs for {}", eventLogs.size(), entityType, e));
+  }
+
+  /**
+   * Renders the final audit event once, so that the relay publishes the stored payload as is.
+   * Events that cannot be rendered (e.g. entity without metadata) are skipped, as they could not be relayed either.
+   */
+  private <T> OutboxEventLogEntry renderEventLog(String action,
+                                                 EntityType entityType,
+                                                 AuditEntityWrapper<T> auditEntityWrapper,
+                                                 Function<AuditEntityWrapper<T>, RenderedAuditEvent> renderer) {
+    RenderedAuditEvent renderedEvent;
+    try {
+      renderedEvent = renderer.apply(auditEntityWrapper);
+    } catch (IllegalArgumentException e) {
+      log.warn("renderEventLog:: Unable to render {} event with action '{}', reason: {}", entityType, action, e.getMessage());
+      return null;
+    }
     OutboxEventLog eventLog = new OutboxEventLog()
       .withEventId(UUID.randomUUID().toString())
       .withAction(action)
-      .withEntityType(entityType)
-      .withPayload(Json.encode(auditEntityWrapper));
+      .withEntityType(entityType);
+    if (compactSnapshotsEnabled && SNAPSHOT_FIELDS.containsKey(entityType)) {
+      var fields = SNAPSHOT_FIELDS.get(entityType);
+      // The event is compacted as a tree and encoded once, without parsing the rendered payload back
+      JsonObject compactEvent = AuditUtils.compactSnapshots(renderedEvent.toJson(), fields.getLeft(), fields.getRight());
+      if (compactEvent != null) {
+        return new OutboxEventLogEntry(eventLog.withPayload(compactEvent.encode()), renderedEvent.key(), true);
+      }
+    }
+    return new OutboxEventLogEntry(eventLog.withPayload(renderedEvent.payload()), renderedEvent.key());
+  }
 
-    return outboxRepository.saveEventLog(conn, eventLog, tenantId)
-      .onSuccess(reply -> log.info("Outbox log has been saved for {} with id: {}", entityType, entityId))
-      .onFailure(e -> log.warn("Could not save outbox audit log for {} with id: {}", entityType, entityId, e));
+  /**
+   * Runs at most one relay per tenant at a time. Triggers that arrive during a run
+   * share the single follow-up run started when the current one completes.
+   */
+  private class TenantSingleFlight {
+    private boolean running;
+    private Promise<Integer> followUp;
+    private Map<String, String> followUpHeaders;
+
+    Future<Integer> trigger(Map<String, String> okapiHeaders) {
+      synchronized (this) {
+        if (running) {
+          followUpHeaders = okapiHeaders;
+          if (followUp == null) {
+            followUp = Promise.promise();
+          }
+          return followUp.future();
+        }
+        running = true;
+      }
+      return run(okapiHeaders);
+    }
+
+    private Future<Integer> run(Map<String, String> okapiHeaders) {
+      long runs = runsExecuted.incrementAndGet();
+      log.debug("TenantSingleFlight:: Relay run started, runs executed: {}, triggers received: {}", runs, triggersReceived.get());
+      Future<Integer> result;
+      try {
+        result = relayOutboxEventLogs(okapiHeaders);
+      } catch (Exception e) {
+        result = Future.failedFuture(e);
+      }
+      return result.onComplete(ar -> runFollowUp());
+    }
+
+    private void runFollowUp() {
+      Promise<Integer> next;
+      Map<String, String> okapiHeaders;
+      synchronized (this) {
+        if (followUp == null) {
+          running = false;
+          return;
+        }
+        next = followUp;
+        okapiHeaders = followUpHeaders;
+        followUp = null;
+        followUpHeaders = null;
+      }
+      run(okapiHeaders).onComplete(next);
+    }
   }
 
   private <T> AuditEntityWrapper<T> decodeOutboxPayload(String payload, Class<T> entityClass) {
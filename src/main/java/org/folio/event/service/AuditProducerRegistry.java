@@ -0,0 +1,97 @@
+package org.folio.event.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.folio.kafka.KafkaConfig;
+import org.springframework.beans.factory.annotation.Value;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.producer.KafkaProducer;
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+import io.vertx.kafka.client.producer.RecordMetadata;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Holds the audit Kafka producer for the whole module lifetime.
+ * <p>
+ * One producer is shared by the whole module, so records sent from different Vert.x contexts are batched
+ * together by the client. Send results are dispatched on the context of the caller, so the producer does not
+ * need to be bound to a context. The producer is closed on module shutdown, see {@link #close()},
+ * and records sent after that are failed instead of re-creating the producer.
+ */
+@Log4j2
+public class AuditProducerRegistry {
+
+  private static final String PRODUCER_NAME = "mod-orders-storage-audit-producer";
+
+  private final Vertx vertx;
+  private final KafkaConfig kafkaConfig;
+  private KafkaProducer<String, String> producer;
+  private boolean closed;
+
+  @Value("${orders-storage.audit.kafka.producer.linger.ms:5}")
+  private long lingerMs;
+  @Value("${orders-storage.audit.kafka.producer.batch.size:65536}")
+  private int batchSize;
+
+  public AuditProducerRegistry(Vertx vertx, KafkaConfig kafkaConfig) {
+    this.vertx = vertx;
+    this.kafkaConfig = kafkaConfig;
+  }
+
+  /**
+   * Sends the record with the module audit producer, creating the producer on first use.
+   *
+   * @param kafkaProducerRecord record to send
+   * @return future with record metadata, or failed future if the registry is already closed
+   */
+  public Future<RecordMetadata> send(KafkaProducerRecord<String, String> kafkaProducerRecord) {
+    KafkaProducer<String, String> kafkaProducer = getProducer();
+    if (kafkaProducer == null) {
+      return Future.failedFuture(new IllegalStateException("Audit kafka producer is closed"));
+    }
+    return kafkaProducer.send(kafkaProducerRecord);
+  }
+
+  /**
+   * Flushes and closes the audit producer.
+   *
+   * @return future completed when the producer is closed
+   */
+  @PreDestroy
+  public Future<Void> close() {
+    KafkaProducer<String, String> toClose;
+    synchronized (this) {
+      toClose = producer;
+      producer = null;
+      closed = true;
+    }
+    if (toClose == null) {
+      return Future.succeededFuture();
+    }
+    log.info("close:: Closing audit kafka producer");
+    return toClose.flush()
+      .compose(v -> toClose.close())
+      .onFailure(t -> log.warn("close:: Failed to close audit kafka producer", t));
+  }
+
+  private synchronized KafkaProducer<String, String> getProducer() {
+    if (producer == null && !closed) {
+      log.info("getProducer:: Creating audit kafka producer, lingerMs: {}, batchSize: {}", lingerMs, batchSize);
+      producer = KafkaProducer.createShared(vertx, PRODUCER_NAME, getProducerProps());
+    }
+    return producer;
+  }
+
+  private Map<String, String> getProducerProps() {
+    Map<String, String> props = new HashMap<>(kafkaConfig.getProducerProps());
+    props.put(ProducerConfig.LINGER_MS_CONFIG, String.valueOf(lingerMs));
+    props.put(ProducerConfig.BATCH_SIZE_CONFIG, String.valueOf(batchSize));
+    return props;
+  }
+
+}
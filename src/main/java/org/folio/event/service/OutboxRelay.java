@@ -0,0 +1,19 @@
+package org.folio.event.service;
+
+import java.util.Map;
+
+/**
+ * Continuously relays audit outbox event logs to Kafka.
+ * While a relay is attached to {@link AuditOutboxService}, per-request processing only signals the relay.
+ */
+public interface OutboxRelay {
+
+  /**
+   * Signals that new outbox event logs may be available for the tenant.
+   *
+   * @param tenantId     the tenant id
+   * @param okapiHeaders the okapi headers to use when relaying events of the tenant
+   */
+  void signal(String tenantId, Map<String, String> okapiHeaders);
+
+}
@@ -11,10 +11,15 @@ public final class TableNames {
   public static final String PIECES_TABLE = "pieces";
   public static final String WRAPPER_PIECES_VIEW = "claiming_wrapper_pieces_view";
   public static final String TITLES_TABLE = "titles";
+  public static final String TITLE_SEQUENCE_NUMBER_TABLE = "title_sequence_number";
   public static final String RECEIVING_HISTORY_VIEW_TABLE = "receiving_history_view";
   public static final String EXPORT_HISTORY_TABLE = "export_history";
   public static final String ROUTING_LIST_TABLE = "routing_list";
   public static final String ORDER_NUMBER_TABLE = "order_number";
+  public static final String PO_LINE_NUMBER_TABLE = "po_line_number";
+  public static final String PO_LINE_LOCATION_SUMMARY_TABLE = "po_line_location_summary";
+  public static final String PO_LINE_HOLDING_TABLE = "po_line_holding";
+  public static final String HOLDING_UPDATE_CHECKPOINT_TABLE = "holding_update_checkpoint";
   public static final String BATCH_TRACKING_TABLE = "batch_tracking";
 
 }
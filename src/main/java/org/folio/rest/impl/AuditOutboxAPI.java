@@ -7,6 +7,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.event.dto.OutboxLane;
 import org.folio.event.service.AuditOutboxService;
 import org.folio.rest.jaxrs.resource.OrdersStorageAuditOutbox;
 import org.folio.spring.SpringContextUtil;
@@ -27,11 +28,24 @@ public class AuditOutboxAPI implements OrdersStorageAuditOutbox {
 
   @Override
   public void postOrdersStorageAuditOutboxProcess(Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    auditOutboxService.processOutboxEventLogs(okapiHeaders)
+    auditOutboxService.drainOutboxEventLogs(okapiHeaders)
       .onSuccess(res -> asyncResultHandler.handle(Future.succeededFuture(Response.status(Response.Status.OK).build())))
       .onFailure(cause -> {
         log.warn("Processing of outbox events table has failed", cause);
         asyncResultHandler.handle(Future.failedFuture(cause));
       });
   }
+
+  @Override
+  public void getOrdersStorageAuditOutboxStats(Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    auditOutboxService.fetchLaneDepths(okapiHeaders)
+      .map(depths -> "Triggers received: %d, relay runs executed: %d, poison events skipped: %d, pending interactive: %d, pending bulk: %d".formatted(
+        auditOutboxService.getTriggersReceived(), auditOutboxService.getRunsExecuted(), auditOutboxService.getPoisonEventsSkipped(),
+        depths.getOrDefault(OutboxLane.INTERACTIVE, 0L), depths.getOrDefault(OutboxLane.BULK, 0L)))
+      .onSuccess(stats -> asyncResultHandler.handle(Future.succeededFuture(GetOrdersStorageAuditOutboxStatsResponse.respond200WithTextPlain(stats))))
+      .onFailure(cause -> {
+        log.warn("Getting of audit outbox stats has failed", cause);
+        asyncResultHandler.handle(Future.failedFuture(cause));
+      });
+  }
 }
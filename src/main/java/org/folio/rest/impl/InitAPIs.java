@@ -10,11 +10,13 @@ import org.folio.config.ApplicationConfig;
 import org.folio.dbschema.ObjectMapperTool;
 import org.folio.rest.resource.interfaces.InitAPI;
 import org.folio.spring.SpringContextUtil;
+import org.folio.verticles.AuditOutboxRelayVerticle;
 import org.folio.verticles.EdiExportOrdersHistoryConsumersVerticle;
 import org.folio.verticles.InventoryHoldingCreateConsumersVerticle;
 import org.folio.verticles.InventoryHoldingUpdateConsumersVerticle;
 import org.folio.verticles.InventoryItemCreateConsumersVerticle;
 import org.folio.verticles.InventoryItemUpdateConsumersVerticle;
+import org.folio.verticles.InventoryReferencesFeedVerticle;
 import org.springframework.beans.factory.annotation.Value;
 
 import io.vertx.core.AsyncResult;
@@ -65,6 +67,12 @@ public class InitAPIs implements InitAPI {
   @Value("${consumer.verticle.mandatory:false}")
   private boolean isConsumersVerticleMandatory;
 
+  @Value("${audit-outbox.relay.enabled:false}")
+  private boolean isAuditOutboxRelayEnabled;
+
+  @Value("${orders-storage.inventory-event-filter.enabled:false}")
+  private boolean isInventoryEventFilterEnabled;
+
   // TODO: Refactor the InitAPI interface to git rid of deprecated methods
   @Override
   public void init(Vertx vertx, Context context, Handler<AsyncResult<Boolean>> resultHandler) {
@@ -72,6 +80,8 @@ public class InitAPIs implements InitAPI {
       initDatabindCodec();
       initSpringContext(vertx, context);
       initKafkaConsumersVerticles(vertx)
+        .compose(v -> initAuditOutboxRelayVerticle(vertx))
+        .compose(v -> initInventoryReferencesFeedVerticle(vertx))
         .onComplete(ar -> {
           if (ar.succeeded()) {
             resultHandler.handle(Future.succeededFuture(true));
@@ -105,6 +115,33 @@ public class InitAPIs implements InitAPI {
         : Future.succeededFuture());
   }
 
+  private Future<?> initAuditOutboxRelayVerticle(Vertx vertx) {
+    if (!isAuditOutboxRelayEnabled) {
+      log.info("initAuditOutboxRelayVerticle:: Audit outbox relay is disabled, outbox is processed per request");
+      return Future.succeededFuture();
+    }
+    var springContext = (AbstractApplicationContext) vertx.getOrCreateContext().get(SPRING_CONTEXT_KEY);
+    return vertx.deployVerticle(() -> springContext.getBean(AuditOutboxRelayVerticle.class), new DeploymentOptions().setInstances(1))
+      .onSuccess(id -> log.info("initAuditOutboxRelayVerticle:: Audit outbox relay was successfully started"))
+      .recover(t -> {
+        log.error("Failed to start audit outbox relay, outbox is processed per request", t);
+        return Future.succeededFuture();
+      });
+  }
+
+  private Future<?> initInventoryReferencesFeedVerticle(Vertx vertx) {
+    if (!isInventoryEventFilterEnabled) {
+      return Future.succeededFuture();
+    }
+    var springContext = (AbstractApplicationContext) vertx.getOrCreateContext().get(SPRING_CONTEXT_KEY);
+    return vertx.deployVerticle(() -> springContext.getBean(InventoryReferencesFeedVerticle.class), new DeploymentOptions().setInstances(1))
+      .onSuccess(id -> log.info("initInventoryReferencesFeedVerticle:: Inventory references feed was successfully started"))
+      .recover(t -> {
+        log.error("Failed to start inventory references feed, inventory event filters only serve backlog events", t);
+        return Future.succeededFuture();
+      });
+  }
+
   private Future<?> deployKafkaConsumersVerticles(Vertx vertx) {
     var springContext = (AbstractApplicationContext) vertx.getOrCreateContext().get(SPRING_CONTEXT_KEY);
     var consumers = List.of(
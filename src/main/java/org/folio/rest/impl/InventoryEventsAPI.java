@@ -0,0 +1,31 @@
+package org.folio.rest.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.folio.rest.jaxrs.resource.OrdersStorageInventoryEvents;
+import org.folio.services.inventory.InventoryEventCoalescingService;
+import org.folio.spring.SpringContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.ws.rs.core.Response;
+import java.util.Map;
+
+public class InventoryEventsAPI implements OrdersStorageInventoryEvents {
+
+  @Autowired
+  private InventoryEventCoalescingService inventoryEventCoalescingService;
+
+  public InventoryEventsAPI() {
+    SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
+  }
+
+  @Override
+  public void getOrdersStorageInventoryEventsStats(Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    var stats = "Coalescing window ms: %d, events applied: %d, events dropped: %d".formatted(inventoryEventCoalescingService.getWindowMs(),
+      inventoryEventCoalescingService.getAppliedCount(), inventoryEventCoalescingService.getDroppedCount());
+    asyncResultHandler.handle(Future.succeededFuture(GetOrdersStorageInventoryEventsStatsResponse.respond200WithTextPlain(stats)));
+  }
+}
@@ -0,0 +1,75 @@
+package org.folio.rest.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dao.PostgresClientFactory;
+import org.folio.rest.core.BaseApi;
+import org.folio.rest.jaxrs.resource.OrdersStoragePoLineLocationSummary;
+import org.folio.rest.persist.HelperUtils;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.services.lines.PoLineLocationSummaryService;
+import org.folio.spring.SpringContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.ws.rs.core.Response;
+import java.util.Map;
+
+public class PoLineLocationSummaryAPI extends BaseApi implements OrdersStoragePoLineLocationSummary {
+
+  private static final Logger log = LogManager.getLogger();
+
+  @Autowired
+  private PoLineLocationSummaryService poLineLocationSummaryService;
+  @Autowired
+  private PostgresClientFactory pgClientFactory;
+  private final PostgresClient pgClient;
+  private final String tenantId;
+
+  public PoLineLocationSummaryAPI(Vertx vertx, String tenantId) {
+    SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
+    this.pgClient = pgClientFactory.createInstance(tenantId);
+    this.tenantId = tenantId;
+  }
+
+  @Override
+  public void getOrdersStoragePoLineLocationSummaryCheck(Map<String, String> okapiHeaders,
+                                                         Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    pgClient.withConn(conn -> poLineLocationSummaryService.countInconsistentPoLines(conn, tenantId))
+      .onComplete(ar -> {
+        if (ar.succeeded()) {
+          asyncResultHandler.handle(Future.succeededFuture(GetOrdersStoragePoLineLocationSummaryCheckResponse
+            .respond200WithTextPlain("Found %d PO line(s) with inconsistent location summary".formatted(ar.result()))));
+        } else {
+          log.error("Failed to check PO line location summary", ar.cause());
+          asyncResultHandler.handle(buildErrorResponse(ar.cause()));
+        }
+      });
+  }
+
+  @Override
+  public void postOrdersStoragePoLineLocationSummaryRebuild(Map<String, String> okapiHeaders,
+                                                            Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    pgClient.withTrans(conn -> poLineLocationSummaryService.rebuildSummary(conn, tenantId))
+      .onComplete(ar -> {
+        if (ar.succeeded()) {
+          asyncResultHandler.handle(Future.succeededFuture(PostOrdersStoragePoLineLocationSummaryRebuildResponse
+            .respond200WithTextPlain("Rebuilt location summary with %d row(s)".formatted(ar.result()))));
+        } else {
+          log.error("Failed to rebuild PO line location summary", ar.cause());
+          asyncResultHandler.handle(buildErrorResponse(ar.cause()));
+        }
+      });
+  }
+
+  @Override
+  protected String getEndpoint(Object entity) {
+    return HelperUtils.getEndpoint(OrdersStoragePoLineLocationSummary.class);
+  }
+
+}
@@ -8,13 +8,11 @@ import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.folio.dao.PostgresClientFactory;
-import org.folio.dao.order.OrderDAO;
 import org.folio.rest.jaxrs.model.PoNumber;
 import org.folio.rest.jaxrs.resource.OrdersStoragePoNumber;
 import org.folio.rest.persist.HelperUtils;
-import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.core.BaseApi;
+import org.folio.services.order.PoNumberService;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
@@ -24,21 +22,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 public class PoNumberAPI extends BaseApi implements OrdersStoragePoNumber {
   private static final Logger log = LogManager.getLogger();
-  private final PostgresClient pgClient;
+  private final String tenantId;
 
   @Autowired
-  private OrderDAO orderDAO;
-  @Autowired
-  private PostgresClientFactory pgClientFactory;
+  private PoNumberService poNumberService;
 
   public PoNumberAPI(Vertx vertx, String tenantId) {
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
-    pgClient = pgClientFactory.createInstance(tenantId);
+    this.tenantId = tenantId;
   }
 
   @Override
   public void getOrdersStoragePoNumber(Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    vertxContext.runOnContext((Void v) -> pgClient.withConn(conn -> orderDAO.getNextPoNumber(conn))
+    vertxContext.runOnContext((Void v) -> poNumberService.getNextPoNumber(tenantId)
       .onSuccess(poNumber -> asyncResultHandler.handle(buildOkResponse(new PoNumber().withSequenceNumber(poNumber.toString()))))
       .onFailure(t -> {
         log.error("getOrdersStoragePoNumber:: Error getting a new po number", t);
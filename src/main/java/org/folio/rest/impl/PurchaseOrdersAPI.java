@@ -3,6 +3,7 @@ package org.folio.rest.impl;
 import static org.folio.rest.core.ResponseUtil.httpHandleFailure;
 import static org.folio.rest.persist.HelperUtils.getCriteriaByFieldNameAndValueNotJsonb;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -25,6 +26,7 @@ import org.folio.rest.persist.DBClient;
 import org.folio.rest.persist.HelperUtils;
 import org.folio.rest.persist.PgUtil;
 import org.folio.rest.persist.PostgresClient;
+import org.folio.services.lines.PoLineNumbersService;
 import org.folio.spring.SpringContextUtil;
 import org.folio.util.DbUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,6 +51,8 @@ public class PurchaseOrdersAPI extends BaseApi implements OrdersStoragePurchaseO
   private AuditOutboxService auditOutboxService;
   @Autowired
   private PostgresClientFactory pgClientFactory;
+  @Autowired
+  private PoLineNumbersService poLineNumbersService;
 
   @Autowired
   public PurchaseOrdersAPI(Vertx vertx, String tenantId) {
@@ -62,7 +66,7 @@ public class PurchaseOrdersAPI extends BaseApi implements OrdersStoragePurchaseO
   public void getOrdersStoragePurchaseOrders(String query, String totalRecords, int offset, int limit, Map<String, String> okapiHeaders,
       Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     PgUtil.get(TableNames.PURCHASE_ORDER_TABLE, PurchaseOrder.class, PurchaseOrderCollection.class, query, offset, limit, okapiHeaders,
-        vertxContext, GetOrdersStoragePurchaseOrdersResponse.class, asyncResultHandler);
+        vertxContext, GetOrdersStoragePurchaseOrdersResponse.class, ar -> populateNextPolNumbers(ar, asyncResultHandler));
   }
 
   @Override
@@ -89,7 +93,8 @@ public class PurchaseOrdersAPI extends BaseApi implements OrdersStoragePurchaseO
   @Validate
   public void getOrdersStoragePurchaseOrdersById(String id, Map<String, String> okapiHeaders,
     Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.getById(TableNames.PURCHASE_ORDER_TABLE, PurchaseOrder.class, id, okapiHeaders,vertxContext, GetOrdersStoragePurchaseOrdersByIdResponse.class, asyncResultHandler);
+    PgUtil.getById(TableNames.PURCHASE_ORDER_TABLE, PurchaseOrder.class, id, okapiHeaders,vertxContext, GetOrdersStoragePurchaseOrdersByIdResponse.class,
+      ar -> populateNextPolNumbers(ar, asyncResultHandler));
   }
 
   @Override
@@ -198,6 +203,30 @@ public class PurchaseOrdersAPI extends BaseApi implements OrdersStoragePurchaseO
       .mapEmpty();
   }
 
+  /**
+   * Overlays nextPolNumber of the returned orders with their po line number counters.
+   */
+  private void populateNextPolNumbers(AsyncResult<Response> ar, Handler<AsyncResult<Response>> asyncResultHandler) {
+    List<PurchaseOrder> orders = ar.succeeded() ? switch (ar.result().getEntity()) {
+      case PurchaseOrder order -> List.of(order);
+      case PurchaseOrderCollection collection -> collection.getPurchaseOrders();
+      case null, default -> List.of();
+    } : List.of();
+    if (orders.isEmpty()) {
+      asyncResultHandler.handle(ar);
+      return;
+    }
+    pgClient.withConn(conn -> poLineNumbersService.populateNextPolNumbers(orders, conn))
+      .onComplete(populated -> {
+        if (populated.failed()) {
+          log.error("populateNextPolNumbers:: Failed to read po line number counters", populated.cause());
+          asyncResultHandler.handle(buildErrorResponse(populated.cause()));
+          return;
+        }
+        asyncResultHandler.handle(ar);
+      });
+  }
+
   @Override
   protected String getEndpoint(Object entity) {
     return HelperUtils.getEndpoint(OrdersStoragePurchaseOrders.class) + JsonObject.mapFrom(entity).getString("id");
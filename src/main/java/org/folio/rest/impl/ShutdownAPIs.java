@@ -0,0 +1,33 @@
+package org.folio.rest.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.event.service.AuditProducerRegistry;
+import org.folio.rest.resource.interfaces.ShutdownAPI;
+import org.folio.spring.SpringContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Releases module-lifetime resources when the verticle is undeployed.
+ */
+public class ShutdownAPIs implements ShutdownAPI {
+  private static final Logger log = LogManager.getLogger();
+
+  @Autowired
+  private AuditProducerRegistry auditProducerRegistry;
+
+  @Override
+  public void shutdown(Vertx vertx, Context context, Handler<AsyncResult<Void>> handler) {
+    SpringContextUtil.autowireDependencies(this, context);
+    auditProducerRegistry.close()
+      .onComplete(ar -> {
+        log.info("shutdown:: Audit kafka producer closed, succeeded: {}", ar.succeeded());
+        handler.handle(Future.succeededFuture());
+      });
+  }
+}
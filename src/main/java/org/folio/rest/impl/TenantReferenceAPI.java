@@ -23,6 +23,7 @@ import org.folio.rest.tools.utils.TenantLoading;
 import org.folio.rest.tools.utils.TenantTool;
 import org.folio.services.migration.ConfigurationMigrationService;
 import org.folio.services.migration.FiscalYearMigrationService;
+import org.folio.services.order.PoNumberService;
 import org.folio.spring.SpringContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -46,6 +47,8 @@ public class TenantReferenceAPI extends TenantAPI {
 
   @Autowired
   private CustomFieldsRepository customFieldsRepository;
+  @Autowired
+  private PoNumberService poNumberService;
 
   public TenantReferenceAPI() {
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
@@ -56,6 +59,7 @@ public class TenantReferenceAPI extends TenantAPI {
   public Future<Integer> loadData(TenantAttributes attributes, String tenantId,
                                   Map<String, String> headers, Context vertxContext) {
     log.info("postTenant");
+    poNumberService.invalidate(tenantId);
     Vertx vertx = vertxContext.owner();
     Parameter parameter = new Parameter().withKey(PARAMETER_LOAD_SYSTEM).withValue("true");
     attributes.getParameters().add(parameter);
@@ -198,6 +202,7 @@ public class TenantReferenceAPI extends TenantAPI {
     super.deleteTenantByOperationId(operationId, headers, res -> {
       Vertx vertx = context.owner();
       String tenantId = TenantTool.tenantId(headers);
+      poNumberService.invalidate(tenantId);
       PostgresClient.getInstance(vertx, tenantId)
         .closeClient(event -> handler.handle(res));
     }, context);
@@ -2,6 +2,7 @@ package org.folio.rest.impl;
 
 import static org.folio.models.TableNames.TITLES_TABLE;
 
+import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.core.Response;
@@ -26,6 +27,7 @@ import io.vertx.core.Handler;
 
 import org.folio.rest.persist.PostgresClient;
 import org.folio.services.title.TitleService;
+import org.folio.util.TitleSequenceNumberUtils;
 import org.folio.spring.SpringContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -51,7 +53,7 @@ public class TitlesAPI extends BaseApi implements OrdersStorageTitles {
   @Validate
   public void getOrdersStorageTitles(String query, String totalRecords, int offset, int limit, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     PgUtil.get(TITLES_TABLE, Title.class, TitleCollection.class, query, offset, limit, okapiHeaders, vertxContext,
-      OrdersStorageTitles.GetOrdersStorageTitlesResponse.class, asyncResultHandler);
+      OrdersStorageTitles.GetOrdersStorageTitlesResponse.class, ar -> populateNextSequenceNumbers(ar, asyncResultHandler));
   }
 
   @Override
@@ -72,7 +74,8 @@ public class TitlesAPI extends BaseApi implements OrdersStorageTitles {
   @Override
   @Validate
   public void getOrdersStorageTitlesById(String id, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    PgUtil.getById(TITLES_TABLE, Title.class, id, okapiHeaders,vertxContext, OrdersStorageTitles.GetOrdersStorageTitlesByIdResponse.class, asyncResultHandler);
+    PgUtil.getById(TITLES_TABLE, Title.class, id, okapiHeaders,vertxContext, OrdersStorageTitles.GetOrdersStorageTitlesByIdResponse.class,
+      ar -> populateNextSequenceNumbers(ar, asyncResultHandler));
   }
 
   @Override
@@ -95,6 +98,31 @@ public class TitlesAPI extends BaseApi implements OrdersStorageTitles {
         : buildOkResponse(ar.result())));
   }
 
+  /**
+   * Overlays nextSequenceNumber of the returned titles with their sequence number counters.
+   * The request fails if the counters cannot be read, as the stored nextSequenceNumber may be stale.
+   */
+  private void populateNextSequenceNumbers(AsyncResult<Response> ar, Handler<AsyncResult<Response>> asyncResultHandler) {
+    List<Title> titles = ar.succeeded() ? switch (ar.result().getEntity()) {
+      case Title title -> List.of(title);
+      case TitleCollection collection -> collection.getTitles();
+      case null, default -> List.of();
+    } : List.of();
+    if (titles.isEmpty()) {
+      asyncResultHandler.handle(ar);
+      return;
+    }
+    pgClient.withConn(conn -> TitleSequenceNumberUtils.populateNextSequenceNumbers(titles, conn))
+      .onComplete(populated -> {
+        if (populated.failed()) {
+          log.error("populateNextSequenceNumbers:: Failed to read title sequence number counters", populated.cause());
+          asyncResultHandler.handle(buildErrorResponse(populated.cause()));
+          return;
+        }
+        asyncResultHandler.handle(ar);
+      });
+  }
+
   @Override
   protected String getEndpoint(Object entity) {
     return HelperUtils.getEndpoint(OrdersStorageTitles.class) + JsonObject.mapFrom(entity).getString("id");
@@ -17,7 +17,6 @@ import java.util.Optional;
 import java.util.concurrent.CompletionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import javax.ws.rs.Path;
 import javax.ws.rs.core.Response;
@@ -236,9 +235,4 @@ public class HelperUtils {
     return PostgresClient.convertToPsqlStandard(tenantId) + "." + tableName;
   }
 
-  public static String getQueryValues(List<JsonObject> entities) {
-    return entities.stream().map(entity -> "('" + entity.getString("id") + "', $$" + entity.encode() + "$$::json)").collect(
-      Collectors.joining(","));
-  }
-
 }
@@ -0,0 +1,87 @@
+package org.folio.services.inventory;
+
+import static org.folio.models.TableNames.HOLDING_UPDATE_CHECKPOINT_TABLE;
+import static org.folio.rest.persist.HelperUtils.getFullTableName;
+
+import java.util.List;
+import java.util.UUID;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+import lombok.extern.log4j.Log4j2;
+
+import org.folio.event.dto.HoldingUpdateCheckpoint;
+import org.folio.rest.persist.Conn;
+
+/**
+ * Keeps the progress of a holding update that is applied to PO lines chunk by chunk,
+ * each checkpoint is saved in the transaction of the chunk it follows.
+ */
+@Log4j2
+public class HoldingUpdateCheckpointService {
+
+  private static final String SELECT_CHECKPOINT =
+    "SELECT last_po_line_id, adjacent_holding_ids FROM %s WHERE holding_id = $1 AND event_key = $2";
+  private static final String UPSERT_CHECKPOINT = """
+    INSERT INTO %s (holding_id, event_key, last_po_line_id, adjacent_holding_ids) VALUES ($1, $2, $3, $4)
+    ON CONFLICT (holding_id) DO UPDATE SET event_key = EXCLUDED.event_key, last_po_line_id = EXCLUDED.last_po_line_id,
+      adjacent_holding_ids = EXCLUDED.adjacent_holding_ids, updated_date = now()
+    """;
+  private static final String DELETE_CHECKPOINT = "DELETE FROM %s WHERE holding_id = $1";
+
+  /**
+   * Gets the checkpoint left by an unfinished processing of the same holding update.
+   *
+   * @param conn      the sql connection
+   * @param tenantId  the tenant id
+   * @param holdingId the holding id
+   * @param eventKey  the key of the holding change, a checkpoint of another change is ignored
+   * @return future with the checkpoint or null if there is none
+   */
+  public Future<HoldingUpdateCheckpoint> getCheckpoint(Conn conn, String tenantId, String holdingId, String eventKey) {
+    return conn.execute(SELECT_CHECKPOINT.formatted(getFullTableName(tenantId, HOLDING_UPDATE_CHECKPOINT_TABLE)),
+        Tuple.of(UUID.fromString(holdingId), eventKey))
+      .map(rows -> rows.rowCount() == 0 ? null : toCheckpoint(rows.iterator().next()))
+      .onFailure(t -> log.error("getCheckpoint:: Failed to get checkpoint for holdingId: {}", holdingId, t));
+  }
+
+  /**
+   * Saves the checkpoint of the holding update, must be called in the transaction of the processed chunk.
+   *
+   * @param conn       the sql connection from transaction
+   * @param tenantId   the tenant id
+   * @param holdingId  the holding id
+   * @param eventKey   the key of the holding change
+   * @param checkpoint the checkpoint to save
+   * @return future of the save
+   */
+  public Future<Void> saveCheckpoint(Conn conn, String tenantId, String holdingId, String eventKey, HoldingUpdateCheckpoint checkpoint) {
+    var adjacentHoldingIds = checkpoint.adjacentHoldingIds().toArray(String[]::new);
+    return conn.execute(UPSERT_CHECKPOINT.formatted(getFullTableName(tenantId, HOLDING_UPDATE_CHECKPOINT_TABLE)),
+        Tuple.of(UUID.fromString(holdingId), eventKey, UUID.fromString(checkpoint.lastPoLineId()), adjacentHoldingIds))
+      .onFailure(t -> log.error("saveCheckpoint:: Failed to save checkpoint for holdingId: {}", holdingId, t))
+      .mapEmpty();
+  }
+
+  /**
+   * Deletes the checkpoint of the holding update once all its PO lines are processed.
+   *
+   * @param conn      the sql connection
+   * @param tenantId  the tenant id
+   * @param holdingId the holding id
+   * @return future of the delete
+   */
+  public Future<Void> deleteCheckpoint(Conn conn, String tenantId, String holdingId) {
+    return conn.execute(DELETE_CHECKPOINT.formatted(getFullTableName(tenantId, HOLDING_UPDATE_CHECKPOINT_TABLE)),
+        Tuple.of(UUID.fromString(holdingId)))
+      .onFailure(t -> log.error("deleteCheckpoint:: Failed to delete checkpoint for holdingId: {}", holdingId, t))
+      .mapEmpty();
+  }
+
+  private HoldingUpdateCheckpoint toCheckpoint(Row row) {
+    return new HoldingUpdateCheckpoint(row.getUUID("last_po_line_id").toString(),
+      List.of(row.getArrayOfStrings("adjacent_holding_ids")));
+  }
+
+}
@@ -0,0 +1,59 @@
+package org.folio.services.inventory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Holds the coalescing window of inventory update events and counts the events applied and dropped by coalescing,
+ * the counts are shared by all handler instances, exposed by GET /orders-storage/inventory-events/stats and can be used to tune the window.
+ */
+@Log4j2
+public class InventoryEventCoalescingService {
+
+  private final AtomicLong appliedEvents = new AtomicLong();
+  private final AtomicLong droppedEvents = new AtomicLong();
+
+  @Value("${orders-storage.inventory-update.coalescing-window.ms:0}")
+  private long windowMs;
+
+  public boolean isEnabled() {
+    return windowMs > 0;
+  }
+
+  public long getWindowMs() {
+    return windowMs;
+  }
+
+  /**
+   * Records that the latest of the coalesced events of an entity is being applied and the others were dropped.
+   *
+   * @param entityKey   the tenant and the id of the item or holding
+   * @param eventsCount count of the events received for the entity within the window
+   */
+  public void recordCoalesced(String entityKey, int eventsCount) {
+    var applied = appliedEvents.incrementAndGet();
+    var dropped = droppedEvents.addAndGet(eventsCount - 1L);
+    if (eventsCount > 1) {
+      log.info("recordCoalesced:: Applying the latest of {} event(s) for: '{}', total applied: {}, dropped: {}", eventsCount, entityKey, applied, dropped);
+    } else {
+      log.debug("recordCoalesced:: Applying single event for: '{}', total applied: {}, dropped: {}", entityKey, applied, dropped);
+    }
+  }
+
+  /**
+   * @return count of events applied after the coalescing window
+   */
+  public long getAppliedCount() {
+    return appliedEvents.get();
+  }
+
+  /**
+   * @return count of events superseded by a later event of the same entity within the coalescing window
+   */
+  public long getDroppedCount() {
+    return droppedEvents.get();
+  }
+
+}
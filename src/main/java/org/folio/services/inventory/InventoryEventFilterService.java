@@ -0,0 +1,255 @@
+package org.folio.services.inventory;
+
+import static org.folio.models.TableNames.PIECES_TABLE;
+import static org.folio.models.TableNames.PO_LINE_HOLDING_TABLE;
+import static org.folio.rest.persist.HelperUtils.getFullTableName;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Tuple;
+import lombok.extern.log4j.Log4j2;
+
+import org.folio.dao.PostgresClientFactory;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.util.DbUtils;
+import org.folio.util.IdBloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Keeps per tenant Bloom filters over the item and holding ids referenced by pieces and PO lines,
+ * so that inventory update events unrelated to orders are acknowledged without any database or HTTP call.
+ * <p>
+ * A filter is loaded from a snapshot of the pieces and PO line holdings and is then kept current with the ids that
+ * database triggers publish on {@link #REFERENCES_CHANNEL} whenever pieces or PO lines of any node reference new
+ * inventory records, see {@link #recordReferences}. The feed is listened to by
+ * {@link org.folio.verticles.InventoryReferencesFeedVerticle}, deployed when the filter is enabled. While the feed is connected, a filter loaded after the feed
+ * connected reflects all ids committed up to now, so an event is dropped once it is older than the safety margin,
+ * which covers the notification delay and the clock skew between the nodes and Kafka. Without the feed a filter only
+ * reflects the ids committed before its snapshot, and an event is dropped only if it was produced well before the
+ * snapshots of its tenant and of the central tenant.
+ * <p>
+ * Limitations, to be weighed before enabling the filter:
+ * <ul>
+ *   <li>Removed references are not cleared from a filter, every node reloads all pieces and PO line holdings of each
+ *   tenant it receives events for once per rebuild interval and keeps the filters in memory.</li>
+ *   <li>A reconnect of the feed may lose notifications, filters loaded before it only serve older events until they
+ *   are reloaded by the next processed event of their tenant.</li>
+ *   <li>The central tenant of a tenant is only resolved by processed events, it is trusted for the rebuild interval
+ *   while the feed is connected.</li>
+ * </ul>
+ * Configuration:
+ * <ul>
+ *   <li>{@code orders-storage.inventory-event-filter.enabled} - turns the filter on, false by default</li>
+ *   <li>{@code orders-storage.inventory-event-filter.rebuild-interval.seconds} - age after which a filter is reloaded, 600 by default</li>
+ *   <li>{@code orders-storage.inventory-event-filter.safety-margin.seconds} - minimal age of an event, relative to now while
+ *   the feed is connected or to the snapshots otherwise, for the event to be dropped, 60 by default</li>
+ *   <li>{@code orders-storage.inventory-event-filter.false-positive-probability} - Bloom filter false positive rate, 0.01 by default</li>
+ *   <li>{@code orders-storage.inventory-event-filter.load-chunk-size} - rows read per query while loading a filter, 10000 by default</li>
+ * </ul>
+ */
+@Log4j2
+public class InventoryEventFilterService {
+
+  public static final String REFERENCES_CHANNEL = "mod_orders_storage_inventory_references";
+
+  private static final String COUNT_IDS = "SELECT (SELECT count(*) FROM %1$s) * 2 + (SELECT count(*) FROM %2$s)";
+  private static final String PIECE_IDS_CHUNK = """
+    SELECT id, jsonb ->> 'itemId' AS item_id, jsonb ->> 'holdingId' AS holding_id
+    FROM %s WHERE id > $1 ORDER BY id LIMIT $2
+    """;
+  private static final String PO_LINE_HOLDING_IDS_CHUNK =
+    "SELECT DISTINCT holding_id FROM %s WHERE holding_id > $1 ORDER BY holding_id LIMIT $2";
+  private static final UUID NIL_UUID = new UUID(0, 0);
+
+  private final PostgresClientFactory pgClientFactory;
+  private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+  private final Map<String, CentralTenant> centralTenants = new ConcurrentHashMap<>();
+  // Ids published while the filter of a tenant is being loaded, they are added to it before it is published
+  private final Map<String, Queue<String>> loadingTenants = new ConcurrentHashMap<>();
+  private volatile long feedConnectedAt = -1;
+
+  @Value("${orders-storage.inventory-event-filter.enabled:false}")
+  private boolean enabled;
+  @Value("${orders-storage.inventory-event-filter.rebuild-interval.seconds:600}")
+  private long rebuildIntervalSeconds;
+  @Value("${orders-storage.inventory-event-filter.safety-margin.seconds:60}")
+  private long safetyMarginSeconds;
+  @Value("${orders-storage.inventory-event-filter.false-positive-probability:0.01}")
+  private double falsePositiveProbability;
+  @Value("${orders-storage.inventory-event-filter.load-chunk-size:10000}")
+  private int loadChunkSize;
+
+  record Snapshot(IdBloomFilter filter, long takenAt) {}
+
+  private record CentralTenant(String centralTenantId, long resolvedAt) {}
+
+  public InventoryEventFilterService(PostgresClientFactory pgClientFactory) {
+    this.pgClientFactory = pgClientFactory;
+  }
+
+  /**
+   * Checks if the filter is turned on. Live events are dropped only while the references feed is connected, each node still
+   * reloads the full pieces and PO line holdings of every tenant once per rebuild interval.
+   *
+   * @return true if the filter is enabled
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Checks if the inventory record of the event is definitely not referenced by pieces or PO lines of the tenant
+   * or of its central tenant. Returns false when the filters are missing or are not recent enough for the event.
+   *
+   * @param tenantId       the tenant of the event
+   * @param recordId       the item or holding id
+   * @param eventTimestamp the time the event was produced, in milliseconds
+   * @return true if the event can be acknowledged without processing
+   */
+  public boolean isUnrelated(String tenantId, String recordId, long eventTimestamp) {
+    if (!enabled || Objects.isNull(tenantId) || Objects.isNull(recordId) || eventTimestamp <= 0) {
+      return false;
+    }
+    var settledBefore = eventTimestamp + TimeUnit.SECONDS.toMillis(safetyMarginSeconds);
+    var now = System.currentTimeMillis();
+    var centralTenant = centralTenants.get(tenantId);
+    if (Objects.isNull(centralTenant) || getCurrentAt(centralTenant.resolvedAt(), now) < settledBefore) {
+      return false;
+    }
+    return Stream.of(tenantId, centralTenant.centralTenantId())
+      .filter(Objects::nonNull)
+      .distinct()
+      .allMatch(id -> {
+        var snapshot = snapshots.get(id);
+        return Objects.nonNull(snapshot) && getCurrentAt(snapshot.takenAt(), now) >= settledBefore
+          && !snapshot.filter().mightContain(recordId);
+      });
+  }
+
+  /**
+   * Adds the inventory record ids newly referenced by pieces or PO lines of the tenant to its filter,
+   * and to the filter being loaded if any. Ids of tenants without a filter are ignored.
+   *
+   * @param tenantId  the tenant of the pieces or PO lines
+   * @param recordIds the item and holding ids
+   */
+  public synchronized void recordReferences(String tenantId, Collection<String> recordIds) {
+    var snapshot = snapshots.get(tenantId);
+    if (Objects.nonNull(snapshot)) {
+      recordIds.forEach(snapshot.filter()::put);
+    }
+    var loadingIds = loadingTenants.get(tenantId);
+    if (Objects.nonNull(loadingIds)) {
+      loadingIds.addAll(recordIds);
+    }
+  }
+
+  /**
+   * Marks the references feed as connected, the filters loaded from now on are kept current by the feed.
+   */
+  public void feedConnected() {
+    feedConnectedAt = System.currentTimeMillis();
+    log.info("feedConnected:: Inventory event filters are kept current by the references feed");
+  }
+
+  /**
+   * Marks the references feed as disconnected, the filters only reflect the ids committed before their snapshots.
+   */
+  public void feedDisconnected() {
+    feedConnectedAt = -1;
+    log.info("feedDisconnected:: Inventory event filters are no longer kept current by the references feed");
+  }
+
+  // Filters and central tenants loaded while the feed is connected are current, otherwise they are as old as their load
+  private long getCurrentAt(long loadedAt, long now) {
+    var connectedAt = feedConnectedAt;
+    return connectedAt > 0 && loadedAt >= connectedAt && now - loadedAt <= TimeUnit.SECONDS.toMillis(rebuildIntervalSeconds)
+      ? now
+      : loadedAt;
+  }
+
+  /**
+   * Remembers the central tenant resolved for a processed event and starts loading of the missing or outdated filters.
+   *
+   * @param tenantId        the tenant of the event
+   * @param centralTenantId the central tenant id, null if central ordering is not enabled
+   */
+  public void refreshIfNeeded(String tenantId, String centralTenantId) {
+    if (!enabled) {
+      return;
+    }
+    centralTenants.put(tenantId, new CentralTenant(centralTenantId, System.currentTimeMillis()));
+    Stream.of(tenantId, centralTenantId)
+      .filter(Objects::nonNull)
+      .distinct()
+      .filter(this::isOutdated)
+      .filter(id -> Objects.isNull(loadingTenants.putIfAbsent(id, new ConcurrentLinkedQueue<>())))
+      .forEach(id -> loadSnapshot(id).onFailure(t -> loadingTenants.remove(id)));
+  }
+
+  private boolean isOutdated(String tenantId) {
+    var snapshot = snapshots.get(tenantId);
+    return Objects.isNull(snapshot)
+      || System.currentTimeMillis() - snapshot.takenAt() > TimeUnit.SECONDS.toMillis(rebuildIntervalSeconds)
+      || snapshot.takenAt() < feedConnectedAt;
+  }
+
+  private synchronized void publishSnapshot(String tenantId, Snapshot snapshot) {
+    var loadingIds = loadingTenants.remove(tenantId);
+    if (Objects.nonNull(loadingIds)) {
+      loadingIds.forEach(snapshot.filter()::put);
+    }
+    snapshots.put(tenantId, snapshot);
+  }
+
+  private Future<Void> loadSnapshot(String tenantId) {
+    var takenAt = System.currentTimeMillis();
+    var pgClient = pgClientFactory.createInstance(tenantId);
+    var piecesTable = getFullTableName(tenantId, PIECES_TABLE);
+    var poLineHoldingTable = getFullTableName(tenantId, PO_LINE_HOLDING_TABLE);
+    return pgClient.withConn(conn -> conn.execute(COUNT_IDS.formatted(piecesTable, poLineHoldingTable)))
+      .map(rows -> new IdBloomFilter(DbUtils.getRowSetAsCount(rows), falsePositiveProbability))
+      .compose(filter -> loadPieceIds(pgClient, piecesTable, filter, NIL_UUID)
+        .compose(v -> loadPoLineHoldingIds(pgClient, poLineHoldingTable, filter, ""))
+        .map(filter))
+      .onSuccess(filter -> publishSnapshot(tenantId, new Snapshot(filter, takenAt)))
+      .onSuccess(v -> log.info("loadSnapshot:: Loaded inventory event filter for tenant: {} in {} ms", tenantId, System.currentTimeMillis() - takenAt))
+      .onFailure(t -> log.error("loadSnapshot:: Failed to load inventory event filter for tenant: {}", tenantId, t))
+      .mapEmpty();
+  }
+
+  private Future<Void> loadPieceIds(PostgresClient pgClient, String piecesTable, IdBloomFilter filter, UUID afterId) {
+    return pgClient.withConn(conn -> conn.execute(PIECE_IDS_CHUNK.formatted(piecesTable), Tuple.of(afterId, loadChunkSize)))
+      .compose(rows -> {
+        var lastId = afterId;
+        for (var row : rows) {
+          filter.put(row.getString("item_id"));
+          filter.put(row.getString("holding_id"));
+          lastId = row.getUUID("id");
+        }
+        return rows.size() < loadChunkSize ? Future.<Void>succeededFuture() : loadPieceIds(pgClient, piecesTable, filter, lastId);
+      });
+  }
+
+  private Future<Void> loadPoLineHoldingIds(PostgresClient pgClient, String poLineHoldingTable, IdBloomFilter filter, String afterId) {
+    return pgClient.withConn(conn -> conn.execute(PO_LINE_HOLDING_IDS_CHUNK.formatted(poLineHoldingTable), Tuple.of(afterId, loadChunkSize)))
+      .compose(rows -> {
+        var lastId = afterId;
+        for (var row : rows) {
+          lastId = row.getString("holding_id");
+          filter.put(lastId);
+        }
+        return rows.size() < loadChunkSize ? Future.<Void>succeededFuture() : loadPoLineHoldingIds(pgClient, poLineHoldingTable, filter, lastId);
+      });
+  }
+
+}
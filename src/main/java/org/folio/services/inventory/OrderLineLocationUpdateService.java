@@ -1,35 +1,30 @@
 package org.folio.services.inventory;
 
-import static java.util.Objects.nonNull;
-import static java.util.stream.Collectors.groupingBy;
 import static org.folio.event.dto.ItemFields.EFFECTIVE_LOCATION_ID;
 import static org.folio.event.dto.ItemFields.ID;
 import static org.folio.util.HelperUtils.mapTo;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
-import org.apache.commons.lang3.tuple.Pair;
 import org.folio.event.dto.AuditEntityWrapper;
-import org.folio.rest.jaxrs.model.Piece;
 import org.folio.rest.jaxrs.model.PoLine;
 import org.folio.rest.jaxrs.model.acq.Location;
 import org.folio.rest.persist.Conn;
 import org.folio.services.lines.PoLinesService;
 import org.folio.services.piece.PieceService;
-import org.folio.util.HelperUtils;
 
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import one.util.streamex.StreamEx;
 
 @AllArgsConstructor
 @Log4j2
@@ -51,82 +46,97 @@ public class OrderLineLocationUpdateService {
    * @return a future with the list of updated POLs
    */
   public Future<List<AuditEntityWrapper<PoLine>>> updatePoLineLocationData(List<String> poLineIds, JsonObject item, boolean skipFiltering, String tenantId, Map<String, String> headers, Conn conn) {
-    log.info("processPoLinesUpdate:: Fetching '{}' POL(s) to update location data", poLineIds.size());
-    return poLinesService.getPoLinesByIdsForUpdate(poLineIds, tenantId, conn)
-      .map(poLines -> poLines.stream()
-        .filter(poLine -> skipFiltering || BooleanUtils.isNotTrue(poLine.getCheckinItems()))
-        .map(poLine -> pieceService
-          .getPiecesByPoLineId(poLine.getId(), conn)
-          .map(pieces -> Pair.of(poLine, pieces)))
-        .toList())
-      .compose(HelperUtils::collectResultsOnSuccess)
-      .compose(poLinePiecePairs -> updatePoLines(poLinePiecePairs, item, tenantId, headers, conn));
+    var itemsByPoLineId = new LinkedHashMap<String, List<JsonObject>>();
+    poLineIds.forEach(poLineId -> itemsByPoLineId.put(poLineId, List.of(item)));
+    return updatePoLineLocationData(itemsByPoLineId, skipFiltering, tenantId, headers, conn);
   }
 
-  private Future<List<AuditEntityWrapper<PoLine>>> updatePoLines(List<Pair<PoLine, List<Piece>>> poLinePiecePairs, JsonObject item, String tenantId, Map<String, String> headers, Conn conn) {
-    var poLinesToUpdate = processPoLinePiecePairs(poLinePiecePairs, item);
-    if (CollectionUtils.isEmpty(poLinesToUpdate)) {
-      log.info("updatePoLines:: No POLs were changed to update for item: '{}' in tenant: '{}'", item.getString(ID.getValue()), tenantId);
+  /**
+   * Same as {@link #updatePoLineLocationData(List, JsonObject, boolean, String, Map, Conn)} for the POLs changed by several items,
+   * each POL is locked and updated once with the effective locations of all its items in their order.
+   *
+   * @param itemsByPoLineId items whose pieces belong to the POL, by poLineId
+   * @param skipFiltering   true if independent workflow POLs should be updated
+   * @param tenantId        tenantId of the order
+   * @param headers         headers to be used for the request
+   * @param conn            connection to be used for the request
+   * @return a future with the list of updated POLs
+   */
+  public Future<List<AuditEntityWrapper<PoLine>>> updatePoLineLocationData(Map<String, List<JsonObject>> itemsByPoLineId, boolean skipFiltering,
+                                                                            String tenantId, Map<String, String> headers, Conn conn) {
+    log.info("processPoLinesUpdate:: Fetching '{}' POL(s) to update location data", itemsByPoLineId.size());
+    return poLinesService.getPoLinesByIdsForUpdate(new ArrayList<>(itemsByPoLineId.keySet()), tenantId, conn)
+      .compose(poLines -> {
+        var poLinesToProcess = poLines.stream()
+          .filter(poLine -> skipFiltering || BooleanUtils.isNotTrue(poLine.getCheckinItems()))
+          .toList();
+        if (poLinesToProcess.isEmpty()) {
+          return Future.succeededFuture(List.of());
+        }
+        return pieceService.getPieceLocationsByPoLineIds(mapTo(poLinesToProcess, PoLine::getId), tenantId, conn)
+          .compose(locations -> updatePoLines(poLinesToProcess, locations, itemsByPoLineId, tenantId, headers, conn));
+      });
+  }
+
+  private Future<List<AuditEntityWrapper<PoLine>>> updatePoLines(List<PoLine> poLines, Map<String, List<Location>> locations,
+                                                                 Map<String, List<JsonObject>> itemsByPoLineId,
+                                                                 String tenantId, Map<String, String> headers, Conn conn) {
+    var poLineUpdates = processPoLines(poLines, locations, itemsByPoLineId);
+    var itemIds = StreamEx.ofValues(itemsByPoLineId).flatMap(List::stream).map(item -> item.getString(ID.getValue())).distinct().toList();
+    if (CollectionUtils.isEmpty(poLineUpdates)) {
+      log.info("updatePoLines:: No POLs were changed to update for item(s): '{}' in tenant: '{}'", itemIds, tenantId);
       return Future.succeededFuture(List.of());
     }
-    log.info("updatePoLines:: Updating '{}' POL(s) for item: '{}' in tenant: '{}'",
-      poLinesToUpdate.size(), item.getString(ID.getValue()), tenantId);
-    return poLinesService.getPoLinesByIdsForUpdate(mapTo(poLinesToUpdate, PoLine::getId), tenantId, conn)
-      .compose(originalPoLines -> poLinesService.updatePoLines(poLinesToUpdate, conn, tenantId, headers)
-        .map(AuditEntityWrapper.listOf(poLinesToUpdate, originalPoLines, PoLine::getId)));
+    log.info("updatePoLines:: Updating '{}' POL(s) for item(s): '{}' in tenant: '{}'",
+      poLineUpdates.size(), itemIds, tenantId);
+    var poLinesToUpdate = mapTo(poLineUpdates, AuditEntityWrapper::entity);
+    return poLinesService.updatePoLines(poLinesToUpdate, conn, tenantId, headers)
+      .map(poLineUpdates);
   }
 
-  private List<PoLine> processPoLinePiecePairs(List<Pair<PoLine, List<Piece>>> poLinePiecePairs, JsonObject itemObject) {
-    return poLinePiecePairs.stream().map(poLineListPair -> {
-        var poLine = poLineListPair.getLeft();
-        var pieces = poLineListPair.getRight();
-        var isLocationsUpdated = updatePoLineLocations(poLine, pieces);
-        var isSearchLocationIdsUpdated = updatePoLineSearchLocationIds(poLine, itemObject.getString(EFFECTIVE_LOCATION_ID.getValue()));
-        return (isLocationsUpdated || isSearchLocationIdsUpdated) ? poLine : null;
+  /**
+   * Applies the recomputed locations and the item effective location to the POLs locked by the caller.
+   *
+   * @return changed POLs paired with their state before the change
+   */
+  private List<AuditEntityWrapper<PoLine>> processPoLines(List<PoLine> poLines, Map<String, List<Location>> locations,
+                                                         Map<String, List<JsonObject>> itemsByPoLineId) {
+    return poLines.stream().map(poLine -> {
+        var newLocations = locations.getOrDefault(poLine.getId(), List.of());
+        var isLocationsChanged = !newLocations.isEmpty() && !isEqualCollection(newLocations, poLine.getLocations());
+        var missingEffectiveLocations = itemsByPoLineId.getOrDefault(poLine.getId(), List.of()).stream()
+          .map(item -> item.getString(EFFECTIVE_LOCATION_ID.getValue()))
+          .distinct()
+          .filter(itemEffectiveLocation -> !poLine.getSearchLocationIds().contains(itemEffectiveLocation))
+          .toList();
+        if (!isLocationsChanged && missingEffectiveLocations.isEmpty()) {
+          return null;
+        }
+        var originalPoLine = JsonObject.mapFrom(poLine).mapTo(PoLine.class);
+        if (isLocationsChanged) {
+          updatePoLineLocations(poLine, newLocations);
+        }
+        missingEffectiveLocations.forEach(itemEffectiveLocation -> updatePoLineSearchLocationIds(poLine, itemEffectiveLocation));
+        return AuditEntityWrapper.of(poLine, originalPoLine);
       })
       .filter(Objects::nonNull)
       .toList();
   }
 
-  private boolean updatePoLineLocations(PoLine poLine, List<Piece> pieces) {
-    var locations = new ArrayList<Location>();
-    var piecesByTenantIdGrouped = pieces.stream().filter(Objects::nonNull)
-      .collect(groupingBy(p -> Optional.ofNullable(p.getReceivingTenantId()), Collectors.toList()));
-    piecesByTenantIdGrouped.forEach((tenantId, piecesByTenant) -> {
-      var piecesByHoldingIdGrouped = piecesByTenant.stream().filter(Objects::nonNull)
-        .filter(piece -> nonNull(piece.getHoldingId()))
-        .collect(groupingBy(Piece::getHoldingId, Collectors.toList()));
-      piecesByHoldingIdGrouped.forEach((holdingId, piecesByHoldings) -> {
-        var piecesByFormat = piecesByHoldings.stream().filter(Objects::nonNull)
-          .filter(piece -> nonNull(piece.getFormat()))
-          .collect(groupingBy(Piece::getFormat, Collectors.toList()));
-        var qtyPhysical = piecesByFormat.getOrDefault(Piece.Format.PHYSICAL, List.of()).size();
-        var qtyElectronic = piecesByFormat.getOrDefault(Piece.Format.ELECTRONIC, List.of()).size();
-        var locTenantId = tenantId.orElse(null);
-        locations.add(new Location().withTenantId(locTenantId)
-          .withHoldingId(holdingId)
-          .withQuantity(piecesByHoldings.size())
-          .withQuantityPhysical(qtyPhysical > 0 ? qtyPhysical : null)
-          .withQuantityElectronic(qtyElectronic > 0 ? qtyElectronic : null));
-      });
-    });
-    if (locations.isEmpty() || Objects.equals(locations, poLine.getLocations())) {
-      return false;
-    }
+  private boolean isEqualCollection(List<Location> locations, List<Location> poLineLocations) {
+    return poLineLocations != null && CollectionUtils.isEqualCollection(locations, poLineLocations);
+  }
+
+  private void updatePoLineLocations(PoLine poLine, List<Location> locations) {
     log.info("updatePoLineLocations:: Replacing locations of POL: '{}' having old value: '{}' with new value: '{}'",
       poLine.getId(), JsonArray.of(poLine.getLocations()).encode(), JsonArray.of(locations).encode());
-    poLine.withLocations(locations);
-    return true;
+    poLine.withLocations(new ArrayList<>(locations));
   }
 
-  private boolean updatePoLineSearchLocationIds(PoLine poLine, String itemEffectiveLocation) {
-    if (poLine.getSearchLocationIds().contains(itemEffectiveLocation)) {
-      return false;
-    }
+  private void updatePoLineSearchLocationIds(PoLine poLine, String itemEffectiveLocation) {
     log.info("updatePoLineSearchLocationIds:: Updating POL: '{}' having searchLocationIds: '{}' with additional value: '{}'",
       poLine.getId(), poLine.getSearchLocationIds(), itemEffectiveLocation);
     poLine.getSearchLocationIds().add(itemEffectiveLocation);
-    return true;
   }
 
 }
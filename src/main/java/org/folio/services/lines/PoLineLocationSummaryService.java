@@ -0,0 +1,76 @@
+package org.folio.services.lines;
+
+import static org.folio.models.TableNames.PIECES_TABLE;
+import static org.folio.models.TableNames.PO_LINE_LOCATION_SUMMARY_TABLE;
+import static org.folio.rest.persist.HelperUtils.getFullTableName;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.RowSet;
+import lombok.extern.log4j.Log4j2;
+
+import org.folio.rest.persist.Conn;
+import org.folio.util.DbUtils;
+
+/**
+ * Checks and rebuilds the per PO line location summary, which is maintained incrementally
+ * by the pieces_location_summary trigger on every piece change.
+ */
+@Log4j2
+public class PoLineLocationSummaryService {
+
+  private static final String PIECES_LOCATION_SUMMARY = """
+    SELECT poLineId AS po_line_id, jsonb->>'receivingTenantId' AS tenant_id, jsonb->>'holdingId' AS holding_id,
+      jsonb->>'format' AS format, count(*)::int AS quantity
+    FROM %s
+    WHERE poLineId IS NOT NULL AND jsonb->>'holdingId' IS NOT NULL
+    GROUP BY 1, 2, 3, 4
+    """;
+  private static final String COUNT_INCONSISTENT_PO_LINES = """
+    WITH actual AS (%1$s),
+    summary AS (SELECT po_line_id, tenant_id, holding_id, format, quantity FROM %2$s)
+    SELECT count(DISTINCT po_line_id) FROM (
+      (SELECT * FROM actual EXCEPT SELECT * FROM summary)
+      UNION ALL
+      (SELECT * FROM summary EXCEPT SELECT * FROM actual)
+    ) AS diff
+    """;
+  // Blocks piece changes that would touch the summary until the rebuilt one is committed
+  private static final String LOCK_SUMMARY = "LOCK TABLE %s IN EXCLUSIVE MODE";
+  private static final String DELETE_SUMMARY = "DELETE FROM %s";
+  private static final String INSERT_SUMMARY = "INSERT INTO %s (po_line_id, tenant_id, holding_id, format, quantity) %s";
+
+  /**
+   * Compares the location summary with the quantities counted from the pieces.
+   *
+   * @param conn     the sql connection
+   * @param tenantId the tenant id
+   * @return future with count of PO lines whose summary differs from their pieces
+   */
+  public Future<Long> countInconsistentPoLines(Conn conn, String tenantId) {
+    var piecesSummary = PIECES_LOCATION_SUMMARY.formatted(getFullTableName(tenantId, PIECES_TABLE));
+    var sql = COUNT_INCONSISTENT_PO_LINES.formatted(piecesSummary, getFullTableName(tenantId, PO_LINE_LOCATION_SUMMARY_TABLE));
+    return conn.execute(sql)
+      .map(DbUtils::getRowSetAsCount)
+      .onSuccess(count -> log.info("countInconsistentPoLines:: Found {} PO line(s) with inconsistent location summary", count))
+      .onFailure(t -> log.error("countInconsistentPoLines:: Failed to check location summary", t));
+  }
+
+  /**
+   * Replaces the location summary with the quantities counted from the pieces, must be called in a transaction.
+   *
+   * @param conn     the sql connection from transaction
+   * @param tenantId the tenant id
+   * @return future with count of the summary rows
+   */
+  public Future<Integer> rebuildSummary(Conn conn, String tenantId) {
+    var summaryTable = getFullTableName(tenantId, PO_LINE_LOCATION_SUMMARY_TABLE);
+    var piecesSummary = PIECES_LOCATION_SUMMARY.formatted(getFullTableName(tenantId, PIECES_TABLE));
+    return conn.execute(LOCK_SUMMARY.formatted(summaryTable))
+      .compose(v -> conn.execute(DELETE_SUMMARY.formatted(summaryTable)))
+      .compose(v -> conn.execute(INSERT_SUMMARY.formatted(summaryTable, piecesSummary)))
+      .map(RowSet::rowCount)
+      .onSuccess(count -> log.info("rebuildSummary:: Rebuilt location summary with {} row(s)", count))
+      .onFailure(t -> log.error("rebuildSummary:: Failed to rebuild location summary", t));
+  }
+
+}
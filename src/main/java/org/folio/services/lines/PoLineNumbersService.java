@@ -3,10 +3,15 @@ package org.folio.services.lines;
 import java.util.List;
 import java.util.stream.IntStream;
 
+import javax.ws.rs.core.Response;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dao.order.OrderDAO;
+import org.folio.rest.exceptions.HttpException;
 import org.folio.rest.jaxrs.model.PoLineNumber;
+import org.folio.rest.jaxrs.model.PurchaseOrder;
+import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.DBClient;
 import org.folio.rest.persist.PostgresClient;
 
@@ -16,42 +21,54 @@ public class PoLineNumbersService {
   private static final Logger log = LogManager.getLogger();
 
   private final OrderDAO orderDAO;
-  private final PoLinesService poLinesService;
 
-  public PoLineNumbersService(OrderDAO orderDAO, PoLinesService poLinesService) {
+  public PoLineNumbersService(OrderDAO orderDAO) {
     this.orderDAO = orderDAO;
-    this.poLinesService = poLinesService;
   }
 
   /**
-   * Returns poLineNumbers new po line numbers for the order.
+   * Returns poLineNumbers new po line numbers for the order. The numbers are allocated from the po_line_number
+   * counter of the order, the counter is seeded on the first request for orders created after the migration.
    */
   public Future<PoLineNumber> retrievePoLineNumber(String purchaseOrderId, int poLineNumbers, DBClient dbClient) {
     PostgresClient pgClient = dbClient.getPgClient();
-    log.debug("retrievePoLineNumber: getting po {} for update", purchaseOrderId);
-    return pgClient.withTrans(conn -> orderDAO.getOrderByIdForUpdate(purchaseOrderId, conn)
-      .compose(po -> {
-        if (po.getNextPolNumber() != null)
-          return Future.succeededFuture(po);
-        log.warn("nextPolNumber missing for po {}, calculating from lines", purchaseOrderId);
-        return poLinesService.getLastLineNumber(purchaseOrderId, conn)
-          .map(lastUsedNumber -> po.withNextPolNumber(lastUsedNumber + 1));
-      })
-      .compose(po -> {
-        log.debug("Updating po {} with new nextPolNumber", purchaseOrderId);
-        int nextNumber = po.getNextPolNumber();
-        po.setNextPolNumber(nextNumber + poLineNumbers);
-        return orderDAO.updateOrder(po, conn)
-          .map(v -> nextNumber);
-      })
-      .map(n -> {
-        List<String> sequenceNumbers = IntStream.range(n, n+poLineNumbers)
+    log.debug("retrievePoLineNumber: allocating {} number(s) for po {}", poLineNumbers, purchaseOrderId);
+    return pgClient.withTrans(conn -> orderDAO.reservePoLineNumbers(purchaseOrderId, poLineNumbers, conn)
+      .compose(lastNumber -> lastNumber != null
+        ? Future.succeededFuture(lastNumber)
+        : seedAndReservePoLineNumbers(purchaseOrderId, poLineNumbers, conn)))
+      .map(lastNumber -> {
+        List<String> sequenceNumbers = IntStream.rangeClosed(lastNumber - poLineNumbers + 1, lastNumber)
           .mapToObj(Integer::toString)
           .toList();
         log.debug("retrievePoLineNumber: done, po {}", purchaseOrderId);
         return new PoLineNumber().withSequenceNumbers(sequenceNumbers);
       })
-      .onFailure(t -> log.error("retrievePoLineNumber: failed to retrieve number for po {}", purchaseOrderId, t))
-    );
+      .onFailure(t -> log.error("retrievePoLineNumber: failed to retrieve number for po {}", purchaseOrderId, t));
+  }
+
+  private Future<Integer> seedAndReservePoLineNumbers(String purchaseOrderId, int poLineNumbers, Conn conn) {
+    log.info("seedAndReservePoLineNumbers: po line number counter missing for po {}, seeding it", purchaseOrderId);
+    return orderDAO.seedPoLineNumber(purchaseOrderId, conn)
+      .compose(v -> orderDAO.reservePoLineNumbers(purchaseOrderId, poLineNumbers, conn))
+      .compose(lastNumber -> lastNumber == null
+        ? Future.failedFuture(new HttpException(Response.Status.NOT_FOUND.getStatusCode(), "Purchase order not found: " + purchaseOrderId))
+        : Future.succeededFuture(lastNumber));
+  }
+
+  /**
+   * Sets nextPolNumber of the orders that have a counter from the counter with a single query. nextPolNumber stored
+   * in the order record is only used to seed the counter, so readers of orders overlay the counter value.
+   */
+  public Future<List<PurchaseOrder>> populateNextPolNumbers(List<PurchaseOrder> orders, Conn conn) {
+    if (orders.isEmpty()) {
+      return Future.succeededFuture(orders);
+    }
+    List<String> orderIds = orders.stream().map(PurchaseOrder::getId).toList();
+    return orderDAO.getNextPoLineNumbers(orderIds, conn)
+      .map(nextNumbers -> {
+        orders.forEach(order -> order.setNextPolNumber(nextNumbers.getOrDefault(order.getId(), order.getNextPolNumber())));
+        return orders;
+      });
   }
 }
@@ -1,9 +1,8 @@
 package org.folio.services.lines;
 
-import static java.util.stream.Collectors.toList;
-import static org.folio.dao.RepositoryConstants.MAX_IDS_FOR_GET_RQ_15;
 import static org.folio.event.dto.InstanceFields.ID;
 import static org.folio.models.TableNames.PIECES_TABLE;
+import static org.folio.models.TableNames.PO_LINE_HOLDING_TABLE;
 import static org.folio.models.TableNames.PO_LINE_TABLE;
 import static org.folio.models.TableNames.PURCHASE_ORDER_TABLE;
 import static org.folio.models.TableNames.TITLES_TABLE;
@@ -14,11 +13,11 @@ import static org.folio.rest.persist.HelperUtils.JSONB;
 import static org.folio.rest.persist.HelperUtils.getCriteriaByFieldNameAndValueNotJsonb;
 import static org.folio.rest.persist.HelperUtils.getCriterionByFieldNameAndValue;
 import static org.folio.rest.persist.HelperUtils.getFullTableName;
-import static org.folio.rest.persist.HelperUtils.getQueryValues;
 import static org.folio.util.DbUtils.getEntitiesByField;
 import static org.folio.util.MetadataUtils.populateMetadata;
 
 import javax.ws.rs.core.Response;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -56,13 +55,18 @@ import one.util.streamex.StreamEx;
 import org.folio.rest.tools.utils.MetadataUtil;
 import org.folio.util.DbUtils;
 import org.folio.util.InventoryUtils;
-import org.folio.util.SerializerUtil;
 
 @Log4j2
 public class PoLinesService {
 
   private static final String PO_LINE_ID = "poLineId";
   private static final String PO_LINES_BY_ID_FOR_UPDATE_SQL = "SELECT * FROM %s WHERE id = ANY($1) FOR UPDATE;";
+  private static final String TITLES_BY_PO_LINE_IDS_SQL = "SELECT jsonb FROM %s WHERE poLineId = ANY($1::uuid[])";
+  private static final String PO_LINES_BY_HOLDING_ID_SQL =
+    "SELECT jsonb FROM %1$s WHERE id IN (SELECT po_line_id FROM %2$s WHERE holding_id = $1)";
+  private static final String PO_LINES_CHUNK_BY_HOLDING_ID_SQL =
+    "SELECT jsonb FROM %1$s WHERE id IN (SELECT po_line_id FROM %2$s WHERE holding_id = $1) AND id > $2 ORDER BY id LIMIT $3";
+  private static final UUID NIL_UUID = new UUID(0, 0);
 
   private final PoLinesDAO poLinesDAO;
   private final AuditOutboxService auditOutboxService;
@@ -167,49 +171,14 @@ public class PoLinesService {
     return promise.future();
   }
 
-  public Future<List<PoLine>> getPoLinesByLineIdsByChunks(List<String> poLineIds, Conn conn) {
-    log.trace("getPoLinesByLineIds, poLineIds={}", poLineIds);
+  public Future<List<PoLine>> getPoLinesByIds(List<String> poLineIds, Conn conn) {
+    log.trace("getPoLinesByIds, poLineIds={}", poLineIds);
     if (CollectionUtils.isEmpty(poLineIds)) {
       return Future.succeededFuture(Collections.emptyList());
     }
-    Promise<List<PoLine>> promise = Promise.promise();
-    List<String> uniqueIdList = poLineIds.stream().distinct().toList();
-    Future.all(StreamEx.ofSubLists(uniqueIdList, MAX_IDS_FOR_GET_RQ_15)
-                        .map(chunkIds -> getPoLinesByLineIds(chunkIds, conn))
-                        .collect(toList()))
-      .onComplete(ar -> {
-        if (ar.succeeded()) {
-          log.trace("getPoLinesByLineIds completed, poLineIds={}", poLineIds);
-          promise.complete(ar.result().list().stream()
-            .map(chunkList -> (List<PoLine>)chunkList)
-            .filter(CollectionUtils::isNotEmpty)
-            .flatMap(Collection::stream)
-            .toList());
-        } else {
-          log.error("getPoLinesByLineIds failed, poLineIds={}", poLineIds, ar.cause());
-          promise.fail(ar.cause());
-        }
-      });
-    return promise.future();
-  }
-
-  private Future<List<PoLine>> getPoLinesByLineIds(List<String> lineIds, Conn conn) {
-    Promise<List<PoLine>> promise = Promise.promise();
-
-    CriterionBuilder criterionBuilder = new CriterionBuilder("OR");
-    lineIds.forEach(id -> criterionBuilder.with("id", id));
-
-    Criterion criterion = criterionBuilder.build();
-    poLinesDAO.getPoLines(criterion, conn)
-      .onComplete(ar -> {
-        if (ar.failed()) {
-          log.error("getPoLinesByLineIds(lineIds, dbClient) failed, criterion={}", criterion, ar.cause());
-          handleFailure(promise, ar.cause());
-        } else {
-          promise.complete(ar.result());
-        }
-      });
-    return promise.future();
+    return poLinesDAO.getPoLinesByIds(poLineIds, conn)
+      .onSuccess(poLines -> log.trace("getPoLinesByIds completed, poLineIds={}", poLineIds))
+      .onFailure(t -> log.error("getPoLinesByIds failed, poLineIds={}", poLineIds, t));
   }
 
   @SneakyThrows
@@ -219,6 +188,36 @@ public class PoLinesService {
     return getEntitiesByField(PO_LINE_TABLE, PoLine.class, cqlWrapper, conn);
   }
 
+  /**
+   * Gets the PO lines having a location with the holding, using the po_line_holding index.
+   *
+   * @param holdingId the holding id
+   * @param conn      the sql connection
+   * @return future with the PO lines of the holding
+   */
+  public Future<List<PoLine>> getPoLinesByHoldingId(String holdingId, Conn conn) {
+    return conn.execute(PO_LINES_BY_HOLDING_ID_SQL.formatted(PO_LINE_TABLE, PO_LINE_HOLDING_TABLE), Tuple.of(holdingId))
+      .map(rows -> DbUtils.getRowSetAsList(rows, PoLine.class))
+      .onSuccess(poLines -> log.info("getPoLinesByHoldingId:: Found {} POL(s) for holdingId: {}", poLines.size(), holdingId))
+      .onFailure(t -> log.error("getPoLinesByHoldingId:: Failed to get POLs for holdingId: {}", holdingId, t));
+  }
+
+  /**
+   * Gets the next chunk of PO lines having a location with the holding in the order of their ids.
+   *
+   * @param holdingId     the holding id
+   * @param afterPoLineId id of the last PO line of the previous chunk, null for the first chunk
+   * @param limit         max number of PO lines in the chunk
+   * @param conn          the sql connection
+   * @return future with the PO lines of the chunk
+   */
+  public Future<List<PoLine>> getPoLinesChunkByHoldingId(String holdingId, String afterPoLineId, int limit, Conn conn) {
+    var afterId = afterPoLineId == null ? NIL_UUID : UUID.fromString(afterPoLineId);
+    return conn.execute(PO_LINES_CHUNK_BY_HOLDING_ID_SQL.formatted(PO_LINE_TABLE, PO_LINE_HOLDING_TABLE), Tuple.of(holdingId, afterId, limit))
+      .map(rows -> DbUtils.getRowSetAsList(rows, PoLine.class))
+      .onFailure(t -> log.error("getPoLinesChunkByHoldingId:: Failed to get POLs for holdingId: {} after poLineId: {}", holdingId, afterPoLineId, t));
+  }
+
   public Future<List<PoLine>> getPoLinesByIdsForUpdate(List<String> poLineIds, String tenantId, Conn conn) {
     var ids = poLineIds.stream().map(UUID::fromString).toArray(UUID[]::new);
     return conn.execute(String.format(PO_LINES_BY_ID_FOR_UPDATE_SQL, getFullTableName(tenantId, PO_LINE_TABLE)), Tuple.of(ids))
@@ -230,47 +229,7 @@ public class PoLinesService {
   public Future<Integer> updatePoLines(Collection<PoLine> poLines, Conn conn, String tenantId,
                                        Map<String, String> headers) {
     poLines.forEach(poLine -> populateMetadata(poLine::getMetadata, poLine::withMetadata, headers));
-    String query = buildUpdatePoLineBatchQuery(poLines, tenantId);
-    return poLinesDAO.updatePoLines(query, conn);
-  }
-
-  public Future<Integer> getLastLineNumber(String purchaseOrderId, Conn conn) {
-    return getPoLinesByOrderId(purchaseOrderId, conn)
-      .compose(this::getLastLineNumber);
-  }
-
-  private Future<Integer> getLastLineNumber(List<PoLine> poLines) {
-    Promise<Integer> promise = Promise.promise();
-    try {
-      int indexStr = poLines.stream()
-        .map(PoLine::getPoLineNumber)
-        .filter(Objects::nonNull)
-        .map(this::defineIndex)
-        .sorted()
-        .reduce((a, b) -> b).orElse(0);
-      promise.complete(indexStr);
-    } catch (Exception t) {
-      promise.complete(0);
-    }
-    return promise.future();
-  }
-
-  private int defineIndex(String polNumber) {
-    String[] parts = polNumber.split("-");
-    if (parts.length == 2 && !StringUtils.isEmpty(parts[1])) {
-      return Integer.parseInt(parts[1]);
-    } else {
-      return 1;
-    }
-  }
-
-  private String buildUpdatePoLineBatchQuery(Collection<PoLine> poLines, String tenantId) {
-    List<JsonObject> jsonPoLines = poLines.stream()
-      .map(SerializerUtil::toJson)
-      .toList();
-    return String.format(
-      "UPDATE %s AS po_line SET jsonb = b.jsonb FROM (VALUES  %s) AS b (id, jsonb) WHERE b.id::uuid = po_line.id;",
-      getFullTableName(tenantId, PO_LINE_TABLE), getQueryValues(jsonPoLines));
+    return DbUtils.batchUpdate(conn, getFullTableName(tenantId, PO_LINE_TABLE), poLines, PoLine::getId);
   }
 
   public Future<PoLine> getPoLineById(String poLineId, DBClient client) {
@@ -392,22 +351,53 @@ public class PoLinesService {
     return promise.future();
   }
 
+  /**
+   * Synchronizes titles of the non-package PO lines: fetches them with a single query, creates the missing ones
+   * and writes only the changed titles with a single batch update.
+   */
   public Future<Void> updateTitles(Conn conn, List<PoLine> poLines, Map<String, String> headers) {
-    var futures = poLines.stream()
+    var nonPackagePoLines = poLines.stream()
       .filter(poLine -> !poLine.getIsPackage())
-      .map(poLine -> updateTitle(conn, poLine, headers))
       .toList();
-    return Future.join(futures).mapEmpty();
+    if (nonPackagePoLines.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    var poLineIds = nonPackagePoLines.stream().map(PoLine::getId).map(UUID::fromString).toArray(UUID[]::new);
+    return conn.execute(TITLES_BY_PO_LINE_IDS_SQL.formatted(TITLES_TABLE), Tuple.of(poLineIds))
+      .map(rowSet -> StreamEx.of(DbUtils.getRowSetAsList(rowSet, Title.class)).toMap(Title::getPoLineId, title -> title, (first, second) -> first))
+      .compose(titlesByPoLineId -> {
+        var changedTitles = new ArrayList<Title>();
+        var titleCreations = new ArrayList<Future<PoLine>>();
+        for (PoLine poLine : nonPackagePoLines) {
+          var title = titlesByPoLineId.get(poLine.getId());
+          if (title == null) {
+            titleCreations.add(createTitle(conn, poLine, headers));
+          } else if (titleUpdateRequired(title, poLine, headers)) {
+            changedTitles.add(buildUpdatedTitle(title, poLine, headers));
+          }
+        }
+        log.info("updateTitles:: Creating {} and updating {} title(s) of {} POL(s)", titleCreations.size(), changedTitles.size(), nonPackagePoLines.size());
+        return Future.join(titleCreations)
+          .compose(v -> changedTitles.isEmpty()
+            ? Future.succeededFuture()
+            : DbUtils.batchUpdate(conn, TITLES_TABLE, changedTitles, Title::getId));
+      })
+      .onFailure(t -> log.error("updateTitles:: Failed to update titles of {} POL(s)", nonPackagePoLines.size(), t))
+      .mapEmpty();
+  }
+
+  private Title buildUpdatedTitle(Title title, PoLine poLine, Map<String, String> headers) {
+    return createTitleObject(poLine, title.getAcqUnitIds(), headers)
+      .withIsAcknowledged(title.getIsAcknowledged())
+      .withNextSequenceNumber(title.getNextSequenceNumber())
+      .withId(title.getId());
   }
 
   private Future<PoLine> updateTitle(Conn conn, Title title, PoLine poLine, Map<String, String> headers) {
     Promise<PoLine> promise = Promise.promise();
 
     Criterion criterion = getCriteriaByFieldNameAndValueNotJsonb(ID_FIELD_NAME, title.getId());
-    Title newTitle = createTitleObject(poLine, title.getAcqUnitIds(), headers)
-      .withIsAcknowledged(title.getIsAcknowledged())
-      .withNextSequenceNumber(title.getNextSequenceNumber())
-      .withId(title.getId());
+    Title newTitle = buildUpdatedTitle(title, poLine, headers);
 
     conn.update(TITLES_TABLE, newTitle, JSONB, criterion.toString(), false)
       .onComplete(ar -> {
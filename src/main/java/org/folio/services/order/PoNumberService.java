@@ -0,0 +1,80 @@
+package org.folio.services.order;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dao.PostgresClientFactory;
+import org.folio.dao.order.OrderDAO;
+import org.springframework.beans.factory.annotation.Value;
+
+import io.vertx.core.Future;
+
+/**
+ * Serves purchase order numbers from per-tenant blocks reserved in the order_number table, so that only one
+ * order create per block touches the shared row. Reserved blocks never overlap across module instances and restarts,
+ * numbers of a block left unused by a stopped instance are skipped.
+ */
+public class PoNumberService {
+  private static final Logger log = LogManager.getLogger();
+
+  private final OrderDAO orderDAO;
+  private final PostgresClientFactory pgClientFactory;
+  private final Map<String, PoNumberRange> ranges = new ConcurrentHashMap<>();
+
+  @Value("${po-number.block.size:20}")
+  private int blockSize;
+
+  public PoNumberService(OrderDAO orderDAO, PostgresClientFactory pgClientFactory) {
+    this.orderDAO = orderDAO;
+    this.pgClientFactory = pgClientFactory;
+  }
+
+  public Future<Long> getNextPoNumber(String tenantId) {
+    int size = Math.max(blockSize, 1);
+    return ranges.computeIfAbsent(tenantId, key -> new PoNumberRange())
+      .next(() -> pgClientFactory.createInstance(tenantId).withConn(conn -> orderDAO.reservePoNumbers(size, conn))
+        .onSuccess(lastNumber -> log.debug("getNextPoNumber:: Reserved po numbers up to {} for tenant: '{}'", lastNumber, tenantId)), size);
+  }
+
+  /**
+   * Drops the cached block of the tenant, must be called when the order_number table of the tenant is re-created.
+   */
+  public void invalidate(String tenantId) {
+    ranges.remove(tenantId);
+  }
+
+  private static class PoNumberRange {
+    private long nextNumber = 1;
+    private long lastNumber;
+    private Future<Long> reservation;
+
+    synchronized Future<Long> next(Supplier<Future<Long>> reserve, int size) {
+      if (nextNumber <= lastNumber) {
+        return Future.succeededFuture(nextNumber++);
+      }
+      Future<Long> pending = reservation;
+      if (pending == null) {
+        Future<Long> started = reserve.get();
+        reservation = started;
+        started.onComplete(ar -> complete(started, ar.succeeded() ? ar.result() : null, size));
+        pending = started;
+      }
+      // callers waiting for the same reservation share its block, the last of them may start the next one
+      return pending.compose(v -> next(reserve, size));
+    }
+
+    private synchronized void complete(Future<Long> pending, Long reservedLastNumber, int size) {
+      if (reservation != pending) {
+        return;
+      }
+      reservation = null;
+      if (reservedLastNumber != null) {
+        lastNumber = reservedLastNumber;
+        nextNumber = reservedLastNumber - size + 1;
+      }
+    }
+  }
+}
@@ -1,27 +1,29 @@
 package org.folio.services.piece;
 
 import static org.folio.models.TableNames.PIECES_TABLE;
-import static org.folio.models.TableNames.TITLES_TABLE;
+import static org.folio.models.TableNames.PO_LINE_LOCATION_SUMMARY_TABLE;
 import static org.folio.rest.core.ResponseUtil.httpHandleFailure;
 import static org.folio.rest.persist.HelperUtils.getCriteriaByFieldNameAndValueNotJsonb;
 import static org.folio.rest.persist.HelperUtils.getCriterionByFieldNameAndValue;
 import static org.folio.rest.persist.HelperUtils.getFullTableName;
-import static org.folio.rest.persist.HelperUtils.getQueryValues;
 import static org.folio.util.DbUtils.getEntitiesByField;
-import static org.folio.util.HelperUtils.chainCall;
 import static org.folio.util.HelperUtils.collectResultsOnSuccess;
 import static org.folio.util.HelperUtils.extractEntityFields;
 import static org.folio.util.HelperUtils.mapTo;
 import static org.folio.util.MetadataUtils.populateMetadata;
 
 import javax.ws.rs.core.Response;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -31,13 +33,14 @@ import org.folio.rest.jaxrs.model.Piece;
 import org.folio.rest.jaxrs.model.PoLine;
 import org.folio.rest.jaxrs.model.ReplaceInstanceRef;
 import org.folio.rest.jaxrs.model.Title;
+import org.folio.rest.jaxrs.model.acq.Location;
 import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.Criteria.Criterion;
 import org.folio.rest.persist.DBClient;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.tools.utils.TenantTool;
+import org.folio.services.title.TitleService;
 import org.folio.util.DbUtils;
-import org.folio.util.SerializerUtil;
 
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
@@ -55,17 +58,63 @@ public class PieceService {
   private static final String PIECE_NOT_UPDATED = "Pieces with poLineId={} not presented, skipping the update";
 
   private static final String PIECES_BY_ID_FOR_UPDATE_SQL = "SELECT * FROM %s WHERE id = ANY($1) FOR UPDATE;";
-  private static final String PIECES_BATCH_UPDATE_SQL = "UPDATE %s AS pieces SET jsonb = b.jsonb FROM (VALUES  %s) AS b (id, jsonb) WHERE b.id::uuid = pieces.id RETURNING pieces.*;";
   private static final String PIECES_BY_ITEM_ID_COUNT_SQL = "SELECT COUNT(*) FROM %s WHERE left(lower(%s.f_unaccent(jsonb->>'itemId')), 600) = $1;";
+  private static final String PIECES_BY_ITEM_IDS_SQL = "SELECT jsonb FROM %s WHERE left(lower(%s.f_unaccent(jsonb->>'itemId')), 600) = ANY($1)";
+  private static final String ITEM_IDS_WITH_PIECES_SQL =
+    "SELECT DISTINCT jsonb->>'itemId' AS item_id FROM %s WHERE left(lower(%s.f_unaccent(jsonb->>'itemId')), 600) = ANY($1)";
   private static final String PIECES_SHIFT_SEQUENCE_NUMBERS =
-    "UPDATE %s SET jsonb = jsonb || jsonb_build_object('sequenceNumber', (jsonb->>'sequenceNumber')::int + $1) WHERE titleId = $2 AND (jsonb->>'sequenceNumber')::int BETWEEN $3 AND $4";
-  private static final String PIECES_UPDATE_INVENTORY_DATA = "UPDATE %s SET jsonb = jsonb_set(jsonb_set(jsonb_set(jsonb_set(jsonb_set(jsonb, " +
-    "'{holdingId}', COALESCE(to_jsonb($1::text), 'null'::jsonb)), " +
-    "'{receivingTenantId}', COALESCE(to_jsonb($2::text), 'null'::jsonb)), " +
-    "'{barcode}', COALESCE(to_jsonb($3::text), 'null'::jsonb)), " +
-    "'{callNumber}', COALESCE(to_jsonb($4::text), 'null'::jsonb)), " +
-    "'{accessionNumber}', COALESCE(to_jsonb($5::text), 'null'::jsonb)) " +
-    "WHERE id = $6::uuid RETURNING *";
+    "UPDATE %s SET jsonb = jsonb || jsonb_build_object('sequenceNumber', (jsonb->>'sequenceNumber')::int + $1) WHERE titleId = $2 AND (jsonb->>'sequenceNumber')::int BETWEEN $3 AND $4 AND id <> $5";
+  // Each existing piece is shifted up by the count of insertion thresholds not greater than its sequence number
+  private static final String PIECES_SHIFT_SEQUENCE_NUMBERS_FOR_INSERT = """
+    UPDATE %1$s AS pieces
+    SET jsonb = pieces.jsonb || jsonb_build_object('sequenceNumber', (pieces.jsonb->>'sequenceNumber')::int + shifts.shift)
+    FROM (
+      SELECT p.id, count(*)::int AS shift
+      FROM %1$s AS p
+      JOIN unnest($2::int[]) AS t (threshold) ON t.threshold <= (p.jsonb->>'sequenceNumber')::int
+      WHERE p.titleId = $1 AND (p.jsonb->>'sequenceNumber')::int <= $3
+      GROUP BY p.id
+    ) AS shifts
+    WHERE pieces.id = shifts.id
+    """;
+  // Same grouping as PO line locations: one location per receiving tenant and holding, pieces without holding are skipped
+  // Reads the quantities maintained by the pieces_location_summary trigger instead of counting the pieces
+  private static final String PIECES_LOCATIONS_BY_PO_LINE_IDS = """
+    SELECT po_line_id, jsonb_agg(location ORDER BY tenant_id NULLS FIRST, holding_id) AS locations
+    FROM (
+      SELECT po_line_id, tenant_id, holding_id,
+        jsonb_strip_nulls(jsonb_build_object(
+          'tenantId', tenant_id,
+          'holdingId', holding_id,
+          'quantity', sum(quantity),
+          'quantityPhysical', NULLIF(sum(quantity) FILTER (WHERE format = $2), 0),
+          'quantityElectronic', NULLIF(sum(quantity) FILTER (WHERE format = $3), 0))) AS location
+      FROM %s
+      WHERE po_line_id = ANY($1::uuid[])
+      GROUP BY po_line_id, tenant_id, holding_id
+    ) AS holding_locations
+    GROUP BY po_line_id
+    """;
+  // Locks the pieces through the joined subquery, so that it yields the pre-images of the updated rows
+  private static final String PIECES_BATCH_UPDATE_INVENTORY_DATA = """
+    UPDATE %1$s AS pieces SET jsonb = jsonb_set(jsonb_set(jsonb_set(jsonb_set(jsonb_set(pieces.jsonb,
+      '{holdingId}', COALESCE(to_jsonb(data.holding_id), 'null'::jsonb)),
+      '{receivingTenantId}', COALESCE(to_jsonb(data.receiving_tenant_id), 'null'::jsonb)),
+      '{barcode}', COALESCE(to_jsonb(data.barcode), 'null'::jsonb)),
+      '{callNumber}', COALESCE(to_jsonb(data.call_number), 'null'::jsonb)),
+      '{accessionNumber}', COALESCE(to_jsonb(data.accession_number), 'null'::jsonb))
+    FROM (SELECT id, jsonb FROM %1$s WHERE id = ANY($1::uuid[]) FOR UPDATE) AS original
+    JOIN unnest($1::uuid[], $2::text[], $3::text[], $4::text[], $5::text[], $6::text[])
+      AS data (id, holding_id, receiving_tenant_id, barcode, call_number, accession_number) ON data.id = original.id
+    WHERE pieces.id = original.id
+    RETURNING pieces.id, pieces.jsonb, original.jsonb AS original_jsonb
+    """;
+
+  private final TitleService titleService;
+
+  public PieceService(TitleService titleService) {
+    this.titleService = titleService;
+  }
 
   public Future<List<Piece>> getPiecesByPoLineId(String poLineId, DBClient client) {
     var criterion = getCriteriaByFieldNameAndValueNotJsonb(PO_LINE_ID_FIELD, poLineId);
@@ -89,6 +138,24 @@ public class PieceService {
       .map(count -> count > 0);
   }
 
+  public Future<List<Piece>> getPiecesByItemIds(Collection<String> itemIds, String tenantId, Conn conn) {
+    if (CollectionUtils.isEmpty(itemIds)) {
+      return Future.succeededFuture(List.of());
+    }
+    var query = PIECES_BY_ITEM_IDS_SQL.formatted(getFullTableName(tenantId, PIECES_TABLE), PostgresClient.convertToPsqlStandard(tenantId));
+    return conn.execute(query, Tuple.of(itemIds.toArray(String[]::new)))
+      .map(rows -> DbUtils.getRowSetAsList(rows, Piece.class));
+  }
+
+  public Future<Set<String>> getItemIdsWithPieces(Collection<String> itemIds, String tenantId, Conn conn) {
+    if (CollectionUtils.isEmpty(itemIds)) {
+      return Future.succeededFuture(Set.of());
+    }
+    var query = ITEM_IDS_WITH_PIECES_SQL.formatted(getFullTableName(tenantId, PIECES_TABLE), PostgresClient.convertToPsqlStandard(tenantId));
+    return conn.execute(query, Tuple.of(itemIds.toArray(String[]::new)))
+      .map(rows -> StreamEx.of(rows.iterator()).map(row -> row.getString("item_id")).toSet());
+  }
+
   public Future<List<Piece>> getPiecesByHoldingId(String itemId, Conn conn) {
     var criterion = getCriterionByFieldNameAndValue(HOLDING_ID_FIELD, itemId);
     return getPiecesByField(criterion, conn);
@@ -179,7 +246,7 @@ public class PieceService {
       log.info(PIECE_NOT_UPDATED, poLineId);
       return Future.succeededFuture();
     }
-    return conn.execute(buildUpdatePieceBatchQuery(pieces, tenantId))
+    return DbUtils.batchUpdate(conn, getFullTableName(tenantId, PIECES_TABLE), pieces, Piece::getId)
       .recover(t -> Future.failedFuture(httpHandleFailure(t)))
       .onSuccess(v -> log.info("updatePieces complete, poLineId={}", poLineId))
       .onFailure(t -> log.error("updatePieces failed, poLineId={}", poLineId, t))
@@ -191,20 +258,34 @@ public class PieceService {
       log.warn("updatePieces:: Pieces list is empty, skipping the update");
       return Future.succeededFuture(List.of());
     }
-    String query = buildUpdatePieceBatchQuery(pieces, tenantId);
     return getPiecesByIdsForUpdate(mapTo(pieces, Piece::getId), tenantId, conn)
-      .compose(originalPieces -> conn.execute(query)
-        .map(rows -> DbUtils.getRowSetAsList(rows, Piece.class))
+      .compose(originalPieces -> DbUtils.batchUpdateReturning(conn, getFullTableName(tenantId, PIECES_TABLE), pieces, Piece::getId, Piece.class)
         .map(updatedPieces -> AuditEntityWrapper.listOf(updatedPieces, originalPieces, Piece::getId)))
-      .onSuccess(ar -> log.info("updatePieces:: completed, query={}", query))
-      .onFailure(t -> log.error("updatePieces:: failed, query={}", query, t));
+      .onSuccess(ar -> log.info("updatePieces:: completed, {} piece(s) updated", ar.size()))
+      .onFailure(t -> log.error("updatePieces:: failed to update {} piece(s)", pieces.size(), t));
   }
 
-  private String buildUpdatePieceBatchQuery(Collection<Piece> pieces, String tenantId) {
-    List<JsonObject> jsonPieces = pieces.stream()
-      .map(SerializerUtil::toJson)
-      .toList();
-    return String.format(PIECES_BATCH_UPDATE_SQL, getFullTableName(tenantId, PIECES_TABLE), getQueryValues(jsonPieces));
+  /**
+   * Computes the locations of the PO lines from the location summary of their pieces with a single aggregation query.
+   *
+   * @param poLineIds PO line ids
+   * @param tenantId  Tenant identifier
+   * @param conn      Connection to the database
+   * @return Future with locations by PO line id, PO lines without pieces having a holding are absent
+   */
+  public Future<Map<String, List<Location>>> getPieceLocationsByPoLineIds(List<String> poLineIds, String tenantId, Conn conn) {
+    var ids = poLineIds.stream().map(UUID::fromString).toArray(UUID[]::new);
+    var query = PIECES_LOCATIONS_BY_PO_LINE_IDS.formatted(getFullTableName(tenantId, PO_LINE_LOCATION_SUMMARY_TABLE));
+    return conn.execute(query, Tuple.of(ids, Piece.Format.PHYSICAL.value(), Piece.Format.ELECTRONIC.value()))
+      .map(rows -> {
+        Map<String, List<Location>> locations = new HashMap<>();
+        rows.forEach(row -> locations.put(row.getUUID("po_line_id").toString(), row.getJsonArray("locations").stream()
+          .map(location -> ((JsonObject) location).mapTo(Location.class))
+          .collect(Collectors.toCollection(ArrayList::new))));
+        return locations;
+      })
+      .onSuccess(locations -> log.debug("getPieceLocationsByPoLineIds:: Computed locations of {} POL(s)", locations.size()))
+      .onFailure(t -> log.error("Failed to compute locations of POL(s): {}", poLineIds, t));
   }
 
   /**
@@ -219,29 +300,34 @@ public class PieceService {
    */
   public Future<List<AuditEntityWrapper<Piece>>> updatePiecesInventoryData(List<Piece> pieces, Conn conn, String tenantId) {
     if (CollectionUtils.isEmpty(pieces)) {
-      log.warn("updatePiecesInventoryFieldsOnly:: Pieces list is empty, skipping the update");
+      log.warn("updatePiecesInventoryData:: Pieces list is empty, skipping the update");
       return Future.succeededFuture(List.of());
     }
-    log.info("updatePiecesInventoryFieldsOnly:: Updating {} piece(s) with inventory fields only", pieces.size());
-    var updateFutures = pieces.stream().map(piece -> updatePieceInventoryData(piece, conn, tenantId)).toList();
-    return collectResultsOnSuccess(updateFutures);
-  }
-
-  private Future<AuditEntityWrapper<Piece>> updatePieceInventoryData(Piece piece, Conn conn, String tenantId) {
-    var updateQuery = PIECES_UPDATE_INVENTORY_DATA.formatted(getFullTableName(tenantId, PIECES_TABLE));
-    var params = Tuple.of(piece.getHoldingId(), piece.getReceivingTenantId(), piece.getBarcode(), piece.getCallNumber(), piece.getAccessionNumber(), piece.getId());
-    return getPieceByIdForUpdate(piece.getId(), conn)
-      .compose(originalPiece -> conn.execute(updateQuery, params).map(rows -> {
-        if (rows.rowCount() == 0) {
-          log.warn("updateSinglePieceInventoryFields:: No piece updated with id: {}", piece.getId());
-          return AuditEntityWrapper.of(piece, originalPiece.orElse(null));
+    log.info("updatePiecesInventoryData:: Updating {} piece(s) with inventory fields only", pieces.size());
+    // The last change wins if the same piece is passed more than once
+    List<Piece> changes = List.copyOf(StreamEx.of(pieces).toMap(Piece::getId, piece -> piece, (first, second) -> second).values());
+    var updateQuery = PIECES_BATCH_UPDATE_INVENTORY_DATA.formatted(getFullTableName(tenantId, PIECES_TABLE));
+    var params = Tuple.of(
+      changes.stream().map(Piece::getId).map(UUID::fromString).toArray(UUID[]::new),
+      changes.stream().map(Piece::getHoldingId).toArray(String[]::new),
+      changes.stream().map(Piece::getReceivingTenantId).toArray(String[]::new),
+      changes.stream().map(Piece::getBarcode).toArray(String[]::new),
+      changes.stream().map(Piece::getCallNumber).toArray(String[]::new),
+      changes.stream().map(Piece::getAccessionNumber).toArray(String[]::new));
+    return conn.execute(updateQuery, params)
+      .map(rows -> {
+        Map<String, AuditEntityWrapper<Piece>> updated = new HashMap<>();
+        rows.forEach(row -> updated.put(row.getUUID("id").toString(), AuditEntityWrapper.of(
+          row.getJsonObject("jsonb").mapTo(Piece.class), row.getJsonObject("original_jsonb").mapTo(Piece.class))));
+        if (updated.size() < changes.size()) {
+          log.warn("updatePiecesInventoryData:: {} of {} piece(s) were not found", changes.size() - updated.size(), changes.size());
         }
-        var updatedPiece = DbUtils.getRowSetAsEntity(rows, Piece.class);
-        log.info("updateSinglePieceInventoryFields:: Successfully updated piece: {} with holdingId: {}, receivingTenantId: {}, barcode: {}, callNumber: {}, accessionNumber: {}",
-          piece.getId(), piece.getHoldingId(), piece.getReceivingTenantId(), piece.getBarcode(), piece.getCallNumber(), piece.getAccessionNumber());
-        return AuditEntityWrapper.of(updatedPiece, originalPiece.orElse(null));
-      }))
-      .onFailure(e -> log.error("updateSinglePieceInventoryFields:: Failed to update piece: {}", piece.getId(), e));
+        return pieces.stream()
+          .map(piece -> updated.getOrDefault(piece.getId(), AuditEntityWrapper.of(piece)))
+          .toList();
+      })
+      .onSuccess(result -> log.info("updatePiecesInventoryData:: Successfully updated {} piece(s)", changes.size()))
+      .onFailure(e -> log.error("updatePiecesInventoryData:: Failed to update {} piece(s)", changes.size(), e));
   }
 
   public Future<Void> updatePieces(PoLine poLine, ReplaceInstanceRef replaceInstanceRef, Conn conn, String tenantId) {
@@ -277,33 +363,74 @@ public class PieceService {
 
   private Future<Void> shiftSequenceNumbersIfNeeded(List<Piece> pieces, Conn conn, String tenantId) {
     Map<String, List<Piece>> titlesToPieces = StreamEx.of(pieces).groupingBy(Piece::getTitleId);
-    var shiftFutures = titlesToPieces.entrySet().stream()
-      .map(entry -> conn.getById(TITLES_TABLE, entry.getKey(), Title.class)
-        .compose(title -> title == null
-          ? Future.failedFuture(new HttpException(Response.Status.BAD_REQUEST.getStatusCode(), "Title with id %s not found".formatted(entry.getKey())))
-          : Future.succeededFuture(title))
-        .compose(title -> chainCall(entry.getValue(), piece -> shiftSequenceNumbersIfNeeded(title, piece, conn, tenantId))))
-      .toList();
-    return collectResultsOnSuccess(shiftFutures).mapEmpty();
+    return titleService.getTitlesByIds(titlesToPieces.keySet(), conn)
+      .compose(titles -> {
+        var foundTitleIds = StreamEx.of(titles).map(Title::getId).toSet();
+        var missingTitleId = titlesToPieces.keySet().stream().filter(titleId -> !foundTitleIds.contains(titleId)).findFirst();
+        if (missingTitleId.isPresent()) {
+          return Future.failedFuture(new HttpException(Response.Status.BAD_REQUEST.getStatusCode(), "Title with id %s not found".formatted(missingTitleId.get())));
+        }
+        var shiftFutures = titles.stream()
+          .map(title -> shiftSequenceNumbersIfNeeded(title, titlesToPieces.get(title.getId()), conn, tenantId))
+          .toList();
+        return collectResultsOnSuccess(shiftFutures).mapEmpty();
+      });
+  }
+
+  /**
+   * Makes room for the new pieces of the title with a single statement. New pieces take their sequence numbers
+   * as final positions, existing pieces up to the title next sequence number fill the remaining positions in order.
+   */
+  private Future<Void> shiftSequenceNumbersIfNeeded(Title title, List<Piece> pieces, Conn conn, String tenantId) {
+    int nextSequenceNumber = title.getNextSequenceNumber();
+    if (nextSequenceNumber <= 1) {
+      return Future.succeededFuture();
+    }
+    Integer[] thresholds = getInsertionThresholds(pieces, nextSequenceNumber);
+    if (thresholds.length == 0) {
+      return Future.succeededFuture();
+    }
+    var query = PIECES_SHIFT_SEQUENCE_NUMBERS_FOR_INSERT.formatted(getFullTableName(tenantId, PIECES_TABLE));
+    return conn.execute(query, Tuple.of(title.getId(), thresholds, nextSequenceNumber))
+      .onSuccess(rows -> log.debug("shiftSequenceNumbersIfNeeded:: Shifted {} piece(s) of title: '{}'", rows.rowCount(), title.getId()))
+      .mapEmpty();
   }
 
-  private Future<Void> shiftSequenceNumbersIfNeeded(Title title, Piece piece, Conn conn, String tenantId) {
-    return title.getNextSequenceNumber() > 1
-      ? shiftSequenceNumbers(piece.getTitleId(), title.getNextSequenceNumber(), piece.getSequenceNumber(), conn, tenantId)
-      : Future.succeededFuture();
+  /**
+   * Inserting the sorted positions p1 <= p2 <= ... one by one shifts an existing piece with sequence number x
+   * at step j when x + (j - 1) >= pj, so the piece is shifted by the count of thresholds max(pi - i + 1), i <= j,
+   * that are not greater than x.
+   */
+  static Integer[] getInsertionThresholds(List<Piece> pieces, int nextSequenceNumber) {
+    var positions = pieces.stream()
+      .map(Piece::getSequenceNumber)
+      .filter(Objects::nonNull)
+      .filter(position -> position <= nextSequenceNumber)
+      .sorted()
+      .toList();
+    Integer[] thresholds = new Integer[positions.size()];
+    int threshold = Integer.MIN_VALUE;
+    for (int i = 0; i < positions.size(); i++) {
+      threshold = Math.max(threshold, positions.get(i) - i);
+      thresholds[i] = threshold;
+    }
+    return thresholds;
   }
 
   private Future<Void> shiftSequenceNumbersIfNeeded(String pieceId, Piece piece, Conn conn, String tenantId) {
     return conn.getById(PIECES_TABLE, pieceId, Piece.class)
       .compose(storagePiece -> storagePiece == null || Objects.equals(storagePiece.getSequenceNumber(), piece.getSequenceNumber())
         ? Future.succeededFuture()
-        : shiftSequenceNumbers(piece.getTitleId(), storagePiece.getSequenceNumber(), piece.getSequenceNumber(), conn, tenantId));
+        : shiftSequenceNumbers(pieceId, piece.getTitleId(), storagePiece.getSequenceNumber(), piece.getSequenceNumber(), conn, tenantId));
   }
 
-  private Future<Void> shiftSequenceNumbers(String titleId, int numberFrom, int numberTo, Conn conn, String tenantId) {
+  /**
+   * Moves the pieces between the old and the new position of the updated piece by one, the updated piece itself is skipped.
+   */
+  private Future<Void> shiftSequenceNumbers(String pieceId, String titleId, int numberFrom, int numberTo, Conn conn, String tenantId) {
     int shift = numberTo < numberFrom ? 1 : -1;
     var tableName = getFullTableName(tenantId, PIECES_TABLE);
-    var parameters = Tuple.of(shift, titleId, Math.min(numberTo, numberFrom), Math.max(numberTo, numberFrom));
+    var parameters = Tuple.of(shift, titleId, Math.min(numberTo, numberFrom), Math.max(numberTo, numberFrom), pieceId);
     return conn.execute(PIECES_SHIFT_SEQUENCE_NUMBERS.formatted(tableName), parameters).mapEmpty();
   }
 
@@ -7,6 +7,7 @@ import static org.folio.rest.core.ResponseUtil.httpHandleFailure;
 import static org.folio.rest.persist.HelperUtils.JSONB;
 import static org.folio.rest.persist.HelperUtils.getCriteriaByFieldNameAndValueNotJsonb;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -24,7 +25,9 @@ import org.folio.rest.jaxrs.model.Title;
 import org.folio.rest.jaxrs.model.TitleSequenceNumbers;
 import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.Criteria.Criterion;
+import org.folio.util.DbUtils;
 import org.folio.util.InventoryUtils;
+import org.folio.util.TitleSequenceNumberUtils;
 
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
@@ -46,11 +49,16 @@ public class TitleService {
           return Future.failedFuture(new HttpException(HttpStatus.SC_NOT_FOUND, "Title with poLineId=%s was not found".formatted(poLineId)));
         } else {
           log.trace("getTitleByPoLineId:: Complete, poLineId={}", poLineId);
-          return Future.succeededFuture(title.get());
+          return TitleSequenceNumberUtils.populateNextSequenceNumber(title.get(), conn);
         }
       });
   }
 
+  public Future<List<Title>> getTitlesByIds(Collection<String> titleIds, Conn conn) {
+    return DbUtils.getEntitiesByIds(conn, TITLES_TABLE, titleIds, Title.class)
+      .compose(titles -> TitleSequenceNumberUtils.populateNextSequenceNumbers(titles, conn));
+  }
+
   private Future<PoLine> updateInstanceForTitle(PoLine poLine, Title title, JsonObject instance, Conn conn) {
     Criterion criterion = getCriteriaByFieldNameAndValueNotJsonb(POLINE_ID_FIELD, poLine.getId());
     updateInstanceFieldsForTitle(title, instance);
@@ -111,16 +119,11 @@ public class TitleService {
 
   public Future<TitleSequenceNumbers> generateTitleNextSequenceNumbers(String titleId, int sequenceNumbers, Conn conn) {
     log.info("generateTitleNextSequenceNumbers: Generating {} sequence numbers for title: '{}'", sequenceNumbers, titleId);
-    return conn.getByIdForUpdate(TITLES_TABLE, titleId, Title.class)
-      .compose(title -> {
-        var nextNumber = title.getNextSequenceNumber();
-        var titleSequenceNumbers = new TitleSequenceNumbers()
-          .withSequenceNumbers(IntStream.range(nextNumber, nextNumber + sequenceNumbers)
-            .mapToObj(Integer::toString)
-            .toList());
-        title.setNextSequenceNumber(nextNumber + sequenceNumbers);
-        return conn.update(TITLES_TABLE, title, titleId).map(titleSequenceNumbers);
-      })
+    return TitleSequenceNumberUtils.reserveSequenceNumbers(titleId, sequenceNumbers, conn)
+      .map(firstNumber -> new TitleSequenceNumbers()
+        .withSequenceNumbers(IntStream.range(firstNumber, firstNumber + sequenceNumbers)
+          .mapToObj(Integer::toString)
+          .toList()))
       .onFailure(t -> log.error("generateTitleNextSequenceNumbers: Failed to generate sequence numbers for title: '{}'", titleId, t));
   }
 
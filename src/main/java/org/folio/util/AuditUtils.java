@@ -1,7 +1,6 @@
 package org.folio.util;
 
 import java.util.Optional;
-import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
 import org.folio.kafka.KafkaTopicNameHelper;
@@ -14,6 +13,9 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class AuditUtils {
 
+  private static final String METADATA = "metadata";
+  public static final String ORIGINAL_SNAPSHOT_PATCH = "originalSnapshotPatch";
+
   public static String buildTopicName(String envId, String tenantId, String eventType) {
     return KafkaTopicNameHelper.formatTopicName(envId, KafkaTopicNameHelper.getDefaultNameSpace(), tenantId, eventType);
   }
@@ -23,13 +25,39 @@ public class AuditUtils {
       .orElseThrow(() -> new IllegalArgumentException("Metadata is null for entity with id: %s".formatted(idGetter.get())));
   }
 
+  /**
+   * Converts entity to its audit snapshot without metadata, the entity itself is not modified.
+   */
   @Nullable
-  public static <T, R> R convertToSnapshot(T entity, BiFunction<T, Metadata, T> medatadaSetter, Class<R> snapshotClass) {
+  public static <T, R> R convertToSnapshot(T entity, Class<R> snapshotClass) {
     return Optional.ofNullable(entity)
-      .map(e -> medatadaSetter.apply(e, null))
       .map(JsonObject::mapFrom)
-      .map(json -> json.mapTo(snapshotClass))
+      .map(json -> {
+        json.remove(METADATA);
+        return json.mapTo(snapshotClass);
+      })
       .orElse(null);
   }
 
+  /**
+   * Replaces the original snapshot of the rendered audit event with a JSON Patch (RFC 6902)
+   * that restores it from the new snapshot. The original snapshot is restored by the database
+   * when the event is claimed for relay, see outbox_expand_snapshots function.
+   *
+   * @param event                 the rendered audit event, modified in place
+   * @param snapshotField         the new snapshot field name
+   * @param originalSnapshotField the original snapshot field name
+   * @return compacted event or null if the event has no snapshot pair to compact
+   */
+  @Nullable
+  public static JsonObject compactSnapshots(JsonObject event, String snapshotField, String originalSnapshotField) {
+    JsonObject snapshot = event.getJsonObject(snapshotField);
+    JsonObject originalSnapshot = event.getJsonObject(originalSnapshotField);
+    if (snapshot == null || originalSnapshot == null) {
+      return null;
+    }
+    event.remove(originalSnapshotField);
+    return event.put(ORIGINAL_SNAPSHOT_PATCH, JsonPatchUtils.diff(snapshot, originalSnapshot));
+  }
+
 }
@@ -4,9 +4,15 @@ import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static org.folio.rest.core.ResponseUtil.httpHandleFailure;
 
 import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
 
 import org.apache.commons.collections4.IteratorUtils;
+import org.apache.commons.collections4.ListUtils;
+import org.folio.dbschema.ObjectMapperTool;
 import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.Criteria.Criterion;
 import org.folio.rest.persist.DBClient;
@@ -18,6 +24,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.handler.HttpException;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
 import lombok.experimental.UtilityClass;
 import lombok.extern.log4j.Log4j2;
 
@@ -25,6 +32,15 @@ import lombok.extern.log4j.Log4j2;
 @UtilityClass
 public final class DbUtils {
 
+  private static final String BATCH_UPDATE_SQL = """
+    UPDATE %s AS t SET jsonb = b.jsonb::jsonb
+    FROM unnest($1::uuid[], $2::text[]) AS b (id, jsonb)
+    WHERE t.id = b.id
+    """;
+  private static final String RETURNING_ALL = "RETURNING t.*";
+  private static final String SELECT_BY_IDS_SQL = "SELECT jsonb FROM %s WHERE id = ANY($1::uuid[])";
+  private static final int BATCH_UPDATE_CHUNK_SIZE = Integer.parseInt(EnvUtils.getEnvVar("DB_BATCH_UPDATE_CHUNK_SIZE", "500"));
+
   public static Future<RowSet<Row>> failOnNoUpdateOrDelete(RowSet<Row> rowSet) {
     return rowSet.rowCount() > 0 ?
       Future.succeededFuture(rowSet) :
@@ -60,6 +76,30 @@ public final class DbUtils {
       });
   }
 
+  /**
+   * Fetches the entities by their ids with a single statement binding the ids as an array,
+   * so that the statement text depends only on the table and is prepared once instead of per chunk of ids.
+   *
+   * @param conn        the sql connection
+   * @param tableName   the table name
+   * @param ids         the entity ids, duplicates are allowed
+   * @param entityClass the entity class
+   * @return future with the found entities, missing ids are skipped
+   */
+  public static <T> Future<List<T>> getEntitiesByIds(Conn conn, String tableName, Collection<String> ids, Class<T> entityClass) {
+    if (ids.isEmpty()) {
+      return Future.succeededFuture(List.of());
+    }
+    var uuids = ids.stream().map(UUID::fromString).toArray(UUID[]::new);
+    return conn.execute(String.format(SELECT_BY_IDS_SQL, tableName), Tuple.of(uuids))
+      .map(rowSet -> getRowSetAsList(rowSet, entityClass))
+      .onSuccess(entities -> log.debug("getEntitiesByIds:: Fetched {} of {} requested entities of table '{}'", entities.size(), ids.size(), tableName))
+      .recover(t -> {
+        log.error("getEntitiesByIds:: Fetching {} entities of table '{}' failed", ids.size(), tableName, t);
+        return Future.failedFuture(httpHandleFailure(t));
+      });
+  }
+
   public static <T> List<T> getRowSetAsList(RowSet<Row> rowSet, Class<T> entityClass) {
     return IteratorUtils.toList(rowSet.iterator()).stream()
       .map(row -> row.getJsonObject("jsonb").mapTo(entityClass))
@@ -92,4 +132,56 @@ public final class DbUtils {
         : Future.succeededFuture(rowSet);
   }
 
+  /**
+   * Replaces jsonb of the entities by their ids with parameterized statements, so that every chunk
+   * uses the same prepared statement instead of a unique SQL text.
+   * Chunks of {@code DB_BATCH_UPDATE_CHUNK_SIZE} (default 500) entities are updated sequentially.
+   *
+   * @param conn          the sql connection
+   * @param fullTableName the schema qualified table name
+   * @param entities      the entities to update
+   * @param idExtractor   the entity id getter
+   * @return future with count of updated rows
+   */
+  public static <T> Future<Integer> batchUpdate(Conn conn, String fullTableName, Collection<T> entities, Function<T, String> idExtractor) {
+    String sql = String.format(BATCH_UPDATE_SQL, fullTableName);
+    return executeBatchUpdate(conn, sql, entities, idExtractor)
+      .map(rowSets -> rowSets.stream().mapToInt(RowSet::rowCount).sum());
+  }
+
+  /**
+   * Same as {@link #batchUpdate} but returns the updated entities.
+   *
+   * @param conn          the sql connection
+   * @param fullTableName the schema qualified table name
+   * @param entities      the entities to update
+   * @param idExtractor   the entity id getter
+   * @param entityClass   the entity class
+   * @return future with the updated entities as stored
+   */
+  public static <T> Future<List<T>> batchUpdateReturning(Conn conn, String fullTableName, Collection<T> entities,
+                                                         Function<T, String> idExtractor, Class<T> entityClass) {
+    String sql = String.format(BATCH_UPDATE_SQL, fullTableName) + RETURNING_ALL;
+    return executeBatchUpdate(conn, sql, entities, idExtractor)
+      .map(rowSets -> rowSets.stream()
+        .flatMap(rowSet -> getRowSetAsList(rowSet, entityClass).stream())
+        .toList());
+  }
+
+  private static <T> Future<List<RowSet<Row>>> executeBatchUpdate(Conn conn, String sql, Collection<T> entities, Function<T, String> idExtractor) {
+    List<RowSet<Row>> results = new ArrayList<>();
+    Future<Void> future = Future.succeededFuture();
+    for (List<T> chunk : ListUtils.partition(List.copyOf(entities), BATCH_UPDATE_CHUNK_SIZE)) {
+      UUID[] ids = chunk.stream().map(idExtractor).map(UUID::fromString).toArray(UUID[]::new);
+      String[] jsons = chunk.stream().map(ObjectMapperTool::valueAsString).toArray(String[]::new);
+      future = future.compose(v -> conn.execute(sql, Tuple.of(ids, jsons))
+        .onSuccess(results::add)
+        .mapEmpty());
+    }
+    return future
+      .map(v -> results)
+      .onSuccess(v -> log.debug("executeBatchUpdate:: Updated {} entities in {} chunk(s)", entities.size(), results.size()))
+      .onFailure(t -> log.error("executeBatchUpdate:: Failed to update {} entities, sql: {}", entities.size(), sql, t));
+  }
+
 }
@@ -0,0 +1,77 @@
+package org.folio.util;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over record ids, answers if an id may have been added or definitely was not.
+ * Thread safe, ids may be added while the filter is queried.
+ */
+public class IdBloomFilter {
+
+  private static final double LN2 = Math.log(2);
+
+  private final AtomicLongArray bits;
+  private final int bitCount;
+  private final int hashCount;
+
+  public IdBloomFilter(long expectedIds, double falsePositiveProbability) {
+    var ids = Math.max(expectedIds, 1);
+    var optimalBits = (long) Math.ceil(-ids * Math.log(falsePositiveProbability) / (LN2 * LN2));
+    this.bitCount = (int) Math.min(Math.max(optimalBits, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / ids * LN2));
+    this.bits = new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE);
+  }
+
+  public void put(String id) {
+    if (id == null) {
+      return;
+    }
+    var hashes = hash(id);
+    for (int i = 0; i < hashCount; i++) {
+      var index = bitIndex(hashes, i);
+      bits.getAndAccumulate(index >>> 6, 1L << index, (word, bit) -> word | bit);
+    }
+  }
+
+  public boolean mightContain(String id) {
+    if (id == null) {
+      return false;
+    }
+    var hashes = hash(id);
+    for (int i = 0; i < hashCount; i++) {
+      var index = bitIndex(hashes, i);
+      if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int bitIndex(long[] hashes, int i) {
+    return (int) Math.floorMod(hashes[0] + i * hashes[1], (long) bitCount);
+  }
+
+  // Ids are usually uuids, so they are hashed by value to ignore the letter case of their text
+  private static long[] hash(String id) {
+    long high;
+    long low;
+    try {
+      var uuid = UUID.fromString(id);
+      high = uuid.getMostSignificantBits();
+      low = uuid.getLeastSignificantBits();
+    } catch (IllegalArgumentException e) {
+      high = id.hashCode();
+      low = id.length();
+    }
+    return new long[] {mix(high ^ Long.rotateLeft(low, 32)), mix(low + high) | 1};
+  }
+
+  // Finalizer of splitmix64
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+    value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+    return value ^ (value >>> 31);
+  }
+
+}
@@ -0,0 +1,65 @@
+package org.folio.util;
+
+import java.util.Objects;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Minimal RFC 6902 JSON Patch support for audit snapshots.
+ * <p>
+ * {@link #diff} produces {@code add}, {@code remove} and {@code replace} operations, nested objects are
+ * diffed member by member and arrays that differ are replaced as a whole. The patches are applied
+ * by the {@code outbox_expand_snapshots} database function when compact audit events are relayed.
+ */
+@UtilityClass
+public class JsonPatchUtils {
+
+  private static final String OP = "op";
+  private static final String PATH = "path";
+  private static final String VALUE = "value";
+  private static final String ADD = "add";
+  private static final String REMOVE = "remove";
+  private static final String REPLACE = "replace";
+
+  /**
+   * Builds the patch that transforms the source document into the target one.
+   *
+   * @param source the source document
+   * @param target the target document
+   * @return list of patch operations, empty if documents are equal
+   */
+  public static JsonArray diff(JsonObject source, JsonObject target) {
+    JsonArray patch = new JsonArray();
+    diff("", source, target, patch);
+    return patch;
+  }
+
+  private static void diff(String path, JsonObject source, JsonObject target, JsonArray patch) {
+    for (String key : source.fieldNames()) {
+      String memberPath = path + "/" + escape(key);
+      if (!target.containsKey(key)) {
+        patch.add(new JsonObject().put(OP, REMOVE).put(PATH, memberPath));
+        continue;
+      }
+      Object sourceValue = source.getValue(key);
+      Object targetValue = target.getValue(key);
+      if (sourceValue instanceof JsonObject sourceObject && targetValue instanceof JsonObject targetObject) {
+        diff(memberPath, sourceObject, targetObject, patch);
+      } else if (!Objects.equals(sourceValue, targetValue)) {
+        patch.add(new JsonObject().put(OP, REPLACE).put(PATH, memberPath).put(VALUE, targetValue));
+      }
+    }
+    for (String key : target.fieldNames()) {
+      if (!source.containsKey(key)) {
+        patch.add(new JsonObject().put(OP, ADD).put(PATH, path + "/" + escape(key)).put(VALUE, target.getValue(key)));
+      }
+    }
+  }
+
+  private static String escape(String key) {
+    return key.replace("~", "~0").replace("/", "~1");
+  }
+
+}
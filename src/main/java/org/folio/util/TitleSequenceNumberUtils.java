@@ -0,0 +1,87 @@
+package org.folio.util;
+
+import static org.folio.models.TableNames.TITLES_TABLE;
+import static org.folio.models.TableNames.TITLE_SEQUENCE_NUMBER_TABLE;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.http.HttpStatus;
+import org.folio.rest.exceptions.HttpException;
+import org.folio.rest.jaxrs.model.Title;
+import org.folio.rest.persist.Conn;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.Tuple;
+import lombok.experimental.UtilityClass;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Piece sequence numbers of a title are allocated from the narrow title_sequence_number counter. Once a title has
+ * a counter, the counter is the source of its next sequence number and nextSequenceNumber stored in the title record
+ * is only used to seed it, so readers of titles overlay the counter value.
+ */
+@Log4j2
+@UtilityClass
+public class TitleSequenceNumberUtils {
+
+  private static final String RESERVE_SEQUENCE_NUMBERS_SQL =
+    "UPDATE %s SET next_number = next_number + $2 WHERE title_id = $1 RETURNING next_number - $2";
+  private static final String SEED_SEQUENCE_NUMBER_SQL = """
+    INSERT INTO %s (title_id, next_number)
+    SELECT id, COALESCE((jsonb ->> 'nextSequenceNumber')::int, 1) FROM %s WHERE id = $1
+    ON CONFLICT (title_id) DO NOTHING
+    """;
+  private static final String SELECT_SEQUENCE_NUMBERS_SQL = "SELECT title_id, next_number FROM %s WHERE title_id = ANY($1::uuid[])";
+
+  /**
+   * Reserves count sequence numbers of the title with a single statement.
+   *
+   * @return the first reserved sequence number
+   */
+  public static Future<Integer> reserveSequenceNumbers(String titleId, int count, Conn conn) {
+    return reserve(titleId, count, conn)
+      .compose(firstNumber -> firstNumber != null
+        ? Future.succeededFuture(firstNumber)
+        : conn.execute(SEED_SEQUENCE_NUMBER_SQL.formatted(TITLE_SEQUENCE_NUMBER_TABLE, TITLES_TABLE), Tuple.of(titleId))
+          .compose(v -> reserve(titleId, count, conn))
+          .compose(seededFirstNumber -> seededFirstNumber != null
+            ? Future.succeededFuture(seededFirstNumber)
+            : Future.failedFuture(new HttpException(HttpStatus.SC_NOT_FOUND, "Title with id=%s was not found".formatted(titleId)))));
+  }
+
+  public static Future<Title> populateNextSequenceNumber(Title title, Conn conn) {
+    return title == null
+      ? Future.succeededFuture()
+      : populateNextSequenceNumbers(List.of(title), conn).map(title);
+  }
+
+  /**
+   * Sets nextSequenceNumber of the titles that have a counter from the counter with a single query.
+   */
+  public static Future<List<Title>> populateNextSequenceNumbers(List<Title> titles, Conn conn) {
+    if (titles.isEmpty()) {
+      return Future.succeededFuture(titles);
+    }
+    UUID[] titleIds = titles.stream().map(title -> UUID.fromString(title.getId())).toArray(UUID[]::new);
+    return conn.execute(SELECT_SEQUENCE_NUMBERS_SQL.formatted(TITLE_SEQUENCE_NUMBER_TABLE), Tuple.of(titleIds))
+      .map(rows -> {
+        Map<String, Integer> nextNumbers = new HashMap<>();
+        for (Row row : rows) {
+          nextNumbers.put(row.getUUID("title_id").toString(), row.getInteger("next_number"));
+        }
+        titles.forEach(title -> title.setNextSequenceNumber(nextNumbers.getOrDefault(title.getId(), title.getNextSequenceNumber())));
+        return titles;
+      });
+  }
+
+  private static Future<Integer> reserve(String titleId, int count, Conn conn) {
+    return conn.execute(RESERVE_SEQUENCE_NUMBERS_SQL.formatted(TITLE_SEQUENCE_NUMBER_TABLE), Tuple.of(titleId, count))
+      .map(rows -> rows.rowCount() == 0 ? null : rows.iterator().next().getInteger(0))
+      .onSuccess(firstNumber -> log.debug("reserve:: Reserved {} sequence number(s) from {} for title: '{}'", count, firstNumber, titleId));
+  }
+
+}
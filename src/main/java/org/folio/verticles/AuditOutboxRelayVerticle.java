@@ -0,0 +1,198 @@
+package org.folio.verticles;
+
+import static org.folio.util.HeaderUtils.prepareHeaderForTenant;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.event.service.AuditOutboxService;
+import org.folio.event.service.OutboxRelay;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.rest.tools.utils.ModuleName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.sqlclient.Row;
+
+/**
+ * Relays audit outbox event logs to Kafka as soon as they are committed.
+ * <p>
+ * The verticle LISTENs on the module-wide {@link #OUTBOX_CHANNEL} channel, an insert trigger on
+ * {@code outbox_event_log} notifies it with the tenant id as payload. Each tenant is drained with at most
+ * {@code maxInFlight} concurrent batches until a batch comes back not full, interactive events are served
+ * before bulk ones. On start the tenants having an outbox table are relayed once, so that a backlog left by a
+ * previous run is not kept until the next notification. Tenants that were seen before are swept periodically to
+ * pick up events whose notification was missed, e.g. during a reconnect. The sweep also maintains outbox partitions of these tenants once per
+ * {@code partitionMaintenanceIntervalMinutes}, so that fully relayed partitions are dropped without the drain endpoint.
+ * All state is accessed on the verticle context only.
+ */
+@Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class AuditOutboxRelayVerticle extends AbstractVerticle implements OutboxRelay {
+
+  private static final Logger log = LogManager.getLogger();
+  public static final String OUTBOX_CHANNEL = "mod_orders_storage_outbox";
+  private static final long RECONNECT_DELAY_MS = 5000;
+  private static final String OUTBOX_SCHEMAS_SQL =
+    "SELECT table_schema FROM information_schema.tables WHERE table_name = 'outbox_event_log'";
+
+  @Value("${audit-outbox.relay.max-in-flight:2}")
+  private int maxInFlight;
+  @Value("${audit-outbox.relay.sweep-interval.seconds:60}")
+  private long sweepIntervalSeconds;
+  @Value("${audit-outbox.relay.partition-maintenance-interval.minutes:60}")
+  private long partitionMaintenanceIntervalMinutes;
+
+  private final AuditOutboxService auditOutboxService;
+  private final Map<String, TenantRelayState> tenants = new HashMap<>();
+  private Promise<Void> listenerStopped;
+  private long sweepTimerId = -1;
+  private boolean stopped;
+
+  @Autowired
+  public AuditOutboxRelayVerticle(AuditOutboxService auditOutboxService) {
+    this.auditOutboxService = auditOutboxService;
+  }
+
+  @Override
+  public void start(Promise<Void> startPromise) {
+    log.info("start:: Starting audit outbox relay, maxInFlight: {}, sweepIntervalSeconds: {}", maxInFlight, sweepIntervalSeconds);
+    listen()
+      .onSuccess(v -> {
+        sweepTimerId = vertx.setPeriodic(TimeUnit.SECONDS.toMillis(sweepIntervalSeconds), id -> sweep());
+        auditOutboxService.setRelay(this);
+        seedTenants();
+        log.info("start:: Audit outbox relay started");
+      })
+      .onFailure(t -> log.error("start:: Failed to start audit outbox relay", t))
+      .onComplete(startPromise);
+  }
+
+  @Override
+  public void stop(Promise<Void> stopPromise) {
+    log.info("stop:: Stopping audit outbox relay");
+    stopped = true;
+    auditOutboxService.setRelay(null);
+    vertx.cancelTimer(sweepTimerId);
+    if (listenerStopped != null) {
+      listenerStopped.tryComplete();
+    }
+    stopPromise.complete();
+  }
+
+  @Override
+  public void signal(String tenantId, Map<String, String> okapiHeaders) {
+    Map<String, String> headers = prepareHeaderForTenant(tenantId, okapiHeaders);
+    context.runOnContext(v -> {
+      getState(tenantId).headers = headers;
+      requestRelay(tenantId);
+    });
+  }
+
+  private Future<Void> listen() {
+    Promise<Void> listening = Promise.promise();
+    Promise<Void> stoppedPromise = Promise.promise();
+    listenerStopped = stoppedPromise;
+    PostgresClient.getInstance(vertx).withConnection(connection -> {
+        connection.notificationHandler(notification -> context.runOnContext(v -> requestRelay(notification.getPayload())));
+        connection.closeHandler(v -> stoppedPromise.tryFail("Audit outbox relay listener connection was closed"));
+        return connection.query("LISTEN " + OUTBOX_CHANNEL).execute()
+          .compose(rows -> {
+            log.info("listen:: Listening on channel '{}'", OUTBOX_CHANNEL);
+            listening.complete();
+            return stoppedPromise.future();
+          });
+      })
+      .onComplete(ar -> {
+        if (ar.failed() && listening.tryFail(ar.cause())) {
+          return;
+        }
+        if (!stopped) {
+          log.warn("listen:: Audit outbox relay stopped listening, reconnecting in {} ms", RECONNECT_DELAY_MS, ar.cause());
+          vertx.setTimer(RECONNECT_DELAY_MS, id -> listen().onSuccess(v -> sweep()));
+        }
+      });
+    return listening.future();
+  }
+
+  private void seedTenants() {
+    String schemaSuffix = "_" + ModuleName.getModuleName();
+    PostgresClient.getInstance(vertx).withConnection(connection -> connection.query(OUTBOX_SCHEMAS_SQL).execute())
+      .onSuccess(rows -> context.runOnContext(v -> {
+        for (Row row : rows) {
+          String schema = row.getString("table_schema");
+          if (schema.endsWith(schemaSuffix)) {
+            requestRelay(schema.substring(0, schema.length() - schemaSuffix.length()));
+          }
+        }
+        log.info("seedTenants:: Relaying outbox backlog of {} tenant(s)", tenants.size());
+      }))
+      .onFailure(t -> log.warn("seedTenants:: Failed to find tenants with an outbox table, they are relayed on their next notification", t));
+  }
+
+  private void sweep() {
+    long now = System.currentTimeMillis();
+    tenants.forEach((tenantId, state) -> {
+      requestRelay(tenantId);
+      maintainPartitionsIfDue(tenantId, state, now);
+    });
+  }
+
+  private void maintainPartitionsIfDue(String tenantId, TenantRelayState state, long now) {
+    if (now - state.partitionsMaintainedAt < TimeUnit.MINUTES.toMillis(partitionMaintenanceIntervalMinutes)) {
+      return;
+    }
+    state.partitionsMaintainedAt = now;
+    auditOutboxService.maintainPartitions(tenantId);
+  }
+
+  private void requestRelay(String tenantId) {
+    TenantRelayState state = getState(tenantId);
+    state.signalled = true;
+    pump(tenantId, state);
+  }
+
+  private void pump(String tenantId, TenantRelayState state) {
+    while (!stopped && state.inFlight < maxInFlight && (state.signalled || state.backlog)) {
+      state.signalled = false;
+      state.inFlight++;
+      auditOutboxService.relayNextBatch(state.headers)
+        .onComplete(ar -> {
+          state.inFlight--;
+          if (ar.succeeded()) {
+            state.backlog = ar.result().hasMore();
+          } else {
+            log.warn("pump:: Relaying of outbox event logs failed, tenantId: {}", tenantId, ar.cause());
+            state.backlog = false;
+          }
+          pump(tenantId, state);
+        });
+    }
+  }
+
+  private TenantRelayState getState(String tenantId) {
+    return tenants.computeIfAbsent(tenantId, TenantRelayState::new);
+  }
+
+  private static class TenantRelayState {
+    private Map<String, String> headers;
+    private int inFlight;
+    private boolean signalled;
+    private boolean backlog;
+    private long partitionsMaintainedAt;
+
+    private TenantRelayState(String tenantId) {
+      this.headers = prepareHeaderForTenant(tenantId, Map.of());
+    }
+  }
+
+}
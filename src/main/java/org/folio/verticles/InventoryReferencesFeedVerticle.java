@@ -0,0 +1,112 @@
+package org.folio.verticles;
+
+import static org.folio.services.inventory.InventoryEventFilterService.REFERENCES_CHANNEL;
+
+import java.util.Arrays;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.services.inventory.InventoryEventFilterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+/**
+ * Keeps the inventory event filters current with the item and holding ids newly referenced by pieces and PO lines.
+ * <p>
+ * The verticle LISTENs on the module-wide {@link InventoryEventFilterService#REFERENCES_CHANNEL} channel, triggers on
+ * {@code pieces} and {@code po_line_holding} notify it with the tenant id followed by the comma separated ids.
+ * The filter service is told when the feed is connected and disconnected, so that it serves live events only while
+ * no notification can be missed.
+ */
+@Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class InventoryReferencesFeedVerticle extends AbstractVerticle {
+
+  private static final Logger log = LogManager.getLogger();
+  private static final long RECONNECT_DELAY_MS = 5000;
+
+  private final InventoryEventFilterService inventoryEventFilterService;
+  private Promise<Void> listenerStopped;
+  private boolean stopped;
+
+  @Autowired
+  public InventoryReferencesFeedVerticle(InventoryEventFilterService inventoryEventFilterService) {
+    this.inventoryEventFilterService = inventoryEventFilterService;
+  }
+
+  @Override
+  public void start(Promise<Void> startPromise) {
+    log.info("start:: Starting inventory references feed");
+    listen()
+      .onSuccess(v -> log.info("start:: Inventory references feed started"))
+      .onFailure(t -> log.error("start:: Failed to start inventory references feed", t))
+      .onComplete(startPromise);
+  }
+
+  @Override
+  public void stop(Promise<Void> stopPromise) {
+    log.info("stop:: Stopping inventory references feed");
+    stopped = true;
+    inventoryEventFilterService.feedDisconnected();
+    if (listenerStopped != null) {
+      listenerStopped.tryComplete();
+    }
+    stopPromise.complete();
+  }
+
+  private Future<Void> listen() {
+    Promise<Void> listening = Promise.promise();
+    Promise<Void> stoppedPromise = Promise.promise();
+    listenerStopped = stoppedPromise;
+    PostgresClient.getInstance(vertx).withConnection(connection -> {
+        connection.notificationHandler(notification -> recordReferences(notification.getPayload()));
+        connection.closeHandler(v -> stoppedPromise.tryFail("Inventory references feed connection was closed"));
+        return connection.query("LISTEN " + REFERENCES_CHANNEL).execute()
+          .compose(rows -> {
+            log.info("listen:: Listening on channel '{}'", REFERENCES_CHANNEL);
+            inventoryEventFilterService.feedConnected();
+            listening.complete();
+            return stoppedPromise.future();
+          });
+      })
+      .onComplete(ar -> {
+        inventoryEventFilterService.feedDisconnected();
+        if (ar.failed() && listening.tryFail(ar.cause())) {
+          return;
+        }
+        if (!stopped) {
+          log.warn("listen:: Inventory references feed stopped listening", ar.cause());
+          reconnect();
+        }
+      });
+    return listening.future();
+  }
+
+  private void reconnect() {
+    log.info("reconnect:: Reconnecting inventory references feed in {} ms", RECONNECT_DELAY_MS);
+    vertx.setTimer(RECONNECT_DELAY_MS, id -> listen()
+      .onFailure(t -> {
+        log.warn("reconnect:: Failed to reconnect inventory references feed", t);
+        if (!stopped) {
+          reconnect();
+        }
+      }));
+  }
+
+  private void recordReferences(String payload) {
+    var values = payload.split(",");
+    if (values.length < 2) {
+      log.warn("recordReferences:: Ignoring notification without ids: '{}'", payload);
+      return;
+    }
+    inventoryEventFilterService.recordReferences(values[0], Arrays.asList(values).subList(1, values.length));
+  }
+
+}
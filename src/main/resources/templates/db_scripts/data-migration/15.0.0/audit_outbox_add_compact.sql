@@ -0,0 +1,2 @@
+-- Marks rendered payloads whose original snapshot is stored as a JSON Patch against the new snapshot
+ALTER TABLE ${myuniversity}_${mymodule}.outbox_event_log ADD COLUMN IF NOT EXISTS compact boolean NOT NULL DEFAULT false;
@@ -0,0 +1,2 @@
+-- Kafka key of the pre-rendered audit event stored in payload, NULL for payloads holding the audited entity
+ALTER TABLE ${myuniversity}_${mymodule}.outbox_event_log ADD COLUMN IF NOT EXISTS event_key text;
@@ -0,0 +1,2 @@
+-- Priority lane of the event log: 0 - interactive, 1 - bulk (e.g. piece claiming)
+ALTER TABLE ${myuniversity}_${mymodule}.outbox_event_log ADD COLUMN IF NOT EXISTS lane smallint NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- Lease of the event log claimed by a relay, the event log can be claimed again once the lease expires
+ALTER TABLE ${myuniversity}_${mymodule}.outbox_event_log ADD COLUMN IF NOT EXISTS locked_until timestamptz;
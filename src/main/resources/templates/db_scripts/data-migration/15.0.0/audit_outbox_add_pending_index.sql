@@ -0,0 +1,5 @@
+-- Serves the claim query, which picks the oldest pending event logs of a lane. Relayed event logs are left out,
+-- so the index stays as small as the backlog. Acknowledging is no longer a HOT update, as relayed_at is part
+-- of the predicate, the resulting dead tuples are dropped together with their daily partition.
+CREATE INDEX IF NOT EXISTS outbox_event_log_pending_idx
+  ON ${myuniversity}_${mymodule}.outbox_event_log (lane, created_at) WHERE relayed_at IS NULL;
@@ -0,0 +1,93 @@
+-- Converts outbox_event_log to a table range-partitioned by created_at with daily partitions.
+-- Relayed event logs are marked with relayed_at (a HOT update, hence fillfactor 70) instead of being deleted,
+-- daily partitions are dropped as a whole once all their event logs are relayed.
+
+-- Creates daily partitions for the next days, drops past partitions without pending event logs
+-- and cleans relayed event logs from the default partition. Returns count of dropped partitions.
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.outbox_event_log_maintain_partitions(days_ahead int) RETURNS int AS $$
+DECLARE
+  schema_name CONSTANT text := '${myuniversity}_${mymodule}';
+  partition_day date;
+  partition_name text;
+  has_pending boolean;
+  dropped int := 0;
+BEGIN
+  FOR i IN 0..days_ahead LOOP
+    partition_day := current_date + i;
+    partition_name := 'outbox_event_log_p' || to_char(partition_day, 'YYYYMMDD');
+    BEGIN
+      EXECUTE format('CREATE TABLE IF NOT EXISTS %I.%I PARTITION OF %I.outbox_event_log FOR VALUES FROM (%L) TO (%L) WITH (fillfactor = 70)',
+        schema_name, partition_name, schema_name, partition_day, partition_day + 1);
+    EXCEPTION WHEN check_violation THEN
+      -- the default partition already holds event logs of that day, they stay there until relayed
+      RAISE NOTICE 'Partition % was not created, default partition contains its rows', partition_name;
+    END;
+  END LOOP;
+
+  FOR partition_name IN
+    SELECT c.relname
+    FROM pg_catalog.pg_inherits i
+    JOIN pg_catalog.pg_class c ON c.oid = i.inhrelid
+    JOIN pg_catalog.pg_class p ON p.oid = i.inhparent
+    JOIN pg_catalog.pg_namespace n ON n.oid = p.relnamespace
+    WHERE n.nspname = schema_name
+      AND p.relname = 'outbox_event_log'
+      AND c.relname ~ '^outbox_event_log_p[0-9]{8}$'
+      AND c.relname < 'outbox_event_log_p' || to_char(current_date, 'YYYYMMDD')
+    ORDER BY c.relname
+  LOOP
+    EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I.%I WHERE relayed_at IS NULL)', schema_name, partition_name) INTO has_pending;
+    IF NOT has_pending THEN
+      EXECUTE format('DROP TABLE %I.%I', schema_name, partition_name);
+      dropped := dropped + 1;
+    END IF;
+  END LOOP;
+
+  EXECUTE format('DELETE FROM %I.outbox_event_log_default WHERE relayed_at IS NOT NULL', schema_name);
+  RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+  IF EXISTS (
+    SELECT 1
+    FROM pg_catalog.pg_partitioned_table pt
+    JOIN pg_catalog.pg_class c ON c.oid = pt.partrelid
+    JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace
+    WHERE n.nspname = '${myuniversity}_${mymodule}' AND c.relname = 'outbox_event_log'
+  ) THEN
+    RETURN;
+  END IF;
+
+  ALTER TABLE ${myuniversity}_${mymodule}.outbox_event_log RENAME TO outbox_event_log_unpartitioned;
+  ALTER TABLE ${myuniversity}_${mymodule}.outbox_event_log_unpartitioned RENAME CONSTRAINT outbox_event_log_pkey TO outbox_event_log_unpartitioned_pkey;
+
+  CREATE TABLE ${myuniversity}_${mymodule}.outbox_event_log (
+    event_id uuid NOT NULL,
+    entity_type text NOT NULL,
+    action text NOT NULL,
+    payload jsonb,
+    event_key text,
+    compact boolean NOT NULL DEFAULT false,
+    locked_until timestamptz,
+    relayed_at timestamptz,
+    created_at timestamptz NOT NULL DEFAULT now(),
+    PRIMARY KEY (event_id, created_at)
+  ) PARTITION BY RANGE (created_at);
+
+  CREATE TABLE ${myuniversity}_${mymodule}.outbox_event_log_default
+    PARTITION OF ${myuniversity}_${mymodule}.outbox_event_log DEFAULT WITH (fillfactor = 70);
+
+  PERFORM ${myuniversity}_${mymodule}.outbox_event_log_maintain_partitions(3);
+
+  INSERT INTO ${myuniversity}_${mymodule}.outbox_event_log (event_id, entity_type, action, payload, event_key, compact, locked_until)
+  SELECT event_id, entity_type, action, payload, event_key, compact, locked_until
+  FROM ${myuniversity}_${mymodule}.outbox_event_log_unpartitioned;
+
+  DROP TABLE ${myuniversity}_${mymodule}.outbox_event_log_unpartitioned;
+
+  CREATE TRIGGER outbox_event_log_notify
+    AFTER INSERT ON ${myuniversity}_${mymodule}.outbox_event_log
+    FOR EACH STATEMENT EXECUTE FUNCTION ${myuniversity}_${mymodule}.outbox_event_log_notify();
+END $$;
@@ -0,0 +1,7 @@
+-- Seeds the holding index from the existing PO lines, later changes are applied by the po_line_holding_index trigger
+INSERT INTO ${myuniversity}_${mymodule}.po_line_holding (po_line_id, holding_id, tenant_id)
+SELECT DISTINCT pol.id, location ->> 'holdingId', location ->> 'tenantId'
+  FROM ${myuniversity}_${mymodule}.po_line pol,
+    jsonb_array_elements(COALESCE(pol.jsonb -> 'locations', '[]'::jsonb)) AS location
+  WHERE location ->> 'holdingId' IS NOT NULL
+ON CONFLICT ON CONSTRAINT po_line_holding_key DO NOTHING;
@@ -0,0 +1,7 @@
+-- Seeds the location summary from the existing pieces, later changes are applied by the pieces_location_summary trigger
+INSERT INTO ${myuniversity}_${mymodule}.po_line_location_summary (po_line_id, tenant_id, holding_id, format, quantity)
+SELECT poLineId, jsonb ->> 'receivingTenantId', jsonb ->> 'holdingId', jsonb ->> 'format', count(*)
+  FROM ${myuniversity}_${mymodule}.pieces
+  WHERE poLineId IS NOT NULL AND jsonb ->> 'holdingId' IS NOT NULL
+  GROUP BY 1, 2, 3, 4
+ON CONFLICT ON CONSTRAINT po_line_location_summary_key DO NOTHING;
@@ -0,0 +1,3 @@
+-- Seeds PO line number counters of existing orders, see seed_po_line_numbers function.
+-- Orders created later are seeded on their first PO line number request.
+SELECT ${myuniversity}_${mymodule}.seed_po_line_numbers(ARRAY(SELECT id FROM ${myuniversity}_${mymodule}.purchase_order));
@@ -0,0 +1,6 @@
+-- Seeds piece sequence number counters of existing titles from nextSequenceNumber, which is populated for all titles
+-- by populate_receiving_sequence_numbers. Titles created later are seeded on their first sequence numbers request.
+INSERT INTO ${myuniversity}_${mymodule}.title_sequence_number (title_id, next_number)
+SELECT id, COALESCE((jsonb ->> 'nextSequenceNumber')::int, 1)
+  FROM ${myuniversity}_${mymodule}.titles
+ON CONFLICT (title_id) DO NOTHING;
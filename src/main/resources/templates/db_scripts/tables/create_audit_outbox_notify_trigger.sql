@@ -0,0 +1,13 @@
+-- Signals the audit outbox relay that new events were committed. The tenant id is sent as payload
+-- to the module-wide channel, Postgres collapses identical notifications within one transaction.
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.outbox_event_log_notify() RETURNS trigger AS $$
+BEGIN
+  PERFORM pg_notify('mod_orders_storage_outbox', '${myuniversity}');
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS outbox_event_log_notify ON ${myuniversity}_${mymodule}.outbox_event_log;
+CREATE TRIGGER outbox_event_log_notify
+  AFTER INSERT ON ${myuniversity}_${mymodule}.outbox_event_log
+  FOR EACH STATEMENT EXECUTE FUNCTION ${myuniversity}_${mymodule}.outbox_event_log_notify();
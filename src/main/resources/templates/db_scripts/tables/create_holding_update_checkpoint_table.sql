@@ -0,0 +1,9 @@
+-- Progress of holding update events that are applied to PO lines in chunks, so that a redelivered
+-- event resumes after the last committed PO line instead of starting over.
+CREATE TABLE IF NOT EXISTS ${myuniversity}_${mymodule}.holding_update_checkpoint (
+  holding_id uuid PRIMARY KEY,
+  event_key text NOT NULL,
+  last_po_line_id uuid NOT NULL,
+  adjacent_holding_ids text[] NOT NULL DEFAULT '{}',
+  updated_date timestamptz NOT NULL DEFAULT now()
+);
@@ -0,0 +1,57 @@
+-- Feeds the inventory event filters of all module instances with the item and holding ids newly referenced by pieces
+-- and PO lines. The payload is the tenant id followed by up to 100 comma separated ids, sent to the module-wide channel.
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.notify_inventory_references(ids text[]) RETURNS void AS $$
+BEGIN
+  PERFORM pg_notify('mod_orders_storage_inventory_references', '${myuniversity}' || ',' || string_agg(id, ','))
+    FROM (
+      SELECT id, (row_number() OVER () - 1) / 100 AS chunk
+      FROM (SELECT DISTINCT id FROM unnest(ids) AS id WHERE id IS NOT NULL) AS distinct_ids
+    ) AS chunked_ids
+    GROUP BY chunk;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.pieces_inventory_reference_insert_notify() RETURNS trigger AS $$
+BEGIN
+  PERFORM ${myuniversity}_${mymodule}.notify_inventory_references(ARRAY(
+    SELECT jsonb ->> 'itemId' FROM new_rows
+    UNION SELECT jsonb ->> 'holdingId' FROM new_rows));
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.pieces_inventory_reference_update_notify() RETURNS trigger AS $$
+BEGIN
+  PERFORM ${myuniversity}_${mymodule}.notify_inventory_references(ARRAY(
+    SELECT new_rows.jsonb ->> 'itemId' FROM new_rows JOIN old_rows ON old_rows.id = new_rows.id
+      WHERE new_rows.jsonb ->> 'itemId' IS DISTINCT FROM old_rows.jsonb ->> 'itemId'
+    UNION SELECT new_rows.jsonb ->> 'holdingId' FROM new_rows JOIN old_rows ON old_rows.id = new_rows.id
+      WHERE new_rows.jsonb ->> 'holdingId' IS DISTINCT FROM old_rows.jsonb ->> 'holdingId'));
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.po_line_holding_inventory_reference_notify() RETURNS trigger AS $$
+BEGIN
+  PERFORM ${myuniversity}_${mymodule}.notify_inventory_references(ARRAY(SELECT holding_id FROM new_rows));
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS pieces_inventory_reference_insert_notify ON ${myuniversity}_${mymodule}.pieces;
+CREATE TRIGGER pieces_inventory_reference_insert_notify
+  AFTER INSERT ON ${myuniversity}_${mymodule}.pieces
+  REFERENCING NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION ${myuniversity}_${mymodule}.pieces_inventory_reference_insert_notify();
+
+DROP TRIGGER IF EXISTS pieces_inventory_reference_update_notify ON ${myuniversity}_${mymodule}.pieces;
+CREATE TRIGGER pieces_inventory_reference_update_notify
+  AFTER UPDATE ON ${myuniversity}_${mymodule}.pieces
+  REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION ${myuniversity}_${mymodule}.pieces_inventory_reference_update_notify();
+
+DROP TRIGGER IF EXISTS po_line_holding_inventory_reference_notify ON ${myuniversity}_${mymodule}.po_line_holding;
+CREATE TRIGGER po_line_holding_inventory_reference_notify
+  AFTER INSERT ON ${myuniversity}_${mymodule}.po_line_holding
+  REFERENCING NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION ${myuniversity}_${mymodule}.po_line_holding_inventory_reference_notify();
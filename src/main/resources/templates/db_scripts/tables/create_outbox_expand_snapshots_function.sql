@@ -0,0 +1,39 @@
+-- Restores the original snapshot of a compact audit event from the JSON Patch stored against the new snapshot,
+-- so that the relay publishes the full event without decoding it. Returns NULL if the event cannot be restored.
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.outbox_expand_snapshots(payload text) RETURNS text AS $$
+DECLARE
+  event jsonb;
+  fields text[];
+  snapshot jsonb;
+  operation jsonb;
+  path text[];
+BEGIN
+  event := payload::jsonb;
+  IF NOT event ? 'originalSnapshotPatch' THEN
+    RETURN payload;
+  END IF;
+  fields := CASE
+    WHEN event ? 'orderLineSnapshot' THEN ARRAY['orderLineSnapshot', 'originalOrderLineSnapshot']
+    WHEN event ? 'pieceSnapshot' THEN ARRAY['pieceSnapshot', 'originalPieceSnapshot']
+  END;
+  IF fields IS NULL THEN
+    RETURN NULL;
+  END IF;
+  snapshot := event -> fields[1];
+  FOR operation IN SELECT jsonb_array_elements(event -> 'originalSnapshotPatch') LOOP
+    SELECT array_agg(replace(replace(token, '~1', '/'), '~0', '~') ORDER BY ordinality) INTO path
+    FROM unnest(string_to_array(substr(operation ->> 'path', 2), '/')) WITH ORDINALITY AS tokens (token, ordinality);
+    snapshot := CASE operation ->> 'op'
+      WHEN 'remove' THEN snapshot #- path
+      WHEN 'add' THEN jsonb_set(snapshot, path, COALESCE(operation -> 'value', 'null'::jsonb), true)
+      WHEN 'replace' THEN jsonb_set(snapshot, path, COALESCE(operation -> 'value', 'null'::jsonb), true)
+    END;
+    IF snapshot IS NULL THEN
+      RETURN NULL;
+    END IF;
+  END LOOP;
+  RETURN ((event - 'originalSnapshotPatch') || jsonb_build_object(fields[2], snapshot))::text;
+EXCEPTION WHEN OTHERS THEN
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
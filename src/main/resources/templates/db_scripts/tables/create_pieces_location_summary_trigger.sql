@@ -0,0 +1,44 @@
+-- Moves a piece between the rows of po_line_location_summary when it is created, deleted, or when its
+-- PO line, receiving tenant, holding or format changes. Pieces without holding are not counted.
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.pieces_location_summary() RETURNS trigger AS $$
+DECLARE
+  remaining int;
+BEGIN
+  IF TG_OP = 'UPDATE'
+    AND OLD.poLineId IS NOT DISTINCT FROM NEW.poLineId
+    AND OLD.jsonb ->> 'receivingTenantId' IS NOT DISTINCT FROM NEW.jsonb ->> 'receivingTenantId'
+    AND OLD.jsonb ->> 'holdingId' IS NOT DISTINCT FROM NEW.jsonb ->> 'holdingId'
+    AND OLD.jsonb ->> 'format' IS NOT DISTINCT FROM NEW.jsonb ->> 'format' THEN
+    RETURN NULL;
+  END IF;
+
+  IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.poLineId IS NOT NULL AND OLD.jsonb ->> 'holdingId' IS NOT NULL THEN
+    UPDATE ${myuniversity}_${mymodule}.po_line_location_summary
+      SET quantity = quantity - 1
+      WHERE po_line_id = OLD.poLineId
+        AND tenant_id IS NOT DISTINCT FROM OLD.jsonb ->> 'receivingTenantId'
+        AND holding_id = OLD.jsonb ->> 'holdingId'
+        AND format IS NOT DISTINCT FROM OLD.jsonb ->> 'format'
+      RETURNING quantity INTO remaining;
+    IF remaining <= 0 THEN
+      DELETE FROM ${myuniversity}_${mymodule}.po_line_location_summary
+        WHERE po_line_id = OLD.poLineId
+          AND tenant_id IS NOT DISTINCT FROM OLD.jsonb ->> 'receivingTenantId'
+          AND holding_id = OLD.jsonb ->> 'holdingId'
+          AND format IS NOT DISTINCT FROM OLD.jsonb ->> 'format';
+    END IF;
+  END IF;
+
+  IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.poLineId IS NOT NULL AND NEW.jsonb ->> 'holdingId' IS NOT NULL THEN
+    INSERT INTO ${myuniversity}_${mymodule}.po_line_location_summary AS summary (po_line_id, tenant_id, holding_id, format, quantity)
+      VALUES (NEW.poLineId, NEW.jsonb ->> 'receivingTenantId', NEW.jsonb ->> 'holdingId', NEW.jsonb ->> 'format', 1)
+      ON CONFLICT ON CONSTRAINT po_line_location_summary_key DO UPDATE SET quantity = summary.quantity + 1;
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS pieces_location_summary ON ${myuniversity}_${mymodule}.pieces;
+CREATE TRIGGER pieces_location_summary
+  AFTER INSERT OR UPDATE OR DELETE ON ${myuniversity}_${mymodule}.pieces
+  FOR EACH ROW EXECUTE FUNCTION ${myuniversity}_${mymodule}.pieces_location_summary();
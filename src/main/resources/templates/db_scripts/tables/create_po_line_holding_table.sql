@@ -0,0 +1,9 @@
+-- Holdings referenced by the locations of every PO line, kept up to date by the po_line_holding_index
+-- trigger so that PO lines of a holding are found by an exact key lookup instead of a search in locations.
+CREATE TABLE IF NOT EXISTS ${myuniversity}_${mymodule}.po_line_holding (
+  po_line_id uuid NOT NULL,
+  holding_id text NOT NULL,
+  tenant_id text,
+  CONSTRAINT po_line_holding_key UNIQUE NULLS NOT DISTINCT (holding_id, po_line_id, tenant_id)
+);
+CREATE INDEX IF NOT EXISTS po_line_holding_po_line_id_idx ON ${myuniversity}_${mymodule}.po_line_holding (po_line_id);
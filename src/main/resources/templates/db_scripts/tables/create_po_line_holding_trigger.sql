@@ -0,0 +1,26 @@
+-- Replaces the po_line_holding rows of a PO line when it is created, deleted, or when its locations change.
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.po_line_holding_index() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'UPDATE' AND OLD.jsonb -> 'locations' IS NOT DISTINCT FROM NEW.jsonb -> 'locations' THEN
+    RETURN NULL;
+  END IF;
+
+  IF TG_OP IN ('UPDATE', 'DELETE') THEN
+    DELETE FROM ${myuniversity}_${mymodule}.po_line_holding WHERE po_line_id = OLD.id;
+  END IF;
+
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    INSERT INTO ${myuniversity}_${mymodule}.po_line_holding (po_line_id, holding_id, tenant_id)
+      SELECT DISTINCT NEW.id, location ->> 'holdingId', location ->> 'tenantId'
+        FROM jsonb_array_elements(COALESCE(NEW.jsonb -> 'locations', '[]'::jsonb)) AS location
+        WHERE location ->> 'holdingId' IS NOT NULL
+      ON CONFLICT ON CONSTRAINT po_line_holding_key DO NOTHING;
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS po_line_holding_index ON ${myuniversity}_${mymodule}.po_line;
+CREATE TRIGGER po_line_holding_index
+  AFTER INSERT OR UPDATE OR DELETE ON ${myuniversity}_${mymodule}.po_line
+  FOR EACH ROW EXECUTE FUNCTION ${myuniversity}_${mymodule}.po_line_holding_index();
@@ -0,0 +1,10 @@
+-- Piece quantities of every PO line per receiving tenant, holding and format, kept up to date by
+-- the pieces_location_summary trigger so that PO line locations are computed without scanning pieces.
+CREATE TABLE IF NOT EXISTS ${myuniversity}_${mymodule}.po_line_location_summary (
+  po_line_id uuid NOT NULL,
+  tenant_id text,
+  holding_id text NOT NULL,
+  format text,
+  quantity int NOT NULL,
+  CONSTRAINT po_line_location_summary_key UNIQUE NULLS NOT DISTINCT (po_line_id, tenant_id, holding_id, format)
+);
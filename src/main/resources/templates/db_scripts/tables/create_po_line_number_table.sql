@@ -0,0 +1,19 @@
+-- Per-order counters of the last allocated PO line number, kept apart from purchase_order
+-- so that allocating numbers neither locks nor rewrites the order record.
+CREATE TABLE IF NOT EXISTS ${myuniversity}_${mymodule}.po_line_number (
+  purchase_order_id uuid PRIMARY KEY REFERENCES ${myuniversity}_${mymodule}.purchase_order (id) ON DELETE CASCADE,
+  last_number int NOT NULL
+);
+
+-- Seeds the counters of the orders after their nextPolNumber or the highest number of their lines, whichever is greater.
+-- Used by the migration of existing orders and on the first PO line number request of orders created later.
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.seed_po_line_numbers(order_ids uuid[]) RETURNS void AS $$
+  INSERT INTO ${myuniversity}_${mymodule}.po_line_number (purchase_order_id, last_number)
+  SELECT po.id, GREATEST(COALESCE((po.jsonb ->> 'nextPolNumber')::int - 1, 0), COALESCE(MAX(
+      CASE WHEN pol.jsonb ->> 'poLineNumber' ~ '^[^-]+-[0-9]{1,9}$' THEN split_part(pol.jsonb ->> 'poLineNumber', '-', 2)::int ELSE 1 END), 0))
+    FROM ${myuniversity}_${mymodule}.purchase_order po
+    LEFT JOIN ${myuniversity}_${mymodule}.po_line pol ON pol.purchaseOrderId = po.id
+    WHERE po.id = ANY (order_ids)
+    GROUP BY po.id
+  ON CONFLICT (purchase_order_id) DO NOTHING;
+$$ LANGUAGE sql;
@@ -0,0 +1,6 @@
+-- Per-title counters of the next piece sequence number, kept apart from titles
+-- so that reserving sequence numbers neither locks nor rewrites the title record.
+CREATE TABLE IF NOT EXISTS ${myuniversity}_${mymodule}.title_sequence_number (
+  title_id uuid PRIMARY KEY REFERENCES ${myuniversity}_${mymodule}.titles (id) ON DELETE CASCADE,
+  next_number int NOT NULL
+);
@@ -25,6 +25,7 @@ import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.dao.audit.OutboxExpandSnapshotsTest;
 import org.folio.dao.lines.PoLinesPostgresDAOTest;
 import org.folio.event.KafkaEventUtilTest;
 import org.folio.event.handler.EdiExportOrdersHistoryAsyncRecordHandlerTest;
@@ -35,6 +36,7 @@ import org.folio.event.handler.InventoryUpdateAsyncRecordHandlerTest;
 import org.folio.event.handler.ItemCreateAsyncRecordHandlerTest;
 import org.folio.event.handler.ItemUpdateAsyncRecordHandlerTest;
 import org.folio.event.service.AuditOutboxServiceTest;
+import org.folio.event.service.AuditProducerRegistryTest;
 import org.folio.kafka.KafkaTopicNameHelper;
 import org.folio.okapi.common.XOkapiHeaders;
 import org.folio.orders.lines.update.OrderLineUpdateInstanceHandlerTest;
@@ -43,6 +45,7 @@ import org.folio.rest.RestVerticle;
 import org.folio.rest.core.ResponseUtilTest;
 import org.folio.rest.core.RestClientTest;
 import org.folio.rest.impl.AcquisitionMethodDeprecatedQueryTest;
+import org.folio.rest.impl.AuditOutboxAPITest;
 import org.folio.rest.impl.BatchTrackingAPITest;
 import org.folio.rest.impl.ClaimingAPITest;
 import org.folio.rest.impl.CustomFieldsAPITest;
@@ -50,6 +53,7 @@ import org.folio.rest.impl.CustomFieldsIndexesTest;
 import org.folio.rest.impl.EntitiesCrudTest;
 import org.folio.rest.impl.EntititesCustomFieldsTest;
 import org.folio.rest.impl.HelperUtilsTest;
+import org.folio.rest.impl.InventoryEventsAPITest;
 import org.folio.rest.impl.OrdersAPITest;
 import org.folio.rest.impl.PiecesAPITest;
 import org.folio.rest.impl.PoLineBatchAPITest;
@@ -81,6 +85,7 @@ import org.folio.services.migration.FiscalYearMigrationServiceTest;
 import org.folio.services.piece.PieceServiceTest;
 import org.folio.services.title.TitleServiceTest;
 import org.folio.spring.SpringContextUtil;
+import org.folio.verticles.AuditOutboxRelayVerticleTest;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Nested;
@@ -329,6 +334,10 @@ public class StorageTestSuite {
   @Nested
   class AuditOutboxServiceTestNested extends AuditOutboxServiceTest {}
   @Nested
+  class AuditProducerRegistryTestNested extends AuditProducerRegistryTest {}
+  @Nested
+  class OutboxExpandSnapshotsTestNested extends OutboxExpandSnapshotsTest {}
+  @Nested
   class KafkaEventUtilTestNested extends KafkaEventUtilTest {}
   @Nested
   class PieceServiceTestNested extends PieceServiceTest {}
@@ -343,6 +352,12 @@ public class StorageTestSuite {
   @Nested
   class ClaimingAPITestNested extends ClaimingAPITest {}
   @Nested
+  class AuditOutboxAPITestNested extends AuditOutboxAPITest {}
+  @Nested
+  class AuditOutboxRelayVerticleTestNested extends AuditOutboxRelayVerticleTest {}
+  @Nested
+  class InventoryEventsAPITestNested extends InventoryEventsAPITest {}
+  @Nested
   class CustomFieldsAPITestNested extends CustomFieldsAPITest {}
   @Nested
   class CustomFieldsIndexesTestNested extends CustomFieldsIndexesTest {}
@@ -0,0 +1,152 @@
+package org.folio.dao.audit;
+
+import static org.folio.rest.persist.HelperUtils.getFullTableName;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.StorageTestSuite;
+import org.folio.rest.impl.TestBase;
+import org.folio.rest.persist.PostgresClient;
+import org.folio.util.AuditUtils;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Checks that the outbox_expand_snapshots database function restores the audit events compacted with the patches
+ * of JsonPatchUtils.diff, and measures the outbox payload bytes saved by compaction on the sample data.
+ * Kafka payloads are not affected, as the relay publishes the expanded events.
+ */
+public class OutboxExpandSnapshotsTest extends TestBase {
+
+  private static final Logger log = LogManager.getLogger();
+
+  private static final String EXPAND_SQL = "SELECT %s($1) AS payload";
+  private static final String DATE = "2026-01-15T10:00:00.000+00:00";
+  private static final List<String> PO_LINE_SAMPLES = List.of(
+    "data/po-lines/100482-1_pending_physical.json",
+    "data/po-lines/100483-1_open_print_serial.json",
+    "data/po-lines/100484-1_open_electronic_serial.json",
+    "data/po-lines/100485-1_open_package.json",
+    "data/po-lines/100486-1_open_pe_mix.json",
+    "data/po-lines/52590-1_pending_pe_mix.json");
+  private static final String PIECES_SAMPLE = "data/pieces-batch/100482-1_monthly_2_years.json";
+
+  @Test
+  void shouldRestoreOrderLineEventsCompactedWithDiffPatches() throws Exception {
+    long fullBytes = 0;
+    long compactBytes = 0;
+    for (String sample : PO_LINE_SAMPLES) {
+      var originalPoLine = new JsonObject(getFile(sample));
+      var poLine = originalPoLine.copy()
+        .put("receiptStatus", "Partially Received")
+        .put("a/b~c", "added");
+      poLine.getJsonObject("cost").put("listUnitPrice", 12.5);
+      poLine.remove("rush");
+      var event = orderLineEvent(poLine, originalPoLine);
+
+      var compactEvent = assertRestored(event, "orderLineSnapshot", "originalOrderLineSnapshot");
+
+      fullBytes += event.encode().length();
+      compactBytes += compactEvent.encode().length();
+    }
+    log.info("Order line edit events: {} full outbox bytes, {} compact outbox bytes", fullBytes, compactBytes);
+    assertTrue(compactBytes < fullBytes);
+  }
+
+  @Test
+  void shouldRestorePieceEventsCompactedWithDiffPatches() throws Exception {
+    long fullBytes = 0;
+    long compactBytes = 0;
+    for (Object piece : new JsonObject(getFile(PIECES_SAMPLE)).getJsonArray("pieces")) {
+      var receivedPiece = (JsonObject) piece;
+      var expectedPiece = receivedPiece.copy()
+        .put("receivingStatus", "Expected")
+        .put("statusUpdatedDate", DATE);
+      expectedPiece.remove("receivedDate");
+      var event = pieceEvent(receivedPiece, expectedPiece);
+
+      var compactEvent = assertRestored(event, "pieceSnapshot", "originalPieceSnapshot");
+
+      fullBytes += event.encode().length();
+      compactBytes += compactEvent.encode().length();
+    }
+    log.info("Piece receive events: {} full outbox bytes, {} compact outbox bytes", fullBytes, compactBytes);
+    assertTrue(compactBytes < fullBytes);
+  }
+
+  @Test
+  void shouldRestoreArrayAndNestedChanges() throws Exception {
+    var originalPiece = new JsonObject()
+      .put("id", UUID.randomUUID().toString())
+      .put("copyNumber", "c.1")
+      .put("nested", new JsonObject().put("a", 1).put("b", new JsonObject().put("c", "old")))
+      .put("list", new JsonArray().add("x").add("y"));
+    var piece = new JsonObject()
+      .put("id", originalPiece.getString("id"))
+      .put("nested", new JsonObject().put("a", 2).put("b", new JsonObject().put("c", "new").put("d", true)))
+      .put("list", new JsonArray().add("y"))
+      .put("barcode", "123");
+
+    assertRestored(pieceEvent(piece, originalPiece), "pieceSnapshot", "originalPieceSnapshot");
+  }
+
+  @Test
+  void shouldReturnNullForEventThatCannotBeRestored() throws Exception {
+    var event = pieceEvent(new JsonObject().put("id", UUID.randomUUID().toString()), new JsonObject())
+      .put("originalSnapshotPatch", new JsonArray().add(new JsonObject().put("op", "remove").put("path", "/id")));
+    event.remove("pieceSnapshot");
+    event.remove("originalPieceSnapshot");
+
+    assertNull(expand(event.encode()));
+    assertNull(expand("not a json"));
+  }
+
+  private JsonObject assertRestored(JsonObject event, String snapshotField, String originalSnapshotField) throws Exception {
+    var compactEvent = AuditUtils.compactSnapshots(event.copy(), snapshotField, originalSnapshotField);
+    assertEquals(event, new JsonObject(expand(compactEvent.encode())));
+    return compactEvent;
+  }
+
+  private String expand(String payload) throws Exception {
+    return PostgresClient.getInstance(StorageTestSuite.getVertx(), TENANT_NAME)
+      .withConn(conn -> conn.execute(EXPAND_SQL.formatted(getFullTableName(TENANT_NAME, "outbox_expand_snapshots")), Tuple.of(payload)))
+      .map(rows -> rows.iterator().next().getString("payload"))
+      .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+
+  private static JsonObject orderLineEvent(JsonObject poLine, JsonObject originalPoLine) {
+    return new JsonObject()
+      .put("id", UUID.randomUUID().toString())
+      .put("action", "Edit")
+      .put("orderId", poLine.getString("purchaseOrderId"))
+      .put("orderLineId", poLine.getString("id"))
+      .put("eventDate", DATE)
+      .put("actionDate", DATE)
+      .put("userId", UUID.randomUUID().toString())
+      .put("originalOrderLineSnapshot", originalPoLine)
+      .put("orderLineSnapshot", poLine);
+  }
+
+  private static JsonObject pieceEvent(JsonObject piece, JsonObject originalPiece) {
+    return new JsonObject()
+      .put("id", UUID.randomUUID().toString())
+      .put("action", "Edit")
+      .put("pieceId", piece.getString("id"))
+      .put("eventDate", DATE)
+      .put("actionDate", DATE)
+      .put("userId", UUID.randomUUID().toString())
+      .put("originalPieceSnapshot", originalPiece)
+      .put("pieceSnapshot", piece);
+  }
+
+}
@@ -18,7 +18,6 @@ import java.net.MalformedURLException;
 import java.util.List;
 import java.util.UUID;
 
-import io.vertx.core.json.JsonObject;
 import org.apache.logging.log4j.Logger;
 import org.folio.rest.exceptions.HttpException;
 import org.folio.rest.impl.TestBase;
@@ -190,51 +189,4 @@ public class PoLinesPostgresDAOTest extends TestBase {
         testContext.completeNow();
       });
   }
-
-  @Test
-  void testUpdatePoLineById(Vertx vertx, VertxTestContext testContext) {
-    String id = UUID.randomUUID().toString();
-    PoLine poLine = new PoLine().withId(id);
-    Promise<Void> promise1 = Promise.promise();
-    final DBClient client = new DBClient(vertx, TEST_TENANT);
-    PostgresClient pgClient = client.getPgClient();
-    pgClient.save(PO_LINE_TABLE, id, poLine, event -> promise1.complete());
-    Promise<Void> promise2 = Promise.promise();
-    pgClient.save(PO_LINE_TABLE, poLine, event -> promise2.complete());
-    String sql = "UPDATE test_tenant_mod_orders_storage.po_line AS po_line SET jsonb = b.jsonb " +
-      "FROM (VALUES  ('" + id +"', '" + JsonObject.mapFrom(poLine).encode() + "'::json)) AS b (id, jsonb) " +
-      "WHERE b.id::uuid = po_line.id;";
-    testContext.assertComplete(promise1.future()
-        .compose(aVoid -> promise2.future())
-        .compose(o -> pgClient.withConn(conn -> poLinesPostgresDAO.updatePoLines(sql, conn))))
-      .onComplete(ar -> {
-        Integer numUpdLines = ar.result();
-        testContext.verify(() -> assertThat(1, is(numUpdLines)));
-        testContext.completeNow();
-      });
-  }
-
-  @Test
-  void updatePoLineWithGenericDatabaseExceptionIfPoLineNotFound(VertxTestContext testContext) {
-    String id = UUID.randomUUID().toString();
-    PoLine poLine = new PoLine().withId(id);
-    when(client.getPgClient()).thenReturn(postgresClient);
-
-    String sql = "UPDATE test_tenant_mod_orders_storage.po_line AS po_line SET jsonb = b.jsonb " +
-      "FROM (VALUES  ('" + id +"', '" + JsonObject.mapFrom(poLine).encode() + "'::json)) AS b (id, jsonb) " +
-      "WHERE b.id::uuid = po_line.id;";
-
-    doReturn(Future.failedFuture(new HttpException(500, "Error")))
-      .when(conn).execute(any(String.class));
-
-    testContext.assertFailure(poLinesPostgresDAO.updatePoLines(sql, conn))
-      .onComplete(ar -> {
-        HttpException exception = (HttpException) ar.cause();
-        testContext.verify(() -> {
-          assertEquals(500, exception.getCode());
-          assertEquals("Error", exception.getErrors().getErrors().get(0).getMessage());
-        });
-        testContext.completeNow();
-      });
-  }
 }
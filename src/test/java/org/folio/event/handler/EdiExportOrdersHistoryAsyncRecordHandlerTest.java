@@ -121,7 +121,7 @@ public class EdiExportOrdersHistoryAsyncRecordHandlerTest {
       .when(exportHistoryService).createExportHistory(eq(exportHistory), any(DBClient.class));
     List<PoLine> poLines = List.of(new PoLine().withId(lineId));
     doReturn(Future.succeededFuture(poLines))
-      .when(poLinesService).getPoLinesByLineIdsByChunks(eq(exportHistory.getExportedPoLineIds()), any(Conn.class));
+      .when(poLinesService).getPoLinesByIds(eq(exportHistory.getExportedPoLineIds()), any(Conn.class));
     doReturn(Future.succeededFuture(1))
       .when(poLinesService).updatePoLines(eq(poLines), any(Conn.class), anyString(), any());
     doReturn(pgClient)
@@ -140,7 +140,7 @@ public class EdiExportOrdersHistoryAsyncRecordHandlerTest {
 
     exportHistoryMethod.invoke(handler, exportHistory, dbClient, headers);
 
-    verify(poLinesService).getPoLinesByLineIdsByChunks(eq(exportHistory.getExportedPoLineIds()), any(Conn.class));
+    verify(poLinesService).getPoLinesByIds(eq(exportHistory.getExportedPoLineIds()), any(Conn.class));
     verify(poLinesService).updatePoLines(eq(poLines), any(Conn.class), anyString(), any());
 
     assertEquals(exportHistory.getExportDate(), poLines.get(0).getLastEDIExportDate());
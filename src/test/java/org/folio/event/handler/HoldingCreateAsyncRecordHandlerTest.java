@@ -130,7 +130,7 @@ public class HoldingCreateAsyncRecordHandlerTest {
 
     doReturn(Future.succeededFuture(actualPieces)).when(pieceService).getPiecesByHoldingId(eq(holdingId1), any(Conn.class));
     doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByIdsForUpdate(anyList(), anyString(), any(Conn.class));
-    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByCqlQuery(anyString(), any(Conn.class));
+    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByHoldingId(eq(holdingId1), any(Conn.class));
     doReturn(Future.succeededFuture(expectedPieces)).when(pieceService).updatePieces(eq(expectedPieces), any(Conn.class), eq(DIKU_TENANT));
     doReturn(Future.succeededFuture(2)).when(poLinesService).updatePoLines(eq(expectedPoLines), any(Conn.class), eq(DIKU_TENANT), any());
 
@@ -140,7 +140,7 @@ public class HoldingCreateAsyncRecordHandlerTest {
     verify(handler).processInventoryCreationEvent(eq(extractResourceEvent(kafkaRecord)), eq(DIKU_TENANT), anyMap(), eq(dbClient));
     verify(pieceService).getPiecesByHoldingId(eq(holdingId1), any(Conn.class));
     verify(pieceService).updatePieces(eq(expectedPieces), any(Conn.class), eq(DIKU_TENANT));
-    verify(poLinesService).getPoLinesByCqlQuery(anyString(), any(Conn.class));
+    verify(poLinesService).getPoLinesByHoldingId(eq(holdingId1), any(Conn.class));
     verify(poLinesService).updatePoLines(eq(expectedPoLines), any(Conn.class), eq(DIKU_TENANT), any());
 
     assertEquals(2, actualPieces.stream().filter(piece -> piece.getReceivingTenantId().equals(DIKU_TENANT)).count());
@@ -174,7 +174,7 @@ public class HoldingCreateAsyncRecordHandlerTest {
 
     doReturn(Future.succeededFuture(actualPieces)).when(pieceService).getPiecesByHoldingId(eq(holdingId1), any(Conn.class));
     doReturn(Future.succeededFuture(expectedPieces)).when(pieceService).updatePieces(eq(expectedPieces), any(Conn.class), eq(DIKU_TENANT));
-    doReturn(Future.succeededFuture(List.of())).when(poLinesService).getPoLinesByCqlQuery(anyString(), any(Conn.class));
+    doReturn(Future.succeededFuture(List.of())).when(poLinesService).getPoLinesByHoldingId(eq(holdingId1), any(Conn.class));
 
     var result = handler.handle(kafkaRecord);
     assertTrue(result.succeeded());
@@ -182,7 +182,7 @@ public class HoldingCreateAsyncRecordHandlerTest {
     verify(handler).processInventoryCreationEvent(eq(extractResourceEvent(kafkaRecord)), eq(DIKU_TENANT), anyMap(), eq(dbClient));
     verify(pieceService).getPiecesByHoldingId(eq(holdingId1), any(Conn.class));
     verify(pieceService).updatePieces(eq(expectedPieces), any(Conn.class), eq(DIKU_TENANT));
-    verify(poLinesService).getPoLinesByCqlQuery(anyString(), any(Conn.class));
+    verify(poLinesService).getPoLinesByHoldingId(eq(holdingId1), any(Conn.class));
     verify(poLinesService, times(0)).updatePoLines(anyList(), any(Conn.class), eq(DIKU_TENANT), any());
 
     assertEquals(2, actualPieces.stream().filter(piece -> piece.getReceivingTenantId().equals(DIKU_TENANT)).count());
@@ -208,7 +208,7 @@ public class HoldingCreateAsyncRecordHandlerTest {
 
     doReturn(Future.succeededFuture(List.of())).when(pieceService).getPiecesByHoldingId(eq(holdingId1), any(Conn.class));
     doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByIdsForUpdate(anyList(), anyString(), any(Conn.class));
-    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByCqlQuery(anyString(), any(Conn.class));
+    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByHoldingId(eq(holdingId1), any(Conn.class));
     doReturn(Future.succeededFuture(2)).when(poLinesService).updatePoLines(eq(expectedPoLines), any(Conn.class), eq(DIKU_TENANT), any());
 
     var result = handler.handle(kafkaRecord);
@@ -217,7 +217,7 @@ public class HoldingCreateAsyncRecordHandlerTest {
     verify(handler).processInventoryCreationEvent(eq(extractResourceEvent(kafkaRecord)), eq(DIKU_TENANT), anyMap(), eq(dbClient));
     verify(pieceService).getPiecesByHoldingId(eq(holdingId1), any(Conn.class));
     verify(pieceService, times(0)).updatePieces(anyList(), any(Conn.class), eq(DIKU_TENANT));
-    verify(poLinesService).getPoLinesByCqlQuery(anyString(), any(Conn.class));
+    verify(poLinesService).getPoLinesByHoldingId(eq(holdingId1), any(Conn.class));
     verify(poLinesService).updatePoLines(eq(expectedPoLines), any(Conn.class), eq(DIKU_TENANT), any());
 
     assertEquals(2, actualPoLines.stream()
@@ -237,14 +237,14 @@ public class HoldingCreateAsyncRecordHandlerTest {
     var kafkaRecord = createHoldingEventKafkaRecord(holdingId1);
 
     doReturn(Future.succeededFuture(List.of())).when(pieceService).getPiecesByHoldingId(eq(holdingId1), any(Conn.class));
-    doReturn(Future.succeededFuture(List.of())).when(poLinesService).getPoLinesByCqlQuery(anyString(), any(Conn.class));
+    doReturn(Future.succeededFuture(List.of())).when(poLinesService).getPoLinesByHoldingId(eq(holdingId1), any(Conn.class));
 
     var result = handler.handle(kafkaRecord);
     assertTrue(result.succeeded());
 
     verify(handler).processInventoryCreationEvent(eq(extractResourceEvent(kafkaRecord)), eq(DIKU_TENANT), anyMap(), eq(dbClient));
     verify(pieceService).getPiecesByHoldingId(eq(holdingId1), any(Conn.class));
-    verify(poLinesService).getPoLinesByCqlQuery(anyString(), any(Conn.class));
+    verify(poLinesService).getPoLinesByHoldingId(eq(holdingId1), any(Conn.class));
     verify(pieceService, times(0)).updatePieces(anyList(), any(Conn.class), eq(DIKU_TENANT));
     verify(poLinesService, times(0)).updatePoLines(anyList(), any(Conn.class), eq(DIKU_TENANT), any());
   }
@@ -264,7 +264,7 @@ public class HoldingCreateAsyncRecordHandlerTest {
 
     doReturn(Future.succeededFuture(actualPieces)).when(pieceService).getPiecesByHoldingId(eq(holdingId), any(Conn.class));
     doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByIdsForUpdate(anyList(), anyString(), any(Conn.class));
-    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByCqlQuery(anyString(), any(Conn.class));
+    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByHoldingId(eq(holdingId), any(Conn.class));
     doThrow(new RuntimeException("Piece save failed")).when(pieceService).updatePieces(eq(expectedPieces), any(Conn.class), eq(DIKU_TENANT));
     doThrow(new RuntimeException("PoLine save failed")).when(poLinesService).updatePoLines(eq(expectedPoLines), any(Conn.class), eq(DIKU_TENANT), any());
     doReturn(pgClient).when(dbClient).getPgClient();
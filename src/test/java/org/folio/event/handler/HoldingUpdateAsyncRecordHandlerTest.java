@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 import org.folio.TestUtils;
 import org.folio.event.dto.AuditEntityWrapper;
+import org.folio.event.dto.HoldingUpdateCheckpoint;
 import org.folio.event.dto.InstanceFields;
 import org.folio.event.dto.ResourceEvent;
 import org.folio.event.service.AuditOutboxService;
@@ -23,7 +24,10 @@ import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.DBClient;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.services.consortium.ConsortiumConfigurationService;
+import org.folio.services.inventory.HoldingUpdateCheckpointService;
 import org.folio.services.inventory.InstancesService;
+import org.folio.services.inventory.InventoryEventCoalescingService;
+import org.folio.services.inventory.InventoryEventFilterService;
 import org.folio.services.inventory.InventoryUpdateService;
 import org.folio.services.lines.PoLinesService;
 import org.folio.services.setting.SettingService;
@@ -55,7 +59,6 @@ import static org.folio.event.dto.InstanceFields.IDENTIFIER_TYPE_VALUE;
 import static org.folio.event.dto.InstanceFields.PUBLICATION;
 import static org.folio.event.dto.InstanceFields.PUBLISHER;
 import static org.folio.event.dto.InstanceFields.TITLE;
-import static org.folio.event.handler.HoldingUpdateAsyncRecordHandler.PO_LINE_LOCATIONS_HOLDING_ID_CQL;
 import static org.folio.event.handler.TestHandlerUtil.CENTRAL_TENANT;
 import static org.folio.event.handler.TestHandlerUtil.CONSORTIUM_ID;
 import static org.folio.event.handler.TestHandlerUtil.UNIVERSITY_TENANT;
@@ -71,9 +74,11 @@ import static org.folio.util.InventoryUtils.getPublisher;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
@@ -86,6 +91,7 @@ import static org.mockito.Mockito.verify;
 public class HoldingUpdateAsyncRecordHandlerTest {
 
   private static final String PO_LINE_SAVE_FAILED_MSG = "PoLine save failed";
+  private static final int CHUNK_SIZE = 500;
 
   private static final String TITLE_1 = "Title1";
   private static final String PUBLISHER_1 = "Publisher1";
@@ -114,8 +120,14 @@ public class HoldingUpdateAsyncRecordHandlerTest {
   @Mock
   private ConsortiumConfigurationService consortiumConfigurationService;
   @Mock
+  private InventoryEventFilterService inventoryEventFilterService;
+  @Mock
+  private InventoryEventCoalescingService inventoryEventCoalescingService;
+  @Mock
   private AuditOutboxService auditOutboxService;
   @Mock
+  private HoldingUpdateCheckpointService checkpointService;
+  @Mock
   private DBClient dbClient;
   @Mock
   private DBClient dbClientCentral;
@@ -138,7 +150,11 @@ public class HoldingUpdateAsyncRecordHandlerTest {
       TestUtils.setInternalState(holdingHandler, "poLinesService", poLinesService);
       TestUtils.setInternalState(holdingHandler, "inventoryUpdateService", inventoryUpdateService);
       TestUtils.setInternalState(holdingHandler, "consortiumConfigurationService", consortiumConfigurationService);
+      TestUtils.setInternalState(holdingHandler, "inventoryEventFilterService", inventoryEventFilterService);
+      TestUtils.setInternalState(holdingHandler, "inventoryEventCoalescingService", inventoryEventCoalescingService);
       TestUtils.setInternalState(holdingHandler, "auditOutboxService", auditOutboxService);
+      TestUtils.setInternalState(holdingHandler, "checkpointService", checkpointService);
+      TestUtils.setInternalState(holdingHandler, "chunkSize", CHUNK_SIZE);
       handler = spy(holdingHandler);
       doReturn(Future.succeededFuture(Optional.of(new Setting().withValue("true"))))
         .when(settingService).getSettingByKey(eq(SettingKey.CENTRAL_ORDERING_ENABLED), any(), any());
@@ -155,6 +171,9 @@ public class HoldingUpdateAsyncRecordHandlerTest {
       doReturn(pgClientCentral).when(dbClientCentral).getPgClient();
       doAnswer(invocation -> invocation.<Function<Conn, Future<?>>>getArgument(0).apply(conn)).when(pgClient).withTrans(any());
       doAnswer(invocation -> invocation.<Function<Conn, Future<?>>>getArgument(0).apply(connCentral)).when(pgClientCentral).withTrans(any());
+      doAnswer(invocation -> invocation.<Function<Conn, Future<?>>>getArgument(0).apply(conn)).when(pgClient).withConn(any());
+      doAnswer(invocation -> invocation.<Function<Conn, Future<?>>>getArgument(0).apply(connCentral)).when(pgClientCentral).withConn(any());
+      doReturn(Future.succeededFuture()).when(checkpointService).getCheckpoint(any(), any(), any(), any());
     }
   }
 
@@ -170,7 +189,6 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     var oldHoldingValueBeforeUpdate = createHoldings(holdingId1, instanceId1, permanentSearchLocationId1);
     var newHoldingValueAfterUpdate = createHoldings(holdingId1, instanceId1, permanentSearchLocationId2);
     var kafkaRecord = createKafkaRecordWithValues(oldHoldingValueBeforeUpdate, newHoldingValueAfterUpdate, UNIVERSITY_TENANT);
-    var query = String.format(PO_LINE_LOCATIONS_HOLDING_ID_CQL, holdingId1);
 
     var actualPoLines = List.of(
       createPoLine(poLineId1, instanceId1, List.of(oldHoldingValueBeforeUpdate), TITLE_1, PUBLISHER_1, DATE_OF_PUBLICATION_1, CONTRIBUTOR_1, CONTRIBUTOR_NAME_TYPE_ID_1, IDENTIFIER_TYPE_VALUE_1, IDENTIFIER_TYPE_ID_1),
@@ -184,7 +202,7 @@ public class HoldingUpdateAsyncRecordHandlerTest {
 
     doReturn(Future.succeededFuture()).when(inventoryUpdateService).getAndSetHolderInstanceByIdIfRequired(any(), any());
     doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLineId1, poLineId2)), eq(UNIVERSITY_TENANT), eq(conn));
-    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByCqlQuery(eq(query), eq(conn));
+    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(conn));
     doReturn(Future.succeededFuture(2)).when(poLinesService).updatePoLines(eq(expectedPoLines), eq(conn), eq(UNIVERSITY_TENANT), any());
     doReturn(Future.succeededFuture()).when(poLinesService).updateTitles(eq(conn), eq(List.of()), anyMap());
     doReturn(Future.succeededFuture(true)).when(auditOutboxService).saveOrderLinesOutboxLogs(eq(conn), eq(expectedAuditEntities), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
@@ -193,7 +211,7 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     assertTrue(result.succeeded());
 
     verify(handler).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
-    verify(poLinesService).getPoLinesByCqlQuery(eq(query), eq(conn));
+    verify(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(conn));
     verify(poLinesService, times(1)).updatePoLines(anyList(), eq(conn), eq(UNIVERSITY_TENANT), any());
 
     assertEquals(2, actualPoLines.stream()
@@ -228,7 +246,6 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     var oldHoldingValueBeforeUpdate = createHoldings(holdingId1, instanceId1, permanentSearchLocationId1);
     var newHoldingValueAfterUpdate = createHoldings(holdingId1, instanceId2, permanentSearchLocationId1);
     var kafkaRecord = createKafkaRecordWithValues(oldHoldingValueBeforeUpdate, newHoldingValueAfterUpdate, UNIVERSITY_TENANT);
-    var query = String.format(PO_LINE_LOCATIONS_HOLDING_ID_CQL, holdingId1);
 
     var actualPoLines = List.of(
       createPoLine(poLineId1, instanceId1, List.of(oldHoldingValueBeforeUpdate), TITLE_1, PUBLISHER_1, DATE_OF_PUBLICATION_1, CONTRIBUTOR_1, CONTRIBUTOR_NAME_TYPE_ID_1, IDENTIFIER_TYPE_VALUE_1, IDENTIFIER_TYPE_ID_1),
@@ -243,7 +260,7 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     doCallRealMethod().when(inventoryUpdateService).getAndSetHolderInstanceByIdIfRequired(any(), any());
     doReturn(Future.succeededFuture(newInstance)).when(instancesService).getInstanceById(any(), any());
     doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLineId1, poLineId2)), eq(UNIVERSITY_TENANT), eq(conn));
-    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByCqlQuery(eq(query), eq(conn));
+    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(conn));
     doReturn(Future.succeededFuture(2)).when(poLinesService).updatePoLines(eq(expectedPoLines), eq(conn), eq(UNIVERSITY_TENANT), any());
     doReturn(Future.succeededFuture()).when(poLinesService).updateTitles(eq(conn), eq(expectedPoLines), anyMap());
     doReturn(Future.succeededFuture(true)).when(auditOutboxService).saveOrderLinesOutboxLogs(eq(conn), eq(expectedAuditEntities), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
@@ -252,7 +269,7 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     assertTrue(result.succeeded());
 
     verify(handler).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
-    verify(poLinesService).getPoLinesByCqlQuery(eq(query), eq(conn));
+    verify(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(conn));
     verify(poLinesService).updatePoLines(eq(expectedPoLines), eq(conn), eq(UNIVERSITY_TENANT), any());
 
     assertEquals(0, actualPoLines.stream()
@@ -293,7 +310,6 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     var oldHoldingValueBeforeUpdate = createHoldings(holdingId1, instanceId1, permanentSearchLocationId1);
     var newHoldingValueAfterUpdate = createHoldings(holdingId1, instanceId2, permanentSearchLocationId2);
     var kafkaRecord = createKafkaRecordWithValues(oldHoldingValueBeforeUpdate, newHoldingValueAfterUpdate, UNIVERSITY_TENANT);
-    var query = String.format(PO_LINE_LOCATIONS_HOLDING_ID_CQL, holdingId1);
 
     var actualPoLines = List.of(
       createPoLine(poLineId1, instanceId1, List.of(oldHoldingValueBeforeUpdate), TITLE_1, PUBLISHER_1, DATE_OF_PUBLICATION_1, CONTRIBUTOR_1, CONTRIBUTOR_NAME_TYPE_ID_1, IDENTIFIER_TYPE_VALUE_1, IDENTIFIER_TYPE_ID_1),
@@ -308,7 +324,7 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     doCallRealMethod().when(inventoryUpdateService).getAndSetHolderInstanceByIdIfRequired(any(), any());
     doReturn(Future.succeededFuture(newInstance)).when(instancesService).getInstanceById(any(), any());
     doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLineId1, poLineId2)), eq(UNIVERSITY_TENANT), eq(conn));
-    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByCqlQuery(eq(query), eq(conn));
+    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(conn));
     doReturn(Future.succeededFuture(2)).when(poLinesService).updatePoLines(eq(expectedPoLines), eq(conn), eq(UNIVERSITY_TENANT), any());
     doReturn(Future.succeededFuture()).when(poLinesService).updateTitles(eq(conn), eq(expectedPoLines), anyMap());
     doReturn(Future.succeededFuture(true)).when(auditOutboxService).saveOrderLinesOutboxLogs(eq(conn), eq(expectedAuditEntities), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
@@ -317,7 +333,7 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     assertTrue(result.succeeded());
 
     verify(handler).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
-    verify(poLinesService).getPoLinesByCqlQuery(eq(query), eq(conn));
+    verify(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(conn));
     verify(poLinesService).updatePoLines(eq(expectedPoLines), eq(conn), eq(UNIVERSITY_TENANT), any());
 
     assertEquals(0, actualPoLines.stream()
@@ -362,11 +378,10 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     resourceEvent.setOldValue(oldHoldingValueBeforeUpdate);
     resourceEvent.setNewValue(newHoldingValueAfterUpdate);
     var kafkaRecord =  createKafkaRecord(resourceEvent, UNIVERSITY_TENANT);
-    var query = String.format(PO_LINE_LOCATIONS_HOLDING_ID_CQL, holdingId1);
 
     doReturn(Future.succeededFuture()).when(inventoryUpdateService).getAndSetHolderInstanceByIdIfRequired(any(), any());
-    doReturn(Future.succeededFuture(List.of())).when(poLinesService).getPoLinesByCqlQuery(eq(query), eq(conn));
-    doReturn(Future.succeededFuture(List.of())).when(poLinesService).getPoLinesByCqlQuery(eq(query), eq(connCentral));
+    doReturn(Future.succeededFuture(List.of())).when(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(conn));
+    doReturn(Future.succeededFuture(List.of())).when(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(connCentral));
     doReturn(Future.succeededFuture(true)).when(auditOutboxService).saveOrderLinesOutboxLogs(eq(conn), eq(List.of()), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
     doReturn(Future.succeededFuture(true)).when(auditOutboxService).saveOrderLinesOutboxLogs(eq(connCentral), eq(List.of()), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
 
@@ -374,8 +389,8 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     assertTrue(result.succeeded());
 
     verify(handler).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
-    verify(poLinesService).getPoLinesByCqlQuery(eq(query), eq(conn));
-    verify(poLinesService).getPoLinesByCqlQuery(eq(query), eq(connCentral));
+    verify(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(conn));
+    verify(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(connCentral));
     verify(poLinesService, times(0)).updatePoLines(anyList(), eq(conn), eq(UNIVERSITY_TENANT), any());
     verify(poLinesService, times(0)).updatePoLines(anyList(), eq(connCentral), eq(CENTRAL_TENANT), any());
   }
@@ -392,7 +407,6 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     var oldHoldingValueBeforeUpdate = createHoldings(holdingId1, instanceId1, permanentSearchLocationId1);
     var newHoldingValueAfterUpdate = createHoldings(holdingId1, instanceId1, permanentSearchLocationId2);
     var kafkaRecord = createKafkaRecordWithValues(oldHoldingValueBeforeUpdate, newHoldingValueAfterUpdate, UNIVERSITY_TENANT);
-    var query = String.format(PO_LINE_LOCATIONS_HOLDING_ID_CQL, holdingId1);
 
     var actualPoLines = List.of(
       createPoLine(poLineId1, instanceId1, List.of(oldHoldingValueBeforeUpdate), TITLE_1, PUBLISHER_1, DATE_OF_PUBLICATION_1, CONTRIBUTOR_1, CONTRIBUTOR_NAME_TYPE_ID_1, IDENTIFIER_TYPE_VALUE_1, IDENTIFIER_TYPE_ID_1),
@@ -406,8 +420,8 @@ public class HoldingUpdateAsyncRecordHandlerTest {
 
     doReturn(Future.succeededFuture()).when(inventoryUpdateService).getAndSetHolderInstanceByIdIfRequired(any(), any());
     doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLineId1, poLineId2)), eq(CENTRAL_TENANT), any(Conn.class));
-    doReturn(Future.succeededFuture(List.of())).when(poLinesService).getPoLinesByCqlQuery(eq(query), eq(conn));
-    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByCqlQuery(eq(query), eq(connCentral));
+    doReturn(Future.succeededFuture(List.of())).when(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(conn));
+    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(connCentral));
     doReturn(Future.succeededFuture(2)).when(poLinesService).updatePoLines(eq(expectedPoLines), eq(connCentral), eq(CENTRAL_TENANT), any());
     doReturn(Future.succeededFuture()).when(poLinesService).updateTitles(eq(conn), eq(List.of()), anyMap());
     doReturn(Future.succeededFuture(true)).when(auditOutboxService).saveOrderLinesOutboxLogs(eq(conn), eq(List.of()), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
@@ -417,8 +431,8 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     assertTrue(result.succeeded());
 
     verify(handler).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
-    verify(poLinesService, times(1)).getPoLinesByCqlQuery(eq(query), eq(conn));
-    verify(poLinesService, times(1)).getPoLinesByCqlQuery(eq(query), eq(connCentral));
+    verify(poLinesService, times(1)).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(conn));
+    verify(poLinesService, times(1)).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(connCentral));
     verify(poLinesService, times(0)).updatePoLines(anyList(), eq(conn), eq(UNIVERSITY_TENANT), any());
     verify(poLinesService, times(1)).updatePoLines(anyList(), eq(connCentral), eq(CENTRAL_TENANT), any());
 
@@ -441,6 +455,79 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     assertTrue(actualPoLines.containsAll(expectedPoLines));
   }
 
+  @Test
+  void positive_shouldProcessInventoryUpdateEventInChunksWithCheckpoints() {
+    var poLineId1 = UUID.randomUUID().toString();
+    var poLineId2 = UUID.randomUUID().toString();
+    var instanceId1 = UUID.randomUUID().toString();
+    var holdingId1 = UUID.randomUUID().toString();
+    var permanentSearchLocationId1 = UUID.randomUUID().toString();
+    var permanentSearchLocationId2 = UUID.randomUUID().toString();
+
+    var oldHoldingValueBeforeUpdate = createHoldings(holdingId1, instanceId1, permanentSearchLocationId1);
+    var newHoldingValueAfterUpdate = createHoldings(holdingId1, instanceId1, permanentSearchLocationId2);
+    var kafkaRecord = createKafkaRecordWithValues(oldHoldingValueBeforeUpdate, newHoldingValueAfterUpdate, UNIVERSITY_TENANT);
+
+    var poLine1 = createPoLine(poLineId1, instanceId1, List.of(oldHoldingValueBeforeUpdate), TITLE_1, PUBLISHER_1, DATE_OF_PUBLICATION_1, CONTRIBUTOR_1, CONTRIBUTOR_NAME_TYPE_ID_1, IDENTIFIER_TYPE_VALUE_1, IDENTIFIER_TYPE_ID_1);
+    var poLine2 = createPoLine(poLineId2, instanceId1, List.of(oldHoldingValueBeforeUpdate), TITLE_1, PUBLISHER_1, DATE_OF_PUBLICATION_1, CONTRIBUTOR_1, CONTRIBUTOR_NAME_TYPE_ID_1, IDENTIFIER_TYPE_VALUE_1, IDENTIFIER_TYPE_ID_1);
+
+    TestUtils.setInternalState(handler, "chunkSize", 1);
+    doReturn(Future.succeededFuture()).when(inventoryUpdateService).getAndSetHolderInstanceByIdIfRequired(any(), any());
+    doReturn(Future.succeededFuture(List.of(poLine1))).when(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(1), eq(conn));
+    doReturn(Future.succeededFuture(List.of(poLine2))).when(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), eq(poLineId1), eq(1), eq(conn));
+    doReturn(Future.succeededFuture(List.of())).when(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), eq(poLineId2), eq(1), eq(conn));
+    doReturn(Future.succeededFuture(List.of(poLine1))).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLineId1)), eq(UNIVERSITY_TENANT), eq(conn));
+    doReturn(Future.succeededFuture(List.of(poLine2))).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLineId2)), eq(UNIVERSITY_TENANT), eq(conn));
+    doReturn(Future.succeededFuture(1)).when(poLinesService).updatePoLines(anyList(), eq(conn), eq(UNIVERSITY_TENANT), any());
+    doReturn(Future.succeededFuture(true)).when(auditOutboxService).saveOrderLinesOutboxLogs(eq(conn), anyList(), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
+    doReturn(Future.succeededFuture()).when(checkpointService).saveCheckpoint(eq(conn), eq(UNIVERSITY_TENANT), eq(holdingId1), any(), any());
+    doReturn(Future.succeededFuture()).when(checkpointService).deleteCheckpoint(eq(conn), eq(UNIVERSITY_TENANT), eq(holdingId1));
+
+    var result = handler.handle(kafkaRecord);
+    assertTrue(result.succeeded());
+
+    verify(poLinesService, times(3)).getPoLinesChunkByHoldingId(eq(holdingId1), any(), eq(1), eq(conn));
+    verify(poLinesService, times(2)).updatePoLines(anyList(), eq(conn), eq(UNIVERSITY_TENANT), any());
+    verify(checkpointService).saveCheckpoint(eq(conn), eq(UNIVERSITY_TENANT), eq(holdingId1), any(), eq(new HoldingUpdateCheckpoint(poLineId1, List.of())));
+    verify(checkpointService).saveCheckpoint(eq(conn), eq(UNIVERSITY_TENANT), eq(holdingId1), any(), eq(new HoldingUpdateCheckpoint(poLineId2, List.of())));
+    verify(checkpointService).deleteCheckpoint(eq(conn), eq(UNIVERSITY_TENANT), eq(holdingId1));
+    verify(poLinesService, times(0)).getPoLinesChunkByHoldingId(any(), any(), anyInt(), eq(connCentral));
+  }
+
+  @Test
+  void positive_shouldResumeInventoryUpdateEventFromCheckpoint() {
+    var poLineId1 = UUID.randomUUID().toString();
+    var poLineId2 = UUID.randomUUID().toString();
+    var instanceId1 = UUID.randomUUID().toString();
+    var holdingId1 = UUID.randomUUID().toString();
+    var permanentSearchLocationId1 = UUID.randomUUID().toString();
+    var permanentSearchLocationId2 = UUID.randomUUID().toString();
+
+    var oldHoldingValueBeforeUpdate = createHoldings(holdingId1, instanceId1, permanentSearchLocationId1);
+    var newHoldingValueAfterUpdate = createHoldings(holdingId1, instanceId1, permanentSearchLocationId2);
+    var kafkaRecord = createKafkaRecordWithValues(oldHoldingValueBeforeUpdate, newHoldingValueAfterUpdate, UNIVERSITY_TENANT);
+    var eventKey = "%s:%s".formatted(instanceId1, permanentSearchLocationId2);
+
+    var poLine2 = createPoLine(poLineId2, instanceId1, List.of(oldHoldingValueBeforeUpdate), TITLE_1, PUBLISHER_1, DATE_OF_PUBLICATION_1, CONTRIBUTOR_1, CONTRIBUTOR_NAME_TYPE_ID_1, IDENTIFIER_TYPE_VALUE_1, IDENTIFIER_TYPE_ID_1);
+
+    doReturn(Future.succeededFuture(new HoldingUpdateCheckpoint(poLineId1, List.of())))
+      .when(checkpointService).getCheckpoint(eq(conn), eq(UNIVERSITY_TENANT), eq(holdingId1), eq(eventKey));
+    doReturn(Future.succeededFuture()).when(inventoryUpdateService).getAndSetHolderInstanceByIdIfRequired(any(), any());
+    doReturn(Future.succeededFuture(List.of(poLine2))).when(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), eq(poLineId1), eq(CHUNK_SIZE), eq(conn));
+    doReturn(Future.succeededFuture(List.of(poLine2))).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLineId2)), eq(UNIVERSITY_TENANT), eq(conn));
+    doReturn(Future.succeededFuture(1)).when(poLinesService).updatePoLines(anyList(), eq(conn), eq(UNIVERSITY_TENANT), any());
+    doReturn(Future.succeededFuture(true)).when(auditOutboxService).saveOrderLinesOutboxLogs(eq(conn), anyList(), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
+    doReturn(Future.succeededFuture()).when(checkpointService).deleteCheckpoint(eq(conn), eq(UNIVERSITY_TENANT), eq(holdingId1));
+
+    var result = handler.handle(kafkaRecord);
+    assertTrue(result.succeeded());
+
+    verify(poLinesService, times(0)).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), anyInt(), any());
+    verify(poLinesService, times(1)).updatePoLines(anyList(), eq(conn), eq(UNIVERSITY_TENANT), any());
+    verify(checkpointService, times(0)).saveCheckpoint(any(), any(), any(), any(), any());
+    verify(checkpointService).deleteCheckpoint(eq(conn), eq(UNIVERSITY_TENANT), eq(holdingId1));
+  }
+
   @Test
   void positive_shouldProcessInventoryUpdateEventWithNothingChanged() {
     var instanceId1 = UUID.randomUUID().toString();
@@ -450,14 +537,13 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     var oldHoldingValueBeforeUpdate = createHoldings(holdingId1, instanceId1, permanentSearchLocationId1);
     var newHoldingValueAfterUpdate = createHoldings(holdingId1, instanceId1, permanentSearchLocationId1);
     var kafkaRecord = createKafkaRecordWithValues(oldHoldingValueBeforeUpdate, newHoldingValueAfterUpdate, UNIVERSITY_TENANT);
-    var query = String.format(PO_LINE_LOCATIONS_HOLDING_ID_CQL, holdingId1);
 
     var result = handler.handle(kafkaRecord);
     assertTrue(result.succeeded());
 
     verify(handler).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
-    verify(poLinesService, times(0)).getPoLinesByCqlQuery(eq(query), eq(conn));
-    verify(poLinesService, times(0)).getPoLinesByCqlQuery(eq(query), eq(connCentral));
+    verify(poLinesService, times(0)).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(conn));
+    verify(poLinesService, times(0)).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(connCentral));
     verify(poLinesService, times(0)).updatePoLines(anyList(), eq(conn), eq(UNIVERSITY_TENANT), any());
     verify(poLinesService, times(0)).updatePoLines(anyList(), eq(connCentral), eq(CENTRAL_TENANT), any());
   }
@@ -475,7 +561,6 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     var oldHoldingValueBeforeUpdate = createHoldings(holdingId1, instanceId1, permanentSearchLocationId1);
     var newHoldingValueAfterUpdate = createHoldings(holdingId1, instanceId2, permanentSearchLocationId1);
     var kafkaRecord = createKafkaRecordWithValues(oldHoldingValueBeforeUpdate, newHoldingValueAfterUpdate, UNIVERSITY_TENANT);
-    var query = String.format(PO_LINE_LOCATIONS_HOLDING_ID_CQL, holdingId1);
 
     var actualPoLines = List.of(
       createPoLine(poLineId1, instanceId1, List.of(oldHoldingValueBeforeUpdate), TITLE_1, PUBLISHER_1, DATE_OF_PUBLICATION_1, CONTRIBUTOR_1, CONTRIBUTOR_NAME_TYPE_ID_1, IDENTIFIER_TYPE_VALUE_1, IDENTIFIER_TYPE_ID_1),
@@ -489,14 +574,14 @@ public class HoldingUpdateAsyncRecordHandlerTest {
     doCallRealMethod().when(inventoryUpdateService).getAndSetHolderInstanceByIdIfRequired(any(), any());
     doReturn(Future.succeededFuture(newInstance)).when(instancesService).getInstanceById(any(), any());
     doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLineId1, poLineId2)), eq(UNIVERSITY_TENANT), eq(conn));
-    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesByCqlQuery(eq(query), eq(conn));
+    doReturn(Future.succeededFuture(actualPoLines)).when(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(conn));
     doThrow(new RuntimeException(PO_LINE_SAVE_FAILED_MSG)).when(poLinesService).updatePoLines(eq(expectedPoLines), eq(conn), eq(UNIVERSITY_TENANT), any());
     doReturn(pgClient).when(dbClient).getPgClient();
 
     var expectedException = handler.handle(kafkaRecord).cause();
     assertEquals(RuntimeException.class, expectedException.getClass());
     verify(handler).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
-    verify(poLinesService).getPoLinesByCqlQuery(eq(query), eq(conn));
+    verify(poLinesService).getPoLinesChunkByHoldingId(eq(holdingId1), isNull(), eq(CHUNK_SIZE), eq(conn));
     verify(poLinesService, times(1)).updatePoLines(anyList(), eq(conn), eq(UNIVERSITY_TENANT), any());
   }
 
@@ -6,14 +6,21 @@ import io.vertx.core.json.JsonObject;
 import org.folio.TestUtils;
 import org.folio.event.dto.ResourceEvent;
 import org.folio.services.consortium.ConsortiumConfigurationService;
+import org.folio.services.inventory.InventoryEventCoalescingService;
+import org.folio.services.inventory.InventoryEventFilterService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
 import static org.folio.TestUtils.mockContext;
 import static org.folio.event.EventType.CREATE;
 import static org.folio.event.EventType.UPDATE;
+import static org.folio.event.dto.ItemFields.PURCHASE_ORDER_LINE_IDENTIFIER;
 import static org.folio.event.handler.InventoryUpdateAsyncRecordHandler.KAFKA_CONSUMER_RECORD_VALUE_NULL_MSG;
 import static org.folio.event.handler.TestHandlerUtil.DIKU_TENANT;
 import static org.folio.event.handler.TestHandlerUtil.createDefaultUpdateResourceEvent;
@@ -21,16 +28,28 @@ import static org.folio.event.handler.TestHandlerUtil.createKafkaRecord;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class InventoryUpdateAsyncRecordHandlerTest {
 
+  private static final String ID = "id";
+  private static final String HRID = "hrid";
+
   @Mock
   private ConsortiumConfigurationService consortiumConfigurationService;
+  @Mock
+  private InventoryEventFilterService inventoryEventFilterService;
+  @Mock
+  private InventoryEventCoalescingService inventoryEventCoalescingService;
 
   private InventoryUpdateAsyncRecordHandler handler;
 
@@ -42,6 +61,8 @@ public class InventoryUpdateAsyncRecordHandlerTest {
       var holdingHandler = new HoldingUpdateAsyncRecordHandler(vertx, context);
       handler = spy(holdingHandler);
       TestUtils.setInternalState(handler, "consortiumConfigurationService", consortiumConfigurationService);
+      TestUtils.setInternalState(handler, "inventoryEventFilterService", inventoryEventFilterService);
+      TestUtils.setInternalState(handler, "inventoryEventCoalescingService", inventoryEventCoalescingService);
     }
   }
 
@@ -56,6 +77,93 @@ public class InventoryUpdateAsyncRecordHandlerTest {
     verify(handler, times(1)).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
   }
 
+  @Test
+  void positive_shouldIgnoreProcessInventoryUpdateEventUnrelatedToOrders() {
+    var resourceEvent = createDefaultUpdateResourceEvent(DIKU_TENANT);
+    var kafkaRecord = createKafkaRecord(resourceEvent, DIKU_TENANT);
+    doReturn(true).when(inventoryEventFilterService).isEnabled();
+    doReturn(true).when(inventoryEventFilterService).isUnrelated(eq(DIKU_TENANT), any(), anyLong());
+
+    var result = handler.handle(kafkaRecord);
+    assertTrue(result.succeeded());
+    verify(handler, times(0)).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
+  }
+
+  @Test
+  void positive_shouldProcessInventoryUpdateEventOfPoLineBatchEvenIfUnrelatedToOrders() {
+    var newValue = JsonObject.of(ID, UUID.randomUUID().toString(), PURCHASE_ORDER_LINE_IDENTIFIER.getValue(), UUID.randomUUID().toString());
+    var resourceEvent = createDefaultUpdateResourceEvent(DIKU_TENANT, new JsonObject(), newValue);
+    var kafkaRecord = createKafkaRecord(resourceEvent, DIKU_TENANT);
+    doReturn(true).when(inventoryEventFilterService).isEnabled();
+    doReturn(true).when(inventoryEventFilterService).isUnrelated(eq(DIKU_TENANT), any(), anyLong());
+    doReturn(Future.succeededFuture()).when(handler).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
+
+    var result = handler.handle(kafkaRecord);
+    assertTrue(result.succeeded());
+    verify(handler, times(1)).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
+  }
+
+  @Test
+  void positive_shouldCoalesceInventoryUpdateEventsOfSameEntity() throws Exception {
+    var holdingId = UUID.randomUUID().toString();
+    var firstEvent = createDefaultUpdateResourceEvent(DIKU_TENANT,
+      JsonObject.of(ID, holdingId, HRID, "first"), JsonObject.of(ID, holdingId, HRID, "second"));
+    var latestEvent = createDefaultUpdateResourceEvent(DIKU_TENANT,
+      JsonObject.of(ID, holdingId, HRID, "second"), JsonObject.of(ID, holdingId, HRID, "latest"));
+    doReturn(true).when(inventoryEventCoalescingService).isEnabled();
+    doReturn(100L).when(inventoryEventCoalescingService).getWindowMs();
+    doReturn(Future.succeededFuture()).when(handler).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
+
+    Future.all(handler.handle(createKafkaRecord(firstEvent, DIKU_TENANT)), handler.handle(createKafkaRecord(latestEvent, DIKU_TENANT)))
+      .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+    var eventCaptor = ArgumentCaptor.forClass(ResourceEvent.class);
+    verify(handler, times(1)).processInventoryUpdateEvent(eventCaptor.capture(), anyMap());
+    assertEquals("first", JsonObject.mapFrom(eventCaptor.getValue().getOldValue()).getString(HRID));
+    assertEquals("latest", JsonObject.mapFrom(eventCaptor.getValue().getNewValue()).getString(HRID));
+    verify(inventoryEventCoalescingService).recordCoalesced(DIKU_TENANT + ":" + holdingId, 2);
+  }
+
+  @Test
+  void positive_shouldNotCoalesceInventoryUpdateEventsOfPoLineBatch() throws Exception {
+    var itemId = UUID.randomUUID().toString();
+    var poLineId = UUID.randomUUID().toString();
+    var firstEvent = createDefaultUpdateResourceEvent(DIKU_TENANT, JsonObject.of(ID, itemId, HRID, "first"),
+      JsonObject.of(ID, itemId, HRID, "second", PURCHASE_ORDER_LINE_IDENTIFIER.getValue(), poLineId));
+    var latestEvent = createDefaultUpdateResourceEvent(DIKU_TENANT, JsonObject.of(ID, itemId, HRID, "second"),
+      JsonObject.of(ID, itemId, HRID, "latest", PURCHASE_ORDER_LINE_IDENTIFIER.getValue(), poLineId));
+    doReturn(true).when(inventoryEventCoalescingService).isEnabled();
+    doReturn(100L).when(inventoryEventCoalescingService).getWindowMs();
+    doReturn(Future.succeededFuture()).when(handler).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
+
+    Future.all(handler.handle(createKafkaRecord(firstEvent, DIKU_TENANT)), handler.handle(createKafkaRecord(latestEvent, DIKU_TENANT)))
+      .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+    verify(handler, times(2)).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
+    verify(inventoryEventCoalescingService, never()).recordCoalesced(anyString(), anyInt());
+  }
+
+  @Test
+  void positive_shouldCountAppliedAndDroppedCoalescedEvents() throws Exception {
+    var coalescingService = new InventoryEventCoalescingService();
+    TestUtils.setInternalState(coalescingService, "windowMs", 100L);
+    TestUtils.setInternalState(handler, "inventoryEventCoalescingService", coalescingService);
+    var holdingId = UUID.randomUUID().toString();
+    var otherHoldingId = UUID.randomUUID().toString();
+    doReturn(Future.succeededFuture()).when(handler).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
+
+    Future.all(
+        handler.handle(createKafkaRecord(createDefaultUpdateResourceEvent(DIKU_TENANT, JsonObject.of(ID, holdingId), JsonObject.of(ID, holdingId, HRID, "1")), DIKU_TENANT)),
+        handler.handle(createKafkaRecord(createDefaultUpdateResourceEvent(DIKU_TENANT, JsonObject.of(ID, holdingId), JsonObject.of(ID, holdingId, HRID, "2")), DIKU_TENANT)),
+        handler.handle(createKafkaRecord(createDefaultUpdateResourceEvent(DIKU_TENANT, JsonObject.of(ID, holdingId), JsonObject.of(ID, holdingId, HRID, "3")), DIKU_TENANT)),
+        handler.handle(createKafkaRecord(createDefaultUpdateResourceEvent(DIKU_TENANT, JsonObject.of(ID, otherHoldingId), JsonObject.of(ID, otherHoldingId, HRID, "1")), DIKU_TENANT)))
+      .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+    verify(handler, times(2)).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
+    assertEquals(2, coalescingService.getAppliedCount());
+    assertEquals(2, coalescingService.getDroppedCount());
+  }
+
   @Test
   void positive_shouldIgnoreProcessInventoryUpdateEventInvalidEventType() {
     var resourceEvent = ResourceEvent.builder()
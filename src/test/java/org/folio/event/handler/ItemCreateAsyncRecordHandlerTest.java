@@ -36,6 +36,7 @@ import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
@@ -160,18 +161,21 @@ public class ItemCreateAsyncRecordHandlerTest {
     // PoLines & Pieces
     var pieces = List.of(piece1, piece2, piece4);
     var poLines = List.of(poLine1, poLine2);
+    var originalPoLines = List.of(
+      createPoLine(poLineId1, List.of(piece1, piece2, piece3), List.of(effectiveLocationId1)),
+      createPoLine(poLineId2, List.of(piece4), List.of(effectiveLocationId1)));
     var affectedPieces = List.of(affectedPiece1, affectedPiece2, affectedPiece4);
     var affectedPoLines = List.of(affectedPoLine1, affectedPoLine2);
     var affectedWrappedPieces = AuditEntityWrapper.listOf(affectedPieces, pieces, Piece::getId);
-    var affectedWrappedPoLines = AuditEntityWrapper.listOf(affectedPoLines, poLines, PoLine::getId);
+    var affectedWrappedPoLines = AuditEntityWrapper.listOf(affectedPoLines, originalPoLines, PoLine::getId);
 
     // Update Pieces
     doReturn(Future.succeededFuture(pieces)).when(pieceService).getPiecesByItemId(eq(itemId1), eq(conn));
     doReturn(Future.succeededFuture(affectedWrappedPieces)).when(pieceService).updatePiecesInventoryData(eq(pieces), eq(conn), eq(CENTRAL_TENANT));
     doReturn(Future.succeededFuture(true)).when(auditOutboxService).savePiecesOutboxLog(eq(conn), anyList(), any(), anyMap());
     // Update PoLines
-    doReturn(Future.succeededFuture(List.of(affectedPiece1, affectedPiece2, unaffectedPiece3))).when(pieceService).getPiecesByPoLineId(eq(poLineId1), eq(conn));
-    doReturn(Future.succeededFuture(List.of(affectedPiece4))).when(pieceService).getPiecesByPoLineId(eq(poLineId2), eq(conn));
+    doReturn(Future.succeededFuture(Map.of(poLineId1, affectedPoLine1.getLocations(), poLineId2, affectedPoLine2.getLocations())))
+      .when(pieceService).getPieceLocationsByPoLineIds(eq(List.of(poLineId1, poLineId2)), eq(CENTRAL_TENANT), eq(conn));
     doReturn(Future.succeededFuture(poLines)).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLine1.getId(), poLine2.getId())), eq(CENTRAL_TENANT), eq(conn));
     doReturn(Future.succeededFuture(affectedPoLines.size())).when(poLinesService).updatePoLines(eq(poLines), eq(conn), eq(CENTRAL_TENANT), any());
     doReturn(Future.succeededFuture(true)).when(auditOutboxService).saveOrderLinesOutboxLogs(eq(conn), anyList(), any(), anyMap());
@@ -185,9 +189,8 @@ public class ItemCreateAsyncRecordHandlerTest {
     verify(pieceService, times(1)).updatePiecesInventoryData(eq(affectedPieces), eq(conn), eq(CENTRAL_TENANT));
     verify(auditOutboxService, times(1)).savePiecesOutboxLog(any(Conn.class), eq(affectedWrappedPieces), eq(PieceAuditEvent.Action.EDIT), anyMap());
     // Update PoLines
-    verify(pieceService, times(1)).getPiecesByPoLineId(eq(poLineId1), eq(conn));
-    verify(pieceService, times(1)).getPiecesByPoLineId(eq(poLineId2), eq(conn));
-    verify(poLinesService, times(2)).getPoLinesByIdsForUpdate(eq(List.of(poLine1.getId(), poLine2.getId())), eq(CENTRAL_TENANT), eq(conn));
+    verify(pieceService, times(1)).getPieceLocationsByPoLineIds(eq(List.of(poLineId1, poLineId2)), eq(CENTRAL_TENANT), eq(conn));
+    verify(poLinesService, times(1)).getPoLinesByIdsForUpdate(eq(List.of(poLine1.getId(), poLine2.getId())), eq(CENTRAL_TENANT), eq(conn));
     verify(poLinesService, times(1)).updatePoLines(eq(affectedPoLines), eq(conn), eq(CENTRAL_TENANT), any());
     verify(auditOutboxService, times(1)).saveOrderLinesOutboxLogs(any(Conn.class), eq(affectedWrappedPoLines), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
 
@@ -241,18 +244,21 @@ public class ItemCreateAsyncRecordHandlerTest {
     // PoLines & Pieces
     var pieces = List.of(piece1, piece2, piece4);
     var poLines = List.of(poLine1, poLine2);
+    var originalPoLines = List.of(
+      createPoLine(poLineId1, List.of(piece1, piece2, piece3), List.of(effectiveLocationId1)),
+      createPoLine(poLineId2, List.of(piece4), List.of(effectiveLocationId1)));
     var affectedPieces = List.of(affectedPiece1, affectedPiece2, affectedPiece4);
     var affectedPoLines = List.of(affectedPoLine1, affectedPoLine2);
     var affectedWrappedPieces = AuditEntityWrapper.listOf(affectedPieces, pieces, Piece::getId);
-    var affectedWrappedPoLines = AuditEntityWrapper.listOf(affectedPoLines, poLines, PoLine::getId);
+    var affectedWrappedPoLines = AuditEntityWrapper.listOf(affectedPoLines, originalPoLines, PoLine::getId);
 
     // Update Pieces
     doReturn(Future.succeededFuture(pieces)).when(pieceService).getPiecesByItemId(eq(itemId1), eq(conn));
     doReturn(Future.succeededFuture(affectedWrappedPieces)).when(pieceService).updatePiecesInventoryData(eq(pieces), eq(conn), eq(CENTRAL_TENANT));
     doReturn(Future.succeededFuture(true)).when(auditOutboxService).savePiecesOutboxLog(eq(conn), anyList(), any(), anyMap());
     // Update PoLines
-    doReturn(Future.succeededFuture(List.of(affectedPiece1, affectedPiece2, unaffectedPiece3))).when(pieceService).getPiecesByPoLineId(eq(poLineId1), eq(conn));
-    doReturn(Future.succeededFuture(List.of(affectedPiece4))).when(pieceService).getPiecesByPoLineId(eq(poLineId2), eq(conn));
+    doReturn(Future.succeededFuture(Map.of(poLineId1, affectedPoLine1.getLocations(), poLineId2, affectedPoLine2.getLocations())))
+      .when(pieceService).getPieceLocationsByPoLineIds(eq(List.of(poLineId1, poLineId2)), eq(CENTRAL_TENANT), eq(conn));
     doReturn(Future.succeededFuture(poLines)).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLine1.getId(), poLine2.getId())), eq(CENTRAL_TENANT), eq(conn));
     doReturn(Future.succeededFuture(affectedPoLines.size())).when(poLinesService).updatePoLines(eq(poLines), eq(conn), eq(CENTRAL_TENANT), any());
     doReturn(Future.succeededFuture(true)).when(auditOutboxService).saveOrderLinesOutboxLogs(eq(conn), anyList(), any(), anyMap());
@@ -266,9 +272,8 @@ public class ItemCreateAsyncRecordHandlerTest {
     verify(pieceService, times(1)).updatePiecesInventoryData(eq(affectedPieces), eq(conn), eq(CENTRAL_TENANT));
     verify(auditOutboxService, times(1)).savePiecesOutboxLog(any(Conn.class), eq(affectedWrappedPieces), eq(PieceAuditEvent.Action.EDIT), anyMap());
     // Update PoLines
-    verify(pieceService, times(1)).getPiecesByPoLineId(eq(poLineId1), eq(conn));
-    verify(pieceService, times(1)).getPiecesByPoLineId(eq(poLineId2), eq(conn));
-    verify(poLinesService, times(2)).getPoLinesByIdsForUpdate(eq(List.of(poLine1.getId(), poLine2.getId())), eq(CENTRAL_TENANT), eq(conn));
+    verify(pieceService, times(1)).getPieceLocationsByPoLineIds(eq(List.of(poLineId1, poLineId2)), eq(CENTRAL_TENANT), eq(conn));
+    verify(poLinesService, times(1)).getPoLinesByIdsForUpdate(eq(List.of(poLine1.getId(), poLine2.getId())), eq(CENTRAL_TENANT), eq(conn));
     verify(poLinesService, times(1)).updatePoLines(eq(affectedPoLines), eq(conn), eq(CENTRAL_TENANT), any());
     verify(auditOutboxService, times(1)).saveOrderLinesOutboxLogs(any(Conn.class), eq(affectedWrappedPoLines), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
 
@@ -333,8 +338,8 @@ public class ItemCreateAsyncRecordHandlerTest {
     doReturn(Future.succeededFuture(affectedWrappedPieces)).when(pieceService).updatePiecesInventoryData(eq(pieces), eq(conn), eq(CENTRAL_TENANT));
     doReturn(Future.succeededFuture(true)).when(auditOutboxService).savePiecesOutboxLog(eq(conn), anyList(), any(), anyMap());
     // Update PoLines
-    doReturn(Future.succeededFuture(List.of(affectedPiece1, affectedPiece2, unaffectedPiece3))).when(pieceService).getPiecesByPoLineId(eq(poLineId1), eq(conn));
-    doReturn(Future.succeededFuture(List.of(affectedPiece4))).when(pieceService).getPiecesByPoLineId(eq(poLineId2), eq(conn));
+    doReturn(Future.succeededFuture(Map.of(poLineId1, affectedPoLine1.getLocations(), poLineId2, affectedPoLine2.getLocations())))
+      .when(pieceService).getPieceLocationsByPoLineIds(eq(List.of(poLineId1, poLineId2)), eq(CENTRAL_TENANT), eq(conn));
     doReturn(Future.succeededFuture(poLines)).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLine1.getId(), poLine2.getId())), eq(CENTRAL_TENANT), eq(conn));
     doReturn(Future.succeededFuture(affectedPoLines.size())).when(poLinesService).updatePoLines(eq(poLines), eq(conn), eq(CENTRAL_TENANT), any());
     doReturn(Future.succeededFuture(true)).when(auditOutboxService).saveOrderLinesOutboxLogs(eq(conn), anyList(), any(), anyMap());
@@ -348,8 +353,7 @@ public class ItemCreateAsyncRecordHandlerTest {
     verify(pieceService, times(1)).updatePiecesInventoryData(eq(affectedPieces), eq(conn), eq(CENTRAL_TENANT));
     verify(auditOutboxService, times(1)).savePiecesOutboxLog(any(Conn.class), eq(affectedWrappedPieces), eq(PieceAuditEvent.Action.EDIT), anyMap());
     // Update PoLines
-    verify(pieceService, times(1)).getPiecesByPoLineId(eq(poLineId1), eq(conn));
-    verify(pieceService, times(1)).getPiecesByPoLineId(eq(poLineId2), eq(conn));
+    verify(pieceService, times(1)).getPieceLocationsByPoLineIds(eq(List.of(poLineId1, poLineId2)), eq(CENTRAL_TENANT), eq(conn));
     verify(poLinesService, times(1)).getPoLinesByIdsForUpdate(eq(List.of(poLine1.getId(), poLine2.getId())), eq(CENTRAL_TENANT), eq(conn));
     verify(poLinesService, never()).updatePoLines(eq(affectedPoLines), eq(conn), eq(CENTRAL_TENANT), any());
     verify(auditOutboxService, never()).saveOrderLinesOutboxLogs(any(Conn.class), eq(affectedWrappedPoLines), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
@@ -386,7 +390,7 @@ public class ItemCreateAsyncRecordHandlerTest {
 
     doReturn(Future.succeededFuture(pieces)).when(pieceService).getPiecesByItemId(eq(itemId1), eq(conn));
     doReturn(Future.succeededFuture(List.of(poLine1))).when(pieceService).updatePiecesInventoryData(eq(pieces), eq(conn), eq(CENTRAL_TENANT));
-    doReturn(Future.succeededFuture(List.of(piece1))).when(pieceService).getPiecesByPoLineId(eq(poLineId1), eq(conn));
+    doReturn(Future.succeededFuture(Map.of(poLineId1, poLine1.getLocations()))).when(pieceService).getPieceLocationsByPoLineIds(eq(List.of(poLineId1)), eq(CENTRAL_TENANT), eq(conn));
     doReturn(Future.succeededFuture(poLines)).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLine1.getId())), eq(CENTRAL_TENANT), eq(conn));
     doReturn(Future.succeededFuture(poLines.size())).when(poLinesService).updatePoLines(eq(poLines), eq(conn), eq(CENTRAL_TENANT), any());
 
@@ -399,8 +403,7 @@ public class ItemCreateAsyncRecordHandlerTest {
     verify(pieceService, never()).updatePiecesInventoryData(eq(pieces), eq(conn), eq(CENTRAL_TENANT));
     verify(auditOutboxService, never()).savePiecesOutboxLog(any(Conn.class), anyList(), eq(PieceAuditEvent.Action.EDIT), anyMap());
     // Update PoLines
-    verify(pieceService, never()).getPiecesByPoLineId(any(), eq(conn));
-    verify(pieceService, never()).getPiecesByPoLineId(any(), eq(conn));
+    verify(pieceService, never()).getPieceLocationsByPoLineIds(any(), any(), eq(conn));
     verify(poLinesService, never()).getPoLinesByIdsForUpdate(any(), eq(CENTRAL_TENANT), eq(conn));
     verify(poLinesService, never()).updatePoLines(any(), eq(conn), eq(CENTRAL_TENANT), any());
     verify(auditOutboxService, never()).saveOrderLinesOutboxLogs(any(Conn.class), anyList(), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
@@ -426,8 +429,7 @@ public class ItemCreateAsyncRecordHandlerTest {
     verify(pieceService, never()).updatePiecesInventoryData(anyList(), eq(conn), eq(CENTRAL_TENANT));
     verify(auditOutboxService, never()).savePiecesOutboxLog(any(Conn.class), anyList(), eq(PieceAuditEvent.Action.EDIT), anyMap());
     // Update PoLines
-    verify(pieceService, never()).getPiecesByPoLineId(any(), eq(conn));
-    verify(pieceService, never()).getPiecesByPoLineId(any(), eq(conn));
+    verify(pieceService, never()).getPieceLocationsByPoLineIds(any(), any(), eq(conn));
     verify(poLinesService, never()).getPoLinesByIdsForUpdate(any(), eq(CENTRAL_TENANT), eq(conn));
     verify(poLinesService, never()).updatePoLines(any(), eq(conn), eq(CENTRAL_TENANT), any());
     verify(auditOutboxService, never()).saveOrderLinesOutboxLogs(any(Conn.class), anyList(), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
@@ -545,8 +547,8 @@ public class ItemCreateAsyncRecordHandlerTest {
     var affectedWrappedPoLines = AuditEntityWrapper.listOf(affectedPoLines, List.of(poLine1, poLine2), PoLine::getId);
 
     doReturn(Future.succeededFuture(List.of(poLine1, poLine2))).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLineId1, poLineId2)), eq(CENTRAL_TENANT), eq(conn));
-    doReturn(Future.succeededFuture(List.of(affectedPiece1, piece2))).when(pieceService).getPiecesByPoLineId(poLineId1, conn);
-    doReturn(Future.succeededFuture(List.of(affectedPiece3, piece4))).when(pieceService).getPiecesByPoLineId(poLineId2, conn);
+    doReturn(Future.succeededFuture(Map.of(poLineId1, affectedPoLine1.getLocations(), poLineId2, affectedPoLine2.getLocations())))
+      .when(pieceService).getPieceLocationsByPoLineIds(eq(List.of(poLineId1, poLineId2)), eq(CENTRAL_TENANT), eq(conn));
     doReturn(Future.succeededFuture(affectedWrappedPieces)).when(pieceService).updatePiecesInventoryData(anyList(), eq(conn), eq(CENTRAL_TENANT));
     doReturn(Future.succeededFuture(batchTracking.withProcessedCount(1))).when(batchTrackingService).increaseBatchTrackingProgress(conn, batchId, CENTRAL_TENANT);
 
@@ -577,10 +579,13 @@ public class ItemCreateAsyncRecordHandlerTest {
       createPoLine(poLineId2, List.of(affectedPiece3, affectedPiece4), List.of(effectiveLocationId1, effectiveLocationId2))
     );
     affectedWrappedPieces = AuditEntityWrapper.listOf(affectedPieces, List.of(piece2, piece4), Piece::getId);
-    affectedWrappedPoLines = AuditEntityWrapper.listOf(affectedPoLines, List.of(affectedPoLine1, affectedPoLine2), PoLine::getId);
+    var originalPoLines = List.of(
+      createPoLine(poLineId1, List.of(affectedPiece1, piece2), List.of(effectiveLocationId1, effectiveLocationId2)),
+      createPoLine(poLineId2, List.of(affectedPiece3, piece4), List.of(effectiveLocationId1, effectiveLocationId2)));
+    affectedWrappedPoLines = AuditEntityWrapper.listOf(affectedPoLines, originalPoLines, PoLine::getId);
 
-    doReturn(Future.succeededFuture(List.of(affectedPiece1, affectedPiece2))).when(pieceService).getPiecesByPoLineId(poLineId1, conn);
-    doReturn(Future.succeededFuture(List.of(affectedPiece3, affectedPiece4))).when(pieceService).getPiecesByPoLineId(poLineId2, conn);
+    doReturn(Future.succeededFuture(Map.of(poLineId1, affectedPoLines.get(0).getLocations(), poLineId2, affectedPoLines.get(1).getLocations())))
+      .when(pieceService).getPieceLocationsByPoLineIds(eq(List.of(poLineId1, poLineId2)), eq(CENTRAL_TENANT), eq(conn));
     doReturn(Future.succeededFuture(affectedWrappedPieces)).when(pieceService).updatePiecesInventoryData(anyList(), eq(conn), eq(CENTRAL_TENANT));
     doReturn(Future.succeededFuture(batchTracking.withProcessedCount(2))).when(batchTrackingService).increaseBatchTrackingProgress(conn, batchId, CENTRAL_TENANT);
     doReturn(Future.succeededFuture(batchTracking.withProcessedCount(2))).when(batchTrackingService).deleteBatchTracking(conn, batchId);
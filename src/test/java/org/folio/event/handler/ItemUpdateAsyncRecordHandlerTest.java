@@ -29,8 +29,11 @@ import static org.mockito.Mockito.verifyNoInteractions;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -55,6 +58,8 @@ import org.folio.rest.persist.DBClient;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.services.batch.BatchTrackingService;
 import org.folio.services.consortium.ConsortiumConfigurationService;
+import org.folio.services.inventory.InventoryEventCoalescingService;
+import org.folio.services.inventory.InventoryEventFilterService;
 import org.folio.services.inventory.OrderLineLocationUpdateService;
 import org.folio.services.lines.PoLinesService;
 import org.folio.services.piece.PieceService;
@@ -90,6 +95,10 @@ public class ItemUpdateAsyncRecordHandlerTest {
   @Mock
   private ConsortiumConfigurationService consortiumConfigurationService;
   @Mock
+  private InventoryEventFilterService inventoryEventFilterService;
+  @Mock
+  private InventoryEventCoalescingService inventoryEventCoalescingService;
+  @Mock
   private SettingService settingService;
   @InjectMocks
   private OrderLineLocationUpdateService orderLineLocationUpdateService;
@@ -106,6 +115,8 @@ public class ItemUpdateAsyncRecordHandlerTest {
       TestUtils.setInternalState(itemHandler, "batchTrackingService", batchTrackingService);
       TestUtils.setInternalState(itemHandler, "auditOutboxService", auditOutboxService);
       TestUtils.setInternalState(itemHandler, "consortiumConfigurationService", consortiumConfigurationService);
+      TestUtils.setInternalState(itemHandler, "inventoryEventFilterService", inventoryEventFilterService);
+      TestUtils.setInternalState(itemHandler, "inventoryEventCoalescingService", inventoryEventCoalescingService);
       handler = spy(itemHandler);
       doReturn(Future.succeededFuture(Optional.of(new Setting().withValue("true"))))
         .when(settingService).getSettingByKey(eq(SettingKey.CENTRAL_ORDERING_ENABLED), any(), any());
@@ -139,7 +150,8 @@ public class ItemUpdateAsyncRecordHandlerTest {
 
     var poLine = createPoLine(poLineId, holdingId1, effectiveLocationId1).withCheckinItems(checkinItems);
     var expectedPoLine = createPoLine(poLineId, holdingId2, effectiveLocationId1, effectiveLocationId2);
-    List<AuditEntityWrapper<PoLine>> expectedPoLineOutboxLogs = checkinItems ? List.of() : List.of(AuditEntityWrapper.of(expectedPoLine, poLine));
+    var originalPoLine = createPoLine(poLineId, holdingId1, effectiveLocationId1).withCheckinItems(checkinItems);
+    List<AuditEntityWrapper<PoLine>> expectedPoLineOutboxLogs = checkinItems ? List.of() : List.of(AuditEntityWrapper.of(expectedPoLine, originalPoLine));
 
     var actualPieces = List.of(
       createPiece(pieceId1, itemId, holdingId1, null).withPoLineId(poLineId),
@@ -152,7 +164,7 @@ public class ItemUpdateAsyncRecordHandlerTest {
 
     doReturn(Future.succeededFuture(true)).when(pieceService).getPiecesByItemIdExist(eq(itemId), eq(DIKU_TENANT), any(Conn.class));
     doReturn(Future.succeededFuture(actualPieces)).when(pieceService).getPiecesByItemId(eq(itemId), any(Conn.class));
-    doReturn(Future.succeededFuture(actualPieces)).when(pieceService).getPiecesByPoLineId(eq(poLineId), any(Conn.class));
+    doReturn(Future.succeededFuture(Map.of(poLineId, expectedPoLine.getLocations()))).when(pieceService).getPieceLocationsByPoLineIds(eq(List.of(poLineId)), eq(DIKU_TENANT), any(Conn.class));
     doReturn(Future.succeededFuture(expectedWrappedPieces)).when(pieceService).updatePiecesInventoryData(eq(expectedPieces), any(Conn.class), eq(DIKU_TENANT));
     doReturn(Future.succeededFuture(List.of(poLine))).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLineId)), eq(DIKU_TENANT), any(Conn.class));
     doReturn(Future.succeededFuture(1)).when(poLinesService).updatePoLines(eq(List.of(expectedPoLine)), any(Conn.class), eq(DIKU_TENANT), anyMap());
@@ -164,8 +176,8 @@ public class ItemUpdateAsyncRecordHandlerTest {
     verify(handler).processInventoryUpdateEvent(any(ResourceEvent.class), anyMap());
     verify(pieceService).getPiecesByItemId(eq(itemId), any(Conn.class));
     verify(pieceService).updatePiecesInventoryData(eq(expectedPieces), any(Conn.class), eq(DIKU_TENANT));
-    verify(poLinesService, times(checkinItems ? 1 : 2)).getPoLinesByIdsForUpdate(eq(List.of(poLineId)), eq(DIKU_TENANT), any(Conn.class));
-    verify(pieceService, times(checkinItems ? 0 : 1)).getPiecesByPoLineId(eq(poLineId), any(Conn.class));
+    verify(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLineId)), eq(DIKU_TENANT), any(Conn.class));
+    verify(pieceService, times(checkinItems ? 0 : 1)).getPieceLocationsByPoLineIds(eq(List.of(poLineId)), eq(DIKU_TENANT), any(Conn.class));
     verify(poLinesService, times(checkinItems ? 0 : 1)).updatePoLines(eq(List.of(expectedPoLine)), any(Conn.class), eq(DIKU_TENANT), anyMap());
     verify(auditOutboxService).saveOrderLinesOutboxLogs(any(Conn.class), eq(expectedPoLineOutboxLogs), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
   }
@@ -290,7 +302,8 @@ public class ItemUpdateAsyncRecordHandlerTest {
     var expectedWrappedPieces = List.of(AuditEntityWrapper.of(expectedPiece1, piece1));
 
     doReturn(Future.succeededFuture(List.of(poLine))).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLineId)), eq(DIKU_TENANT), any(Conn.class));
-    doReturn(Future.succeededFuture(List.of(expectedPiece1, piece2))).when(pieceService).getPiecesByPoLineId(eq(poLineId), any(Conn.class));
+    doReturn(Future.succeededFuture(Map.of(poLineId, createPoLine(poLineId, List.of(holdingId1, holdingId2)).getLocations())))
+      .when(pieceService).getPieceLocationsByPoLineIds(eq(List.of(poLineId)), eq(DIKU_TENANT), any(Conn.class));
     doReturn(Future.succeededFuture(expectedWrappedPieces)).when(pieceService).updatePiecesInventoryData(eq(List.of(expectedPiece1)), any(Conn.class), eq(DIKU_TENANT));
     doReturn(Future.succeededFuture(batchTracking.withProcessedCount(1))).when(batchTrackingService).increaseBatchTrackingProgress(conn, poLineId, DIKU_TENANT);
 
@@ -310,7 +323,8 @@ public class ItemUpdateAsyncRecordHandlerTest {
     expectedWrappedPieces = List.of(AuditEntityWrapper.of(expectedPiece2, piece2));
 
     doReturn(Future.succeededFuture(List.of(expectedPoLine))).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLineId)), eq(DIKU_TENANT), any(Conn.class));
-    doReturn(Future.succeededFuture(List.of(expectedPiece1, expectedPiece2))).when(pieceService).getPiecesByPoLineId(eq(poLineId), any(Conn.class));
+    doReturn(Future.succeededFuture(Map.of(poLineId, createPoLine(poLineId, List.of(holdingId2, holdingId2)).getLocations())))
+      .when(pieceService).getPieceLocationsByPoLineIds(eq(List.of(poLineId)), eq(DIKU_TENANT), any(Conn.class));
     doReturn(Future.succeededFuture(expectedWrappedPieces)).when(pieceService).updatePiecesInventoryData(eq(List.of(expectedPiece2)), any(Conn.class), eq(DIKU_TENANT));
     doReturn(Future.succeededFuture(batchTracking.withProcessedCount(2))).when(batchTrackingService).increaseBatchTrackingProgress(conn, poLineId, DIKU_TENANT);
 
@@ -321,11 +335,126 @@ public class ItemUpdateAsyncRecordHandlerTest {
     verify(pieceService).getPiecesByItemId(eq(itemId2), any(Conn.class));
     verify(pieceService).updatePiecesInventoryData(eq(List.of(expectedPiece2)), any(Conn.class), eq(DIKU_TENANT));
     verify(poLinesService).updatePoLines(eq(List.of(expectedUpdatedPoLine)), any(Conn.class), eq(DIKU_TENANT), anyMap());
-    verify(auditOutboxService).saveOrderLinesOutboxLogs(any(Conn.class), eq(List.of(AuditEntityWrapper.of(expectedUpdatedPoLine, expectedPoLine))), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
+    var originalUpdatedPoLine = createPoLine(poLineId, List.of(holdingId1, holdingId2), effectiveLocationId1, effectiveLocationId2);
+    verify(auditOutboxService).saveOrderLinesOutboxLogs(any(Conn.class), eq(List.of(AuditEntityWrapper.of(expectedUpdatedPoLine, originalUpdatedPoLine))), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
+    verify(batchTrackingService, times(2)).increaseBatchTrackingProgress(conn, poLineId, DIKU_TENANT);
+    verify(batchTrackingService).deleteBatchTracking(conn, poLineId);
+  }
+
+  @Test
+  void positive_shouldProcessItemUpdateEventsInMicroBatch() throws Exception {
+    TestUtils.setInternalState(handler, "microBatchEnabled", true);
+    TestUtils.setInternalState(handler, "microBatchMaxSize", 2);
+    TestUtils.setInternalState(handler, "microBatchLingerMs", 60000L);
+    doAnswer(invocation -> invocation.<Function<Conn, Future<?>>>getArgument(0).apply(conn)).when(pgClient).withConn(any());
+
+    var poLineId = UUID.randomUUID().toString();
+    var pieceId1 = UUID.randomUUID().toString();
+    var pieceId2 = UUID.randomUUID().toString();
+    var effectiveLocationId1 = UUID.randomUUID().toString();
+    var effectiveLocationId2 = UUID.randomUUID().toString();
+    var itemId1 = UUID.randomUUID().toString();
+    var itemId2 = UUID.randomUUID().toString();
+    var holdingId1 = UUID.randomUUID().toString();
+    var holdingId2 = UUID.randomUUID().toString();
+    var oldItem1Value = createItem(itemId1, holdingId1).put(EFFECTIVE_LOCATION_ID.getValue(), effectiveLocationId1).put(PURCHASE_ORDER_LINE_IDENTIFIER.getValue(), poLineId);
+    var newItem1Value = createItem(itemId1, holdingId2).put(EFFECTIVE_LOCATION_ID.getValue(), effectiveLocationId2).put(PURCHASE_ORDER_LINE_IDENTIFIER.getValue(), poLineId);
+    var oldItem2Value = createItem(itemId2, holdingId1).put(EFFECTIVE_LOCATION_ID.getValue(), effectiveLocationId1).put(PURCHASE_ORDER_LINE_IDENTIFIER.getValue(), poLineId);
+    var newItem2Value = createItem(itemId2, holdingId2).put(EFFECTIVE_LOCATION_ID.getValue(), effectiveLocationId2).put(PURCHASE_ORDER_LINE_IDENTIFIER.getValue(), poLineId);
+    var kafkaRecord1 = createKafkaRecordWithValues(oldItem1Value, newItem1Value);
+    var kafkaRecord2 = createKafkaRecordWithValues(oldItem2Value, newItem2Value);
+
+    var poLine = createPoLine(poLineId, List.of(holdingId1, holdingId1), effectiveLocationId1);
+    var pieces = List.of(
+      createPiece(pieceId1, itemId1, holdingId1, null).withPoLineId(poLineId),
+      createPiece(pieceId2, itemId2, holdingId1, null).withPoLineId(poLineId)
+    );
+    var expectedPiece1 = createPiece(pieceId1, itemId1, holdingId2, null).withPoLineId(poLineId);
+    var expectedPiece2 = createPiece(pieceId2, itemId2, holdingId2, null).withPoLineId(poLineId);
+
+    doReturn(Future.succeededFuture(Set.of(itemId1, itemId2))).when(pieceService).getItemIdsWithPieces(anyList(), eq(DIKU_TENANT), any(Conn.class));
+    doReturn(Future.succeededFuture(pieces)).when(pieceService).getPiecesByItemIds(eq(List.of(itemId1, itemId2)), eq(DIKU_TENANT), any(Conn.class));
+    doReturn(Future.succeededFuture(List.of())).when(pieceService).updatePiecesInventoryData(anyList(), any(Conn.class), eq(DIKU_TENANT));
+    doReturn(Future.succeededFuture(List.of(poLine))).when(poLinesService).getPoLinesByIdsForUpdate(eq(List.of(poLineId)), eq(DIKU_TENANT), any(Conn.class));
+    doReturn(Future.succeededFuture(Map.of(poLineId, createPoLine(poLineId, List.of(holdingId2, holdingId2)).getLocations())))
+      .when(pieceService).getPieceLocationsByPoLineIds(eq(List.of(poLineId)), eq(DIKU_TENANT), any(Conn.class));
+    doReturn(Future.succeededFuture(1)).when(poLinesService).updatePoLines(anyList(), any(Conn.class), eq(DIKU_TENANT), anyMap());
+    doReturn(Future.succeededFuture(true)).when(auditOutboxService).saveOrderLinesOutboxLogs(any(Conn.class), anyList(), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
+    doReturn(Future.succeededFuture(new BatchTracking().withId(poLineId).withTotalRecords(2).withProcessedCount(1)),
+      Future.succeededFuture(new BatchTracking().withId(poLineId).withTotalRecords(2).withProcessedCount(2)))
+      .when(batchTrackingService).increaseBatchTrackingProgress(conn, poLineId, DIKU_TENANT);
+    doReturn(Future.succeededFuture()).when(batchTrackingService).deleteBatchTracking(conn, poLineId);
+
+    Future.all(handler.handle(kafkaRecord1), handler.handle(kafkaRecord2))
+      .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+    // Same end state as the events processed one by one, with a single transaction and POL update
+    var expectedPoLine = createPoLine(poLineId, List.of(holdingId2, holdingId2), effectiveLocationId1, effectiveLocationId2);
+    var originalPoLine = createPoLine(poLineId, List.of(holdingId1, holdingId1), effectiveLocationId1);
+    verify(pgClient).withTrans(any());
+    verify(pieceService, never()).getPiecesByItemId(anyString(), any(Conn.class));
+    verify(pieceService).updatePiecesInventoryData(eq(List.of(expectedPiece1, expectedPiece2)), any(Conn.class), eq(DIKU_TENANT));
+    verify(auditOutboxService).savePiecesOutboxLog(any(Conn.class),
+      eq(List.of(AuditEntityWrapper.of(expectedPiece1, createPiece(pieceId1, itemId1, holdingId1, null).withPoLineId(poLineId)))), any(), anyMap());
+    verify(auditOutboxService).savePiecesOutboxLog(any(Conn.class),
+      eq(List.of(AuditEntityWrapper.of(expectedPiece2, createPiece(pieceId2, itemId2, holdingId1, null).withPoLineId(poLineId)))), any(), anyMap());
+    verify(poLinesService).updatePoLines(eq(List.of(expectedPoLine)), any(Conn.class), eq(DIKU_TENANT), anyMap());
+    verify(auditOutboxService).saveOrderLinesOutboxLogs(any(Conn.class), eq(List.of(AuditEntityWrapper.of(expectedPoLine, originalPoLine))), eq(OrderLineAuditEvent.Action.EDIT), anyMap());
     verify(batchTrackingService, times(2)).increaseBatchTrackingProgress(conn, poLineId, DIKU_TENANT);
     verify(batchTrackingService).deleteBatchTracking(conn, poLineId);
   }
 
+  @Test
+  void negative_shouldProcessItemUpdateEventsOneByOneWhenMicroBatchFails() throws Exception {
+    TestUtils.setInternalState(handler, "microBatchEnabled", true);
+    TestUtils.setInternalState(handler, "microBatchMaxSize", 2);
+    TestUtils.setInternalState(handler, "microBatchLingerMs", 60000L);
+    doAnswer(invocation -> invocation.<Function<Conn, Future<?>>>getArgument(0).apply(conn)).when(pgClient).withConn(any());
+
+    var poLineId = UUID.randomUUID().toString();
+    var pieceId1 = UUID.randomUUID().toString();
+    var pieceId2 = UUID.randomUUID().toString();
+    var itemId1 = UUID.randomUUID().toString();
+    var itemId2 = UUID.randomUUID().toString();
+    var holdingId1 = UUID.randomUUID().toString();
+    var holdingId2 = UUID.randomUUID().toString();
+    var kafkaRecord1 = createKafkaRecordWithValues(createItem(itemId1, holdingId1), createItem(itemId1, holdingId2));
+    var kafkaRecord2 = createKafkaRecordWithValues(createItem(itemId2, holdingId1), createItem(itemId2, holdingId2));
+
+    var pieces = List.of(
+      createPiece(pieceId1, itemId1, holdingId1, null).withPoLineId(poLineId),
+      createPiece(pieceId2, itemId2, holdingId1, null).withPoLineId(poLineId)
+    );
+    var expectedPiece1 = createPiece(pieceId1, itemId1, holdingId2, null).withPoLineId(poLineId);
+    var expectedPiece2 = createPiece(pieceId2, itemId2, holdingId2, null).withPoLineId(poLineId);
+
+    doReturn(Future.succeededFuture(Set.of(itemId1, itemId2))).when(pieceService).getItemIdsWithPieces(anyList(), eq(DIKU_TENANT), any(Conn.class));
+    doReturn(Future.succeededFuture(pieces)).when(pieceService).getPiecesByItemIds(eq(List.of(itemId1, itemId2)), eq(DIKU_TENANT), any(Conn.class));
+    doReturn(Future.failedFuture(new RuntimeException(PO_LINE_SAVE_FAILED_MSG)))
+      .when(pieceService).updatePiecesInventoryData(eq(List.of(expectedPiece1, expectedPiece2)), any(Conn.class), eq(DIKU_TENANT));
+    // Fallback: the first event is applied on its own, the second one fails on its own
+    doReturn(Future.succeededFuture(true)).when(pieceService).getPiecesByItemIdExist(anyString(), eq(DIKU_TENANT), any(Conn.class));
+    doReturn(Future.succeededFuture(List.of(createPiece(pieceId1, itemId1, holdingId1, null).withPoLineId(poLineId))))
+      .when(pieceService).getPiecesByItemId(eq(itemId1), any(Conn.class));
+    doReturn(Future.succeededFuture(List.of()))
+      .when(pieceService).updatePiecesInventoryData(eq(List.of(expectedPiece1)), any(Conn.class), eq(DIKU_TENANT));
+    doReturn(Future.failedFuture(new RuntimeException(PO_LINE_SAVE_FAILED_MSG))).when(pieceService).getPiecesByItemId(eq(itemId2), any(Conn.class));
+
+    var result1 = handler.handle(kafkaRecord1);
+    var result2 = handler.handle(kafkaRecord2);
+    Future.join(result1, result2).otherwiseEmpty()
+      .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+    assertTrue(result1.succeeded());
+    assertTrue(result2.failed());
+    assertEquals(PO_LINE_SAVE_FAILED_MSG, result2.cause().getMessage());
+    verify(pgClient, times(3)).withTrans(any());
+    verify(pieceService).updatePiecesInventoryData(eq(List.of(expectedPiece1, expectedPiece2)), any(Conn.class), eq(DIKU_TENANT));
+    verify(pieceService).updatePiecesInventoryData(eq(List.of(expectedPiece1)), any(Conn.class), eq(DIKU_TENANT));
+    verify(pieceService).getPiecesByItemId(eq(itemId2), any(Conn.class));
+    verify(poLinesService, never()).updatePoLines(anyList(), any(Conn.class), anyString(), anyMap());
+  }
+
   private static PoLine createPoLine(String poLineId, String holdingId, String... effectiveLocationIds) {
     return createPoLine(poLineId, List.of(holdingId), effectiveLocationIds);
   }
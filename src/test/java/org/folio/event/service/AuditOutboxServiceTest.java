@@ -1,30 +1,52 @@
 package org.folio.event.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
+import org.apache.commons.lang3.reflect.FieldUtils;
 import org.folio.CopilotGenerated;
 import org.folio.dao.PostgresClientFactory;
 import org.folio.dao.audit.AuditOutboxEventsLogRepository;
+import org.folio.event.dto.AuditEntityWrapper;
+import org.folio.event.dto.OutboxDrainResult;
+import org.folio.event.dto.OutboxBatchResult;
+import org.folio.event.dto.OutboxEventLogEntry;
+import org.folio.event.dto.OutboxLane;
+import org.folio.event.dto.RenderedAuditEvent;
+import org.folio.rest.jaxrs.model.OrderLineAuditEvent;
 import org.folio.rest.jaxrs.model.OutboxEventLog;
+import org.folio.rest.jaxrs.model.Piece;
+import org.folio.rest.jaxrs.model.PieceAuditEvent;
+import org.folio.rest.jaxrs.model.PoLine;
 import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.PostgresClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
 
 @CopilotGenerated(partiallyGenerated = true)
 @ExtendWith(MockitoExtension.class)
@@ -49,13 +71,16 @@ public class AuditOutboxServiceTest {
   @BeforeEach
   void setUp() {
     okapiHeaders = Map.of("x-okapi-tenant", "testTenant");
-    when(pgClientFactory.createInstance(any())).thenReturn(pgClient);
-    when(pgClient.withTrans(any())).thenAnswer(invocation -> invocation.<Function<Conn, Future<?>>>getArgument(0).apply(conn));
+    lenient().when(pgClientFactory.createInstance(any())).thenReturn(pgClient);
+    lenient().when(pgClient.withConn(any())).thenAnswer(invocation -> invocation.<Function<Conn, Future<?>>>getArgument(0).apply(conn));
+    lenient().when(outboxRepository.maintainPartitions(any(), any(), anyInt())).thenReturn(Future.succeededFuture(0));
+    lenient().when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.BULK), anyInt(), anyInt())).thenReturn(Future.succeededFuture(List.of()));
+    lenient().when(outboxRepository.countPendingByLane(any(), any())).thenReturn(Future.succeededFuture(Map.of()));
   }
 
   @Test
   void processOutboxEventLogs_handlesEmptyLogsGracefully() {
-    when(outboxRepository.fetchEventLogs(any(), any())).thenReturn(Future.succeededFuture(List.of()));
+    when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), anyInt(), anyInt())).thenReturn(Future.succeededFuture(List.of()));
 
     Future<Integer> result = auditOutboxService.processOutboxEventLogs(okapiHeaders);
 
@@ -70,8 +95,8 @@ public class AuditOutboxServiceTest {
       .withEntityType(OutboxEventLog.EntityType.ORDER)
       .withAction("Create")
       .withPayload("{}");
-    when(outboxRepository.fetchEventLogs(any(), any())).thenReturn(Future.succeededFuture(List.of(eventLog)));
-    when(outboxRepository.deleteBatch(any(), any(), any())).thenReturn(Future.succeededFuture(1));
+    when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), anyInt(), anyInt())).thenReturn(Future.succeededFuture(List.of(new OutboxEventLogEntry(eventLog, null))));
+    when(outboxRepository.acknowledgeBatch(any(), any(), any())).thenReturn(Future.succeededFuture(1));
     when(producer.sendOrderEvent(any(), any(), any())).thenReturn(Future.succeededFuture(true));
 
     Future<Integer> result = auditOutboxService.processOutboxEventLogs(okapiHeaders);
@@ -80,6 +105,32 @@ public class AuditOutboxServiceTest {
     assertEquals(1, result.result());
   }
 
+  @Test
+  void processOutboxEventLogs_deletesOnlySentLogs() {
+    OutboxEventLog sent = new OutboxEventLog()
+      .withEventId("sentId")
+      .withEntityType(OutboxEventLog.EntityType.PIECE)
+      .withAction("Edit")
+      .withPayload("{}");
+    OutboxEventLog failed = new OutboxEventLog()
+      .withEventId("failedId")
+      .withEntityType(OutboxEventLog.EntityType.PIECE)
+      .withAction("Edit")
+      .withPayload("{}");
+    when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), anyInt(), anyInt()))
+      .thenReturn(Future.succeededFuture(List.of(new OutboxEventLogEntry(sent, "key1"), new OutboxEventLogEntry(failed, "key2"))));
+    when(producer.sendRenderedEvent(any(), eq("key1"), any(), any())).thenReturn(Future.succeededFuture(true));
+    when(producer.sendRenderedEvent(any(), eq("key2"), any(), any())).thenReturn(Future.failedFuture("Broker unavailable"));
+    when(outboxRepository.acknowledgeBatch(any(), any(), any())).thenReturn(Future.succeededFuture(1));
+
+    Future<Integer> result = auditOutboxService.processOutboxEventLogs(okapiHeaders);
+
+    assertTrue(result.succeeded());
+    assertEquals(1, result.result());
+    verify(outboxRepository).acknowledgeBatch(conn, List.of("sentId"), "testTenant");
+    verify(pgClient, never()).withTrans(any());
+  }
+
   @Test
   void processOutboxEventLogs_handlesProducerFailure() {
     OutboxEventLog eventLog = new OutboxEventLog()
@@ -87,13 +138,16 @@ public class AuditOutboxServiceTest {
       .withEntityType(OutboxEventLog.EntityType.ORDER)
       .withAction("Create")
       .withPayload("{}");
-    when(outboxRepository.fetchEventLogs(any(), any())).thenReturn(Future.succeededFuture(List.of(eventLog)));
+    when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), anyInt(), anyInt())).thenReturn(Future.succeededFuture(List.of(new OutboxEventLogEntry(eventLog, null))));
     when(producer.sendOrderEvent(any(), any(), any())).thenThrow(new RuntimeException("Producer error"));
 
     Future<Integer> result = auditOutboxService.processOutboxEventLogs(okapiHeaders);
 
-    assertTrue(result.failed());
-    assertEquals("Producer error", result.cause().getMessage());
+    // The event stays claimed and is retried after lease expiration
+    assertTrue(result.succeeded());
+    assertEquals(0, result.result());
+    verify(outboxRepository, never()).acknowledgeBatch(any(), any(), any());
+    assertEquals(0, auditOutboxService.getPoisonEventsSkipped());
   }
 
   @Test
@@ -103,13 +157,35 @@ public class AuditOutboxServiceTest {
       .withEntityType(null)
       .withAction("Create")
       .withPayload("{}");
-    when(outboxRepository.fetchEventLogs(any(), any())).thenReturn(Future.succeededFuture(List.of(eventLog)));
+    when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), anyInt(), anyInt())).thenReturn(Future.succeededFuture(List.of(new OutboxEventLogEntry(eventLog, null))));
+
+    when(outboxRepository.acknowledgeBatch(any(), any(), any())).thenReturn(Future.succeededFuture(1));
 
     Future<Integer> result = auditOutboxService.processOutboxEventLogs(okapiHeaders);
 
-    assertTrue(result.failed());
-    assertInstanceOf(IllegalStateException.class, result.cause());
-    assertEquals("Entity type is null for event with id: eventId", result.cause().getMessage());
+    // A malformed event can never be sent, it is skipped and counted
+    assertTrue(result.succeeded());
+    verify(outboxRepository).acknowledgeBatch(conn, List.of("eventId"), "testTenant");
+    verify(producer, never()).sendRenderedEvent(any(), any(), any(), any());
+    assertEquals(1, auditOutboxService.getPoisonEventsSkipped());
+  }
+
+  @Test
+  void processOutboxEventLogs_skipsUndecodablePayload() {
+    OutboxEventLog eventLog = new OutboxEventLog()
+      .withEventId("eventId")
+      .withEntityType(OutboxEventLog.EntityType.ORDER)
+      .withAction("Create")
+      .withPayload("not a json");
+    when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), anyInt(), anyInt())).thenReturn(Future.succeededFuture(List.of(new OutboxEventLogEntry(eventLog, null))));
+    when(outboxRepository.acknowledgeBatch(any(), any(), any())).thenReturn(Future.succeededFuture(1));
+
+    Future<Integer> result = auditOutboxService.processOutboxEventLogs(okapiHeaders);
+
+    assertTrue(result.succeeded());
+    verify(outboxRepository).acknowledgeBatch(conn, List.of("eventId"), "testTenant");
+    verify(producer, never()).sendOrderEvent(any(), any(), any());
+    assertEquals(1, auditOutboxService.getPoisonEventsSkipped());
   }
 
   @Test
@@ -119,12 +195,262 @@ public class AuditOutboxServiceTest {
       .withEntityType(OutboxEventLog.EntityType.PIECE)
       .withAction("Edit")
       .withPayload("{}");
-    when(outboxRepository.fetchEventLogs(any(), any())).thenReturn(Future.succeededFuture(List.of(eventLog)));
+    when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), anyInt(), anyInt())).thenReturn(Future.succeededFuture(List.of(new OutboxEventLogEntry(eventLog, null))));
     when(producer.sendPieceEvent(any(), any(), any())).thenThrow(new IllegalArgumentException("Metadata is missing"));
-    when(outboxRepository.deleteBatch(any(), any(), any())).thenReturn(Future.succeededFuture(1));
+    when(outboxRepository.acknowledgeBatch(any(), any(), any())).thenReturn(Future.succeededFuture(1));
+
+    Future<Integer> result = auditOutboxService.processOutboxEventLogs(okapiHeaders);
+
+    assertTrue(result.succeeded());
+  }
+
+  @Test
+  void savePiecesOutboxLog_savesAllLogsInSingleStatement() {
+    var pieces = List.of(new Piece().withId("id1"), new Piece().withId("id2"), new Piece().withId("id3"));
+    when(producer.renderPieceEvent(any(), any())).thenReturn(new RenderedAuditEvent("id", new JsonObject()));
+    when(outboxRepository.saveEventLogs(any(), anyList(), any())).thenReturn(Future.succeededFuture(3));
+
+    Future<Boolean> result = auditOutboxService.savePiecesOutboxLog(conn, AuditEntityWrapper.listOf(pieces), PieceAuditEvent.Action.EDIT, okapiHeaders);
+
+    assertTrue(result.succeeded());
+    assertTrue(result.result());
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<OutboxEventLogEntry>> captor = ArgumentCaptor.forClass(List.class);
+    verify(outboxRepository).saveEventLogs(eq(conn), captor.capture(), eq("testTenant"));
+    assertEquals(3, captor.getValue().size());
+    captor.getValue().forEach(entry -> {
+      assertEquals(OutboxEventLog.EntityType.PIECE, entry.eventLog().getEntityType());
+      assertEquals(PieceAuditEvent.Action.EDIT.value(), entry.eventLog().getAction());
+      assertEquals("{}", entry.eventLog().getPayload());
+      assertEquals("id", entry.eventKey());
+    });
+    verify(outboxRepository, never()).saveEventLog(any(), any(), any());
+  }
+
+  @Test
+  void savePiecesOutboxLog_returnsFalseOnFailure() {
+    var pieces = List.of(new Piece().withId("id1"));
+    when(producer.renderPieceEvent(any(), any())).thenReturn(new RenderedAuditEvent("id1", new JsonObject()));
+    when(outboxRepository.saveEventLogs(any(), anyList(), any())).thenReturn(Future.failedFuture("DB error"));
+
+    Future<Boolean> result = auditOutboxService.savePiecesOutboxLog(conn, AuditEntityWrapper.listOf(pieces), PieceAuditEvent.Action.EDIT, okapiHeaders);
+
+    assertTrue(result.succeeded());
+    assertFalse(result.result());
+  }
+
+  @Test
+  void processOutboxEventLogs_signalsRelayWhenAttached() {
+    OutboxRelay relay = mock(OutboxRelay.class);
+    auditOutboxService.setRelay(relay);
+
+    Future<Integer> result = auditOutboxService.processOutboxEventLogs(okapiHeaders);
+
+    assertTrue(result.succeeded());
+    assertEquals(0, result.result());
+    verify(relay).signal("testTenant", okapiHeaders);
+    verify(outboxRepository, never()).claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), anyInt(), anyInt());
+  }
+
+  @Test
+  void drainOutboxEventLogs_relaysUntilBatchIsNotFull() throws IllegalAccessException {
+    FieldUtils.writeField(auditOutboxService, "batchSize", 2, true);
+    FieldUtils.writeField(auditOutboxService, "drainTimeBudgetSeconds", 60L, true);
+    OutboxEventLog eventLog = new OutboxEventLog()
+      .withEventId("eventId")
+      .withEntityType(OutboxEventLog.EntityType.ORDER)
+      .withAction("Create")
+      .withPayload("{}");
+    when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), eq(2), anyInt()))
+      .thenReturn(Future.succeededFuture(List.of(new OutboxEventLogEntry(eventLog, null), new OutboxEventLogEntry(eventLog, null))))
+      .thenReturn(Future.succeededFuture(List.of(new OutboxEventLogEntry(eventLog, null))));
+    when(outboxRepository.acknowledgeBatch(any(), any(), any()))
+      .thenReturn(Future.succeededFuture(2))
+      .thenReturn(Future.succeededFuture(1));
+    when(producer.sendOrderEvent(any(), any(), any())).thenReturn(Future.succeededFuture(true));
+
+    Future<OutboxDrainResult> result = auditOutboxService.drainOutboxEventLogs(okapiHeaders);
+
+    assertTrue(result.succeeded());
+    assertEquals(3, result.result().relayedCount());
+    assertEquals(2, result.result().batchCount());
+    assertTrue(result.result().drained());
+    verify(outboxRepository).maintainPartitions(eq(conn), eq("testTenant"), anyInt());
+  }
+
+  @Test
+  void processOutboxEventLogs_collapsesTriggersArrivingDuringRun() {
+    Promise<List<OutboxEventLogEntry>> firstFetch = Promise.promise();
+    when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), anyInt(), anyInt()))
+      .thenReturn(firstFetch.future())
+      .thenReturn(Future.succeededFuture(List.of()));
+
+    Future<Integer> first = auditOutboxService.processOutboxEventLogs(okapiHeaders);
+    Future<Integer> second = auditOutboxService.processOutboxEventLogs(okapiHeaders);
+    Future<Integer> third = auditOutboxService.processOutboxEventLogs(okapiHeaders);
+    verify(outboxRepository, times(1)).claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), anyInt(), anyInt());
+
+    firstFetch.complete(List.of());
+
+    assertTrue(first.succeeded());
+    assertTrue(second.succeeded());
+    assertTrue(third.succeeded());
+    verify(outboxRepository, times(2)).claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), anyInt(), anyInt());
+    assertEquals(3, auditOutboxService.getTriggersReceived());
+    assertEquals(2, auditOutboxService.getRunsExecuted());
+  }
+
+  @Test
+  void processOutboxEventLogs_sendsRenderedEventsAsIs() {
+    OutboxEventLog eventLog = new OutboxEventLog()
+      .withEventId("eventId")
+      .withEntityType(OutboxEventLog.EntityType.PIECE)
+      .withAction("Edit")
+      .withPayload("{\"id\":\"eventId\"}");
+    when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), anyInt(), anyInt()))
+      .thenReturn(Future.succeededFuture(List.of(new OutboxEventLogEntry(eventLog, "pieceId"))));
+    when(producer.sendRenderedEvent(any(), any(), any(), any())).thenReturn(Future.succeededFuture(true));
+    when(outboxRepository.acknowledgeBatch(any(), any(), any())).thenReturn(Future.succeededFuture(1));
 
     Future<Integer> result = auditOutboxService.processOutboxEventLogs(okapiHeaders);
 
     assertTrue(result.succeeded());
+    verify(producer).sendRenderedEvent(OutboxEventLog.EntityType.PIECE, "pieceId", "{\"id\":\"eventId\"}", okapiHeaders);
+    verify(producer, never()).sendPieceEvent(any(), any(), any());
   }
+
+  @Test
+  void savePiecesOutboxLog_compactsOriginalSnapshotAndRelaySendsExpandedPayload() throws IllegalAccessException {
+    FieldUtils.writeField(auditOutboxService, "compactSnapshotsEnabled", true, true);
+    var rendered = new JsonObject()
+      .put("id", "eventId")
+      .put("pieceSnapshot", new JsonObject().put("id", "pieceId").put("receivingStatus", "Received").put("comment", "new"))
+      .put("originalPieceSnapshot", new JsonObject().put("id", "pieceId").put("receivingStatus", "Expected").put("comment", "new"));
+    when(producer.renderPieceEvent(any(), any())).thenReturn(new RenderedAuditEvent("pieceId", rendered));
+    when(outboxRepository.saveEventLogs(any(), anyList(), any())).thenReturn(Future.succeededFuture(1));
+
+    auditOutboxService.savePiecesOutboxLog(conn, AuditEntityWrapper.listOf(List.of(new Piece().withId("pieceId"))),
+      PieceAuditEvent.Action.EDIT, okapiHeaders);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<OutboxEventLogEntry>> captor = ArgumentCaptor.forClass(List.class);
+    verify(outboxRepository).saveEventLogs(eq(conn), captor.capture(), eq("testTenant"));
+    OutboxEventLogEntry entry = captor.getValue().get(0);
+    assertTrue(entry.compact());
+    var stored = new JsonObject(entry.eventLog().getPayload());
+    assertFalse(stored.containsKey("originalPieceSnapshot"));
+    assertEquals(new JsonObject().put("op", "replace").put("path", "/receivingStatus").put("value", "Expected"),
+      stored.getJsonArray("originalSnapshotPatch").getJsonObject(0));
+    assertEquals(1, stored.getJsonArray("originalSnapshotPatch").size());
+    assertTrue(rendered.containsKey("originalPieceSnapshot"));
+
+    // The claim query returns compact payloads expanded, the relay does not parse them again
+    OutboxEventLog claimedLog = new OutboxEventLog()
+      .withEventId(entry.eventLog().getEventId())
+      .withEntityType(OutboxEventLog.EntityType.PIECE)
+      .withAction(entry.eventLog().getAction())
+      .withPayload(rendered.encode());
+    when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), anyInt(), anyInt()))
+      .thenReturn(Future.succeededFuture(List.of(new OutboxEventLogEntry(claimedLog, "pieceId", true))));
+    when(producer.sendRenderedEvent(any(), any(), any(), any())).thenReturn(Future.succeededFuture(true));
+    when(outboxRepository.acknowledgeBatch(any(), any(), any())).thenReturn(Future.succeededFuture(1));
+
+    assertTrue(auditOutboxService.processOutboxEventLogs(okapiHeaders).succeeded());
+    verify(producer).sendRenderedEvent(OutboxEventLog.EntityType.PIECE, "pieceId", rendered.encode(), okapiHeaders);
+  }
+
+  @Test
+  void processOutboxEventLogs_skipsPoisonEventsAndRetriesFailedOnes() {
+    OutboxEventLog notExpandedLog = new OutboxEventLog()
+      .withEventId("notExpandedEventId")
+      .withEntityType(OutboxEventLog.EntityType.PIECE)
+      .withAction("Edit");
+    OutboxEventLog failingLog = new OutboxEventLog()
+      .withEventId("failingEventId")
+      .withEntityType(OutboxEventLog.EntityType.ORDER)
+      .withAction("Edit")
+      .withPayload("{}");
+    OutboxEventLog validLog = new OutboxEventLog()
+      .withEventId("validEventId")
+      .withEntityType(OutboxEventLog.EntityType.PIECE)
+      .withAction("Edit")
+      .withPayload("{\"id\":\"validEventId\"}");
+    when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), anyInt(), anyInt())).thenReturn(Future.succeededFuture(List.of(
+      new OutboxEventLogEntry(notExpandedLog, "pieceId", true),
+      new OutboxEventLogEntry(failingLog, "orderId"),
+      new OutboxEventLogEntry(validLog, "pieceId"))));
+    when(producer.sendRenderedEvent(eq(OutboxEventLog.EntityType.ORDER), any(), any(), any())).thenThrow(new IllegalStateException("Unexpected failure"));
+    when(producer.sendRenderedEvent(eq(OutboxEventLog.EntityType.PIECE), any(), any(), any())).thenReturn(Future.succeededFuture(true));
+    when(outboxRepository.acknowledgeBatch(any(), any(), any())).thenReturn(Future.succeededFuture(2));
+
+    Future<Integer> result = auditOutboxService.processOutboxEventLogs(okapiHeaders);
+
+    // The poison event is acknowledged without sending, the failing one stays claimed to be retried after lease expiration
+    assertTrue(result.succeeded());
+    verify(producer).sendRenderedEvent(OutboxEventLog.EntityType.PIECE, "pieceId", "{\"id\":\"validEventId\"}", okapiHeaders);
+    verify(producer, never()).sendRenderedEvent(any(), any(), eq(null), any());
+    verify(outboxRepository).acknowledgeBatch(conn, List.of("notExpandedEventId", "validEventId"), "testTenant");
+    assertEquals(1, auditOutboxService.getPoisonEventsSkipped());
+  }
+
+  @Test
+  void saveOrderLineOutboxLog_keepsPayloadWithoutOriginalSnapshot() throws IllegalAccessException {
+    FieldUtils.writeField(auditOutboxService, "compactSnapshotsEnabled", true, true);
+    var rendered = new JsonObject().put("orderLineSnapshot", new JsonObject().put("id", "polId"));
+    when(producer.renderOrderLineEvent(any(), any())).thenReturn(new RenderedAuditEvent("polId", rendered));
+    when(outboxRepository.saveEventLog(any(), any(), any())).thenReturn(Future.succeededFuture(true));
+
+    auditOutboxService.saveOrderLineOutboxLog(conn, AuditEntityWrapper.of(new PoLine().withId("polId")),
+      OrderLineAuditEvent.Action.CREATE, okapiHeaders);
+
+    ArgumentCaptor<OutboxEventLogEntry> captor = ArgumentCaptor.forClass(OutboxEventLogEntry.class);
+    verify(outboxRepository).saveEventLog(eq(conn), captor.capture(), eq("testTenant"));
+    assertFalse(captor.getValue().compact());
+    assertEquals(rendered.encode(), captor.getValue().eventLog().getPayload());
+  }
+
+  @Test
+  void relayNextBatch_servesBulkLaneShareEvenWhenInteractiveLaneIsBacklogged() throws IllegalAccessException {
+    FieldUtils.writeField(auditOutboxService, "batchSize", 1, true);
+    FieldUtils.writeField(auditOutboxService, "bulkBatchSize", 5, true);
+    OutboxEventLog orderLog = new OutboxEventLog()
+      .withEventId("orderEventId")
+      .withEntityType(OutboxEventLog.EntityType.ORDER)
+      .withAction("Edit")
+      .withPayload("{}");
+    OutboxEventLog pieceLog = new OutboxEventLog()
+      .withEventId("pieceEventId")
+      .withEntityType(OutboxEventLog.EntityType.PIECE)
+      .withAction("Edit")
+      .withPayload("{}");
+    when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.INTERACTIVE), eq(1), anyInt()))
+      .thenReturn(Future.succeededFuture(List.of(new OutboxEventLogEntry(orderLog, "orderId"))))
+      .thenReturn(Future.succeededFuture(List.of()));
+    when(outboxRepository.claimEventLogs(any(), any(), eq(OutboxLane.BULK), eq(5), anyInt()))
+      .thenReturn(Future.succeededFuture(List.of(new OutboxEventLogEntry(pieceLog, "pieceId"))))
+      .thenReturn(Future.succeededFuture(List.of()));
+    when(producer.sendRenderedEvent(any(), any(), any(), any())).thenReturn(Future.succeededFuture(true));
+    when(outboxRepository.acknowledgeBatch(any(), any(), any())).thenReturn(Future.succeededFuture(1));
+
+    Future<OutboxBatchResult> first = auditOutboxService.relayNextBatch(okapiHeaders);
+    Future<OutboxBatchResult> second = auditOutboxService.relayNextBatch(okapiHeaders);
+
+    assertEquals(new OutboxBatchResult(2, true), first.result());
+    assertEquals(new OutboxBatchResult(0, false), second.result());
+    verify(outboxRepository, times(2)).claimEventLogs(any(), any(), eq(OutboxLane.BULK), anyInt(), anyInt());
+    verify(outboxRepository).acknowledgeBatch(conn, List.of("orderEventId"), "testTenant");
+    verify(outboxRepository).acknowledgeBatch(conn, List.of("pieceEventId"), "testTenant");
+  }
+
+  @Test
+  void fetchLaneDepths_returnsPendingCountsPerLane() {
+    var depths = Map.of(OutboxLane.INTERACTIVE, 2L, OutboxLane.BULK, 5000L);
+    when(outboxRepository.countPendingByLane(any(), any())).thenReturn(Future.succeededFuture(depths));
+
+    Future<Map<OutboxLane, Long>> result = auditOutboxService.fetchLaneDepths(okapiHeaders);
+
+    assertTrue(result.succeeded());
+    assertEquals(depths, result.result());
+  }
+
 }
@@ -0,0 +1,87 @@
+package org.folio.event.service;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.folio.kafka.KafkaConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.producer.KafkaProducer;
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+import io.vertx.kafka.client.producer.RecordMetadata;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditProducerRegistryTest {
+
+  @Mock
+  private Vertx vertx;
+  @Mock
+  private KafkaConfig kafkaConfig;
+  @Mock
+  private KafkaProducer<String, String> kafkaProducer;
+  @Mock
+  private KafkaProducerRecord<String, String> kafkaProducerRecord;
+
+  private MockedStatic<KafkaProducer> kafkaProducerMock;
+  private AuditProducerRegistry auditProducerRegistry;
+
+  @BeforeEach
+  void setUp() {
+    when(kafkaConfig.getProducerProps()).thenReturn(Map.of());
+    kafkaProducerMock = mockStatic(KafkaProducer.class);
+    kafkaProducerMock.when(() -> KafkaProducer.<String, String>createShared(eq(vertx), any(String.class), anyMap()))
+      .thenReturn(kafkaProducer);
+    when(kafkaProducer.send(kafkaProducerRecord)).thenReturn(Future.succeededFuture(mock(RecordMetadata.class)));
+    auditProducerRegistry = new AuditProducerRegistry(vertx, kafkaConfig);
+  }
+
+  @AfterEach
+  void tearDown() {
+    kafkaProducerMock.close();
+  }
+
+  @Test
+  void shouldReuseOneProducerForRepeatedSends() {
+    for (int i = 0; i < 5; i++) {
+      assertTrue(auditProducerRegistry.send(kafkaProducerRecord).succeeded());
+    }
+
+    kafkaProducerMock.verify(() -> KafkaProducer.createShared(eq(vertx), any(String.class), anyMap()), times(1));
+    verify(kafkaProducer, times(5)).send(kafkaProducerRecord);
+  }
+
+  @Test
+  void shouldFailSendAfterClose() {
+    when(kafkaProducer.flush()).thenReturn(Future.succeededFuture());
+    when(kafkaProducer.close()).thenReturn(Future.succeededFuture());
+    auditProducerRegistry.send(kafkaProducerRecord);
+
+    assertTrue(auditProducerRegistry.close().succeeded());
+    var result = auditProducerRegistry.send(kafkaProducerRecord);
+
+    assertTrue(result.failed());
+    assertInstanceOf(IllegalStateException.class, result.cause());
+    verify(kafkaProducer).close();
+    verify(kafkaProducer, times(1)).send(kafkaProducerRecord);
+    kafkaProducerMock.verify(() -> KafkaProducer.createShared(eq(vertx), any(String.class), anyMap()), times(1));
+  }
+
+}
@@ -642,8 +642,8 @@ public class OrderLineUpdateInstanceHandlerTest extends TestBase {
      }
 
      @Bean
-     PieceService pieceService() {
-       return new PieceService();
+     PieceService pieceService(TitleService titleService) {
+       return new PieceService(titleService);
      }
 
      @Bean
@@ -0,0 +1,78 @@
+package org.folio.rest.impl;
+
+import static org.folio.rest.utils.TestEntities.PURCHASE_ORDER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.core.StringContains.containsString;
+
+import java.net.MalformedURLException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+
+import io.restassured.http.Headers;
+import io.vertx.core.json.JsonObject;
+
+public class AuditOutboxAPITest extends TestBase {
+
+  private static final Logger log = LogManager.getLogger();
+
+  private static final Pattern TRIGGERS_RECEIVED = Pattern.compile("Triggers received: (\\d+)");
+  private static final Pattern RUNS_EXECUTED = Pattern.compile("relay runs executed: (\\d+)");
+  private static final long STATS_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(10);
+
+  @Test
+  void testAuditOutboxStatsExposeRelayCounters() throws MalformedURLException {
+    log.info("--- mod-orders-storage audit outbox stats test");
+    Headers headers = getDikuTenantHeaders(UUID.randomUUID().toString());
+    callAuditOutboxApi(headers);
+
+    String stats = getAuditOutboxStats(headers);
+
+    assertThat(stats, containsString("Triggers received: "));
+    assertThat(stats, containsString("relay runs executed: "));
+    assertThat(stats, containsString("poison events skipped: "));
+    assertThat(stats, containsString("pending interactive: "));
+    assertThat(stats, containsString("pending bulk: "));
+  }
+
+  @Test
+  void testAuditOutboxStatsCountTriggeredRelayRun() throws Exception {
+    log.info("--- mod-orders-storage audit outbox stats after a triggered relay run test");
+    Headers headers = getDikuTenantHeaders(UUID.randomUUID().toString());
+    String statsBefore = getAuditOutboxStats(headers);
+    long triggersBefore = getCounter(statsBefore, TRIGGERS_RECEIVED);
+    long runsBefore = getCounter(statsBefore, RUNS_EXECUTED);
+
+    JsonObject order = new JsonObject(getFile(PURCHASE_ORDER.getSampleFileName()))
+      .put("id", UUID.randomUUID().toString())
+      .put("poNumber", "AOS" + ThreadLocalRandom.current().nextInt(100000, 1000000));
+    String orderId = createEntity(PURCHASE_ORDER.getEndpoint(), order.encode(), headers);
+
+    try {
+      assertThat(getCounter(getAuditOutboxStats(headers), TRIGGERS_RECEIVED), greaterThan(triggersBefore));
+      // A trigger received during a run is served by the follow-up run started when that run completes
+      long deadline = System.currentTimeMillis() + STATS_TIMEOUT_MS;
+      long runsAfter = getCounter(getAuditOutboxStats(headers), RUNS_EXECUTED);
+      while (runsAfter <= runsBefore && System.currentTimeMillis() < deadline) {
+        TimeUnit.MILLISECONDS.sleep(100);
+        runsAfter = getCounter(getAuditOutboxStats(headers), RUNS_EXECUTED);
+      }
+      assertThat(runsAfter, greaterThan(runsBefore));
+    } finally {
+      deleteDataSuccess(PURCHASE_ORDER.getEndpointWithId(), orderId);
+    }
+  }
+
+  private static long getCounter(String stats, Pattern counter) {
+    var matcher = counter.matcher(stats);
+    assertThat(stats, matcher.find());
+    return Long.parseLong(matcher.group(1));
+  }
+
+}
@@ -0,0 +1,31 @@
+package org.folio.rest.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.StringContains.containsString;
+
+import java.net.MalformedURLException;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+
+import io.restassured.http.Headers;
+
+public class InventoryEventsAPITest extends TestBase {
+
+  private static final Logger log = LogManager.getLogger();
+
+  @Test
+  void testInventoryEventsStatsExposeCoalescingCounters() throws MalformedURLException {
+    log.info("--- mod-orders-storage inventory events stats test");
+    Headers headers = getDikuTenantHeaders(UUID.randomUUID().toString());
+
+    String stats = getInventoryEventsStats(headers);
+
+    assertThat(stats, containsString("Coalescing window ms: "));
+    assertThat(stats, containsString("events applied: "));
+    assertThat(stats, containsString("events dropped: "));
+  }
+
+}
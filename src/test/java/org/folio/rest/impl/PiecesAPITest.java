@@ -2,6 +2,7 @@ package org.folio.rest.impl;
 
 import static io.restassured.RestAssured.given;
 import static org.folio.StorageTestSuite.storageUrl;
+import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import io.restassured.http.ContentType;
@@ -35,6 +36,8 @@ public class PiecesAPITest extends TestBase {
   private static final Logger log = LogManager.getLogger();
 
   private static final String PIECES_BATCH_ENDPOINT = "/orders-storage/pieces-batch";
+  private static final String LOCATION_SUMMARY_CHECK_ENDPOINT = "/orders-storage/po-line-location-summary/check";
+  private static final String LOCATION_SUMMARY_REBUILD_ENDPOINT = "/orders-storage/po-line-location-summary/rebuild";
 
   private String userId;
   private String orderId;
@@ -113,6 +116,39 @@ public class PiecesAPITest extends TestBase {
     pieceIds.remove(0);
   }
 
+  @Test
+  void testPoLineLocationSummaryFollowsPieceChanges() throws MalformedURLException {
+    log.info("--- mod-orders-storage piece test: PO line location summary follows piece changes");
+    // given
+    given()
+      .headers(headers)
+      .contentType(ContentType.TEXT)
+      .post(storageUrl(LOCATION_SUMMARY_REBUILD_ENDPOINT))
+      .then()
+      .statusCode(200);
+    pieceIds.add(UUID.randomUUID().toString());
+    var jsonPiece = new JsonObject(getEntity(TestData.Piece.DEFAULT, pieceIds.get(0), "poLineId", poLineId, "titleId", titleId,
+      "holdingId", UUID.randomUUID().toString()));
+    jsonPiece.remove("locationId");
+
+    // when
+    postData(TestEntities.PIECE.getEndpoint(), jsonPiece.toString(), headers)
+      .then()
+      .statusCode(201);
+    jsonPiece.put("holdingId", UUID.randomUUID().toString()).put("format", Piece.Format.ELECTRONIC.value());
+    putData(TestEntities.PIECE.getEndpointWithId(), jsonPiece.getString("id"), jsonPiece.toString(), headers)
+      .then()
+      .statusCode(204);
+
+    // then
+    given()
+      .headers(headers)
+      .get(storageUrl(LOCATION_SUMMARY_CHECK_ENDPOINT))
+      .then()
+      .statusCode(200)
+      .body(equalTo("Found 0 PO line(s) with inconsistent location summary"));
+  }
+
   @Test
   void putOrdersStoragePiecesBatch_shouldUpdatePiecesSuccessfully() throws MalformedURLException {
     log.info("--- mod-orders-storage piece test: batch update pieces");
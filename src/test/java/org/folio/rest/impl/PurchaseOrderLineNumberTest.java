@@ -1,5 +1,6 @@
 package org.folio.rest.impl;
 
+import static org.folio.rest.utils.TestEntities.PO_LINE;
 import static org.folio.rest.utils.TestEntities.PURCHASE_ORDER;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -9,9 +10,12 @@ import java.net.MalformedURLException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
+import org.folio.rest.jaxrs.model.PoLine;
 import org.folio.rest.jaxrs.model.PoLineNumber;
 import org.folio.rest.jaxrs.model.PurchaseOrder;
+import org.folio.rest.utils.TestData;
 import org.junit.jupiter.api.Test;
 
 import io.restassured.response.Response;
@@ -55,6 +59,42 @@ public class PurchaseOrderLineNumberTest extends TestBase {
     }
   }
 
+  @Test
+  public void testSeedingCounterOfExistingOrderFromItsLines() throws MalformedURLException {
+    String orderId = null;
+    String poLineId = null;
+    try {
+      JsonObject data = new JsonObject(getFile(PURCHASE_ORDER.getSampleFileName()));
+      data.put("nextPolNumber", 2);
+      Response response = postData(PURCHASE_ORDER.getEndpoint(), data.encode());
+      orderId = response.then().extract().path("id");
+      PoLine poLine = getFileAsObject(TestData.PoLine.DEFAULT, PoLine.class)
+        .withId(UUID.randomUUID().toString())
+        .withIsPackage(true)
+        .withPurchaseOrderId(orderId)
+        .withPoLineNumber(data.getString("poNumber") + "-5");
+      poLineId = createEntity(PO_LINE.getEndpoint(), JsonObject.mapFrom(poLine).encode());
+
+      // The counter starts after the highest line number, as it is greater than nextPolNumber of the order
+      testGetPoLineNumbersForExistedPO(6, orderId, 2);
+      assertEquals(8, getOrder(orderId).getNextPolNumber().intValue());
+      testGetPoLineNumbersForExistedPO(8, orderId, 1);
+      assertEquals(9, getOrder(orderId).getNextPolNumber().intValue());
+    } finally {
+      deleteDataSuccess(PO_LINE.getEndpointWithId(), poLineId);
+      deleteDataSuccess(PURCHASE_ORDER.getEndpointWithId(), orderId);
+    }
+  }
+
+  @Test
+  public void testGetPoLineNumberForUnknownOrder() throws MalformedURLException {
+    Map<String, Object> params = new HashMap<>();
+    params.put("purchaseOrderId", UUID.randomUUID().toString());
+    getDataByParam(PO_LINE_NUMBER_ENDPOINT, params)
+      .then()
+      .statusCode(404);
+  }
+
   @Test
   public void testSequenceFlow() throws MalformedURLException {
     String sampleId = null;
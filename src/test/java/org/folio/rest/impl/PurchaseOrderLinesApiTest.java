@@ -431,5 +431,4 @@ public class PurchaseOrderLinesApiTest extends TestBase {
       .then()
       .statusCode(400);
   }
-
 }
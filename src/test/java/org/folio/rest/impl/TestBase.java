@@ -258,6 +258,26 @@ public abstract class TestBase {
       .statusCode(Status.OK.getStatusCode());
   }
 
+  String getAuditOutboxStats(Headers headers) throws MalformedURLException {
+    return given()
+      .headers(headers)
+      .get(storageUrl("/orders-storage/audit-outbox/stats"))
+      .then()
+      .statusCode(Status.OK.getStatusCode())
+      .extract()
+      .asString();
+  }
+
+  String getInventoryEventsStats(Headers headers) throws MalformedURLException {
+    return given()
+      .headers(headers)
+      .get(storageUrl("/orders-storage/inventory-events/stats"))
+      .then()
+      .statusCode(Status.OK.getStatusCode())
+      .extract()
+      .asString();
+  }
+
   void callClaimingApi(Headers headers) throws MalformedURLException {
     given()
       .headers(headers)
@@ -9,12 +9,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.net.MalformedURLException;
 import java.util.List;
+import java.util.Map;
 
 import org.folio.rest.jaxrs.model.PoLineNumber;
 import org.folio.rest.jaxrs.model.Title;
+import org.folio.rest.jaxrs.model.TitleCollection;
 import org.junit.jupiter.api.Test;
 
 import io.restassured.http.ContentType;
+import io.vertx.core.json.JsonObject;
 import lombok.extern.log4j.Log4j2;
 
 @Log4j2
@@ -49,6 +52,31 @@ public class TitleSequenceNumberTest extends TestBase {
     title = getTitle(titleId);
     assertEquals(5, title.getNextSequenceNumber());
 
+    // The collection endpoint overlays nextSequenceNumber from the counter as well
+    var titles = getTitles("id==" + titleId);
+    assertEquals(1, titles.size());
+    assertEquals(5, titles.getFirst().getNextSequenceNumber());
+
+    deleteDataSuccess(PO_LINE.getEndpointWithId(), poLineId);
+    deleteDataSuccess(PURCHASE_ORDER.getEndpointWithId(), poId);
+  }
+
+  @Test
+  public void testGenerateTitleSequenceNumbersSeedsCounterFromStoredNextSequenceNumber() throws MalformedURLException {
+    String poId = postData(PURCHASE_ORDER.getEndpoint(), getFile(PURCHASE_ORDER.getSampleFileName()))
+      .then().extract().path("id");
+    String poLineId = postData(PO_LINE.getEndpoint(), getFile(PO_LINE.getSampleFileName()))
+      .then().extract().path("id");
+    var titleJson = new JsonObject(getFile(TITLE_SAMPLE_FILE_PATH)).put("nextSequenceNumber", 10);
+    titleJson.remove("id");
+    String titleId = postData(TITLE_ENDPOINT, titleJson.encode())
+      .then().statusCode(201).extract().path("id");
+
+    // The title has no counter yet, the first request seeds it from nextSequenceNumber of the title record
+    assertEquals(List.of("10", "11"), generateTitleSequenceNumbers(titleId, 2));
+    assertEquals(12, getTitle(titleId).getNextSequenceNumber());
+    assertEquals(12, getTitles("id==" + titleId).getFirst().getNextSequenceNumber());
+
     deleteDataSuccess(PO_LINE.getEndpointWithId(), poLineId);
     deleteDataSuccess(PURCHASE_ORDER.getEndpointWithId(), poId);
   }
@@ -64,6 +92,13 @@ public class TitleSequenceNumberTest extends TestBase {
       .getSequenceNumbers();
   }
 
+  private List<Title> getTitles(String query) throws MalformedURLException {
+    return getDataByParam(TITLE_ENDPOINT, Map.<String, Object>of("query", query))
+      .then().statusCode(200)
+      .extract().as(TitleCollection.class)
+      .getTitles();
+  }
+
   private Title getTitle(String id) throws MalformedURLException {
     return getDataById(TITLE_BY_ID_ENDPOINT, id)
       .then().statusCode(200)
@@ -0,0 +1,199 @@
+package org.folio.services.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.folio.dao.PostgresClientFactory;
+import org.folio.rest.persist.Conn;
+import org.folio.rest.persist.PostgresClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryEventFilterServiceTest {
+
+  private static final String TENANT_ID = "memberTenant";
+  private static final String CENTRAL_TENANT_ID = "centralTenant";
+
+  @Mock
+  private PostgresClientFactory pgClientFactory;
+  @Mock
+  private PostgresClient pgClient;
+  @Mock
+  private Conn conn;
+
+  @InjectMocks
+  private InventoryEventFilterService inventoryEventFilterService;
+
+  private final String pieceItemId = UUID.randomUUID().toString();
+  private final String pieceHoldingId = UUID.randomUUID().toString();
+  private final String poLineHoldingId = UUID.randomUUID().toString();
+  private final String unrelatedItemId = UUID.randomUUID().toString();
+  private final Row countRow = mock(Row.class);
+
+  @BeforeEach
+  void setUp() throws IllegalAccessException {
+    FieldUtils.writeField(inventoryEventFilterService, "enabled", true, true);
+    FieldUtils.writeField(inventoryEventFilterService, "rebuildIntervalSeconds", 600L, true);
+    FieldUtils.writeField(inventoryEventFilterService, "safetyMarginSeconds", 60L, true);
+    FieldUtils.writeField(inventoryEventFilterService, "falsePositiveProbability", 0.01, true);
+    FieldUtils.writeField(inventoryEventFilterService, "loadChunkSize", 10, true);
+    lenient().when(pgClientFactory.createInstance(anyString())).thenReturn(pgClient);
+    lenient().when(pgClient.withConn(any())).thenAnswer(invocation -> invocation.<Function<Conn, Future<?>>>getArgument(0).apply(conn));
+
+    lenient().when(countRow.getLong(0)).thenReturn(3L);
+    var pieceRow = mock(Row.class);
+    lenient().when(pieceRow.getUUID("id")).thenReturn(UUID.randomUUID());
+    lenient().when(pieceRow.getString("item_id")).thenReturn(pieceItemId);
+    lenient().when(pieceRow.getString("holding_id")).thenReturn(pieceHoldingId);
+    var poLineHoldingRow = mock(Row.class);
+    lenient().when(poLineHoldingRow.getString("holding_id")).thenReturn(poLineHoldingId);
+    lenient().when(conn.execute(anyString())).thenAnswer(invocation -> Future.succeededFuture(rowSetOf(List.of(countRow))));
+    lenient().when(conn.execute(startsWith("SELECT id"), any(Tuple.class))).thenAnswer(invocation -> Future.succeededFuture(rowSetOf(List.of(pieceRow))));
+    lenient().when(conn.execute(startsWith("SELECT DISTINCT"), any(Tuple.class))).thenAnswer(invocation -> Future.succeededFuture(rowSetOf(List.of(poLineHoldingRow))));
+  }
+
+  @Test
+  void shouldDropEventOfRecordNotReferencedByOrders() {
+    inventoryEventFilterService.refreshIfNeeded(TENANT_ID, CENTRAL_TENANT_ID);
+
+    assertTrue(inventoryEventFilterService.isUnrelated(TENANT_ID, unrelatedItemId, tenMinutesAgo()));
+    assertFalse(inventoryEventFilterService.isUnrelated(TENANT_ID, pieceItemId, tenMinutesAgo()));
+    assertFalse(inventoryEventFilterService.isUnrelated(TENANT_ID, pieceHoldingId, tenMinutesAgo()));
+    assertFalse(inventoryEventFilterService.isUnrelated(TENANT_ID, poLineHoldingId, tenMinutesAgo()));
+  }
+
+  @Test
+  void shouldKeepEventNewerThanSnapshotMinusSafetyMargin() {
+    inventoryEventFilterService.refreshIfNeeded(TENANT_ID, CENTRAL_TENANT_ID);
+
+    assertFalse(inventoryEventFilterService.isUnrelated(TENANT_ID, unrelatedItemId, System.currentTimeMillis()));
+    assertFalse(inventoryEventFilterService.isUnrelated(TENANT_ID, unrelatedItemId, System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(30)));
+  }
+
+  @Test
+  void shouldKeepEventOfTenantWithUnresolvedCentralTenant() {
+    inventoryEventFilterService.refreshIfNeeded(CENTRAL_TENANT_ID, null);
+
+    assertFalse(inventoryEventFilterService.isUnrelated(TENANT_ID, unrelatedItemId, tenMinutesAgo()));
+  }
+
+  @Test
+  void shouldKeepEventWhenCentralTenantSnapshotIsMissing() {
+    var centralPgClient = mock(PostgresClient.class);
+    when(pgClientFactory.createInstance(CENTRAL_TENANT_ID)).thenReturn(centralPgClient);
+    when(centralPgClient.withConn(any())).thenReturn(Future.failedFuture(new RuntimeException("Connection refused")));
+
+    inventoryEventFilterService.refreshIfNeeded(TENANT_ID, CENTRAL_TENANT_ID);
+
+    assertFalse(inventoryEventFilterService.isUnrelated(TENANT_ID, unrelatedItemId, tenMinutesAgo()));
+  }
+
+  @Test
+  void shouldKeepEventWhenDisabled() throws IllegalAccessException {
+    inventoryEventFilterService.refreshIfNeeded(TENANT_ID, CENTRAL_TENANT_ID);
+    FieldUtils.writeField(inventoryEventFilterService, "enabled", false, true);
+
+    assertFalse(inventoryEventFilterService.isUnrelated(TENANT_ID, unrelatedItemId, tenMinutesAgo()));
+  }
+
+  @Test
+  void shouldDropFreshEventWhileFeedIsConnected() throws IllegalAccessException {
+    FieldUtils.writeField(inventoryEventFilterService, "feedConnectedAt", System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10), true);
+    inventoryEventFilterService.refreshIfNeeded(TENANT_ID, CENTRAL_TENANT_ID);
+    ageSnapshots(TimeUnit.MINUTES.toMillis(5));
+
+    assertTrue(inventoryEventFilterService.isUnrelated(TENANT_ID, unrelatedItemId, twoMinutesAgo()));
+    assertFalse(inventoryEventFilterService.isUnrelated(TENANT_ID, unrelatedItemId, System.currentTimeMillis()));
+  }
+
+  @Test
+  void shouldKeepFreshEventWhenFeedIsDisconnected() throws IllegalAccessException {
+    FieldUtils.writeField(inventoryEventFilterService, "feedConnectedAt", System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10), true);
+    inventoryEventFilterService.refreshIfNeeded(TENANT_ID, CENTRAL_TENANT_ID);
+    ageSnapshots(TimeUnit.MINUTES.toMillis(5));
+    inventoryEventFilterService.feedDisconnected();
+
+    assertFalse(inventoryEventFilterService.isUnrelated(TENANT_ID, unrelatedItemId, twoMinutesAgo()));
+    assertTrue(inventoryEventFilterService.isUnrelated(TENANT_ID, unrelatedItemId, tenMinutesAgo()));
+  }
+
+  @Test
+  void shouldKeepEventOfRecordReferencedAfterSnapshot() {
+    var newItemId = UUID.randomUUID().toString();
+    inventoryEventFilterService.feedConnected();
+    inventoryEventFilterService.refreshIfNeeded(TENANT_ID, CENTRAL_TENANT_ID);
+
+    inventoryEventFilterService.recordReferences(TENANT_ID, List.of(newItemId));
+
+    assertFalse(inventoryEventFilterService.isUnrelated(TENANT_ID, newItemId, tenMinutesAgo()));
+    assertTrue(inventoryEventFilterService.isUnrelated(TENANT_ID, unrelatedItemId, tenMinutesAgo()));
+  }
+
+  @Test
+  void shouldKeepEventOfRecordReferencedWhileSnapshotIsLoading() {
+    var newItemId = UUID.randomUUID().toString();
+    Promise<RowSet<Row>> countPromise = Promise.promise();
+    when(conn.execute(anyString())).thenReturn(countPromise.future());
+    inventoryEventFilterService.refreshIfNeeded(TENANT_ID, CENTRAL_TENANT_ID);
+
+    inventoryEventFilterService.recordReferences(TENANT_ID, List.of(newItemId));
+    countPromise.complete(rowSetOf(List.of(countRow)));
+
+    assertFalse(inventoryEventFilterService.isUnrelated(TENANT_ID, newItemId, tenMinutesAgo()));
+    assertTrue(inventoryEventFilterService.isUnrelated(TENANT_ID, unrelatedItemId, tenMinutesAgo()));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void ageSnapshots(long millis) throws IllegalAccessException {
+    var snapshots = (Map<String, InventoryEventFilterService.Snapshot>) FieldUtils.readField(inventoryEventFilterService, "snapshots", true);
+    snapshots.replaceAll((tenantId, snapshot) -> new InventoryEventFilterService.Snapshot(snapshot.filter(), snapshot.takenAt() - millis));
+  }
+
+  private static long twoMinutesAgo() {
+    return System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(2);
+  }
+
+  private static long tenMinutesAgo() {
+    return System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static RowSet<Row> rowSetOf(List<Row> rows) {
+    RowSet<Row> rowSet = mock(RowSet.class);
+    lenient().when(rowSet.size()).thenReturn(rows.size());
+    lenient().when(rowSet.iterator()).thenAnswer(invocation -> {
+      var iterator = rows.iterator();
+      RowIterator<Row> rowIterator = mock(RowIterator.class);
+      lenient().when(rowIterator.hasNext()).thenAnswer(i -> iterator.hasNext());
+      lenient().when(rowIterator.next()).thenAnswer(i -> iterator.next());
+      return rowIterator;
+    });
+    return rowSet;
+  }
+
+}
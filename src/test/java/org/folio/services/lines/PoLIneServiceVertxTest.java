@@ -6,6 +6,8 @@ import static org.folio.rest.util.TestConfig.*;
 import static org.folio.rest.utils.TenantApiTestUtil.deleteTenant;
 import static org.folio.rest.utils.TenantApiTestUtil.prepareTenant;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import java.util.Date;
@@ -17,6 +19,7 @@ import java.util.concurrent.TimeoutException;
 
 import org.folio.okapi.common.XOkapiHeaders;
 import org.folio.rest.impl.TestBase;
+import org.folio.rest.jaxrs.model.Location;
 import org.folio.rest.jaxrs.model.PoLine;
 import org.folio.rest.jaxrs.model.TenantJob;
 import org.folio.rest.persist.DBClient;
@@ -26,6 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.MockitoAnnotations;
 
 import io.restassured.http.Header;
+import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.VertxExtension;
@@ -102,4 +106,52 @@ public class PoLIneServiceVertxTest extends TestBase {
         testContext.completeNow();
       });
   }
+
+  @Test
+  public void shouldFindPoLinesByHoldingIdWhenLocationsChange(Vertx vertx, VertxTestContext testContext) {
+    String id = UUID.randomUUID().toString();
+    String holdingId = UUID.randomUUID().toString();
+    String newHoldingId = UUID.randomUUID().toString();
+    PoLine poLine = new PoLine().withId(id)
+      .withTitleOrPackage("Test title")
+      .withLocations(List.of(new Location().withHoldingId(holdingId).withQuantity(1)));
+    PostgresClient pgClient = new DBClient(vertx, TEST_TENANT).getPgClient();
+
+    testContext.assertComplete(pgClient.save(PO_LINE_TABLE, id, poLine)
+        .compose(v -> pgClient.withConn(conn -> Future.all(
+          poLinesService.getPoLinesByHoldingId(holdingId, conn),
+          poLinesService.getPoLinesChunkByHoldingId(holdingId, null, 10, conn))))
+        .onSuccess(created -> testContext.verify(() -> {
+          assertThat(ids(created.resultAt(0)), contains(id));
+          assertThat(ids(created.resultAt(1)), contains(id));
+        }))
+        .compose(v -> pgClient.update(PO_LINE_TABLE,
+          poLine.withLocations(List.of(new Location().withHoldingId(newHoldingId).withQuantity(1))), id))
+        .compose(v -> pgClient.withConn(conn -> Future.all(
+          poLinesService.getPoLinesByHoldingId(holdingId, conn),
+          poLinesService.getPoLinesByHoldingId(newHoldingId, conn),
+          poLinesService.getPoLinesChunkByHoldingId(newHoldingId, null, 10, conn),
+          poLinesService.getPoLinesChunkByHoldingId(newHoldingId, id, 10, conn))))
+        .onSuccess(updated -> testContext.verify(() -> {
+          assertThat(ids(updated.resultAt(0)), is(empty()));
+          assertThat(ids(updated.resultAt(1)), contains(id));
+          assertThat(ids(updated.resultAt(2)), contains(id));
+          assertThat(ids(updated.resultAt(3)), is(empty()));
+        }))
+        .compose(v -> pgClient.delete(PO_LINE_TABLE, id))
+        .compose(v -> pgClient.withConn(conn -> Future.all(
+          poLinesService.getPoLinesByHoldingId(holdingId, conn),
+          poLinesService.getPoLinesByHoldingId(newHoldingId, conn)))))
+      .onComplete(ar -> {
+        testContext.verify(() -> {
+          assertThat(ids(ar.result().resultAt(0)), is(empty()));
+          assertThat(ids(ar.result().resultAt(1)), is(empty()));
+        });
+        testContext.completeNow();
+      });
+  }
+
+  private static List<String> ids(List<PoLine> poLines) {
+    return poLines.stream().map(PoLine::getId).toList();
+  }
 }
@@ -0,0 +1,114 @@
+package org.folio.services.lines;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.folio.dao.order.OrderDAO;
+import org.folio.rest.exceptions.HttpException;
+import org.folio.rest.jaxrs.model.PoLineNumber;
+import org.folio.rest.jaxrs.model.PurchaseOrder;
+import org.folio.rest.persist.Conn;
+import org.folio.rest.persist.DBClient;
+import org.folio.rest.persist.PostgresClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.vertx.core.Future;
+
+@ExtendWith(MockitoExtension.class)
+public class PoLineNumbersServiceTest {
+
+  @InjectMocks
+  private PoLineNumbersService poLineNumbersService;
+
+  @Mock
+  private OrderDAO orderDAO;
+  @Mock
+  private DBClient dbClient;
+  @Mock
+  private PostgresClient pgClient;
+  @Mock
+  private Conn conn;
+
+  private final String orderId = UUID.randomUUID().toString();
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(dbClient.getPgClient()).thenReturn(pgClient);
+    lenient().when(pgClient.withTrans(any())).thenAnswer(invocation -> invocation.<Function<Conn, Future<?>>>getArgument(0).apply(conn));
+  }
+
+  @Test
+  void shouldReservePoLineNumbersFromCounter() {
+    when(orderDAO.reservePoLineNumbers(orderId, 3, conn)).thenReturn(Future.succeededFuture(12));
+
+    Future<PoLineNumber> result = poLineNumbersService.retrievePoLineNumber(orderId, 3, dbClient);
+
+    assertTrue(result.succeeded());
+    assertEquals(List.of("10", "11", "12"), result.result().getSequenceNumbers());
+    verify(orderDAO, never()).seedPoLineNumber(any(), any());
+  }
+
+  @Test
+  void shouldSeedCounterOfExistingOrderOnFirstRequest() {
+    when(orderDAO.reservePoLineNumbers(orderId, 2, conn))
+      .thenReturn(Future.succeededFuture(null))
+      .thenReturn(Future.succeededFuture(5));
+    when(orderDAO.seedPoLineNumber(orderId, conn)).thenReturn(Future.succeededFuture());
+
+    Future<PoLineNumber> result = poLineNumbersService.retrievePoLineNumber(orderId, 2, dbClient);
+
+    assertTrue(result.succeeded());
+    assertEquals(List.of("4", "5"), result.result().getSequenceNumbers());
+    InOrder inOrder = inOrder(orderDAO);
+    inOrder.verify(orderDAO).reservePoLineNumbers(orderId, 2, conn);
+    inOrder.verify(orderDAO).seedPoLineNumber(orderId, conn);
+    inOrder.verify(orderDAO).reservePoLineNumbers(orderId, 2, conn);
+  }
+
+  @Test
+  void shouldFailWithNotFoundForUnknownOrder() {
+    when(orderDAO.reservePoLineNumbers(orderId, 1, conn)).thenReturn(Future.succeededFuture(null));
+    when(orderDAO.seedPoLineNumber(orderId, conn)).thenReturn(Future.succeededFuture());
+
+    Future<PoLineNumber> result = poLineNumbersService.retrievePoLineNumber(orderId, 1, dbClient);
+
+    assertTrue(result.failed());
+    HttpException exception = assertInstanceOf(HttpException.class, result.cause());
+    assertEquals(404, exception.getCode());
+  }
+
+  @Test
+  void shouldOverlayNextPolNumberOfOrdersWithCounter() {
+    String orderWithoutCounterId = UUID.randomUUID().toString();
+    var orderWithCounter = new PurchaseOrder().withId(orderId).withNextPolNumber(1);
+    var orderWithoutCounter = new PurchaseOrder().withId(orderWithoutCounterId).withNextPolNumber(7);
+    when(orderDAO.getNextPoLineNumbers(eq(List.of(orderId, orderWithoutCounterId)), eq(conn)))
+      .thenReturn(Future.succeededFuture(Map.of(orderId, 13)));
+
+    Future<List<PurchaseOrder>> result = poLineNumbersService.populateNextPolNumbers(List.of(orderWithCounter, orderWithoutCounter), conn);
+
+    assertTrue(result.succeeded());
+    assertEquals(13, orderWithCounter.getNextPolNumber());
+    assertEquals(7, orderWithoutCounter.getNextPolNumber());
+  }
+
+}
@@ -87,73 +87,6 @@ public class PoLinesServiceTest {
     context = Vertx.vertx().getOrCreateContext();
   }
 
-  @Test
-  public void shouldRetrieveIndexFromPoLineNumberIfIndexExistThere() {
-    List<PoLine> poLines = new ArrayList<>();
-    String poID = UUID.randomUUID().toString();
-    int expIndex = 3;
-    PoLine poLine = new PoLine().withPurchaseOrderId(poID).withPoLineNumber("1000-" + expIndex);
-    poLines.add(poLine);
-
-    doReturn(Future.succeededFuture(poLines)).when(poLinesDAO).getPoLines(any(Criterion.class), any(Conn.class));
-
-    Integer index = poLinesService.getLastLineNumber(poID, conn).result();
-
-    assertEquals(expIndex, index.intValue());
-    verify(poLinesDAO).getPoLines(any(Criterion.class), any(Conn.class));
-  }
-
-  @Test
-  public void shouldRetrieveBiggestIndexFromPoLinesNumberIfIndexExistInEveryLine() {
-    String poID = UUID.randomUUID().toString();
-    int expIndex = 7;
-    PoLine poLine1 = new PoLine().withPurchaseOrderId(poID).withPoLineNumber("1000-1");
-    PoLine poLine2 = new PoLine().withPurchaseOrderId(poID).withPoLineNumber("1000-" + expIndex);
-    PoLine poLine3 = new PoLine().withPurchaseOrderId(poID).withPoLineNumber("1000-6");
-    PoLine poLine4 = new PoLine().withPurchaseOrderId(poID).withPoLineNumber("1000-5");
-    List<PoLine> poLines = Stream.of(poLine1, poLine2, poLine3, poLine4).collect(Collectors.toList());
-
-    doReturn(Future.succeededFuture(poLines)).when(poLinesDAO).getPoLines(any(Criterion.class), any(Conn.class));
-
-    Integer index = poLinesService.getLastLineNumber(poID, conn).result();
-
-    assertEquals(expIndex, index.intValue());
-    verify(poLinesDAO).getPoLines(any(Criterion.class), any(Conn.class));
-  }
-
-  @Test
-  public void shouldRetrieveBiggestIndexFromPoLinesNumberIfIndexExistNotInEachLine() {
-    String poID = UUID.randomUUID().toString();
-    int expIndex = 7;
-    PoLine poLine1 = new PoLine().withPurchaseOrderId(poID).withPoLineNumber("1000-1");
-    PoLine poLine2 = new PoLine().withPurchaseOrderId(poID).withPoLineNumber("1000-" + expIndex);
-    PoLine poLine3 = new PoLine().withPurchaseOrderId(poID).withPoLineNumber("1000-");
-    PoLine poLine4 = new PoLine().withPurchaseOrderId(poID).withPoLineNumber("1000-5");
-    List<PoLine> poLines = Stream.of(poLine1, poLine2, poLine3, poLine4).collect(Collectors.toList());
-
-    doReturn(Future.succeededFuture(poLines)).when(poLinesDAO).getPoLines(any(Criterion.class), any(Conn.class));
-
-    Integer index = poLinesService.getLastLineNumber(poID, conn).result();
-
-    assertEquals(expIndex, index.intValue());
-    verify(poLinesDAO).getPoLines(any(Criterion.class), any(Conn.class));
-  }
-
-  @Test
-  public void shouldRetrieveBiggestIndexFromPoLinesNumberIfIndexNotExist() {
-    String poID = UUID.randomUUID().toString();
-    int expIndex = 1;
-    PoLine poLine1 = new PoLine().withPurchaseOrderId(poID).withPoLineNumber("1000-");
-    List<PoLine> poLines = Stream.of(poLine1).collect(Collectors.toList());
-
-    doReturn(Future.succeededFuture(poLines)).when(poLinesDAO).getPoLines(any(Criterion.class), any(Conn.class));
-
-    Integer index = poLinesService.getLastLineNumber(poID, conn).result();
-
-    assertEquals(expIndex, index.intValue());
-    verify(poLinesDAO).getPoLines(any(Criterion.class), any(Conn.class));
-  }
-
   @Test
   public void shouldRetrievePoLines() {
     String poID = UUID.randomUUID().toString();
@@ -193,12 +126,12 @@ public class PoLinesServiceTest {
     PoLine poLine = new PoLine().withPurchaseOrderId(poID).withPoLineNumber("1000-" + expIndex);
     poLines.add(poLine);
 
-    doReturn(Future.succeededFuture(poLines)).when(poLinesDAO).getPoLines(any(Criterion.class), any(Conn.class));
+    doReturn(Future.succeededFuture(poLines)).when(poLinesDAO).getPoLinesByIds(eq(List.of(poID)), any(Conn.class));
 
-    List<PoLine> actPoLines = poLinesService.getPoLinesByLineIdsByChunks(List.of(poID), conn).result();
+    List<PoLine> actPoLines = poLinesService.getPoLinesByIds(List.of(poID), conn).result();
 
     assertEquals(poLines, actPoLines);
-    verify(poLinesDAO).getPoLines(any(Criterion.class), any(Conn.class));
+    verify(poLinesDAO).getPoLinesByIds(eq(List.of(poID)), any(Conn.class));
   }
 
   @Test
@@ -224,14 +157,14 @@ public class PoLinesServiceTest {
   public void shouldFailedWhenRetrievePoLinesIsFailedInTheDAOLayer() {
     String poID = UUID.randomUUID().toString();
     doReturn(failedFuture(new HttpException(Response.Status.NOT_FOUND.getStatusCode(), "notFound")))
-      .when(poLinesDAO).getPoLines(any(Criterion.class), any(Conn.class));
+      .when(poLinesDAO).getPoLinesByIds(eq(List.of(poID)), any(Conn.class));
 
-    Future<List<PoLine>> f = poLinesService.getPoLinesByLineIdsByChunks(List.of(poID), conn);
+    Future<List<PoLine>> f = poLinesService.getPoLinesByIds(List.of(poID), conn);
 
     assertThat(f.failed(), is(true));
     HttpException thrown = (HttpException) f.cause();
     assertEquals(Response.Status.NOT_FOUND.getStatusCode(), thrown.getCode());
-    verify(poLinesDAO).getPoLines(any(Criterion.class), any(Conn.class));
+    verify(poLinesDAO).getPoLinesByIds(eq(List.of(poID)), any(Conn.class));
   }
 
   @Test
@@ -465,4 +398,28 @@ public class PoLinesServiceTest {
     verify(conn, times(2)).update(anyString(), any(), anyString(), anyString(), anyBoolean());
     verify(conn).get(anyString(), eq(Title.class), any(Criterion.class), anyBoolean());
   }
+
+  @Test
+  public void shouldUpdateTitlesOfPoLinesBatchWithSingleQueryAndBatchUpdate() {
+    var poLine = new PoLine().withId(UUID.randomUUID().toString()).withTitleOrPackage("New title").withIsPackage(false);
+    var packagePoLine = new PoLine().withId(UUID.randomUUID().toString()).withIsPackage(true);
+    var title = new Title().withId(UUID.randomUUID().toString()).withPoLineId(poLine.getId()).withTitle("Old title");
+    var row = mock(Row.class);
+    var rowIterator = mock(RowIterator.class);
+
+    when(rowIterator.hasNext()).thenReturn(true, false);
+    when(rowIterator.next()).thenReturn(row);
+    when(row.getJsonObject("jsonb")).thenReturn(JsonObject.mapFrom(title));
+    when(rowSet.iterator()).thenReturn(rowIterator);
+    when(rowSet.rowCount()).thenReturn(1);
+    when(conn.execute(any(String.class), any(Tuple.class))).thenReturn(Future.succeededFuture(rowSet));
+
+    Future<Void> f = poLinesService.updateTitles(conn, List.of(poLine, packagePoLine), new HashMap<>());
+
+    assertThat(f.succeeded(), is(true));
+    // one query for the titles of the batch and one batch update of the changed title
+    verify(conn, times(2)).execute(any(String.class), any(Tuple.class));
+    verify(conn, times(0)).get(anyString(), eq(Title.class), any(Criterion.class), anyBoolean());
+    verify(conn, times(0)).update(anyString(), any(), anyString(), anyString(), anyBoolean());
+  }
 }
@@ -0,0 +1,95 @@
+package org.folio.services.order;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.folio.dao.PostgresClientFactory;
+import org.folio.dao.order.OrderDAO;
+import org.folio.rest.persist.Conn;
+import org.folio.rest.persist.PostgresClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+@ExtendWith(MockitoExtension.class)
+public class PoNumberServiceTest {
+
+  private static final String TENANT_ID = "testTenant";
+
+  @Mock
+  private OrderDAO orderDAO;
+  @Mock
+  private PostgresClientFactory pgClientFactory;
+  @Mock
+  private PostgresClient pgClient;
+  @Mock
+  private Conn conn;
+
+  @InjectMocks
+  private PoNumberService poNumberService;
+
+  @BeforeEach
+  void setUp() throws IllegalAccessException {
+    FieldUtils.writeField(poNumberService, "blockSize", 3, true);
+    lenient().when(pgClientFactory.createInstance(TENANT_ID)).thenReturn(pgClient);
+    lenient().when(pgClient.withConn(any())).thenAnswer(invocation -> invocation.<Function<Conn, Future<?>>>getArgument(0).apply(conn));
+  }
+
+  @Test
+  void shouldServeNumbersFromReservedBlocks() {
+    when(orderDAO.reservePoNumbers(3, conn))
+      .thenReturn(Future.succeededFuture(10002L), Future.succeededFuture(10008L));
+
+    List<Long> numbers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      numbers.add(poNumberService.getNextPoNumber(TENANT_ID).result());
+    }
+
+    assertEquals(List.of(10000L, 10001L, 10002L, 10006L), numbers);
+    verify(orderDAO, times(2)).reservePoNumbers(eq(3), any());
+  }
+
+  @Test
+  void shouldShareReservationBetweenWaitingCallers() {
+    Promise<Long> reservation = Promise.promise();
+    when(orderDAO.reservePoNumbers(3, conn)).thenReturn(reservation.future());
+
+    Future<Long> first = poNumberService.getNextPoNumber(TENANT_ID);
+    Future<Long> second = poNumberService.getNextPoNumber(TENANT_ID);
+    reservation.complete(10002L);
+
+    assertEquals(10000L, first.result());
+    assertEquals(10001L, second.result());
+    verify(orderDAO, times(1)).reservePoNumbers(eq(3), any());
+  }
+
+  @Test
+  void shouldReserveNewBlockAfterFailureAndInvalidation() {
+    when(orderDAO.reservePoNumbers(3, conn))
+      .thenReturn(Future.failedFuture(new RuntimeException("db is down")), Future.succeededFuture(10002L), Future.succeededFuture(12L));
+
+    assertTrue(poNumberService.getNextPoNumber(TENANT_ID).failed());
+    assertEquals(10000L, poNumberService.getNextPoNumber(TENANT_ID).result());
+
+    poNumberService.invalidate(TENANT_ID);
+
+    assertEquals(10L, poNumberService.getNextPoNumber(TENANT_ID).result());
+  }
+}
@@ -29,6 +29,7 @@ import org.folio.rest.jaxrs.model.PoLine;
 import org.folio.rest.jaxrs.model.ReplaceInstanceRef;
 import org.folio.rest.jaxrs.model.TenantJob;
 import org.folio.rest.persist.DBClient;
+import org.folio.services.title.TitleService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -49,7 +50,7 @@ public class PieceServiceTest extends TestBase {
   static final String TEST_TENANT = "test_tenant";
   private static final Header TEST_TENANT_HEADER = new Header(OKAPI_HEADER_TENANT, TEST_TENANT);
 
-  PieceService pieceService = new PieceService();
+  PieceService pieceService = new PieceService(new TitleService());
 
   private static TenantJob tenantJob;
   private final String newHoldingId = UUID.randomUUID().toString();
@@ -58,7 +59,7 @@ public class PieceServiceTest extends TestBase {
   @BeforeEach
   public void initMocks() throws Exception {
     try (var ignored = MockitoAnnotations.openMocks(this)) {
-      pieceService = Mockito.mock(PieceService.class, Mockito.CALLS_REAL_METHODS);
+      pieceService = Mockito.mock(PieceService.class, Mockito.withSettings().useConstructor(new TitleService()).defaultAnswer(Mockito.CALLS_REAL_METHODS));
       tenantJob = prepareTenant(TEST_TENANT_HEADER, false, false);
     }
   }
@@ -377,6 +378,33 @@ public class PieceServiceTest extends TestBase {
     );
   }
 
+  @Test
+  void shouldReturnOriginalPiecesFromInventoryDataUpdate(Vertx vertx, VertxTestContext testContext) {
+    var pieceId = UUID.randomUUID().toString();
+    var oldHoldingId = UUID.randomUUID().toString();
+    var piece = new Piece().withId(pieceId).withHoldingId(oldHoldingId).withBarcode("old-barcode");
+    var nonExistentId = UUID.randomUUID().toString();
+
+    new DBClient(vertx, TEST_TENANT).getPgClient().withConn(conn ->
+      conn.save(PIECES_TABLE, pieceId, piece)
+        .compose(v -> pieceService.updatePiecesInventoryData(List.of(
+          new Piece().withId(nonExistentId).withHoldingId(newHoldingId),
+          new Piece().withId(pieceId).withHoldingId(newHoldingId).withBarcode("new-barcode")), conn, TEST_TENANT))
+        .onComplete(ar -> {
+          testContext.verify(() -> {
+            assertThat(ar.result().size(), is(2));
+            assertThat(ar.result().get(0).entity().getId(), is(nonExistentId));
+            assertNull(ar.result().get(0).originalEntity());
+            assertThat(ar.result().get(1).entity().getHoldingId(), is(newHoldingId));
+            assertThat(ar.result().get(1).entity().getBarcode(), is("new-barcode"));
+            assertThat(ar.result().get(1).originalEntity().getHoldingId(), is(oldHoldingId));
+            assertThat(ar.result().get(1).originalEntity().getBarcode(), is("old-barcode"));
+          });
+          testContext.completeNow();
+        })
+    );
+  }
+
   @Test
   void shouldHandleNonExistentPieceInInventoryDataUpdate(Vertx vertx, VertxTestContext testContext) {
     var nonExistentId = UUID.randomUUID().toString();
@@ -391,6 +419,19 @@ public class PieceServiceTest extends TestBase {
     );
   }
 
+  @Test
+  void shouldBuildInsertionThresholdsFromSortedPositions() {
+    var pieces = List.of(
+      new Piece().withSequenceNumber(5),
+      new Piece().withSequenceNumber(1),
+      new Piece().withSequenceNumber(1),
+      new Piece().withSequenceNumber(12),
+      new Piece());
+
+    // existing pieces 1..4 move to 3, 4, 6, 7, positions after the next sequence number are not shifted for
+    assertThat(PieceService.getInsertionThresholds(pieces, 10), is(new Integer[] {1, 1, 3}));
+  }
+
   private Future<Void> createPoLineAndPiece(PoLine poLine, Piece piece, DBClient client) {
     var pgClient = client.getPgClient();
     return client.getPgClient()
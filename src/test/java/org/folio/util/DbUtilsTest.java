@@ -0,0 +1,65 @@
+package org.folio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.folio.rest.jaxrs.model.Piece;
+import org.folio.rest.persist.Conn;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
+
+class DbUtilsTest {
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void batchUpdate_bindsEntitiesAsArraysInChunks() {
+    Conn conn = mock(Conn.class);
+    RowSet<Row> rowSet = mock(RowSet.class);
+    when(rowSet.rowCount()).thenReturn(500, 1);
+    when(conn.execute(anyString(), any(Tuple.class))).thenReturn(Future.succeededFuture(rowSet));
+    var pieces = IntStream.range(0, 501)
+      .mapToObj(i -> new Piece().withId(UUID.randomUUID().toString()))
+      .toList();
+
+    Future<Integer> result = DbUtils.batchUpdate(conn, "diku_mod_orders_storage.pieces", pieces, Piece::getId);
+
+    assertTrue(result.succeeded());
+    assertEquals(501, result.result());
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<Tuple> tupleCaptor = ArgumentCaptor.forClass(Tuple.class);
+    verify(conn, times(2)).execute(sqlCaptor.capture(), tupleCaptor.capture());
+    assertEquals(sqlCaptor.getAllValues().get(0), sqlCaptor.getAllValues().get(1));
+    assertTrue(sqlCaptor.getValue().contains("unnest($1::uuid[], $2::text[])"));
+    assertEquals(500, ((UUID[]) tupleCaptor.getAllValues().get(0).getValue(0)).length);
+    assertEquals(1, ((String[]) tupleCaptor.getAllValues().get(1).getValue(1)).length);
+    assertEquals(pieces.get(500).getId(), ((UUID[]) tupleCaptor.getAllValues().get(1).getValue(0))[0].toString());
+  }
+
+  @Test
+  void batchUpdate_skipsEmptyCollection() {
+    Conn conn = mock(Conn.class);
+
+    Future<Integer> result = DbUtils.batchUpdate(conn, "diku_mod_orders_storage.po_line", List.<Piece>of(), Piece::getId);
+
+    assertTrue(result.succeeded());
+    assertEquals(0, result.result());
+    verify(conn, never()).execute(anyString(), any(Tuple.class));
+  }
+
+}
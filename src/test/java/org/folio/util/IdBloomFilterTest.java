@@ -0,0 +1,44 @@
+package org.folio.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class IdBloomFilterTest {
+
+  @Test
+  void shouldContainEveryAddedIdIgnoringLetterCase() {
+    var filter = new IdBloomFilter(1000, 0.01);
+    var ids = IntStream.range(0, 1000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+    ids.forEach(filter::put);
+
+    ids.forEach(id -> assertTrue(filter.mightContain(id)));
+    ids.forEach(id -> assertTrue(filter.mightContain(id.toUpperCase())));
+  }
+
+  @Test
+  void shouldRarelyContainIdsThatWereNotAdded() {
+    var filter = new IdBloomFilter(1000, 0.01);
+    IntStream.range(0, 1000).forEach(i -> filter.put(UUID.randomUUID().toString()));
+
+    var falsePositives = IntStream.range(0, 10000)
+      .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+      .count();
+    assertTrue(falsePositives < 300);
+  }
+
+  @Test
+  void shouldIgnoreNullIds() {
+    var filter = new IdBloomFilter(10, 0.01);
+    filter.put(null);
+
+    assertFalse(filter.mightContain(null));
+    filter.put("not-a-uuid");
+    assertTrue(filter.mightContain("not-a-uuid"));
+  }
+
+}
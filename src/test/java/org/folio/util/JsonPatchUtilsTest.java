@@ -0,0 +1,43 @@
+package org.folio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+class JsonPatchUtilsTest {
+
+  @Test
+  void diff_returnsEmptyPatchForEqualDocuments() {
+    var document = new JsonObject().put("a", 1).put("b", new JsonObject().put("c", "d"));
+
+    assertTrue(JsonPatchUtils.diff(document, document.copy()).isEmpty());
+  }
+
+  @Test
+  void diff_producesMinimalOperationsForNestedChanges() {
+    var source = new JsonObject()
+      .put("status", "Open")
+      .put("removed", true)
+      .put("details", new JsonObject().put("receivingNote", "old").put("isBinderyActive", false))
+      .put("locations", new JsonArray().add(new JsonObject().put("quantity", 1)));
+    var target = new JsonObject()
+      .put("status", "Closed")
+      .put("details", new JsonObject().put("receivingNote", "old").put("isBinderyActive", false))
+      .put("locations", new JsonArray().add(new JsonObject().put("quantity", 2)))
+      .put("a/b~c", "added");
+
+    JsonArray patch = JsonPatchUtils.diff(source, target);
+
+    assertEquals(new JsonArray()
+      .add(new JsonObject().put("op", "replace").put("path", "/status").put("value", "Closed"))
+      .add(new JsonObject().put("op", "remove").put("path", "/removed"))
+      .add(new JsonObject().put("op", "replace").put("path", "/locations")
+        .put("value", new JsonArray().add(new JsonObject().put("quantity", 2))))
+      .add(new JsonObject().put("op", "add").put("path", "/a~1b~0c").put("value", "added")), patch);
+  }
+
+}
@@ -0,0 +1,112 @@
+package org.folio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.rest.exceptions.HttpException;
+import org.folio.rest.jaxrs.model.Title;
+import org.folio.rest.persist.Conn;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
+
+class TitleSequenceNumberUtilsTest {
+
+  private final Conn conn = mock(Conn.class);
+  private final String titleId = UUID.randomUUID().toString();
+
+  @Test
+  void reserveSequenceNumbers_reservesFromExistingCounter() {
+    when(conn.execute(startsWith("UPDATE"), any(Tuple.class))).thenReturn(Future.succeededFuture(rowSetOf(5)));
+
+    Future<Integer> result = TitleSequenceNumberUtils.reserveSequenceNumbers(titleId, 3, conn);
+
+    assertTrue(result.succeeded());
+    assertEquals(5, result.result());
+    verify(conn, never()).execute(startsWith("INSERT"), any(Tuple.class));
+  }
+
+  @Test
+  void reserveSequenceNumbers_seedsCounterOfTitleWithoutIt() {
+    when(conn.execute(startsWith("UPDATE"), any(Tuple.class)))
+      .thenReturn(Future.succeededFuture(emptyRowSet()))
+      .thenReturn(Future.succeededFuture(rowSetOf(10)));
+    when(conn.execute(startsWith("INSERT"), any(Tuple.class))).thenReturn(Future.succeededFuture(emptyRowSet()));
+
+    Future<Integer> result = TitleSequenceNumberUtils.reserveSequenceNumbers(titleId, 2, conn);
+
+    assertTrue(result.succeeded());
+    assertEquals(10, result.result());
+    verify(conn).execute(startsWith("INSERT"), any(Tuple.class));
+    verify(conn, times(2)).execute(startsWith("UPDATE"), any(Tuple.class));
+  }
+
+  @Test
+  void reserveSequenceNumbers_failsWithNotFoundForUnknownTitle() {
+    when(conn.execute(startsWith("UPDATE"), any(Tuple.class))).thenReturn(Future.succeededFuture(emptyRowSet()));
+    when(conn.execute(startsWith("INSERT"), any(Tuple.class))).thenReturn(Future.succeededFuture(emptyRowSet()));
+
+    Future<Integer> result = TitleSequenceNumberUtils.reserveSequenceNumbers(titleId, 1, conn);
+
+    assertTrue(result.failed());
+    assertEquals(404, assertInstanceOf(HttpException.class, result.cause()).getCode());
+  }
+
+  @Test
+  void populateNextSequenceNumbers_overlaysTitlesWithCounter() {
+    String titleWithoutCounterId = UUID.randomUUID().toString();
+    var titleWithCounter = new Title().withId(titleId).withNextSequenceNumber(1);
+    var titleWithoutCounter = new Title().withId(titleWithoutCounterId).withNextSequenceNumber(3);
+    Row row = mock(Row.class);
+    when(row.getUUID("title_id")).thenReturn(UUID.fromString(titleId));
+    when(row.getInteger("next_number")).thenReturn(7);
+    RowSet<Row> rowSet = rowSetOf(List.of(row));
+    when(conn.execute(startsWith("SELECT"), any(Tuple.class))).thenReturn(Future.succeededFuture(rowSet));
+
+    Future<List<Title>> result = TitleSequenceNumberUtils.populateNextSequenceNumbers(List.of(titleWithCounter, titleWithoutCounter), conn);
+
+    assertTrue(result.succeeded());
+    assertEquals(7, titleWithCounter.getNextSequenceNumber());
+    assertEquals(3, titleWithoutCounter.getNextSequenceNumber());
+  }
+
+  private static RowSet<Row> emptyRowSet() {
+    return rowSetOf(List.of());
+  }
+
+  private static RowSet<Row> rowSetOf(int value) {
+    Row row = mock(Row.class);
+    when(row.getInteger(0)).thenReturn(value);
+    return rowSetOf(List.of(row));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static RowSet<Row> rowSetOf(List<Row> rows) {
+    RowSet<Row> rowSet = mock(RowSet.class);
+    when(rowSet.rowCount()).thenReturn(rows.size());
+    when(rowSet.iterator()).thenAnswer(invocation -> {
+      var iterator = rows.iterator();
+      RowIterator<Row> rowIterator = mock(RowIterator.class);
+      when(rowIterator.hasNext()).thenAnswer(i -> iterator.hasNext());
+      when(rowIterator.next()).thenAnswer(i -> iterator.next());
+      return rowIterator;
+    });
+    return rowSet;
+  }
+
+}
@@ -0,0 +1,109 @@
+package org.folio.verticles;
+
+import static org.folio.rest.persist.PostgresClient.convertToPsqlStandard;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.StorageTestSuite;
+import org.folio.dao.audit.AuditOutboxEventsLogRepository;
+import org.folio.event.dto.OutboxEventLogEntry;
+import org.folio.rest.impl.TestBase;
+import org.folio.rest.jaxrs.model.OutboxEventLog;
+import org.folio.rest.persist.PostgresClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Tuple;
+
+public class AuditOutboxRelayVerticleTest extends TestBase {
+
+  private static final String RELAYED_AT_SQL = "SELECT relayed_at FROM %s.outbox_event_log WHERE event_id = $1";
+  private static final long RELAY_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(30);
+
+  @Autowired
+  private ApplicationContext applicationContext;
+  @Autowired
+  private AuditOutboxEventsLogRepository outboxRepository;
+
+  private String deploymentId;
+
+  @BeforeEach
+  void setUp() {
+    StorageTestSuite.autowireDependencies(this);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    if (deploymentId != null) {
+      await(StorageTestSuite.getVertx().undeploy(deploymentId));
+      deploymentId = null;
+    }
+  }
+
+  @Test
+  void shouldRelayEventLogWhenNotified() throws Exception {
+    deployRelay();
+
+    var eventId = saveEventLog();
+
+    assertRelayed(eventId);
+  }
+
+  @Test
+  void shouldRelayBacklogLeftBeforeStart() throws Exception {
+    var eventId = saveEventLog();
+
+    deployRelay();
+
+    assertRelayed(eventId);
+  }
+
+  private void deployRelay() throws Exception {
+    deploymentId = await(StorageTestSuite.getVertx().deployVerticle(applicationContext.getBean(AuditOutboxRelayVerticle.class)));
+  }
+
+  private String saveEventLog() throws Exception {
+    var orderId = UUID.randomUUID().toString();
+    var eventLog = new OutboxEventLog()
+      .withEventId(UUID.randomUUID().toString())
+      .withEntityType(OutboxEventLog.EntityType.ORDER)
+      .withAction("Create")
+      .withPayload(new JsonObject()
+        .put("id", UUID.randomUUID().toString())
+        .put("action", "Create")
+        .put("orderId", orderId)
+        .put("userId", UUID.randomUUID().toString())
+        .encode());
+    await(getPgClient().withConn(conn -> outboxRepository.saveEventLog(conn, new OutboxEventLogEntry(eventLog, orderId), TENANT_NAME)));
+    return eventLog.getEventId();
+  }
+
+  private void assertRelayed(String eventId) throws Exception {
+    var query = RELAYED_AT_SQL.formatted(convertToPsqlStandard(TENANT_NAME));
+    var deadline = System.currentTimeMillis() + RELAY_TIMEOUT_MS;
+    OffsetDateTime relayedAt = null;
+    while (relayedAt == null && System.currentTimeMillis() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(100);
+      relayedAt = await(getPgClient().withConn(conn -> conn.execute(query, Tuple.of(UUID.fromString(eventId))))
+        .map(rows -> rows.iterator().next().getOffsetDateTime("relayed_at")));
+    }
+    assertNotNull(relayedAt, "Event log was not relayed: " + eventId);
+  }
+
+  private static PostgresClient getPgClient() {
+    return PostgresClient.getInstance(StorageTestSuite.getVertx(), TENANT_NAME);
+  }
+
+  private static <T> T await(Future<T> future) throws Exception {
+    return future.toCompletionStage().toCompletableFuture().get(30, TimeUnit.SECONDS);
+  }
+
+}